@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.linking.lazy.LazyLinkingResource;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.testing.util.InMemoryURIHandler;
+import org.eclipse.xtext.testlanguages.fileAware.FileAwareTestLanguageStandaloneSetup;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.RuntimeIOException;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Provider;
+
+/**
+ * Base class of the benchmarks that work on a {@link SyntheticWorkspace}. The size of the workspace is configured with
+ * the JMH parameters <code>files</code> and <code>elementsPerFile</code>.
+ *
+ * Subclasses call {@link #setUpWorkspace()} from their trial setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public abstract class AbstractWorkspaceBenchmark {
+
+	@Param({ "10", "100" })
+	public int files;
+
+	@Param({ "20" })
+	public int elementsPerFile;
+
+	@Inject
+	private Provider<XtextResourceSet> resourceSetProvider;
+
+	protected Injector injector;
+
+	protected SyntheticWorkspace workspace;
+
+	protected void setUpWorkspace() {
+		injector = new FileAwareTestLanguageStandaloneSetup().createInjectorAndDoEMFRegistration();
+		injector.injectMembers(this);
+		workspace = new SyntheticWorkspace(files, elementsPerFile);
+	}
+
+	protected URI getURI(String path) {
+		return URI.createURI(InMemoryURIHandler.SCHEME + ":/" + path);
+	}
+
+	protected XtextResourceSet createResourceSet() {
+		return resourceSetProvider.get();
+	}
+
+	/**
+	 * Parse all files of the workspace into a new resource set. The cross references are not resolved.
+	 */
+	protected List<LazyLinkingResource> loadWorkspace() {
+		XtextResourceSet resourceSet = createResourceSet();
+		List<LazyLinkingResource> result = new ArrayList<>(workspace.getFileCount());
+		for (Map.Entry<String, String> file : workspace.getFiles().entrySet()) {
+			Resource resource = resourceSet.createResource(getURI(file.getKey()));
+			try {
+				resource.load(new ByteArrayInputStream(file.getValue().getBytes(StandardCharsets.UTF_8)), null);
+			} catch (IOException e) {
+				throw new RuntimeIOException(e);
+			}
+			result.add((LazyLinkingResource) resource);
+		}
+		return result;
+	}
+
+	/**
+	 * Parse all files of the workspace into a new resource set and resolve the cross references.
+	 */
+	protected List<LazyLinkingResource> loadAndResolveWorkspace() {
+		List<LazyLinkingResource> result = loadWorkspace();
+		for (LazyLinkingResource resource : result) {
+			resource.resolveLazyCrossReferences(CancelIndicator.NullImpl);
+			if (!resource.getErrors().isEmpty()) {
+				throw new IllegalStateException(resource.getURI() + ": " + resource.getErrors());
+			}
+		}
+		return result;
+	}
+
+}
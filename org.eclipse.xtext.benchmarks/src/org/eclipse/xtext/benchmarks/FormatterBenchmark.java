@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.eclipse.xtext.formatting2.FormatterRequest;
+import org.eclipse.xtext.formatting2.IFormatter2;
+import org.eclipse.xtext.formatting2.regionaccess.ITextRegionAccess;
+import org.eclipse.xtext.formatting2.regionaccess.TextRegionAccessBuilder;
+import org.eclipse.xtext.linking.lazy.LazyLinkingResource;
+import org.eclipse.xtext.preferences.MapBasedPreferenceValues;
+import org.eclipse.xtext.util.ExceptionAcceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+
+/**
+ * Measures the computation of the text replacements that format the resources of a parsed and linked workspace.
+ */
+public class FormatterBenchmark extends AbstractWorkspaceBenchmark {
+
+	@Inject
+	private Provider<IFormatter2> formatterProvider;
+
+	@Inject
+	private Provider<TextRegionAccessBuilder> textRegionAccessBuilderProvider;
+
+	private List<ITextRegionAccess> regionAccesses;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		setUpWorkspace();
+		List<LazyLinkingResource> resources = loadAndResolveWorkspace();
+		regionAccesses = new ArrayList<>(resources.size());
+		for (LazyLinkingResource resource : resources) {
+			regionAccesses.add(textRegionAccessBuilderProvider.get().forNodeModel(resource).create());
+		}
+	}
+
+	@Benchmark
+	public void format(Blackhole blackhole) {
+		for (ITextRegionAccess regionAccess : regionAccesses) {
+			FormatterRequest request = new FormatterRequest();
+			request.setTextRegionAccess(regionAccess);
+			request.setPreferences(new MapBasedPreferenceValues(new HashMap<>()));
+			request.setExceptionHandler(ExceptionAcceptor.THROWING);
+			blackhole.consume(formatterProvider.get().format(request));
+		}
+	}
+
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.build.BuildRequest;
+import org.eclipse.xtext.build.IncrementalBuilder;
+import org.eclipse.xtext.build.IndexState;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
+import org.eclipse.xtext.resource.impl.ProjectDescription;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.testing.util.InMemoryURIHandler;
+import org.eclipse.xtext.util.RuntimeIOException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+
+import com.google.common.collect.Iterables;
+import com.google.inject.Inject;
+
+/**
+ * Measures a clean build of the whole workspace and an incremental build after the exported names of one file have
+ * changed, which affects the files that reference it.
+ */
+public class IncrementalBuilderBenchmark extends AbstractWorkspaceBenchmark {
+
+	@Inject
+	private IncrementalBuilder incrementalBuilder;
+
+	@Inject
+	private IResourceServiceProvider.Registry registry;
+
+	private InMemoryURIHandler uriHandler;
+
+	private List<URI> allFiles;
+
+	private IndexState builtState;
+
+	private URI changedFile;
+
+	private int issueCount;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		setUpWorkspace();
+		uriHandler = new InMemoryURIHandler();
+		allFiles = new ArrayList<>(files);
+		for (int i = 0; i < files; i++) {
+			allFiles.add(writeFile(workspace.getPath(i), workspace.getContent(i)));
+		}
+		IncrementalBuilder.Result result = incrementalBuilder.build(newBuildRequest(new IndexState(), allFiles),
+				registry::getResourceServiceProvider);
+		builtState = result.getIndexState();
+		if (issueCount != 0) {
+			throw new IllegalStateException("The workspace has " + issueCount + " issues");
+		}
+		// rename an element that is referenced by the next file and by the rest of the package
+		changedFile = writeFile(workspace.getPath(0), workspace.getContent(0).replace(
+				workspace.getElementName(0, 0) + " ", workspace.getElementName(0, 0) + "x "));
+	}
+
+	@Benchmark
+	public IncrementalBuilder.Result fullBuild() {
+		return incrementalBuilder.build(newBuildRequest(new IndexState(), allFiles),
+				registry::getResourceServiceProvider);
+	}
+
+	@Benchmark
+	public IncrementalBuilder.Result incrementalBuild() {
+		IndexState state = new IndexState(builtState.getResourceDescriptions().copy(),
+				builtState.getFileMappings().copy());
+		return incrementalBuilder.build(newBuildRequest(state, Collections.singletonList(changedFile)),
+				registry::getResourceServiceProvider);
+	}
+
+	protected BuildRequest newBuildRequest(IndexState state, List<URI> dirtyFiles) {
+		BuildRequest result = new BuildRequest();
+		XtextResourceSet resourceSet = createResourceSet();
+		resourceSet.getURIConverter().getURIHandlers().add(0, uriHandler);
+		ProjectDescription projectDescription = new ProjectDescription();
+		projectDescription.setName("benchmark");
+		projectDescription.attachToEmfObject(resourceSet);
+		ResourceDescriptionsData index = state.getResourceDescriptions();
+		new ChunkedResourceDescriptions(Collections.emptyMap(), resourceSet).setContainer(projectDescription.getName(),
+				index);
+		result.setResourceSet(resourceSet);
+		result.setBaseDir(getURI(""));
+		result.setState(state);
+		result.setDirtyFiles(new ArrayList<>(dirtyFiles));
+		result.setAfterValidate((uri, issues) -> {
+			issueCount += Iterables.size(issues);
+			return true;
+		});
+		return result;
+	}
+
+	private URI writeFile(String path, String content) {
+		URI uri = getURI(path);
+		try (OutputStream out = uriHandler.createOutputStream(uri, Collections.emptyMap())) {
+			out.write(content.getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new RuntimeIOException(e);
+		}
+		return uri;
+	}
+
+}
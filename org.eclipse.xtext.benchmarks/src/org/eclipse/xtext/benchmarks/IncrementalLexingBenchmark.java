@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.xtext.ParserRule;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.parser.IParseResult;
+import org.eclipse.xtext.parser.IParser;
+import org.eclipse.xtext.parser.antlr.AbstractAntlrParser;
+import org.eclipse.xtext.testlanguages.fileAware.FileAwareTestLanguageRuntimeModule;
+import org.eclipse.xtext.testlanguages.fileAware.FileAwareTestLanguageStandaloneSetup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.inject.Binder;
+import com.google.inject.Guice;
+import com.google.inject.name.Names;
+
+/**
+ * Measures the reparse of a complete large file after a single character change in the middle of it, as done by the
+ * partial parser when the change cannot be confined to a smaller node. With incremental lexing, only the tokens around
+ * the change are lexed again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class IncrementalLexingBenchmark {
+
+	/**
+	 * The approximate number of lines of the file.
+	 */
+	@Param({ "5000", "50000" })
+	public int lines;
+
+	@Param({ "false", "true" })
+	public boolean incrementalLexing;
+
+	private AbstractAntlrParser parser;
+
+	private ParserRule entryRule;
+
+	private String[] contents;
+
+	private IParseResult parseResult;
+
+	private boolean changed;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		new FileAwareTestLanguageStandaloneSetup().createInjectorAndDoEMFRegistration();
+		parser = (AbstractAntlrParser) Guice.createInjector(new FileAwareTestLanguageRuntimeModule() {
+			@Override
+			public void configureUseIncrementalLexing(Binder binder) {
+				binder.bind(Boolean.TYPE).annotatedWith(Names.named(AbstractAntlrParser.USE_INCREMENTAL_LEXING))
+						.toInstance(incrementalLexing);
+			}
+		}).getInstance(IParser.class);
+		// each element of a synthetic file spans eight lines
+		SyntheticWorkspace workspace = new SyntheticWorkspace(2, Math.max(1, lines / 8));
+		String content = workspace.getContent(0);
+		int offset = content.indexOf("element " + workspace.getElementName(0, workspace.getElementsPerFile() / 2) + " ")
+				+ "element ".length();
+		contents = new String[] { content, content.substring(0, offset) + "G" + content.substring(offset + 1) };
+		parseResult = parser.parse(new StringReader(content));
+		entryRule = NodeModelUtils.getEntryParserRule(parseResult.getRootNode());
+	}
+
+	/**
+	 * Alternately renames an element from <code>F..</code> to <code>G..</code> and back. Each reparse is based on the
+	 * result of the preceding one.
+	 */
+	@Benchmark
+	public IParseResult fullyReparse() {
+		changed = !changed;
+		String content = contents[changed ? 1 : 0];
+		parseResult = parser.parse(entryRule, new StringReader(content), parseResult.getRootNode());
+		return parseResult;
+	}
+
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.formatting2.FormatterRequest;
+import org.eclipse.xtext.formatting2.IFormattableDocument;
+import org.eclipse.xtext.formatting2.ITextReplacer;
+import org.eclipse.xtext.formatting2.internal.ArrayListTextSegmentSet;
+import org.eclipse.xtext.formatting2.internal.RootDocument;
+import org.eclipse.xtext.formatting2.internal.TextSegmentSet;
+import org.eclipse.xtext.formatting2.regionaccess.ISemanticRegion;
+import org.eclipse.xtext.formatting2.regionaccess.ISemanticRegionsFinder;
+import org.eclipse.xtext.formatting2.regionaccess.ITextRegionAccess;
+import org.eclipse.xtext.formatting2.regionaccess.TextRegionAccessBuilder;
+import org.eclipse.xtext.preferences.MapBasedPreferenceValues;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.testing.util.InMemoryURIHandler;
+import org.eclipse.xtext.testlanguages.fileAware.FileAwareTestLanguageStandaloneSetup;
+import org.eclipse.xtext.testlanguages.fileAware.fileAware.Element;
+import org.eclipse.xtext.testlanguages.fileAware.fileAware.FileAwarePackage;
+import org.eclipse.xtext.testlanguages.fileAware.formatting2.FileAwareTestLanguageFormatter;
+import org.eclipse.xtext.util.ExceptionAcceptor;
+import org.eclipse.xtext.util.RuntimeIOException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.inject.Injector;
+
+/**
+ * Measures the formatting of a single large file with a formatter that adds several replacers per element. The
+ * replacers of nested elements are added after the replacers of their container, so most of them are inserted in the
+ * middle of the replacer set.
+ *
+ * The parameter <code>textSegmentSet</code> selects the set of replacers of the document, either the default
+ * {@link org.eclipse.xtext.formatting2.internal.TreeTextSegmentSet tree} or the {@link ArrayListTextSegmentSet array
+ * list}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class LargeDocumentFormatterBenchmark {
+
+	/**
+	 * Formats the elements of the FileAware test language and uses the configured set of replacers.
+	 */
+	public static class ElementFormatter extends FileAwareTestLanguageFormatter {
+
+		private boolean arrayList;
+
+		@Override
+		public IFormattableDocument createFormattableRootDocument() {
+			return new RootDocument(this) {
+				@Override
+				protected TextSegmentSet<ITextReplacer> createTextReplacerSet() {
+					if (arrayList) {
+						return new ArrayListTextSegmentSet<ITextReplacer>(ITextReplacer.GET_REGION,
+								it -> it.getClass().getSimpleName(), getRequest().isEnableDebugTracing());
+					}
+					return super.createTextReplacerSet();
+				}
+			};
+		}
+
+		@Override
+		protected void format(Element element, IFormattableDocument doc) {
+			ISemanticRegionsFinder regions = regionFor(element);
+			ISemanticRegion open = regions.keyword("{");
+			ISemanticRegion close = regions.keyword("}");
+			doc.append(regions.keyword("element"), it -> it.oneSpace());
+			doc.surround(regions.feature(FileAwarePackage.Literals.ELEMENT__NAME), it -> it.oneSpace());
+			doc.append(open, it -> it.newLine());
+			doc.interior(open, close, it -> it.indent());
+			for (ISemanticRegion ref : regions.keywords("ref")) {
+				doc.prepend(ref, it -> it.newLine());
+				doc.append(ref, it -> it.oneSpace());
+			}
+			doc.append(close, it -> it.newLine());
+			super.format(element, doc);
+		}
+	}
+
+	/**
+	 * The approximate number of lines of the file.
+	 */
+	@Param({ "5000", "50000" })
+	public int lines;
+
+	@Param({ "tree", "arrayList" })
+	public String textSegmentSet;
+
+	private ElementFormatter formatter;
+
+	private ITextRegionAccess regionAccess;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Injector injector = new FileAwareTestLanguageStandaloneSetup().createInjectorAndDoEMFRegistration();
+		formatter = injector.getInstance(ElementFormatter.class);
+		formatter.arrayList = "arrayList".equals(textSegmentSet);
+		// each element of a synthetic file spans eight lines
+		SyntheticWorkspace workspace = new SyntheticWorkspace(2, Math.max(1, lines / 8));
+		XtextResourceSet resourceSet = injector.getInstance(XtextResourceSet.class);
+		XtextResource resource = (XtextResource) resourceSet
+				.createResource(URI.createURI(InMemoryURIHandler.SCHEME + ":/" + workspace.getPath(0)));
+		try {
+			resource.load(new ByteArrayInputStream(workspace.getContent(0).getBytes(StandardCharsets.UTF_8)), null);
+		} catch (IOException e) {
+			throw new RuntimeIOException(e);
+		}
+		regionAccess = injector.getInstance(TextRegionAccessBuilder.class).forNodeModel(resource).create();
+	}
+
+	@Benchmark
+	public Object format() {
+		FormatterRequest request = new FormatterRequest();
+		request.setTextRegionAccess(regionAccess);
+		request.setPreferences(new MapBasedPreferenceValues(new HashMap<>()));
+		request.setExceptionHandler(ExceptionAcceptor.THROWING);
+		return formatter.format(request);
+	}
+
+}
@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.util.List;
+
+import org.eclipse.xtext.linking.lazy.LazyLinkingResource;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures the resolution of all lazy cross references of a freshly parsed workspace.
+ */
+public class LinkingBenchmark extends AbstractWorkspaceBenchmark {
+
+	private List<LazyLinkingResource> resources;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		setUpWorkspace();
+	}
+
+	/**
+	 * The workspace has to be parsed again for each invocation since the benchmark resolves its proxies. Each
+	 * invocation takes long enough for the overhead of the setup to be negligible.
+	 */
+	@Setup(Level.Invocation)
+	public void parseWorkspace() {
+		resources = loadWorkspace();
+	}
+
+	@Benchmark
+	public List<LazyLinkingResource> resolveLazyCrossReferences() {
+		for (LazyLinkingResource resource : resources) {
+			resource.resolveLazyCrossReferences(CancelIndicator.NullImpl);
+		}
+		return resources;
+	}
+
+}
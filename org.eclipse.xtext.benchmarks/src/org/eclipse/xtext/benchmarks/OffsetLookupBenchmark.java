@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.nodemodel.BidiTreeIterator;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.ILeafNode;
+import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.resource.EObjectAtOffsetHelper;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.testing.util.InMemoryURIHandler;
+import org.eclipse.xtext.testlanguages.fileAware.FileAwareTestLanguageStandaloneSetup;
+import org.eclipse.xtext.util.RuntimeIOException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.inject.Injector;
+
+/**
+ * Measures the lookup of the leaf node and the semantic element at an offset in a single large file, as done for
+ * hover, completion and navigation requests. The reported time is the latency of a single lookup.
+ *
+ * The linear variant replays the pruning tree walk that {@link NodeModelUtils#findLeafNodeAtOffset(INode, int)} used
+ * before the leaf nodes were indexed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class OffsetLookupBenchmark {
+
+	private static final int LOOKUPS = 1000;
+
+	/**
+	 * The approximate number of lines of the file.
+	 */
+	@Param({ "5000", "50000" })
+	public int lines;
+
+	private XtextResource resource;
+
+	private ICompositeNode rootNode;
+
+	private int[] offsets;
+
+	private EObjectAtOffsetHelper eObjectAtOffsetHelper;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Injector injector = new FileAwareTestLanguageStandaloneSetup().createInjectorAndDoEMFRegistration();
+		eObjectAtOffsetHelper = injector.getInstance(EObjectAtOffsetHelper.class);
+		// each element of a synthetic file spans eight lines
+		SyntheticWorkspace workspace = new SyntheticWorkspace(2, Math.max(1, lines / 8));
+		String content = workspace.getContent(0);
+		XtextResourceSet resourceSet = injector.getInstance(XtextResourceSet.class);
+		resource = (XtextResource) resourceSet
+				.createResource(URI.createURI(InMemoryURIHandler.SCHEME + ":/" + workspace.getPath(0)));
+		try {
+			resource.load(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), null);
+		} catch (IOException e) {
+			throw new RuntimeIOException(e);
+		}
+		rootNode = resource.getParseResult().getRootNode();
+		Random random = new Random(content.length());
+		offsets = new int[LOOKUPS];
+		for (int i = 0; i < LOOKUPS; i++) {
+			offsets[i] = random.nextInt(content.length());
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public void findLeafNodeAtOffset(Blackhole blackhole) {
+		for (int offset : offsets) {
+			blackhole.consume(NodeModelUtils.findLeafNodeAtOffset(rootNode, offset));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public void findLeafNodeAtOffsetLinear(Blackhole blackhole) {
+		for (int offset : offsets) {
+			blackhole.consume(findLeafNodeAtOffsetLinear(rootNode, offset));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LOOKUPS)
+	public void resolveElementAt(Blackhole blackhole) {
+		for (int offset : offsets) {
+			blackhole.consume(eObjectAtOffsetHelper.resolveElementAt(resource, offset));
+		}
+	}
+
+	private ILeafNode findLeafNodeAtOffsetLinear(INode node, int leafNodeOffset) {
+		BidiTreeIterator<INode> iterator = node.getAsTreeIterable().iterator();
+		while (iterator.hasNext()) {
+			INode next = iterator.next();
+			int nextOffset = next.getTotalOffset();
+			if (nextOffset <= leafNodeOffset && nextOffset + next.getTotalLength() > leafNodeOffset) {
+				if (next instanceof ILeafNode) {
+					return (ILeafNode) next;
+				}
+			} else if (nextOffset > leafNodeOffset) {
+				return null;
+			} else {
+				iterator.prune();
+			}
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.io.StringReader;
+
+import org.eclipse.xtext.parser.IParseResult;
+import org.eclipse.xtext.parser.IParser;
+import org.eclipse.xtext.parser.antlr.IPartialParsingHelper;
+import org.eclipse.xtext.util.ReplaceRegion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.inject.Inject;
+
+/**
+ * Measures the full parse of all files of the workspace and the partial reparse after a single character change in
+ * the middle of each file.
+ */
+public class ParserBenchmark extends AbstractWorkspaceBenchmark {
+
+	@Inject
+	private IParser parser;
+
+	@Inject
+	private IPartialParsingHelper partialParsingHelper;
+
+	private String[] contents;
+
+	private IParseResult[] parseResults;
+
+	private int[] offsets;
+
+	private boolean changed;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		setUpWorkspace();
+		contents = new String[files];
+		parseResults = new IParseResult[files];
+		offsets = new int[files];
+		for (int i = 0; i < files; i++) {
+			contents[i] = workspace.getContent(i);
+			parseResults[i] = parser.parse(new StringReader(contents[i]));
+			offsets[i] = contents[i].indexOf("element " + workspace.getElementName(i, elementsPerFile / 2) + " ")
+					+ "element ".length();
+		}
+	}
+
+	@Benchmark
+	public void parse(Blackhole blackhole) {
+		for (String content : contents) {
+			blackhole.consume(parser.parse(new StringReader(content)));
+		}
+	}
+
+	/**
+	 * Alternately renames an element from <code>F..</code> to <code>G..</code> and back. The partial parser updates
+	 * the previous node model, so each reparse works on the result of the preceding one.
+	 */
+	@Benchmark
+	public void reparse(Blackhole blackhole) {
+		changed = !changed;
+		String text = changed ? "G" : "F";
+		for (int i = 0; i < files; i++) {
+			parseResults[i] = partialParsingHelper.reparse(parser, parseResults[i], new ReplaceRegion(offsets[i], 1, text));
+			blackhole.consume(parseResults[i]);
+		}
+	}
+
+}
@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.util.List;
+
+import org.eclipse.xtext.linking.lazy.LazyLinkingResource;
+import org.eclipse.xtext.serializer.ISerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.inject.Inject;
+
+/**
+ * Measures the serialization of the root elements of a parsed and linked workspace.
+ */
+public class SerializerBenchmark extends AbstractWorkspaceBenchmark {
+
+	@Inject
+	private ISerializer serializer;
+
+	private List<LazyLinkingResource> resources;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		setUpWorkspace();
+		resources = loadAndResolveWorkspace();
+	}
+
+	@Benchmark
+	public void serialize(Blackhole blackhole) {
+		for (LazyLinkingResource resource : resources) {
+			blackhole.consume(serializer.serialize(resource.getContents().get(0)));
+		}
+	}
+
+}
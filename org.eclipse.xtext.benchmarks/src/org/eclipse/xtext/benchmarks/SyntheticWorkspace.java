@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Generates the sources of a workspace in the FileAware test language.
+ *
+ * The files are grouped into packages of {@value #FILES_PER_PACKAGE} files. Each element of a file contains a nested
+ * element and references an element of the same file, an element of the same package and an element of the
+ * previous file, which lives in another package for the first file of a package. Each file imports an element of the
+ * previous file, the first file imports one of the last file.
+ */
+public class SyntheticWorkspace {
+
+	public static final String FILE_EXTENSION = "fileawaretestlanguage";
+
+	public static final int FILES_PER_PACKAGE = 10;
+
+	private final int files;
+
+	private final int elementsPerFile;
+
+	public SyntheticWorkspace(int files, int elementsPerFile) {
+		// each file imports an element of another file
+		if (files < 2 || elementsPerFile < 1) {
+			throw new IllegalArgumentException("files: " + files + ", elementsPerFile: " + elementsPerFile);
+		}
+		this.files = files;
+		this.elementsPerFile = elementsPerFile;
+	}
+
+	public int getFileCount() {
+		return files;
+	}
+
+	public int getElementsPerFile() {
+		return elementsPerFile;
+	}
+
+	/**
+	 * The workspace relative path of the given file.
+	 */
+	public String getPath(int file) {
+		return getPackageName(file) + "/F" + file + "." + FILE_EXTENSION;
+	}
+
+	/**
+	 * The name of the given element of the given file. It is unique within the package of the file.
+	 */
+	public String getElementName(int file, int element) {
+		return "F" + file + "E" + element;
+	}
+
+	public String getContent(int file) {
+		StringBuilder result = new StringBuilder();
+		result.append("package ").append(getPackageName(file)).append("\n");
+		int previous = (file + files - 1) % files;
+		result.append("import ").append(getQualifiedName(previous, 0)).append("\n\n");
+		int first = file - file % FILES_PER_PACKAGE;
+		for (int i = 0; i < elementsPerFile; i++) {
+			String name = getElementName(file, i);
+			result.append("element ").append(name).append(" {\n");
+			result.append("\telement C").append(i).append(" {\n");
+			result.append("\t\tref ").append(name).append("\n");
+			result.append("\t}\n");
+			result.append("\tref ").append(getElementName(file, (i + 1) % elementsPerFile)).append("\n");
+			result.append("\tref ").append(getElementName(first, i)).append("\n");
+			result.append("\tref ").append(getQualifiedName(previous, i)).append(".C").append(i).append("\n");
+			result.append("}\n");
+		}
+		return result.toString();
+	}
+
+	/**
+	 * All files of the workspace by their path.
+	 */
+	public Map<String, String> getFiles() {
+		Map<String, String> result = new LinkedHashMap<>();
+		for (int i = 0; i < files; i++) {
+			result.put(getPath(i), getContent(i));
+		}
+		return result;
+	}
+
+	protected String getPackageName(int file) {
+		return "p" + file / FILES_PER_PACKAGE;
+	}
+
+	protected String getQualifiedName(int file, int element) {
+		return getPackageName(file) + "." + getElementName(file, element);
+	}
+
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.BasicDiagnostic;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+
+import org.eclipse.xtext.linking.lazy.LazyLinkingResource;
+import org.eclipse.xtext.testlanguages.fileAware.fileAware.Element;
+import org.eclipse.xtext.testlanguages.fileAware.fileAware.FileAwarePackage;
+import org.eclipse.xtext.testlanguages.fileAware.fileAware.PackageDeclaration;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.validation.AbstractDeclarativeValidator;
+import org.eclipse.xtext.validation.Check;
+import org.eclipse.xtext.validation.CheckMode;
+import org.eclipse.xtext.validation.CheckType;
+import org.eclipse.xtext.validation.EValidatorRegistrar;
+import org.eclipse.xtext.validation.IResourceValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.inject.Inject;
+
+/**
+ * Measures the validation of all resources of a parsed and linked workspace with {@link CheckMode#ALL}, and the
+ * dispatch of a declarative validator's {@link Check} methods for all objects of the workspace.
+ */
+public class ValidationBenchmark extends AbstractWorkspaceBenchmark {
+
+	public static class Checks extends AbstractDeclarativeValidator {
+
+		@Check
+		public void checkElementName(Element element) {
+			if (element.getName() == null)
+				error("Missing name", FileAwarePackage.Literals.ELEMENT__NAME);
+		}
+
+		@Check
+		public void checkElementReference(Element element) {
+			if (element.getRef() == element)
+				warning("Self reference", FileAwarePackage.Literals.ELEMENT__REF);
+		}
+
+		@Check(CheckType.NORMAL)
+		public void checkElementContents(Element element) {
+			if (element.getContents().contains(element))
+				error("Cycle", FileAwarePackage.Literals.ELEMENT__CONTENTS);
+		}
+
+		@Check
+		public void checkPackageName(PackageDeclaration declaration) {
+			if (declaration.getName() == null)
+				error("Missing name", FileAwarePackage.Literals.PACKAGE_DECLARATION__NAME);
+		}
+
+		@Check(CheckType.EXPENSIVE)
+		public void checkImports(PackageDeclaration declaration) {
+			if (declaration.getImports().contains(null))
+				error("Missing import", FileAwarePackage.Literals.PACKAGE_DECLARATION__IMPORTS);
+		}
+
+		@Check
+		public void checkObject(EObject object) {
+			if (object.eResource() == null)
+				error("Detached", null);
+		}
+
+		@Override
+		public void register(EValidatorRegistrar registrar) {
+			// not registered
+		}
+
+	}
+
+	@Inject
+	private IResourceValidator resourceValidator;
+
+	@Inject
+	private Checks checks;
+
+	private List<LazyLinkingResource> resources;
+
+	private Map<Object, Object> context;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		setUpWorkspace();
+		resources = loadAndResolveWorkspace();
+		context = new HashMap<>();
+		context.put(CheckMode.KEY, CheckMode.NORMAL_AND_FAST);
+	}
+
+	@Benchmark
+	public void validate(Blackhole blackhole) {
+		for (LazyLinkingResource resource : resources) {
+			blackhole.consume(resourceValidator.validate(resource, CheckMode.ALL, CancelIndicator.NullImpl));
+		}
+	}
+
+	@Benchmark
+	public void dispatchChecks(Blackhole blackhole) {
+		BasicDiagnostic diagnostics = new BasicDiagnostic();
+		for (LazyLinkingResource resource : resources) {
+			TreeIterator<EObject> iterator = resource.getAllContents();
+			while (iterator.hasNext()) {
+				blackhole.consume(checks.validate(iterator.next(), diagnostics, context));
+			}
+		}
+	}
+
+}
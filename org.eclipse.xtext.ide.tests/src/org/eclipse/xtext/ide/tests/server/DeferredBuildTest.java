@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.xtext.ide.server.BuildManager;
+import org.eclipse.xtext.ide.server.ServerModule;
+import org.eclipse.xtext.ide.server.UriExtensions;
+import org.eclipse.xtext.ide.server.WorkspaceManager;
+import org.eclipse.xtext.ide.server.concurrent.RequestMetrics;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.Files;
+import org.eclipse.xtext.util.Modules2;
+import org.eclipse.xtext.validation.Issue;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Singleton;
+
+public class DeferredBuildTest {
+
+	@Singleton
+	public static class CountingBuildManager extends BuildManager {
+		private int builds;
+
+		@Override
+		protected List<IResourceDescription.Delta> internalBuild(CancelIndicator cancelIndicator) {
+			builds++;
+			return super.internalBuild(cancelIndicator);
+		}
+	}
+
+	@Inject
+	private WorkspaceManager workspaceManager;
+
+	@Inject
+	private BuildManager buildManager;
+
+	@Inject
+	private UriExtensions uriExtensions;
+
+	private final Map<URI, List<Issue>> diagnostics = new HashMap<>();
+
+	private File root;
+
+	@Before
+	public void setup() throws Exception {
+		Guice.createInjector(Modules2.mixin(new ServerModule(), new AbstractModule() {
+			@Override
+			protected void configure() {
+				bind(BuildManager.class).in(Singleton.class);
+			}
+		})).injectMembers(this);
+		root = new File("./test-data/test-project");
+		if (!root.mkdirs()) {
+			Files.cleanFolder(root, null, true, false);
+		}
+		root.deleteOnExit();
+	}
+
+	@After
+	public void cleanup() throws Exception {
+		if (root.exists()) {
+			Files.cleanFolder(root, null, true, true);
+		}
+	}
+
+	@Test
+	public void testAffectedResourcesAreDeferred() throws Exception {
+		URI foo = createFile("Foo.testlang", "type Foo {}");
+		URI bar = createFile("Bar.testlang", "type Bar { Foo foo }");
+		workspaceManager.initialize(toUri(root),
+				(uri, issues) -> diagnostics.put(uri, IterableExtensions.toList(issues)), CancelIndicator.NullImpl);
+		workspaceManager.setBuildDebounceDelay(100);
+		workspaceManager.didOpen(foo, 1, "type Foo {}").build(CancelIndicator.NullImpl);
+		Assert.assertTrue(diagnostics.get(bar).isEmpty());
+		Assert.assertSame(BuildManager.Buildable.NO_BUILD, workspaceManager.buildDeferred());
+		diagnostics.clear();
+
+		List<IResourceDescription.Delta> deltas = workspaceManager.didChangeTextDocumentContent(foo, 2,
+				Lists.newArrayList(new TextDocumentContentChangeEvent(""))).build(CancelIndicator.NullImpl);
+		Assert.assertEquals(1, deltas.size());
+		Assert.assertEquals(Collections.singleton(foo), diagnostics.keySet());
+		Assert.assertTrue(buildManager.hasDeferredFiles());
+
+		deltas = workspaceManager.buildDeferred().build(CancelIndicator.NullImpl);
+		Assert.assertEquals(Lists.newArrayList(bar), Lists.transform(deltas, IResourceDescription.Delta::getUri));
+		Assert.assertFalse(buildManager.hasDeferredFiles());
+		Assert.assertEquals(1, diagnostics.get(bar).size());
+		Assert.assertSame(BuildManager.Buildable.NO_BUILD, workspaceManager.buildDeferred());
+
+		Map<String, RequestMetrics.Statistics> statistics = buildManager.getMetrics().getStatistics();
+		Assert.assertEquals(1, statistics.get("priorityBuild").getCount());
+		Assert.assertEquals(0, statistics.get("priorityBuild").getCancelled());
+		Assert.assertEquals(2, statistics.get("build").getCount());
+	}
+
+	@Test
+	public void testCancelledBuildKeepsDeferredResources() throws Exception {
+		URI foo = createFile("Foo.testlang", "type Foo {}");
+		URI bar = createFile("Bar.testlang", "type Bar { Foo foo }");
+		workspaceManager.initialize(toUri(root),
+				(uri, issues) -> diagnostics.put(uri, IterableExtensions.toList(issues)), CancelIndicator.NullImpl);
+		workspaceManager.setBuildDebounceDelay(100);
+		workspaceManager.didOpen(foo, 1, "type Foo {}").build(CancelIndicator.NullImpl);
+		workspaceManager.didChangeTextDocumentContent(foo, 2,
+				Lists.newArrayList(new TextDocumentContentChangeEvent(""))).build(CancelIndicator.NullImpl);
+		diagnostics.clear();
+
+		try {
+			workspaceManager.buildDeferred().build(() -> true);
+			Assert.fail();
+		} catch (RuntimeException e) {
+			// expected
+		}
+		Assert.assertTrue(buildManager.hasDeferredFiles());
+		Assert.assertEquals(1, buildManager.getMetrics().getStatistics().get("build").getCancelled());
+
+		workspaceManager.buildDeferred().build(CancelIndicator.NullImpl);
+		Assert.assertEquals(1, diagnostics.get(bar).size());
+	}
+
+	@Test
+	public void testBuildsUseInternalBuild() throws Exception {
+		Injector injector = Guice.createInjector(Modules2.mixin(new ServerModule(), new AbstractModule() {
+			@Override
+			protected void configure() {
+				bind(BuildManager.class).to(CountingBuildManager.class);
+			}
+		}));
+		WorkspaceManager workspaceManager = injector.getInstance(WorkspaceManager.class);
+		CountingBuildManager countingBuildManager = injector.getInstance(CountingBuildManager.class);
+		URI foo = createFile("Foo.testlang", "type Foo {}");
+		createFile("Bar.testlang", "type Bar { Foo foo }");
+		workspaceManager.initialize(toUri(root), (uri, issues) -> {
+		}, CancelIndicator.NullImpl);
+		workspaceManager.didOpen(foo, 1, "type Foo {}").build(CancelIndicator.NullImpl);
+		Assert.assertEquals(1, countingBuildManager.builds);
+
+		workspaceManager.setBuildDebounceDelay(100);
+		workspaceManager.didChangeTextDocumentContent(foo, 2,
+				Lists.newArrayList(new TextDocumentContentChangeEvent(""))).build(CancelIndicator.NullImpl);
+		Assert.assertEquals(1, countingBuildManager.builds);
+		workspaceManager.buildDeferred().build(CancelIndicator.NullImpl);
+		Assert.assertEquals(2, countingBuildManager.builds);
+	}
+
+	private URI createFile(String path, CharSequence contents) throws Exception {
+		File file = new File(root, path);
+		file.getParentFile().mkdirs();
+		try (FileWriter fileWriter = new FileWriter(file)) {
+			fileWriter.write(contents.toString());
+		}
+		return toUri(file);
+	}
+
+	private URI toUri(File file) throws Exception {
+		return uriExtensions.withEmptyAuthority(URI.createFileURI(file.getCanonicalPath()));
+	}
+
+}
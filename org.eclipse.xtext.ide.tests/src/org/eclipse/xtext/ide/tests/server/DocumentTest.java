@@ -114,6 +114,22 @@ public class DocumentTest {
 		Assert.assertEquals(2, changedDocument.getVersion().intValue());
 	}
 
+	@Test
+	public void testApplyTextDocumentChanges_keepsOriginal() {
+		String model =
+				"foo\n" +
+				"bar\n";
+		Document document = new Document(1, model);
+		Document changedDocument = document
+				.applyTextDocumentChanges(Lists.newArrayList(change(position(1, 0), position(1, 0), "baz\n")));
+		Assert.assertEquals(model, document.getContents());
+		Assert.assertEquals(3, document.getLineCount());
+		Assert.assertEquals(4, changedDocument.getLineCount());
+		Assert.assertEquals("bar", changedDocument.getLineContent(2));
+		Assert.assertEquals(position(2, 1), changedDocument.getPosition(9));
+		Assert.assertEquals(9, changedDocument.getOffSet(position(2, 1)));
+	}
+
 	@Test
 	public void testUpdate_nonIncrementalChange() {
 		String model =
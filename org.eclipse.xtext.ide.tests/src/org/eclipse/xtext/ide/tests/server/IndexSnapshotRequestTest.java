@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.WorkspaceSymbolParams;
+import org.eclipse.xtext.ide.server.WorkspaceManager;
+import org.eclipse.xtext.ide.server.concurrent.RequestManager;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.util.Modules2;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.inject.AbstractModule;
+import com.google.inject.Inject;
+import com.google.inject.Module;
+
+/**
+ * Index reads of the language server run on the published index snapshot and do not wait for builds.
+ */
+public class IndexSnapshotRequestTest extends AbstractTestLangLanguageServerTest {
+
+	@Inject
+	private WorkspaceManager workspaceManager;
+
+	@Override
+	protected Module getServerModule() {
+		return Modules2.mixin(super.getServerModule(), new AbstractModule() {
+			@Override
+			protected void configure() {
+				bind(RequestManager.class);
+			}
+		});
+	}
+
+	@After
+	public void shutdown() {
+		languageServer.getRequestManager().shutdown();
+	}
+
+	@Test(timeout = 10000)
+	public void testSymbolDuringBuild() throws Exception {
+		String fileUri = writeFile("MyModel.testlang", "type Foo {}");
+		initialize();
+		awaitWrites();
+
+		CountDownLatch buildStarted = new CountDownLatch(1);
+		CountDownLatch finishBuild = new CountDownLatch(1);
+		workspaceManager.addBuildListener((List<IResourceDescription.Delta> deltas) -> {
+			buildStarted.countDown();
+			try {
+				finishBuild.await();
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		open(fileUri, "type Fog {}");
+		buildStarted.await();
+
+		List<? extends SymbolInformation> symbols = languageServer.symbol(new WorkspaceSymbolParams("Fo")).get();
+		Assert.assertEquals(Lists.newArrayList("Foo"), Lists.transform(symbols, SymbolInformation::getName));
+		Assert.assertEquals(fileUri, symbols.get(0).getLocation().getUri());
+
+		finishBuild.countDown();
+		awaitWrites();
+		symbols = languageServer.symbol(new WorkspaceSymbolParams("Fo")).get();
+		Assert.assertEquals(Lists.newArrayList("Fog"), Lists.transform(symbols, SymbolInformation::getName));
+	}
+
+	private void awaitWrites() throws Exception {
+		// read requests are queued behind the pending writes without cancelling them
+		languageServer.getRequestManager().runRead(cancelIndicator -> null).get();
+	}
+
+}
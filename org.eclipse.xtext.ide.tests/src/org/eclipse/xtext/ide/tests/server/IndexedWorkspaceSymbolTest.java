@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server;
+
+import java.util.List;
+
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.WorkspaceSymbolParams;
+import org.eclipse.xtext.ide.server.symbol.IndexedWorkspaceSymbolService;
+import org.eclipse.xtext.ide.server.symbol.WorkspaceSymbolService;
+import org.eclipse.xtext.testing.WorkspaceSymbolConfiguration;
+import org.eclipse.xtext.util.Modules2;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.inject.AbstractModule;
+import com.google.inject.Module;
+
+public class IndexedWorkspaceSymbolTest extends AbstractTestLangLanguageServerTest {
+
+	@Override
+	protected Module getServerModule() {
+		return Modules2.mixin(super.getServerModule(), new AbstractModule() {
+			@Override
+			protected void configure() {
+				bind(WorkspaceSymbolService.class).to(IndexedWorkspaceSymbolService.class);
+			}
+		});
+	}
+
+	@Test
+	public void testRankedByMatchKind() {
+		testSymbol((WorkspaceSymbolConfiguration it) -> {
+			String model =
+					"type Foo {\n" +
+					"	int bar\n" +
+					"}\n" +
+					"type Bar {\n" +
+					"	Foo foo\n" +
+					"}\n";
+			it.setModel(model);
+			it.setQuery("bar");
+			String expectedSymbols =
+					"symbol \"Bar\" {\n" +
+					"	kind: 7\n" +
+					"	location: MyModel.testlang [[3, 5] .. [3, 8]]\n" +
+					"}\n" +
+					"symbol \"Foo.bar\" {\n" +
+					"	kind: 7\n" +
+					"	location: MyModel.testlang [[1, 5] .. [1, 8]]\n" +
+					"}\n" +
+					"symbol \"Bar.foo\" {\n" +
+					"	kind: 7\n" +
+					"	location: MyModel.testlang [[4, 5] .. [4, 8]]\n" +
+					"}\n" +
+					"symbol \"Foo.bar.int\" {\n" +
+					"	kind: 7\n" +
+					"	location: MyModel.testlang [[1, 1] .. [1, 4]]\n" +
+					"}\n";
+			it.setExpectedSymbols(expectedSymbols);
+		});
+	}
+
+	@Test
+	public void testCamelCase() {
+		testSymbol((WorkspaceSymbolConfiguration it) -> {
+			it.setModel("type FooBar {}\ntype Fob {}\n");
+			it.setQuery("FB");
+			String expectedSymbols =
+					"symbol \"FooBar\" {\n" +
+					"	kind: 7\n" +
+					"	location: MyModel.testlang [[0, 5] .. [0, 11]]\n" +
+					"}\n";
+			it.setExpectedSymbols(expectedSymbols);
+		});
+	}
+
+	@Test
+	public void testIndexIsUpdated() throws Exception {
+		String fileUri = writeFile("MyModel.testlang", "type Foo {}");
+		initialize();
+		Assert.assertEquals(Lists.newArrayList("Foo"), getSymbolNames("Fo"));
+		open(fileUri, "type Fog {}\ntype Baz {}");
+		Assert.assertEquals(Lists.newArrayList("Fog"), getSymbolNames("Fo"));
+		Assert.assertEquals(Lists.newArrayList("Baz"), getSymbolNames("az"));
+	}
+
+	private List<String> getSymbolNames(String query) throws Exception {
+		List<? extends SymbolInformation> symbols = languageServer.symbol(new WorkspaceSymbolParams(query)).get();
+		return Lists.transform(symbols, SymbolInformation::getName);
+	}
+}
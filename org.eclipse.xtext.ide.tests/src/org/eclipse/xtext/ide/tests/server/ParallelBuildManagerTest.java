@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.build.IncrementalBuilder;
+import org.eclipse.xtext.ide.server.BuildManager;
+import org.eclipse.xtext.ide.server.IMultiRootWorkspaceConfigFactory;
+import org.eclipse.xtext.ide.server.MultiProjectWorkspaceConfigFactory;
+import org.eclipse.xtext.ide.server.ProjectManager;
+import org.eclipse.xtext.ide.server.ServerModule;
+import org.eclipse.xtext.ide.server.WorkspaceManager;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.Files;
+import org.eclipse.xtext.util.Modules2;
+import org.eclipse.xtext.validation.Issue;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+
+public class ParallelBuildManagerTest {
+
+	public static class RecordingProjectManager extends ProjectManager {
+		static List<String> events;
+
+		static CyclicBarrier barrier;
+
+		@Override
+		public IncrementalBuilder.Result doBuild(List<URI> dirtyFiles, List<URI> deletedFiles,
+				List<IResourceDescription.Delta> externalDeltas, CancelIndicator cancelIndicator) {
+			String name = getProjectDescription().getName();
+			events.add("start " + name);
+			if (barrier != null && !name.equals("a")) {
+				try {
+					barrier.await(5, TimeUnit.SECONDS);
+				} catch (Exception e) {
+					throw new RuntimeException("Independent projects are not built concurrently " + events, e);
+				}
+			}
+			IncrementalBuilder.Result result = super.doBuild(dirtyFiles, deletedFiles, externalDeltas,
+					cancelIndicator);
+			events.add("end " + name);
+			return result;
+		}
+	}
+
+	private final Map<URI, List<Issue>> diagnostics = new ConcurrentHashMap<>();
+
+	private ExecutorService executor;
+
+	@Inject
+	private WorkspaceManager workspaceManager;
+
+	@Before
+	public void setup() throws Exception {
+		RecordingProjectManager.events = new CopyOnWriteArrayList<>();
+		RecordingProjectManager.barrier = null;
+		executor = Executors.newFixedThreadPool(2);
+		BuildManager buildManager = new BuildManager();
+		buildManager.setExecutorService(executor);
+		Guice.createInjector(Modules2.mixin(new ServerModule(), new AbstractModule() {
+			@Override
+			protected void configure() {
+				bind(IMultiRootWorkspaceConfigFactory.class).to(MultiProjectWorkspaceConfigFactory.class);
+				bind(ProjectManager.class).to(RecordingProjectManager.class);
+				bind(BuildManager.class).toInstance(buildManager);
+			}
+		})).injectMembers(this);
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdown();
+	}
+
+	@Test(timeout = 30000)
+	public void testIndependentProjectsAreBuiltConcurrently() throws Exception {
+		File root = new File("test-data");
+		if (!root.mkdirs()) {
+			Files.cleanFolder(root, null, true, false);
+		}
+		root.deleteOnExit();
+		URI foo = createFile(new File(root, "a"), "Foo.testlang", "type Foo { Bar bar Baz baz }");
+		URI bar = createFile(new File(root, "b"), "Bar.testlang", "type Bar {}");
+		URI baz = createFile(new File(root, "c"), "Baz.testlang", "type Baz {}");
+		workspaceManager.initialize(URI.createFileURI(root.getAbsolutePath()),
+				(uri, issues) -> diagnostics.put(uri, IterableExtensions.toList(issues)), CancelIndicator.NullImpl);
+		workspaceManager.getProjectManager("a").getProjectDescription().getDependencies().addAll(
+				Lists.newArrayList("b", "c"));
+		diagnostics.clear();
+		RecordingProjectManager.events.clear();
+		RecordingProjectManager.barrier = new CyclicBarrier(2);
+
+		List<IResourceDescription.Delta> deltas = workspaceManager.doBuild(Lists.newArrayList(foo, bar, baz),
+				Collections.emptyList(), CancelIndicator.NullImpl);
+
+		Assert.assertTrue(Lists.transform(deltas, IResourceDescription.Delta::getUri).containsAll(
+				Lists.newArrayList(foo, bar, baz)));
+		Assert.assertTrue(diagnostics.get(foo).toString(), diagnostics.get(foo).isEmpty());
+		Assert.assertTrue(diagnostics.get(bar).isEmpty());
+		Assert.assertTrue(diagnostics.get(baz).isEmpty());
+		List<String> events = RecordingProjectManager.events;
+		Assert.assertEquals(events.toString(), 6, events.size());
+		Assert.assertEquals(events.toString(), "start a", events.get(4));
+		Assert.assertEquals(events.toString(), "end a", events.get(5));
+	}
+
+	private URI createFile(File root, String path, CharSequence contents) throws Exception {
+		File file = new File(root, path);
+		file.getParentFile().mkdirs();
+		try (FileWriter fileWriter = new FileWriter(file)) {
+			fileWriter.write(contents.toString());
+		}
+		return URI.createFileURI(file.getAbsolutePath());
+	}
+
+}
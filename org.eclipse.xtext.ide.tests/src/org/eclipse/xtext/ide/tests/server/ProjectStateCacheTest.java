@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.build.BuildRequest;
+import org.eclipse.xtext.build.IncrementalBuilder;
+import org.eclipse.xtext.build.IndexState;
+import org.eclipse.xtext.diagnostics.Severity;
+import org.eclipse.xtext.ide.server.ProjectStateCache;
+import org.eclipse.xtext.ide.server.ProjectStateCache.ProjectState;
+import org.eclipse.xtext.ide.server.ServerModule;
+import org.eclipse.xtext.ide.server.UriExtensions;
+import org.eclipse.xtext.ide.server.WorkspaceManager;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.clustering.IResourceClusteringPolicy;
+import org.eclipse.xtext.util.Files;
+import org.eclipse.xtext.validation.Issue;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Sets;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.util.Modules;
+
+public class ProjectStateCacheTest {
+
+	private static class TestProjectStateCache extends ProjectStateCache {
+		private final File directory;
+
+		private final String languageSetup;
+
+		TestProjectStateCache(File directory, String languageSetup) {
+			this.directory = directory;
+			this.languageSetup = languageSetup;
+		}
+
+		@Override
+		protected File getCacheDirectory() {
+			return directory;
+		}
+
+		@Override
+		protected String getLanguageSetupFingerprint() {
+			return super.getLanguageSetupFingerprint() + languageSetup;
+		}
+	}
+
+	private static class FailingIncrementalBuilder extends IncrementalBuilder {
+		@Override
+		public Result build(BuildRequest request, Function1<? super URI, ? extends IResourceServiceProvider> languages,
+				IResourceClusteringPolicy clusteringPolicy) {
+			throw new IllegalStateException("build failed");
+		}
+	}
+
+	private File root;
+
+	private File cacheDirectory;
+
+	private Map<URI, List<Issue>> diagnostics;
+
+	private Set<URI> builtFiles;
+
+	private final UriExtensions uriExtensions = new UriExtensions();
+
+	@Before
+	public void setup() throws IOException {
+		root = new File("./test-data/test-project").getCanonicalFile();
+		if (!root.mkdirs()) {
+			Files.cleanFolder(root, null, true, false);
+		}
+		cacheDirectory = new File("./test-data/project-state-cache");
+		if (!cacheDirectory.mkdirs()) {
+			Files.cleanFolder(cacheDirectory, null, true, false);
+		}
+	}
+
+	@After
+	public void cleanup() throws FileNotFoundException {
+		if (root.exists()) {
+			Files.cleanFolder(root, null, true, true);
+		}
+		if (cacheDirectory.exists()) {
+			Files.cleanFolder(cacheDirectory, null, true, true);
+		}
+	}
+
+	@Test
+	public void testWarmStartBuildsChangedFilesOnly() throws IOException {
+		URI a = writeFile("A.testlang", "type A { B b }");
+		URI b = writeFile("B.testlang", "type B { string s }");
+		URI c = writeFile("C.testlang", "type C { Unknown u }");
+		startServer("v1");
+		Assert.assertEquals(Sets.newHashSet(a, b, c), builtFiles);
+		Assert.assertEquals(1, diagnostics.get(c).size());
+
+		writeFile("B.testlang", "type B {\n\tstring s\n}\n");
+		WorkspaceManager workspaceManager = startServer("v1");
+		Assert.assertEquals(Sets.newHashSet(b), builtFiles);
+		Assert.assertEquals(1, diagnostics.get(c).size());
+		Assert.assertEquals(3, IterableExtensions.size(workspaceManager.getIndex().getAllResourceDescriptions()));
+
+		new File(root, "C.testlang").delete();
+		writeFile("B.testlang", "type Renamed { string s }");
+		startServer("v1");
+		Assert.assertEquals(Sets.newHashSet(a, b, c), builtFiles);
+		Assert.assertEquals(1, diagnostics.get(a).size());
+	}
+
+	@Test
+	public void testChangedLanguageSetupInvalidatesCache() throws IOException {
+		URI a = writeFile("A.testlang", "type A { B b }");
+		URI b = writeFile("B.testlang", "type B { string s }");
+		startServer("v1");
+		startServer("v1");
+		Assert.assertTrue(builtFiles.isEmpty());
+		startServer("v2");
+		Assert.assertEquals(Sets.newHashSet(a, b), builtFiles);
+	}
+
+	@Test
+	public void testFailedBuildDoesNotRecordFingerprints() throws IOException {
+		writeFile("A.testlang", "type A { B b }");
+		URI b = writeFile("B.testlang", "type B { string s }");
+		startServer("v1");
+
+		writeFile("B.testlang", "type B { int i }");
+		WorkspaceManager failing = createWorkspaceManager("v1",
+				binder -> binder.bind(IncrementalBuilder.class).toInstance(new FailingIncrementalBuilder()));
+		try {
+			initialize(failing);
+			Assert.fail();
+		} catch (IllegalStateException e) {
+			Assert.assertEquals("build failed", e.getMessage());
+		}
+		failing.saveProjectStates();
+
+		startServer("v1");
+		Assert.assertTrue(builtFiles.toString(), builtFiles.contains(b));
+	}
+
+	@Test
+	public void testLongIssueMessage() {
+		URI baseDir = uriExtensions.withEmptyAuthority(URI.createFileURI(root.getAbsolutePath()));
+		URI uri = baseDir.appendSegment("A.testlang");
+		String message = Strings.repeat("\u00e4", 70000);
+		Issue.IssueImpl issue = new Issue.IssueImpl();
+		issue.setSeverity(Severity.ERROR);
+		issue.setMessage(message);
+		issue.setData(new String[] { message });
+		Map<URI, List<Issue>> issues = new HashMap<>();
+		issues.put(uri, Collections.singletonList(issue));
+		ProjectStateCache cache = new TestProjectStateCache(cacheDirectory, "v1");
+		cache.save("test-project", baseDir, new ProjectState(new IndexState(), new HashMap<>(), issues));
+
+		ProjectState state = cache.load("test-project", baseDir);
+		Assert.assertNotNull(state);
+		Issue loaded = state.getIssues().get(uri).get(0);
+		Assert.assertEquals(message, loaded.getMessage());
+		Assert.assertArrayEquals(new String[] { message }, loaded.getData());
+	}
+
+	private WorkspaceManager startServer(String languageSetup) {
+		WorkspaceManager workspaceManager = createWorkspaceManager(languageSetup, binder -> {
+		});
+		initialize(workspaceManager);
+		workspaceManager.saveProjectStates();
+		return workspaceManager;
+	}
+
+	private WorkspaceManager createWorkspaceManager(String languageSetup, Module overrides) {
+		ProjectStateCache cache = new TestProjectStateCache(cacheDirectory, languageSetup);
+		Injector injector = Guice.createInjector(Modules.override(new ServerModule())
+				.with(binder -> binder.bind(ProjectStateCache.class).toInstance(cache), overrides));
+		WorkspaceManager workspaceManager = injector.getInstance(WorkspaceManager.class);
+		diagnostics = new HashMap<>();
+		builtFiles = new HashSet<>();
+		workspaceManager.addBuildListener((List<IResourceDescription.Delta> deltas) -> {
+			for (IResourceDescription.Delta delta : deltas) {
+				builtFiles.add(delta.getUri());
+			}
+		});
+		return workspaceManager;
+	}
+
+	private void initialize(WorkspaceManager workspaceManager) {
+		workspaceManager.initialize(uriExtensions.withEmptyAuthority(URI.createFileURI(root.getAbsolutePath())),
+				(URI uri, Iterable<Issue> issues) -> diagnostics.put(uri, new ArrayList<>(IterableExtensions.toList(issues))),
+				null);
+	}
+
+	private URI writeFile(String path, String contents) throws IOException {
+		File file = new File(root, path);
+		long previousTimeStamp = file.lastModified();
+		try (FileWriter fileWriter = new FileWriter(file)) {
+			fileWriter.write(contents);
+		}
+		if (previousTimeStamp != 0) {
+			// make sure the time stamp changes on file systems with a coarse resolution
+			file.setLastModified(previousTimeStamp + 2000);
+		}
+		return uriExtensions.withEmptyAuthority(URI.createFileURI(file.getAbsolutePath()));
+	}
+
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server;
+
+import java.util.Random;
+
+import org.eclipse.xtext.ide.server.Rope;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RopeTest {
+
+	@Test
+	public void testEmpty() {
+		Rope rope = Rope.of("");
+		Assert.assertEquals(0, rope.length());
+		Assert.assertEquals(1, rope.getLineCount());
+		Assert.assertEquals(0, rope.getLineStart(0));
+		Assert.assertEquals(0, rope.getLineEnd(0));
+		Assert.assertEquals(0, rope.getLineOfOffset(0));
+	}
+
+	@Test
+	public void testLines() {
+		Rope rope = Rope.of("hello world\r\nfoo\n\nbar");
+		Assert.assertEquals(4, rope.getLineCount());
+		Assert.assertEquals(13, rope.getLineStart(1));
+		Assert.assertEquals(16, rope.getLineEnd(1));
+		Assert.assertEquals(17, rope.getLineStart(2));
+		Assert.assertEquals(17, rope.getLineEnd(2));
+		Assert.assertEquals(21, rope.getLineEnd(3));
+		Assert.assertEquals(0, rope.getLineOfOffset(12));
+		Assert.assertEquals(1, rope.getLineOfOffset(13));
+		Assert.assertEquals(3, rope.getLineOfOffset(21));
+	}
+
+	@Test
+	public void testReplaceKeepsOriginal() {
+		Rope original = Rope.of("type Foo {}\n");
+		Rope changed = original.replace(5, 8, "Bar\nBaz");
+		Assert.assertEquals("type Foo {}\n", original.toString());
+		Assert.assertEquals(2, original.getLineCount());
+		Assert.assertEquals("type Bar\nBaz {}\n", changed.toString());
+		Assert.assertEquals(3, changed.getLineCount());
+		Assert.assertEquals("Baz", changed.subSequence(9, 12).toString());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testReplaceOutOfBounds() {
+		Rope.of("foo").replace(2, 4, "");
+	}
+
+	@Test
+	public void testRandomEdits() {
+		Random random = new Random(42);
+		String expected = "";
+		Rope rope = Rope.of(expected);
+		for (int i = 0; i < 2000; i++) {
+			int start = random.nextInt(expected.length() + 1);
+			int end = start + random.nextInt(Math.min(expected.length() - start, 10) + 1);
+			StringBuilder text = new StringBuilder();
+			for (int j = random.nextInt(6); j > 0; j--) {
+				text.append("ab\n\r".charAt(random.nextInt(4)));
+			}
+			expected = expected.substring(0, start) + text + expected.substring(end);
+			rope = rope.replace(start, end, text.toString());
+			if (i % 100 == 0) {
+				assertRope(expected, rope);
+				int from = random.nextInt(expected.length() + 1);
+				assertRope(expected.substring(from), rope.subSequence(from, expected.length()));
+			}
+		}
+		assertRope(expected, rope);
+	}
+
+	private void assertRope(String expected, Rope rope) {
+		Assert.assertEquals(expected, rope.toString());
+		Assert.assertEquals(expected.length(), rope.length());
+		int line = 0;
+		int lineStart = 0;
+		for (int i = 0; i <= expected.length(); i++) {
+			Assert.assertEquals(line, rope.getLineOfOffset(i));
+			if (i == expected.length() || expected.charAt(i) == '\n') {
+				Assert.assertEquals(lineStart, rope.getLineStart(line));
+				Assert.assertEquals(i, rope.getLineEnd(line));
+				line++;
+				lineStart = i + 1;
+			} else {
+				Assert.assertEquals(expected.charAt(i), rope.charAt(i));
+			}
+		}
+		Assert.assertEquals(line, rope.getLineCount());
+	}
+
+}
@@ -79,17 +79,42 @@ public class WorkspaceFoldersTest extends AbstractTestLangLanguageServerTest {
 		Assert.assertEquals(1, getDiagnostics().get(twoUri).size());
 	}
 
-	protected void withBuild(Procedure0 lambda) throws Exception {
-		CompletableFuture<Void> future = new CompletableFuture<Void>();
+	@Test
+	public void testRemovedFolderIsReportedAsDeleted() throws Exception {
+		File rootFolder1 = temporaryFolder.newFolder("root1");
+		File rootFolder2 = temporaryFolder.newFolder("root2");
+		writeFile(rootFolder1, "one.testlang", "type Foo {}");
+		String twoUri = writeFile(rootFolder2, "two.testlang", "type Bar {}");
+		initialize((InitializeParams it) -> {
+			it.setWorkspaceFolders(
+					Lists.newArrayList(new WorkspaceFolder(uriExtensions.toUriString(rootFolder1.toURI()), "root1"),
+							new WorkspaceFolder(uriExtensions.toUriString(rootFolder2.toURI()), "root2")));
+		});
+		List<IResourceDescription.Delta> deltas = withBuild(() -> {
+			DidChangeWorkspaceFoldersParams didChangeWorkspaceFoldersParams = new DidChangeWorkspaceFoldersParams();
+			WorkspaceFoldersChangeEvent workspaceFoldersChangeEvent = new WorkspaceFoldersChangeEvent();
+			workspaceFoldersChangeEvent.setRemoved(
+					Lists.newArrayList(new WorkspaceFolder(uriExtensions.toUriString(rootFolder2.toURI()), "root2")));
+			didChangeWorkspaceFoldersParams.setEvent(workspaceFoldersChangeEvent);
+			languageServer.didChangeWorkspaceFolders(didChangeWorkspaceFoldersParams);
+		});
+		Assert.assertEquals(1, deltas.size());
+		Assert.assertEquals(twoUri, uriExtensions.toUriString(deltas.get(0).getUri()));
+		Assert.assertNotNull(deltas.get(0).getOld());
+		Assert.assertNull(deltas.get(0).getNew());
+	}
+
+	protected List<IResourceDescription.Delta> withBuild(Procedure0 lambda) throws Exception {
+		CompletableFuture<List<IResourceDescription.Delta>> future = new CompletableFuture<>();
 		workspaceManager.addBuildListener(new ILanguageServerAccess.IBuildListener() {
 			@Override
 			public void afterBuild(List<IResourceDescription.Delta> it) {
 				workspaceManager.removeBuildListener(this);
-				future.complete(null);
+				future.complete(it);
 			}
 		});
 		lambda.apply();
-		future.get();
+		return future.get();
 	}
 
 	public String writeFile(File root, String path, CharSequence contents) throws Exception {
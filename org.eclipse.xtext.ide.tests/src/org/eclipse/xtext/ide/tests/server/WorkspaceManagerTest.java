@@ -18,6 +18,12 @@ import java.util.List;
 import java.util.Map;
 
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.xtext.ide.server.BuildManager;
 import org.eclipse.xtext.ide.server.Document;
 import org.eclipse.xtext.ide.server.ServerModule;
 import org.eclipse.xtext.ide.server.UriExtensions;
@@ -26,6 +32,7 @@ import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.util.Files;
 import org.eclipse.xtext.validation.Issue;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.IteratorExtensions;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -58,6 +65,77 @@ public class WorkspaceManagerTest {
 				workspaceManger.doRead(path, (Document $0, XtextResource $1) -> $0.getContents()));
 	}
 
+	@Test
+	public void testDidChangeUpdatesLoadedResource() throws IOException {
+		URI foo = operator_mappedTo("Foo.testlang", "type Foo {}");
+		URI bar = operator_mappedTo("Bar.testlang", "type Bar { Foo foo }");
+		workspaceManger.doBuild(Lists.newArrayList(foo, bar), Collections.emptyList(), null);
+		workspaceManger.didOpen(foo, 1, "type Foo {}").build(null);
+		XtextResource resource = workspaceManger.doRead(foo, (Document $0, XtextResource $1) -> $1);
+
+		TextDocumentContentChangeEvent change = new TextDocumentContentChangeEvent("Baz");
+		change.setRange(new Range(new Position(0, 5), new Position(0, 8)));
+		workspaceManger.didChangeTextDocumentContent(foo, 2, Lists.newArrayList(change)).build(null);
+		Assert.assertSame(resource, workspaceManger.doRead(foo, (Document $0, XtextResource $1) -> $1));
+		Assert.assertEquals("type Baz {}", resource.getParseResult().getRootNode().getText());
+		Assert.assertEquals("type Baz {}",
+				workspaceManger.doRead(foo, (Document $0, XtextResource $1) -> $0.getContents()));
+		Assert.assertEquals(1, diagnostics.get(bar).size());
+
+		workspaceManger.didClose(foo).build(null);
+		Assert.assertNotSame(resource, workspaceManger.doRead(foo, (Document $0, XtextResource $1) -> $1));
+		Assert.assertTrue(diagnostics.get(bar).isEmpty());
+	}
+
+	@Test
+	public void testDidChangeRelinksReferencingResources() throws IOException {
+		URI foo = operator_mappedTo("Foo.testlang", "type Foo {}");
+		URI bar = operator_mappedTo("Bar.testlang", "type Bar { Foo foo }");
+		workspaceManger.doBuild(Lists.newArrayList(foo, bar), Collections.emptyList(), null);
+		workspaceManger.didOpen(foo, 1, "type Foo {}").build(null);
+		workspaceManger.didOpen(bar, 1, "type Bar { Foo foo }").build(null);
+		XtextResource barResource = workspaceManger.doRead(bar, (Document $0, XtextResource $1) -> $1);
+		EcoreUtil.resolveAll(barResource);
+		EObject oldTarget = IteratorExtensions.findFirst(barResource.getAllContents(),
+				it -> !it.eCrossReferences().isEmpty()).eCrossReferences().get(0);
+
+		// the replaced type Foo is turned into a proxy, so the loaded resource Bar is linked to its replacement
+		TextDocumentContentChangeEvent change = new TextDocumentContentChangeEvent(" int x ");
+		change.setRange(new Range(new Position(0, 10), new Position(0, 10)));
+		BuildManager.Buildable buildable = workspaceManger.didChangeTextDocumentContent(foo, 2,
+				Lists.newArrayList(change));
+		XtextResource fooResource = workspaceManger.doRead(foo, (Document $0, XtextResource $1) -> $1);
+		Assert.assertEquals("type Foo { int x }", fooResource.getParseResult().getRootNode().getText());
+		Assert.assertTrue(oldTarget.eIsProxy());
+		int references = 0;
+		for (EObject object : IteratorExtensions.toIterable(barResource.getAllContents())) {
+			for (EObject target : object.eCrossReferences()) {
+				Assert.assertFalse(target.eIsProxy());
+				Assert.assertSame(fooResource, target.eResource());
+				references++;
+			}
+		}
+		Assert.assertEquals(1, references);
+		buildable.build(null);
+		Assert.assertTrue(diagnostics.get(bar).isEmpty());
+	}
+
+	@Test
+	public void testDidChangeWithoutPartialParsing() throws IOException {
+		URI foo = operator_mappedTo("Foo.testlang", "type Foo {}");
+		workspaceManger.doBuild(Lists.newArrayList(foo), Collections.emptyList(), null);
+		workspaceManger.setPartialParsing(false);
+		workspaceManger.didOpen(foo, 1, "type Foo {}").build(null);
+		XtextResource resource = workspaceManger.doRead(foo, (Document $0, XtextResource $1) -> $1);
+
+		TextDocumentContentChangeEvent change = new TextDocumentContentChangeEvent("Baz");
+		change.setRange(new Range(new Position(0, 5), new Position(0, 8)));
+		workspaceManger.didChangeTextDocumentContent(foo, 2, Lists.newArrayList(change)).build(null);
+		XtextResource reloaded = workspaceManger.doRead(foo, (Document $0, XtextResource $1) -> $1);
+		Assert.assertNotSame(resource, reloaded);
+		Assert.assertEquals("type Baz {}", reloaded.getParseResult().getRootNode().getText());
+	}
+
 	@Inject
 	protected WorkspaceManager workspaceManger;
 
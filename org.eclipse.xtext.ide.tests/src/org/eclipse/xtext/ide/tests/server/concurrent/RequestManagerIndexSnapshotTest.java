@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server.concurrent;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.xtext.ide.server.ServerModule;
+import org.eclipse.xtext.ide.server.concurrent.RequestManager;
+import org.eclipse.xtext.ide.server.concurrent.RequestMetrics;
+import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.service.OperationCanceledManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+
+public class RequestManagerIndexSnapshotTest {
+
+	@Inject
+	private RequestManager requestManager;
+
+	@Inject
+	private OperationCanceledManager operationCanceledManager;
+
+	private final AtomicReference<IResourceDescriptions> currentIndex = new AtomicReference<>();
+
+	@Before
+	public void setUp() {
+		Guice.createInjector(new ServerModule()).injectMembers(this);
+		currentIndex.set(new ResourceDescriptionsData(Collections.emptyList()));
+		requestManager.setSnapshotProvider(currentIndex::get);
+	}
+
+	@After
+	public void tearDown() {
+		requestManager.shutdown();
+	}
+
+	@Test(timeout = 5000)
+	public void testSnapshotIsCreatedOnDemand() throws Exception {
+		IResourceDescriptions index = requestManager.runReadOnIndexSnapshot((cancelIndicator, snapshot) -> snapshot).get();
+		Assert.assertSame(currentIndex.get(), index);
+	}
+
+	@Test(timeout = 5000)
+	public void testIndexReadDoesNotWaitForWrite() throws Exception {
+		IResourceDescriptions first = currentIndex.get();
+		requestManager.runWrite(() -> null, (cancelIndicator, it) -> null).get();
+
+		CountDownLatch writeStarted = new CountDownLatch(1);
+		CountDownLatch finishWrite = new CountDownLatch(1);
+		IResourceDescriptions second = new ResourceDescriptionsData(Collections.emptyList());
+		CompletableFuture<Object> write = requestManager.runWrite(() -> {
+			writeStarted.countDown();
+			currentIndex.set(second);
+			try {
+				finishWrite.await();
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+			return null;
+		}, (cancelIndicator, it) -> null);
+		writeStarted.await();
+
+		CountDownLatch finishRead = new CountDownLatch(1);
+		CompletableFuture<IResourceDescriptions> blockedRead = requestManager
+				.runReadOnIndexSnapshot((cancelIndicator, snapshot) -> {
+					try {
+						finishRead.await();
+					} catch (InterruptedException e) {
+						throw new RuntimeException(e);
+					}
+					return snapshot;
+				});
+		CompletableFuture<Object> documentRead = requestManager.runRead(cancelIndicator -> null);
+		Assert.assertSame(first, requestManager.runReadOnIndexSnapshot((cancelIndicator, snapshot) -> snapshot).get());
+		Assert.assertFalse(documentRead.isDone());
+
+		finishWrite.countDown();
+		write.get();
+		documentRead.get();
+		requestManager.runWrite(() -> null, (cancelIndicator, it) -> null).get();
+		Assert.assertFalse(blockedRead.isDone());
+		finishRead.countDown();
+		Assert.assertSame(first, blockedRead.get());
+		Assert.assertSame(second, requestManager.runReadOnIndexSnapshot((cancelIndicator, snapshot) -> snapshot).get());
+	}
+
+	@Test(timeout = 5000)
+	public void testMetrics() throws Exception {
+		CountDownLatch readStarted = new CountDownLatch(1);
+		CompletableFuture<Object> read = requestManager.runRead(cancelIndicator -> {
+			readStarted.countDown();
+			while (true) {
+				operationCanceledManager.checkCanceled(cancelIndicator);
+			}
+		});
+		readStarted.await();
+		requestManager.runWrite(() -> null, (cancelIndicator, it) -> null).get();
+		Assert.assertTrue(read.isCancelled());
+		requestManager.runReadOnIndexSnapshot((cancelIndicator, snapshot) -> snapshot).get();
+
+		Map<String, RequestMetrics.Statistics> statistics = requestManager.getMetrics().getStatistics();
+		Assert.assertEquals(statistics.keySet().toString(), 3, statistics.size());
+		Assert.assertEquals(1, statistics.get("ReadRequest").getCount());
+		Assert.assertEquals(1, statistics.get("ReadRequest").getCancelled());
+		Assert.assertEquals(1, statistics.get("WriteRequest").getCount());
+		Assert.assertEquals(0, statistics.get("WriteRequest").getCancelled());
+		Assert.assertEquals(1, statistics.get("IndexSnapshotReadRequest").getCount());
+		Assert.assertTrue(statistics.get("WriteRequest").getMaxQueueLatency(TimeUnit.NANOSECONDS) > 0);
+
+		requestManager.getMetrics().reset();
+		Assert.assertTrue(requestManager.getMetrics().getStatistics().isEmpty());
+	}
+
+}
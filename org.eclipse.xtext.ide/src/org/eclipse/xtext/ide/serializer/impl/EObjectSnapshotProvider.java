@@ -11,6 +11,7 @@ package org.eclipse.xtext.ide.serializer.impl;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
@@ -32,6 +33,7 @@ import org.eclipse.xtext.resource.IResourceDescriptionsProvider;
 import org.eclipse.xtext.resource.XtextResource;
 
 import com.google.common.base.Joiner;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.inject.Inject;
@@ -218,7 +220,7 @@ public class EObjectSnapshotProvider {
 		ResourceSet resourceSet = resource.getResourceSet();
 		IResourceDescriptions descriptions = resourceDescriptionsProvider.getResourceDescriptions(resourceSet);
 		URI uri = resource.getURI();
-		for (IResourceDescription desc : descriptions.getAllResourceDescriptions()) {
+		for (IResourceDescription desc : getReferencingResourceDescriptions(descriptions, uri)) {
 			for (IReferenceDescription ref : desc.getReferenceDescriptions()) {
 				URI targetURI = ref.getTargetEObjectUri();
 				URI sourceEObjectUri = ref.getSourceEObjectUri();
@@ -243,6 +245,24 @@ public class EObjectSnapshotProvider {
 
 	}
 
+	/**
+	 * The descriptions that may contain references to the resource with the given URI. If the descriptions provide an
+	 * {@link IResourceDescriptions.IReferenceIndexAware index of the references}, only the referencing resources and
+	 * the resource itself are returned. Otherwise all descriptions are returned.
+	 * 
+	 * @since 2.25
+	 */
+	protected Iterable<IResourceDescription> getReferencingResourceDescriptions(IResourceDescriptions descriptions,
+			URI uri) {
+		Iterable<IResourceDescription> result = descriptions.getAllResourceDescriptions();
+		if (descriptions instanceof IResourceDescriptions.IReferenceIndexAware) {
+			Set<URI> referencing = ((IResourceDescriptions.IReferenceIndexAware) descriptions)
+					.getReferencingResources(Collections.singleton(uri));
+			result = Iterables.filter(result, it -> uri.equals(it.getURI()) || referencing.contains(it.getURI()));
+		}
+		return result;
+	}
+
 	public IResourceSnapshot createResourceSnapshot(Resource resource, boolean recordReferences) {
 		return new ResourceSnapshot(this, resource, recordReferences);
 	}
@@ -8,28 +8,43 @@
  *******************************************************************************/
 package org.eclipse.xtext.ide.server;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.xtext.build.IncrementalBuilder;
 import org.eclipse.xtext.diagnostics.Severity;
+import org.eclipse.xtext.ide.server.concurrent.RequestMetrics;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta;
 import org.eclipse.xtext.resource.impl.ProjectDescription;
+import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Functions.Function2;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.util.ToStringBuilder;
 
+import com.google.common.annotations.Beta;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 
@@ -131,15 +146,72 @@ public class BuildManager {
 
 	private List<IResourceDescription.Delta> unreportedDeltas = new ArrayList<>();
 
+	private ExecutorService executorService;
+
+	/**
+	 * The resources that were affected by the changes of a build that deferred them.
+	 */
+	private final LinkedHashSet<URI> deferredFiles = new LinkedHashSet<>();
+
+	private final RequestMetrics metrics = new RequestMetrics();
+
+	private boolean pending;
+
+	private long pendingSince;
+
+	@Inject
+	private OperationCanceledManager operationCanceledManager;
+
 	/**
 	 * Enqueue the given file collections.
 	 *
 	 * @return a buildable.
 	 */
 	public Buildable submit(List<URI> dirtyFiles, List<URI> deletedFiles) {
+		return submit(dirtyFiles, deletedFiles, false);
+	}
+
+	/**
+	 * Enqueue the given file collections. If the affected resources are deferred, the returned buildable only builds
+	 * the dirty and deleted files and remembers the resources that are affected by their changes. They are built by
+	 * the next build that does not defer them.
+	 *
+	 * @return a buildable.
+	 * @since 2.25
+	 */
+	public Buildable submit(List<URI> dirtyFiles, List<URI> deletedFiles, boolean deferAffectedResources) {
+		if (!pending) {
+			pending = true;
+			pendingSince = System.nanoTime();
+		}
 		queue(this.dirtyFiles, deletedFiles, dirtyFiles);
 		queue(this.deletedFiles, dirtyFiles, deletedFiles);
-		return this::internalBuild;
+		this.deferredFiles.removeAll(deletedFiles);
+		if (deferAffectedResources) {
+			return (cancelIndicator) -> internalBuild(cancelIndicator, true);
+		}
+		return (cancelIndicator) -> internalBuild(cancelIndicator);
+	}
+
+	/**
+	 * Returns <code>true</code> if a previous build deferred affected resources that have not been built yet.
+	 *
+	 * @since 2.25
+	 */
+	public boolean hasDeferredFiles() {
+		return !deferredFiles.isEmpty();
+	}
+
+	/**
+	 * The number, run time and outcome of the builds. Builds that defer the affected resources are recorded as
+	 * <code>priorityBuild</code>, all others as <code>build</code>. The queue latency of a build is the time since the
+	 * first change that was submitted after the previous build had been started.
+	 *
+	 * @since 2.25
+	 */
+	@Beta
+	public RequestMetrics getMetrics() {
+		return metrics;
 	}
 
 	/**
@@ -159,9 +231,26 @@ public class BuildManager {
 			CancelIndicator indicator) {
 		List<ProjectDescription> sortedDescriptions = sortByDependencies(projects);
 		List<IResourceDescription.Delta> result = new ArrayList<>();
+		if (isParallel(sortedDescriptions)) {
+			Map<ProjectDescription, IncrementalBuilder.Result> results = new ConcurrentHashMap<>();
+			buildInDependencyOrder(sortedDescriptions, (description, upstream) -> {
+				List<IResourceDescription.Delta> upstreamDeltas = new ArrayList<>();
+				for (ProjectDescription it : upstream) {
+					upstreamDeltas.addAll(results.get(it).getAffectedResources());
+				}
+				ProjectManager projectManager = workspaceManager.getProjectManager(description.getName());
+				projectManager.setUpstreamDeltas(upstreamDeltas);
+				return projectManager.doInitialBuild(indicator);
+			}, results);
+			for (ProjectDescription description : sortedDescriptions) {
+				result.addAll(results.get(description).getAffectedResources());
+			}
+			return result;
+		}
 		for (ProjectDescription description : sortedDescriptions) {
-			IncrementalBuilder.Result partialresult = workspaceManager.getProjectManager(description.getName())
-					.doInitialBuild(indicator);
+			ProjectManager projectManager = workspaceManager.getProjectManager(description.getName());
+			projectManager.setUpstreamDeltas(new ArrayList<>(result));
+			IncrementalBuilder.Result partialresult = projectManager.doInitialBuild(indicator);
 			result.addAll(partialresult.getAffectedResources());
 		}
 		return result;
@@ -171,9 +260,43 @@ public class BuildManager {
 	 * Run the build on all projects.
 	 */
 	protected List<IResourceDescription.Delta> internalBuild(CancelIndicator cancelIndicator) {
-		List<URI> allDirty = new ArrayList<>(dirtyFiles);
+		return internalBuild(cancelIndicator, false);
+	}
+
+	/**
+	 * Run the build on all projects. Unless the affected resources are deferred, the previously deferred resources are
+	 * built, too.
+	 */
+	private List<IResourceDescription.Delta> internalBuild(CancelIndicator cancelIndicator,
+			boolean deferAffectedResources) {
+		long start = System.nanoTime();
+		long queueNanos = pending ? start - pendingSince : 0;
+		pending = false;
+		RequestMetrics.Outcome outcome = RequestMetrics.Outcome.FAILED;
+		try {
+			List<IResourceDescription.Delta> result = doInternalBuild(cancelIndicator, deferAffectedResources);
+			outcome = RequestMetrics.Outcome.COMPLETED;
+			return result;
+		} catch (Throwable t) {
+			if (operationCanceledManager.isOperationCanceledException(t)) {
+				outcome = RequestMetrics.Outcome.CANCELLED;
+			}
+			throw t;
+		} finally {
+			metrics.record(deferAffectedResources ? "priorityBuild" : "build", queueNanos, System.nanoTime() - start,
+					outcome);
+		}
+	}
+
+	private List<IResourceDescription.Delta> doInternalBuild(CancelIndicator cancelIndicator,
+			boolean deferAffectedResources) {
+		Set<URI> toBuild = new LinkedHashSet<>(dirtyFiles);
+		if (!deferAffectedResources) {
+			toBuild.addAll(deferredFiles);
+		}
+		List<URI> allDirty = new ArrayList<>(toBuild);
 		Multimap<ProjectDescription, URI> project2dirty = HashMultimap.create();
-		for (URI dirty : allDirty) {
+		for (URI dirty : toBuild) {
 			project2dirty.put(workspaceManager.getProjectManager(dirty).getProjectDescription(), dirty);
 		}
 		Multimap<ProjectDescription, URI> project2deleted = HashMultimap.create();
@@ -183,27 +306,177 @@ public class BuildManager {
 		}
 		List<ProjectDescription> sortedDescriptions = sortByDependencies(
 				Sets.union(project2dirty.keySet(), project2deleted.keySet()));
+		if (isParallel(sortedDescriptions)) {
+			List<IResourceDescription.Delta> previousDeltas = new ArrayList<>(unreportedDeltas);
+			Map<ProjectDescription, IncrementalBuilder.Result> results = new ConcurrentHashMap<>();
+			try {
+				buildInDependencyOrder(sortedDescriptions, (it, upstream) -> {
+					List<IResourceDescription.Delta> externalDeltas = new ArrayList<>(previousDeltas);
+					for (ProjectDescription upstreamProject : upstream) {
+						mergeDeltas(externalDeltas, results.get(upstreamProject).getAffectedResources());
+					}
+					return doBuild(workspaceManager.getProjectManager(it.getName()),
+							new ArrayList<>(project2dirty.get(it)), new ArrayList<>(project2deleted.get(it)),
+							externalDeltas, deferAffectedResources, cancelIndicator);
+				}, results);
+			} finally {
+				// record the results of the finished projects even if the build was cancelled
+				for (ProjectDescription it : sortedDescriptions) {
+					IncrementalBuilder.Result partialResult = results.get(it);
+					if (partialResult != null) {
+						built(project2dirty.get(it), project2deleted.get(it), partialResult);
+						mergeWithUnreportedDeltas(partialResult.getAffectedResources());
+					}
+				}
+			}
+		} else {
+			buildSequentially(sortedDescriptions, allDirty, project2dirty, project2deleted, deferAffectedResources,
+					cancelIndicator);
+		}
+		List<IResourceDescription.Delta> result = unreportedDeltas;
+		unreportedDeltas = new ArrayList<>();
+		return result;
+	}
+
+	private void buildSequentially(List<ProjectDescription> sortedDescriptions, List<URI> allDirty,
+			Multimap<ProjectDescription, URI> project2dirty, Multimap<ProjectDescription, URI> project2deleted,
+			boolean deferAffectedResources, CancelIndicator cancelIndicator) {
 		for (ProjectDescription it : sortedDescriptions) {
 			ProjectManager projectManager = workspaceManager.getProjectManager(it.getName());
 			List<URI> projectDirty = new ArrayList<>(project2dirty.get(it));
 			List<URI> projectDeleted = new ArrayList<>(project2deleted.get(it));
-			IncrementalBuilder.Result partialResult = projectManager.doBuild(projectDirty, projectDeleted,
-					unreportedDeltas, cancelIndicator);
+			IncrementalBuilder.Result partialResult = doBuild(projectManager, projectDirty, projectDeleted,
+					unreportedDeltas, deferAffectedResources, cancelIndicator);
 			FluentIterable.from(partialResult.getAffectedResources()).transform(IResourceDescription.Delta::getUri)
 					.copyInto(allDirty);
-			dirtyFiles.removeAll(projectDirty);
-			deletedFiles.removeAll(projectDeleted);
+			built(projectDirty, projectDeleted, partialResult);
 			mergeWithUnreportedDeltas(partialResult.getAffectedResources());
 		}
-		List<IResourceDescription.Delta> result = unreportedDeltas;
-		unreportedDeltas = new ArrayList<>();
-		return result;
+	}
+
+	private IncrementalBuilder.Result doBuild(ProjectManager projectManager, List<URI> projectDirty,
+			List<URI> projectDeleted, List<IResourceDescription.Delta> externalDeltas, boolean deferAffectedResources,
+			CancelIndicator cancelIndicator) {
+		if (deferAffectedResources) {
+			return projectManager.doBuild(projectDirty, projectDeleted, externalDeltas, true, cancelIndicator);
+		}
+		return projectManager.doBuild(projectDirty, projectDeleted, externalDeltas, cancelIndicator);
+	}
+
+	private void built(Collection<URI> projectDirty, Collection<URI> projectDeleted,
+			IncrementalBuilder.Result partialResult) {
+		dirtyFiles.removeAll(projectDirty);
+		deletedFiles.removeAll(projectDeleted);
+		deferredFiles.removeAll(projectDirty);
+		deferredFiles.addAll(partialResult.getDeferredResources());
+	}
+
+	private boolean isParallel(List<ProjectDescription> sortedDescriptions) {
+		return getExecutorService() != null && sortedDescriptions.size() > 1;
+	}
+
+	/**
+	 * Build each project as soon as the upstream projects it depends on are built. Independent projects are built
+	 * concurrently on the {@link #getExecutorService() executor service}. The build function is called with the
+	 * project and its transitive upstream projects in build order. The result of a project is put into the given map
+	 * before its downstream projects are scheduled.
+	 *
+	 * If a build fails, no further projects are scheduled. The first failure is rethrown after the running builds are
+	 * done.
+	 */
+	private void buildInDependencyOrder(List<ProjectDescription> sortedDescriptions,
+			Function2<? super ProjectDescription, ? super List<ProjectDescription>, ? extends IncrementalBuilder.Result>
+				build, Map<ProjectDescription, IncrementalBuilder.Result> results) {
+		Map<String, ProjectDescription> name2project = new HashMap<>();
+		for (ProjectDescription project : sortedDescriptions) {
+			name2project.put(project.getName(), project);
+		}
+		Map<ProjectDescription, Set<ProjectDescription>> upstream = new HashMap<>();
+		Map<ProjectDescription, List<ProjectDescription>> downstream = new HashMap<>();
+		Map<ProjectDescription, Integer> pending = new HashMap<>();
+		Deque<ProjectDescription> ready = new ArrayDeque<>();
+		for (ProjectDescription project : sortedDescriptions) {
+			Set<ProjectDescription> transitive = new LinkedHashSet<>();
+			int direct = 0;
+			for (String dependency : new LinkedHashSet<>(project.getDependencies())) {
+				ProjectDescription upstreamProject = name2project.get(dependency);
+				if (upstreamProject != null && upstreamProject != project) {
+					transitive.addAll(upstream.get(upstreamProject));
+					transitive.add(upstreamProject);
+					downstream.computeIfAbsent(upstreamProject, k -> new ArrayList<>()).add(project);
+					direct++;
+				}
+			}
+			upstream.put(project, transitive);
+			pending.put(project, direct);
+			if (direct == 0) {
+				ready.add(project);
+			}
+		}
+		CompletionService<ProjectDescription> completionService = new ExecutorCompletionService<>(
+				getExecutorService());
+		int running = 0;
+		Throwable failure = null;
+		while (running > 0 || failure == null && !ready.isEmpty()) {
+			while (failure == null && !ready.isEmpty()) {
+				ProjectDescription project = ready.poll();
+				List<ProjectDescription> projectUpstream = new ArrayList<>(sortedDescriptions);
+				projectUpstream.retainAll(upstream.get(project));
+				completionService.submit(() -> {
+					results.put(project, build.apply(project, projectUpstream));
+					return project;
+				});
+				running++;
+			}
+			Future<ProjectDescription> done = takeUninterruptibly(completionService);
+			running--;
+			try {
+				ProjectDescription project = Uninterruptibles.getUninterruptibly(done);
+				for (ProjectDescription downstreamProject : downstream.getOrDefault(project,
+						Collections.emptyList())) {
+					int remaining = pending.get(downstreamProject) - 1;
+					pending.put(downstreamProject, remaining);
+					if (remaining == 0) {
+						ready.add(downstreamProject);
+					}
+				}
+			} catch (ExecutionException e) {
+				if (failure == null) {
+					failure = e.getCause();
+				}
+			}
+		}
+		if (failure != null) {
+			throw Exceptions.sneakyThrow(failure);
+		}
+	}
+
+	private <T> Future<T> takeUninterruptibly(CompletionService<T> completionService) {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					return completionService.take();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
 	}
 
 	/**
 	 * @since 2.18
 	 */
 	protected void mergeWithUnreportedDeltas(List<IResourceDescription.Delta> newDeltas) {
+		mergeDeltas(unreportedDeltas, newDeltas);
+	}
+
+	private void mergeDeltas(List<IResourceDescription.Delta> unreportedDeltas,
+			List<IResourceDescription.Delta> newDeltas) {
 		if (unreportedDeltas.isEmpty()) {
 			unreportedDeltas.addAll(newDeltas);
 		} else {
@@ -239,4 +512,28 @@ public class BuildManager {
 	public void setWorkspaceManager(WorkspaceManager workspaceManager) {
 		this.workspaceManager = workspaceManager;
 	}
+
+	/**
+	 * The executor service that is used to build independent projects concurrently or <code>null</code> if the
+	 * projects are built one after another.
+	 *
+	 * @since 2.25
+	 */
+	@Beta
+	public ExecutorService getExecutorService() {
+		return executorService;
+	}
+
+	/**
+	 * Opt into parallel project builds. Each project is built as soon as the projects it depends on are built, and
+	 * independent projects are built concurrently on the given executor, so its size bounds the number of concurrent
+	 * project builds. The resource sets of the projects are not shared, but the language services are, so they have to
+	 * be thread safe.
+	 *
+	 * @since 2.25
+	 */
+	@Beta
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
 }
@@ -22,7 +22,7 @@ import org.eclipse.xtext.xbase.lib.util.ToStringBuilder;
 public class Document {
 	private final Integer version;
 
-	private final String contents;
+	private final Rope text;
 
 	private final boolean printSourceOnError;
 
@@ -34,55 +34,36 @@ public class Document {
 	 * @since 2.15
 	 */
 	public Document(Integer version, String contents, boolean printSourceOnError) {
+		this(version, Rope.of(contents), printSourceOnError);
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	public Document(Integer version, Rope text, boolean printSourceOnError) {
 		this.version = version;
-		this.contents = contents;
+		this.text = text;
 		this.printSourceOnError = printSourceOnError;
 	}
 
 	public int getOffSet(Position position) throws IndexOutOfBoundsException {
-		int l = contents.length();
-		char NL = '\n';
-		int line = 0;
-		int column = 0;
-		for (int i = 0; i < l; i++) {
-			char ch = contents.charAt(i);
-			if (position.getLine() == line && position.getCharacter() == column) {
-				return i;
-			}
-			if (ch == NL) {
-				line++;
-				column = 0;
-			} else {
-				column++;
+		int line = position.getLine();
+		if (line >= 0 && line < text.getLineCount()) {
+			int lineStart = text.getLineStart(line);
+			int character = position.getCharacter();
+			if (character >= 0 && character <= text.getLineEnd(line) - lineStart) {
+				return lineStart + character;
 			}
 		}
-		if (position.getLine() == line && position.getCharacter() == column) {
-			return l;
-		}
 		throw new IndexOutOfBoundsException(position.toString() + getSourceOnError());
 	}
 
 	public Position getPosition(int offset) throws IndexOutOfBoundsException {
-		int l = contents.length();
-		if (offset < 0 || offset > l) {
+		if (offset < 0 || offset > text.length()) {
 			throw new IndexOutOfBoundsException(offset + getSourceOnError());
 		}
-		char NL = '\n';
-		int line = 0;
-		int column = 0;
-		for (int i = 0; i < l; i++) {
-			char ch = contents.charAt(i);
-			if (i == offset) {
-				return new Position(line, column);
-			}
-			if (ch == NL) {
-				line++;
-				column = 0;
-			} else {
-				column++;
-			}
-		}
-		return new Position(line, column);
+		int line = text.getLineOfOffset(offset);
+		return new Position(line, offset - text.getLineStart(line));
 	}
 
 	/**
@@ -91,28 +72,17 @@ public class Document {
 	 * of lines in the document.
 	 */
 	public String getLineContent(int lineNumber) throws IndexOutOfBoundsException {
-		if (lineNumber < 0) {
+		if (lineNumber < 0 || lineNumber >= text.getLineCount()) {
 			throw new IndexOutOfBoundsException(lineNumber + getSourceOnError());
 		}
-		char NL = '\n';
 		char LF = '\r';
-		int l = contents.length();
+		int end = text.getLineEnd(lineNumber);
 		StringBuilder lineContent = new StringBuilder();
-		int line = 0;
-		for (int i = 0; i < l; i++) {
-			if (line > lineNumber) {
-				return lineContent.toString();
-			}
-			char ch = contents.charAt(i);
-			if (line == lineNumber && ch != NL && ch != LF) {
+		for (int i = text.getLineStart(lineNumber); i < end; i++) {
+			char ch = text.charAt(i);
+			if (ch != LF) {
 				lineContent.append(ch);
 			}
-			if (ch == NL) {
-				line++;
-			}
-		}
-		if (line < lineNumber) {
-			throw new IndexOutOfBoundsException(lineNumber + getSourceOnError());
 		}
 		return lineContent.toString();
 	}
@@ -123,7 +93,7 @@ public class Document {
 	protected String getSourceOnError() {
 		String source = "";
 		if (isPrintSourceOnError()) {
-			source = " text was : " + contents;
+			source = " text was : " + getContents();
 		}
 		return source;
 	}
@@ -132,13 +102,13 @@ public class Document {
 	 * Get the number of lines in the document. Empty document has line count: {@code 1}.
 	 */
 	public int getLineCount() {
-		return getPosition(contents.length()).getLine() + 1;
+		return text.getLineCount();
 	}
 
 	public String getSubstring(Range range) {
 		int start = getOffSet(range.getStart());
 		int end = getOffSet(range.getEnd());
-		return contents.substring(start, end);
+		return text.subSequence(start, end).toString();
 	}
 
 	/**
@@ -147,6 +117,8 @@ public class Document {
 	 * https://microsoft.github.io/language-server-protocol/specification#textedit-1 and
 	 * https://github.com/microsoft/vscode/issues/23173#issuecomment-289378160 for details.
 	 * 
+	 * The returned document shares the unchanged parts of its text with this document.
+	 * 
 	 * @return a new document with an incremented version and the text document changes applied.
 	 * @since 2.18
 	 */
@@ -157,16 +129,15 @@ public class Document {
 			newVersion = Integer.valueOf(currentDocument.version.intValue() + 1);
 		}
 		for (TextDocumentContentChangeEvent change : changes) {
-			final String newContent;
+			final Rope newText;
 			if (change.getRange() == null) {
-				newContent = change.getText();
+				newText = Rope.of(change.getText());
 			} else {
 				int start = currentDocument.getOffSet(change.getRange().getStart());
 				int end = currentDocument.getOffSet(change.getRange().getEnd());
-				newContent = currentDocument.contents.substring(0, start) + change.getText()
-						+ currentDocument.contents.substring(end);
+				newText = currentDocument.text.replace(start, end, change.getText());
 			}
-			currentDocument = new Document(newVersion, newContent, printSourceOnError);
+			currentDocument = new Document(newVersion, newText, printSourceOnError);
 		}
 		return currentDocument;
 	}
@@ -177,21 +148,21 @@ public class Document {
 	 * All positions in the {@link TextEdit}s refer to the same original document (this).
 	 */
 	public Document applyChanges(Iterable<? extends TextEdit> changes) {
-		String newContent = contents;
+		Rope newText = text;
 		for (TextEdit change : changes) {
 			if (change.getRange() == null) {
-				newContent = change.getNewText();
+				newText = Rope.of(change.getNewText());
 			} else {
 				int start = getOffSet(change.getRange().getStart());
 				int end = getOffSet(change.getRange().getEnd());
-				newContent = newContent.substring(0, start) + change.getNewText() + newContent.substring(end);
+				newText = newText.replace(start, end, change.getNewText());
 			}
 		}
 		Integer newVersion = null;
 		if (version != null) {
 			newVersion = Integer.valueOf(version.intValue() + 1);
 		}
-		return new Document(newVersion, newContent);
+		return new Document(newVersion, newText, true);
 	}
 
 	/**
@@ -205,7 +176,7 @@ public class Document {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + ((contents == null) ? 0 : contents.hashCode());
+		result = prime * result + getContents().hashCode();
 		result = prime * result + (printSourceOnError ? 1231 : 1237);
 		result = prime * result + ((version == null) ? 0 : version.hashCode());
 		return result;
@@ -220,10 +191,7 @@ public class Document {
 		if (getClass() != obj.getClass())
 			return false;
 		Document other = (Document) obj;
-		if (contents == null) {
-			if (other.contents != null)
-				return false;
-		} else if (!contents.equals(other.contents))
+		if (!getContents().equals(other.getContents()))
 			return false;
 		if (printSourceOnError != other.printSourceOnError)
 			return false;
@@ -239,7 +207,7 @@ public class Document {
 	public String toString() {
 		ToStringBuilder b = new ToStringBuilder(this);
 		b.add("version", version);
-		b.add("contents", contents);
+		b.add("contents", getContents());
 		b.add("printSourceOnError", printSourceOnError);
 		return b.toString();
 	}
@@ -249,6 +217,16 @@ public class Document {
 	}
 
 	public String getContents() {
-		return contents;
+		return text.toString();
+	}
+
+	/**
+	 * The text of this document. Unlike the {@link #getContents() contents}, it allows to apply changes and to convert
+	 * between offsets and positions without copying the whole text.
+	 * 
+	 * @since 2.25
+	 */
+	public Rope getText() {
+		return text;
 	}
 }
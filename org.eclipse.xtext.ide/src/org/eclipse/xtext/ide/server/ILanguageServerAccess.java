@@ -112,7 +112,8 @@ public interface ILanguageServerAccess {
 	<T extends Object> CompletableFuture<T> doRead(String uri, Function<ILanguageServerAccess.Context, T> function);
 
 	/**
-	 * Provides read access to the Xtext index.
+	 * Provides read access to the Xtext index. Since 2.25 the function is applied to the index snapshot of the last
+	 * completed write request and may run concurrently to subsequent builds.
 	 * 
 	 * @since 2.18
 	 */
@@ -17,6 +17,10 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -110,6 +114,7 @@ import org.eclipse.xtext.ide.server.codelens.ICodeLensService;
 import org.eclipse.xtext.ide.server.commands.ExecutableCommandRegistry;
 import org.eclipse.xtext.ide.server.concurrent.RequestManager;
 import org.eclipse.xtext.ide.server.contentassist.ContentAssistService;
+import org.eclipse.xtext.ide.server.findReferences.IndexSnapshotResourceAccess;
 import org.eclipse.xtext.ide.server.findReferences.WorkspaceResourceAccess;
 import org.eclipse.xtext.ide.server.formatting.FormattingService;
 import org.eclipse.xtext.ide.server.hover.IHoverService;
@@ -121,6 +126,7 @@ import org.eclipse.xtext.ide.server.symbol.HierarchicalDocumentSymbolService;
 import org.eclipse.xtext.ide.server.symbol.IDocumentSymbolService;
 import org.eclipse.xtext.ide.server.symbol.WorkspaceSymbolService;
 import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsProvider;
@@ -137,6 +143,7 @@ import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 
 /**
@@ -185,6 +192,10 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
 
 	private final Multimap<String, Endpoint> extensionProviders = LinkedListMultimap.create();
 
+	private ScheduledExecutorService deferredBuildScheduler;
+
+	private ScheduledFuture<?> deferredBuild;
+
 	@Inject
 	public void setWorkspaceManager(WorkspaceManager manager) {
 		workspaceManager = manager;
@@ -216,6 +227,10 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
 
 		result.setCapabilities(createServerCapabilities(params));
 		access.addBuildListener(this);
+		if (workspaceSymbolService instanceof ILanguageServerAccess.IBuildListener) {
+			access.addBuildListener((ILanguageServerAccess.IBuildListener) workspaceSymbolService);
+		}
+		requestManager.setSnapshotProvider(workspaceManager::getIndex);
 		return requestManager.runWrite(() -> {
 			if (workspaceManager.isSupportsWorkspaceFolders()) {
 				List<WorkspaceFolder> workspaceFolders = params.getWorkspaceFolders();
@@ -365,8 +380,16 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
 
 	@Override
 	public CompletableFuture<Object> shutdown() {
+		synchronized (this) {
+			if (deferredBuildScheduler != null) {
+				deferredBuildScheduler.shutdownNow();
+			}
+		}
 		shutdownAndExitHandler.shutdown();
-		return CompletableFuture.completedFuture(new Object());
+		return requestManager.runWrite(() -> {
+			workspaceManager.saveProjectStates();
+			return new Object();
+		}, (cancelIndicator, result) -> result);
 	}
 
 	@Override
@@ -396,6 +419,31 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
 	@Override
 	public void didChange(DidChangeTextDocumentParams params) {
 		runBuildable(() -> toBuildable(params));
+		long delay = workspaceManager.getBuildDebounceDelay();
+		if (delay > 0) {
+			scheduleDeferredBuild(delay);
+		}
+	}
+
+	/**
+	 * Build the resources that are affected by the changes of the open documents once no further change arrived within
+	 * the given delay. Changes that arrive earlier restart the delay.
+	 *
+	 * @see WorkspaceManager#getBuildDebounceDelay()
+	 * @since 2.25
+	 */
+	protected synchronized void scheduleDeferredBuild(long delay) {
+		if (deferredBuild != null) {
+			deferredBuild.cancel(false);
+		}
+		if (deferredBuildScheduler == null) {
+			deferredBuildScheduler = Executors.newSingleThreadScheduledExecutor(
+					new ThreadFactoryBuilder().setDaemon(true).setNameFormat("LanguageServer-DeferredBuild-%d").build());
+		}
+		if (!deferredBuildScheduler.isShutdown()) {
+			deferredBuild = deferredBuildScheduler.schedule(() -> runBuildable(workspaceManager::buildDeferred), delay,
+					TimeUnit.MILLISECONDS);
+		}
 	}
 
 	/**
@@ -688,18 +736,33 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
 
 	@Override
 	public CompletableFuture<List<? extends SymbolInformation>> symbol(WorkspaceSymbolParams params) {
-		return requestManager.runRead((cancelIndicator) -> symbol(params, cancelIndicator));
+		return requestManager.runReadOnIndexSnapshot((cancelIndicator, index) -> symbol(params, index, cancelIndicator));
 	}
 
 	/**
 	 * Compute the symbol information. Executed in a read request.
 	 * @since 2.20
+	 * @deprecated the symbols are computed on an index snapshot, see
+	 *             {@link #symbol(WorkspaceSymbolParams, IResourceDescriptions, CancelIndicator)}
 	 */
+	@Deprecated
 	protected List<? extends SymbolInformation> symbol(WorkspaceSymbolParams params, CancelIndicator cancelIndicator) {
 		return workspaceSymbolService.getSymbols(params.getQuery(), resourceAccess, workspaceManager.getIndex(),
 				cancelIndicator);
 	}
 
+	/**
+	 * Compute the symbol information on the given index snapshot. Executed in an index snapshot read request, which does
+	 * not wait for running builds. The symbol locations are computed from resources that are loaded for this request.
+	 * @since 2.25
+	 */
+	protected List<? extends SymbolInformation> symbol(WorkspaceSymbolParams params, IResourceDescriptions index,
+			CancelIndicator cancelIndicator) {
+		IndexSnapshotResourceAccess snapshotResourceAccess = new IndexSnapshotResourceAccess(languagesRegistry, index,
+				workspaceManager.getOpenedDocumentsContentProvider());
+		return workspaceSymbolService.getSymbols(params.getQuery(), snapshotResourceAccess, index, cancelIndicator);
+	}
+
 	@Override
 	public CompletableFuture<Hover> hover(HoverParams params) {
 		return requestManager.runRead((cancelIndicator) -> hover(params, cancelIndicator));
@@ -1132,8 +1195,8 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
 		@Override
 		public <T> CompletableFuture<T> doReadIndex(
 				Function<? super ILanguageServerAccess.IndexContext, ? extends T> function) {
-			return requestManager.runRead(cancelIndicator -> function
-					.apply(new ILanguageServerAccess.IndexContext(workspaceManager.getIndex(), cancelIndicator)));
+			return requestManager.runReadOnIndexSnapshot((cancelIndicator, index) -> function
+					.apply(new ILanguageServerAccess.IndexContext(index, cancelIndicator)));
 		}
 
 		@Override
@@ -10,18 +10,32 @@ package org.eclipse.xtext.ide.server;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.eclipse.xtext.build.BuildRequest;
 import org.eclipse.xtext.build.IncrementalBuilder;
 import org.eclipse.xtext.build.IndexState;
 import org.eclipse.xtext.diagnostics.Severity;
+import org.eclipse.xtext.ide.server.ProjectStateCache.FileFingerprint;
+import org.eclipse.xtext.ide.server.ProjectStateCache.ProjectState;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.parser.IParseResult;
 import org.eclipse.xtext.resource.IExternalContentSupport;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
 import org.eclipse.xtext.resource.impl.ProjectDescription;
@@ -43,6 +57,20 @@ import com.google.inject.Provider;
  * @since 2.11
  */
 public class ProjectManager {
+	private static final Logger LOG = Logger.getLogger(ProjectManager.class);
+
+	/**
+	 * Remembers the document whose content a resource has been updated to.
+	 */
+	private static class DocumentAdapter extends AdapterImpl {
+		private Document document;
+
+		@Override
+		public boolean isAdapterForType(Object type) {
+			return DocumentAdapter.class.equals(type);
+		}
+	}
+
 	@Inject
 	protected IncrementalBuilder incrementalBuilder;
 
@@ -58,6 +86,12 @@ public class ProjectManager {
 	@Inject
 	protected IExternalContentSupport externalContentSupport;
 
+	/**
+	 * @since 2.25
+	 */
+	@Inject
+	protected ProjectStateCache projectStateCache;
+
 	private IndexState indexState = new IndexState();
 
 	private URI baseDir;
@@ -74,6 +108,25 @@ public class ProjectManager {
 
 	private IProjectConfig projectConfig;
 
+	/**
+	 * The fingerprints and issues of the built files. Only recorded if the {@link ProjectStateCache} is enabled.
+	 */
+	private final Map<URI, FileFingerprint> fingerprints = new LinkedHashMap<>();
+
+	private final Map<URI, List<Issue>> issues = new LinkedHashMap<>();
+
+	/**
+	 * The files whose loaded resources have been updated in place since they were last built.
+	 */
+	private final Set<URI> updatedResources = new HashSet<>();
+
+	private URIConverter uriConverter;
+
+	/**
+	 * The deltas of the upstream projects that the next initial build has to consider.
+	 */
+	private List<IResourceDescription.Delta> upstreamDeltas = Collections.emptyList();
+
 	public void initialize(ProjectDescription description, IProjectConfig projectConfig,
 			Procedure2<? super URI, ? super Iterable<Issue>> acceptor,
 			IExternalContentSupport.IExternalContentProvider openedDocumentsContentProvider,
@@ -87,14 +140,143 @@ public class ProjectManager {
 	}
 
 	/**
-	 * Initial build of this project.
+	 * Initial build of this project. Considers the deltas of the upstream projects that have been passed to
+	 * {@link #setUpstreamDeltas(List)}.
 	 */
 	public IncrementalBuilder.Result doInitialBuild(CancelIndicator cancelIndicator) {
+		List<IResourceDescription.Delta> externalDeltas = upstreamDeltas;
+		upstreamDeltas = Collections.emptyList();
+		return doInitialBuild(externalDeltas, cancelIndicator);
+	}
+
+	/**
+	 * Sets the deltas of the upstream projects that the next {@link #doInitialBuild(CancelIndicator) initial build}
+	 * has to consider.
+	 *
+	 * @since 2.25
+	 */
+	public void setUpstreamDeltas(List<IResourceDescription.Delta> upstreamDeltas) {
+		this.upstreamDeltas = upstreamDeltas;
+	}
+
+	/**
+	 * Initial build of this project. If the {@link ProjectStateCache} contains a valid state of this project, only
+	 * the files that have been added, changed or deleted since are built, as well as the files that are affected by
+	 * those or by the given deltas of upstream projects.
+	 *
+	 * @since 2.25
+	 */
+	public IncrementalBuilder.Result doInitialBuild(List<IResourceDescription.Delta> externalDeltas,
+			CancelIndicator cancelIndicator) {
 		List<URI> allUris = new ArrayList<>();
 		for (ISourceFolder srcFolder : projectConfig.getSourceFolders()) {
 			allUris.addAll(srcFolder.getAllResources(fileSystemScanner));
 		}
-		return doBuild(allUris, Collections.emptyList(), Collections.emptyList(), cancelIndicator);
+		IncrementalBuilder.Result result;
+		ProjectState cachedState = null;
+		if (isStateCacheEnabled()) {
+			cachedState = projectStateCache.load(projectDescription.getName(), baseDir);
+		}
+		if (cachedState != null) {
+			result = doIncrementalInitialBuild(allUris, cachedState, externalDeltas, cancelIndicator);
+		} else {
+			result = doBuild(allUris, Collections.emptyList(), externalDeltas, cancelIndicator);
+		}
+		saveState();
+		return result;
+	}
+
+	/**
+	 * Restores the given cached state and builds the files that do not match their fingerprints.
+	 */
+	private IncrementalBuilder.Result doIncrementalInitialBuild(List<URI> allUris, ProjectState cachedState,
+			List<IResourceDescription.Delta> externalDeltas, CancelIndicator cancelIndicator) {
+		indexState = cachedState.getIndexState();
+		indexProvider.get().put(projectDescription.getName(), indexState.getResourceDescriptions());
+		fingerprints.putAll(cachedState.getFingerprints());
+		issues.putAll(cachedState.getIssues());
+		List<URI> dirtyFiles = new ArrayList<>();
+		for (URI uri : allUris) {
+			FileFingerprint fingerprint = fingerprints.get(uri);
+			if (fingerprint == null || !projectStateCache.isUnchanged(uri, fingerprint, getURIConverter())) {
+				dirtyFiles.add(uri);
+			}
+		}
+		Set<URI> deletedFiles = new HashSet<>(indexState.getResourceDescriptions().getAllURIs());
+		deletedFiles.addAll(fingerprints.keySet());
+		deletedFiles.removeAll(allUris);
+		for (Map.Entry<URI, List<Issue>> entry : cachedState.getIssues().entrySet()) {
+			if (!deletedFiles.contains(entry.getKey())) {
+				issueAcceptor.apply(entry.getKey(), entry.getValue());
+			}
+		}
+		return doBuild(dirtyFiles, new ArrayList<>(deletedFiles), externalDeltas, cancelIndicator);
+	}
+
+	/**
+	 * Persists the current state of this project in the {@link ProjectStateCache}, if it is enabled.
+	 *
+	 * @since 2.25
+	 */
+	public void saveState() {
+		if (isStateCacheEnabled()) {
+			Map<URI, List<Issue>> issuesCopy;
+			synchronized (issues) {
+				issuesCopy = new LinkedHashMap<>(issues);
+			}
+			projectStateCache.save(projectDescription.getName(), baseDir,
+					new ProjectState(indexState, new LinkedHashMap<>(fingerprints), issuesCopy));
+		}
+	}
+
+	/**
+	 * The state of projects without a location, e.g. the project for files that are not contained in a known
+	 * project, is not cached.
+	 */
+	private boolean isStateCacheEnabled() {
+		return baseDir != null && projectStateCache.isEnabled();
+	}
+
+	private URIConverter getURIConverter() {
+		if (uriConverter == null) {
+			uriConverter = resourceSetProvider.get().getURIConverter();
+		}
+		return uriConverter;
+	}
+
+	/**
+	 * Computes the fingerprints of the given files before they are built and forgets their recorded fingerprints, so
+	 * a build that does not complete does not leave fingerprints of files that were not indexed. Open documents are
+	 * built from their editor content, so they are not fingerprinted and rebuilt after a restart.
+	 */
+	private Map<URI, FileFingerprint> computeFingerprints(List<URI> dirtyFiles, List<URI> deletedFiles) {
+		Map<URI, FileFingerprint> result = new LinkedHashMap<>();
+		for (URI uri : dirtyFiles) {
+			fingerprints.remove(uri);
+			if (openedDocumentsContentProvider == null || !openedDocumentsContentProvider.hasContent(uri)) {
+				FileFingerprint fingerprint = projectStateCache.computeFingerprint(uri, getURIConverter());
+				if (fingerprint != null) {
+					result.put(uri, fingerprint);
+				}
+			}
+		}
+		for (URI uri : deletedFiles) {
+			fingerprints.remove(uri);
+			issues.remove(uri);
+		}
+		return result;
+	}
+
+	/**
+	 * Records the fingerprints of the files that have been indexed by a completed build.
+	 */
+	private void recordFingerprints(Map<URI, FileFingerprint> computed, IncrementalBuilder.Result result) {
+		for (IResourceDescription.Delta delta : result.getAffectedResources()) {
+			FileFingerprint fingerprint = computed.get(delta.getUri());
+			if (fingerprint != null && delta.getNew() != null) {
+				fingerprints.put(delta.getUri(), fingerprint);
+			}
+		}
 	}
 
 	/**
@@ -102,9 +284,31 @@ public class ProjectManager {
 	 */
 	public IncrementalBuilder.Result doBuild(List<URI> dirtyFiles, List<URI> deletedFiles,
 			List<IResourceDescription.Delta> externalDeltas, CancelIndicator cancelIndicator) {
+		return doBuild(dirtyFiles, deletedFiles, externalDeltas, false, cancelIndicator);
+	}
+
+	/**
+	 * Build this project. If the affected resources are deferred, only the dirty and deleted files are built and the
+	 * resources that are affected by their changes are reported as
+	 * {@link IncrementalBuilder.Result#getDeferredResources() deferred resources}.
+	 *
+	 * @since 2.25
+	 */
+	public IncrementalBuilder.Result doBuild(List<URI> dirtyFiles, List<URI> deletedFiles,
+			List<IResourceDescription.Delta> externalDeltas, boolean deferAffectedResources,
+			CancelIndicator cancelIndicator) {
+		Map<URI, FileFingerprint> computedFingerprints = null;
+		if (isStateCacheEnabled()) {
+			computedFingerprints = computeFingerprints(dirtyFiles, deletedFiles);
+		}
 		BuildRequest request = newBuildRequest(dirtyFiles, deletedFiles, externalDeltas, cancelIndicator);
+		request.setDeferAffectedResources(deferAffectedResources);
 		IncrementalBuilder.Result result = incrementalBuilder.build(request,
 				languagesRegistry::getResourceServiceProvider);
+		if (computedFingerprints != null) {
+			recordFingerprints(computedFingerprints, result);
+		}
+		updatedResources.removeAll(dirtyFiles);
 		indexState = result.getIndexState();
 		resourceSet = request.getResourceSet();
 		indexProvider.get().put(projectDescription.getName(), indexState.getResourceDescriptions());
@@ -123,8 +327,13 @@ public class ProjectManager {
 		result.setResourceSet(createFreshResourceSet(result.getState().getResourceDescriptions()));
 		result.setDirtyFiles(changedFiles);
 		result.setDeletedFiles(deletedFiles);
+		result.setUpdatedFiles(new ArrayList<>(updatedResources));
 		result.setExternalDeltas(externalDeltas);
+		boolean recordIssues = isStateCacheEnabled();
 		result.setAfterValidate((URI uri, Iterable<Issue> issues) -> {
+			if (recordIssues) {
+				recordIssues(uri, issues);
+			}
 			issueAcceptor.apply(uri, issues);
 			return true;
 		});
@@ -133,6 +342,17 @@ public class ProjectManager {
 		return result;
 	}
 
+	private void recordIssues(URI uri, Iterable<Issue> fileIssues) {
+		List<Issue> copy = ImmutableList.copyOf(fileIssues);
+		synchronized (issues) {
+			if (copy.isEmpty()) {
+				issues.remove(uri);
+			} else {
+				issues.put(uri, copy);
+			}
+		}
+	}
+
 	/**
 	 * Create and configure a new resource set for this project.
 	 */
@@ -171,6 +391,96 @@ public class ProjectManager {
 		return resource;
 	}
 
+	/**
+	 * Apply the changes of an open document to its loaded resource by means of partial parsing. The next build indexes
+	 * the resource from its updated state instead of unloading and parsing it again.
+	 * 
+	 * The resource is only updated if its text is the content of the given document. Otherwise, or if the update
+	 * fails, the resource is unloaded such that the next build loads it from the new content. The objects that partial
+	 * parsing replaces are turned into proxies by the {@link org.eclipse.xtext.parser.antlr.IReferableElementsUnloader
+	 * unloader} of the resource, so other loaded resources that reference them are linked to their replacements.
+	 * 
+	 * @param document
+	 *            the document before the changes
+	 * @return the document with the changes applied, or <code>null</code> if the resource was not updated
+	 * @since 2.25
+	 */
+	public Document updateResource(URI uri, Document document,
+			Iterable<? extends TextDocumentContentChangeEvent> changes) {
+		Resource resource = resourceSet != null ? resourceSet.getResource(uri, false) : null;
+		if (!(resource instanceof XtextResource) || !resource.isLoaded()) {
+			return null;
+		}
+		XtextResource xtextResource = (XtextResource) resource;
+		if (!isUpToDate(xtextResource, document)) {
+			unloadResource(uri);
+			return null;
+		}
+		Document current = document;
+		try {
+			for (TextDocumentContentChangeEvent change : changes) {
+				Range range = change.getRange();
+				if (range == null) {
+					xtextResource.update(0, current.getText().length(), change.getText());
+				} else {
+					int start = current.getOffSet(range.getStart());
+					int end = current.getOffSet(range.getEnd());
+					xtextResource.update(start, end - start, change.getText());
+				}
+				current = current.applyTextDocumentChanges(Collections.singletonList(change));
+			}
+		} catch (RuntimeException e) {
+			LOG.error("Failed to update the resource " + uri + ", it will be reloaded.", e);
+			unloadResource(uri);
+			return null;
+		}
+		Integer newVersion = null;
+		if (document.getVersion() != null) {
+			newVersion = Integer.valueOf(document.getVersion().intValue() + 1);
+		}
+		Document result = new Document(newVersion, current.getText(), document.isPrintSourceOnError());
+		DocumentAdapter adapter = (DocumentAdapter) EcoreUtil.getExistingAdapter(xtextResource, DocumentAdapter.class);
+		if (adapter == null) {
+			adapter = new DocumentAdapter();
+			xtextResource.eAdapters().add(adapter);
+		}
+		adapter.document = result;
+		updatedResources.add(uri);
+		return result;
+	}
+
+	/**
+	 * Whether the text of the resource is the content of the given document. Resources that have been updated to the
+	 * document are recognized without comparing their text.
+	 */
+	private boolean isUpToDate(XtextResource resource, Document document) {
+		DocumentAdapter adapter = (DocumentAdapter) EcoreUtil.getExistingAdapter(resource, DocumentAdapter.class);
+		if (adapter != null && adapter.document == document) {
+			return true;
+		}
+		IParseResult parseResult = resource.getParseResult();
+		if (parseResult == null) {
+			return false;
+		}
+		ICompositeNode rootNode = parseResult.getRootNode();
+		return rootNode != null && document.getContents().equals(rootNode.getText());
+	}
+
+	/**
+	 * Unload the resource with the given URI, if it is loaded, such that it is loaded from its current content when
+	 * it is needed the next time.
+	 * 
+	 * @since 2.25
+	 */
+	public void unloadResource(URI uri) {
+		updatedResources.remove(uri);
+		Resource resource = resourceSet != null ? resourceSet.getResource(uri, false) : null;
+		if (resource != null) {
+			resourceSet.getResources().remove(resource);
+			resource.unload();
+		}
+	}
+
 	public void reportProjectIssue(String message, String code, Severity severity) {
 		Issue.IssueImpl result = new Issue.IssueImpl();
 		result.setMessage(message);
@@ -0,0 +1,457 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.xtext.build.IndexState;
+import org.eclipse.xtext.build.Source2GeneratedMapping;
+import org.eclipse.xtext.diagnostics.Severity;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.resource.persistence.ResourceDescriptionCodec;
+import org.eclipse.xtext.validation.CheckType;
+import org.eclipse.xtext.validation.Issue;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.Sets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * Persists the {@link IndexState index state}, the validation issues and the fingerprints of the source files of a
+ * project, such that a language server can skip unchanged files in the initial build after a restart.
+ *
+ * The cache is disabled unless a {@link #getCacheDirectory() cache directory} is configured, e.g. by means of the
+ * system property {@value #CACHE_DIRECTORY_PROPERTY}. A cache file is discarded if it was written with a different
+ * {@link #FORMAT_VERSION format version}, or if the {@link #getLanguageSetupFingerprint() registered languages} have
+ * changed since.
+ *
+ * @since 2.25
+ */
+@Beta
+@Singleton
+public class ProjectStateCache {
+
+	private static final Logger LOG = Logger.getLogger(ProjectStateCache.class);
+
+	/**
+	 * The system property that denotes the directory of the cache files.
+	 */
+	public static final String CACHE_DIRECTORY_PROPERTY = "org.eclipse.xtext.ide.server.projectStateCache";
+
+	/**
+	 * The version of the cache file format. Cache files of other versions are ignored.
+	 */
+	public static final int FORMAT_VERSION = 3;
+
+	private static final int MAGIC_NUMBER = 0x58504353;
+
+	/**
+	 * The time stamp, the length and the content hash of a source file at the time it was built.
+	 */
+	public static class FileFingerprint {
+		private final long timeStamp;
+
+		private final long length;
+
+		private final byte[] contentHash;
+
+		public FileFingerprint(long timeStamp, long length, byte[] contentHash) {
+			this.timeStamp = timeStamp;
+			this.length = length;
+			this.contentHash = contentHash;
+		}
+
+		public long getTimeStamp() {
+			return timeStamp;
+		}
+
+		public long getLength() {
+			return length;
+		}
+
+		public byte[] getContentHash() {
+			return contentHash;
+		}
+	}
+
+	/**
+	 * The persisted state of a project.
+	 */
+	public static class ProjectState {
+		private final IndexState indexState;
+
+		private final Map<URI, FileFingerprint> fingerprints;
+
+		private final Map<URI, List<Issue>> issues;
+
+		public ProjectState(IndexState indexState, Map<URI, FileFingerprint> fingerprints,
+				Map<URI, List<Issue>> issues) {
+			this.indexState = indexState;
+			this.fingerprints = fingerprints;
+			this.issues = issues;
+		}
+
+		public IndexState getIndexState() {
+			return indexState;
+		}
+
+		public Map<URI, FileFingerprint> getFingerprints() {
+			return fingerprints;
+		}
+
+		public Map<URI, List<Issue>> getIssues() {
+			return issues;
+		}
+	}
+
+	@Inject
+	private IResourceServiceProvider.Registry languagesRegistry;
+
+	private String languageSetupFingerprint;
+
+	/**
+	 * The directory that contains the cache files or <code>null</code> if the cache is disabled.
+	 */
+	protected File getCacheDirectory() {
+		String directory = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+		if (directory == null || directory.isEmpty()) {
+			return null;
+		}
+		return new File(directory);
+	}
+
+	public boolean isEnabled() {
+		return getCacheDirectory() != null;
+	}
+
+	/**
+	 * The cache file for the project with the given name and location.
+	 */
+	protected File getCacheFile(String projectName, URI baseDir) {
+		String key = Hashing.murmur3_128().hashUnencodedChars(projectName + "\n" + baseDir).toString();
+		return new File(getCacheDirectory(), key + ".bin");
+	}
+
+	/**
+	 * Computes the fingerprint of the given file. Returns <code>null</code> if the file cannot be read.
+	 */
+	public FileFingerprint computeFingerprint(URI uri, URIConverter uriConverter) {
+		try {
+			Map<String, ?> attributes = getAttributes(uri, uriConverter);
+			byte[] contentHash = computeContentHash(uri, uriConverter);
+			return new FileFingerprint(getLong(attributes, URIConverter.ATTRIBUTE_TIME_STAMP),
+					getLong(attributes, URIConverter.ATTRIBUTE_LENGTH), contentHash);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if the given file still matches the fingerprint. The content is only hashed if the time
+	 * stamp or the length of the file have changed.
+	 */
+	public boolean isUnchanged(URI uri, FileFingerprint fingerprint, URIConverter uriConverter) {
+		try {
+			Map<String, ?> attributes = getAttributes(uri, uriConverter);
+			long timeStamp = getLong(attributes, URIConverter.ATTRIBUTE_TIME_STAMP);
+			if (timeStamp != URIConverter.NULL_TIME_STAMP && timeStamp == fingerprint.getTimeStamp()
+					&& getLong(attributes, URIConverter.ATTRIBUTE_LENGTH) == fingerprint.getLength()) {
+				return true;
+			}
+			return Arrays.equals(fingerprint.getContentHash(), computeContentHash(uri, uriConverter));
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	protected Map<String, ?> getAttributes(URI uri, URIConverter uriConverter) {
+		return uriConverter.getAttributes(uri, Collections.singletonMap(URIConverter.OPTION_REQUESTED_ATTRIBUTES,
+				Sets.newHashSet(URIConverter.ATTRIBUTE_TIME_STAMP, URIConverter.ATTRIBUTE_LENGTH)));
+	}
+
+	private long getLong(Map<String, ?> attributes, String key) {
+		Object value = attributes.get(key);
+		if (value instanceof Long) {
+			return (Long) value;
+		}
+		return -1;
+	}
+
+	protected byte[] computeContentHash(URI uri, URIConverter uriConverter) throws IOException {
+		try (InputStream in = uriConverter.createInputStream(uri)) {
+			return Hashing.murmur3_128().hashBytes(ByteStreams.toByteArray(in)).asBytes();
+		}
+	}
+
+	/**
+	 * A hash of the registered languages. It covers the registry keys, the classes of the resource service providers
+	 * and their resource description managers, and the locations and time stamps of the archives that contain these
+	 * classes.
+	 */
+	protected synchronized String getLanguageSetupFingerprint() {
+		if (languageSetupFingerprint == null) {
+			Hasher hasher = Hashing.murmur3_128().newHasher();
+			addToFingerprint(hasher, "extension", languagesRegistry.getExtensionToFactoryMap());
+			addToFingerprint(hasher, "protocol", languagesRegistry.getProtocolToFactoryMap());
+			addToFingerprint(hasher, "contentType", languagesRegistry.getContentTypeToFactoryMap());
+			languageSetupFingerprint = hasher.hash().toString();
+		}
+		return languageSetupFingerprint;
+	}
+
+	private void addToFingerprint(Hasher hasher, String kind, Map<String, Object> registrations) {
+		for (Map.Entry<String, Object> entry : new TreeMap<>(registrations).entrySet()) {
+			hasher.putUnencodedChars(kind).putUnencodedChars(entry.getKey());
+			Object value = entry.getValue();
+			addToFingerprint(hasher, value.getClass());
+			if (value instanceof IResourceServiceProvider) {
+				IResourceDescription.Manager manager = ((IResourceServiceProvider) value)
+						.getResourceDescriptionManager();
+				if (manager != null) {
+					addToFingerprint(hasher, manager.getClass());
+				}
+			}
+		}
+	}
+
+	private void addToFingerprint(Hasher hasher, Class<?> type) {
+		hasher.putUnencodedChars(type.getName());
+		try {
+			CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+			URL location = codeSource != null ? codeSource.getLocation() : null;
+			if (location != null) {
+				hasher.putUnencodedChars(location.toString());
+				if ("file".equals(location.getProtocol())) {
+					hasher.putLong(new File(location.toURI()).lastModified());
+				}
+			}
+		} catch (Exception e) {
+			// the location of the class is not accessible
+		}
+	}
+
+	/**
+	 * Loads the persisted state of the given project. Returns <code>null</code> if there is no valid cache file.
+	 */
+	public ProjectState load(String projectName, URI baseDir) {
+		if (!isEnabled()) {
+			return null;
+		}
+		File file = getCacheFile(projectName, baseDir);
+		if (!file.isFile()) {
+			return null;
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC_NUMBER || in.readInt() != FORMAT_VERSION
+					|| !getLanguageSetupFingerprint().equals(readString(in)) || !baseDir.toString().equals(readString(in))) {
+				return null;
+			}
+			int fileCount = in.readInt();
+			Map<URI, FileFingerprint> fingerprints = new LinkedHashMap<>();
+			for (int i = 0; i < fileCount; i++) {
+				URI uri = URI.createURI(readString(in));
+				long timeStamp = in.readLong();
+				long length = in.readLong();
+				byte[] contentHash = new byte[in.readInt()];
+				in.readFully(contentHash);
+				fingerprints.put(uri, new FileFingerprint(timeStamp, length, contentHash));
+			}
+			int issueFileCount = in.readInt();
+			Map<URI, List<Issue>> issues = new LinkedHashMap<>();
+			for (int i = 0; i < issueFileCount; i++) {
+				URI uri = URI.createURI(readString(in));
+				int issueCount = in.readInt();
+				List<Issue> fileIssues = new ArrayList<>(issueCount);
+				for (int j = 0; j < issueCount; j++) {
+					fileIssues.add(readIssue(in));
+				}
+				issues.put(uri, fileIssues);
+			}
+			int descriptionCount = in.readInt();
+			List<IResourceDescription> descriptions = new ArrayList<>(descriptionCount);
+			ResourceDescriptionCodec.Reader reader = new ResourceDescriptionCodec.Reader(in);
+			for (int i = 0; i < descriptionCount; i++) {
+				descriptions.add(reader.readResourceDescription());
+			}
+			Source2GeneratedMapping fileMappings = new Source2GeneratedMapping();
+			fileMappings.readExternal(in);
+			return new ProjectState(new IndexState(new ResourceDescriptionsData(descriptions), fileMappings),
+					fingerprints, issues);
+		} catch (Exception e) {
+			LOG.warn("Discarding the cached state of project " + projectName, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Persists the state of the given project. The cache file is replaced atomically.
+	 */
+	public void save(String projectName, URI baseDir, ProjectState state) {
+		if (!isEnabled()) {
+			return;
+		}
+		File file = getCacheFile(projectName, baseDir);
+		File tmpFile = new File(file.getPath() + ".tmp");
+		try {
+			file.getParentFile().mkdirs();
+			try (ObjectOutputStream out = new ObjectOutputStream(
+					new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+				out.writeInt(MAGIC_NUMBER);
+				out.writeInt(FORMAT_VERSION);
+				writeString(out, getLanguageSetupFingerprint());
+				writeString(out, baseDir.toString());
+				out.writeInt(state.getFingerprints().size());
+				for (Map.Entry<URI, FileFingerprint> entry : state.getFingerprints().entrySet()) {
+					writeString(out, entry.getKey().toString());
+					out.writeLong(entry.getValue().getTimeStamp());
+					out.writeLong(entry.getValue().getLength());
+					out.writeInt(entry.getValue().getContentHash().length);
+					out.write(entry.getValue().getContentHash());
+				}
+				out.writeInt(state.getIssues().size());
+				for (Map.Entry<URI, List<Issue>> entry : state.getIssues().entrySet()) {
+					writeString(out, entry.getKey().toString());
+					out.writeInt(entry.getValue().size());
+					for (Issue issue : entry.getValue()) {
+						writeIssue(out, issue);
+					}
+				}
+				ResourceDescriptionsData descriptions = state.getIndexState().getResourceDescriptions();
+				out.writeInt(descriptions.getAllURIs().size());
+				ResourceDescriptionCodec.Writer writer = new ResourceDescriptionCodec.Writer(out);
+				for (IResourceDescription description : descriptions.getAllResourceDescriptions()) {
+					writer.writeResourceDescription(description);
+				}
+				state.getIndexState().getFileMappings().writeExternal(out);
+			}
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			LOG.warn("Cannot save the state of project " + projectName, e);
+			tmpFile.delete();
+		}
+	}
+
+	protected void writeIssue(ObjectOutputStream out, Issue issue) throws IOException {
+		writeString(out, issue.getSeverity().name());
+		writeNullable(out, issue.getMessage());
+		writeNullable(out, issue.getCode());
+		writeNullable(out, issue.getType() != null ? issue.getType().name() : null);
+		writeNullable(out, issue.getUriToProblem() != null ? issue.getUriToProblem().toString() : null);
+		writeNullable(out, issue.getOffset());
+		writeNullable(out, issue.getLength());
+		writeNullable(out, issue.getLineNumber());
+		writeNullable(out, issue.getColumn());
+		writeNullable(out, issue.getLineNumberEnd());
+		writeNullable(out, issue.getColumnEnd());
+		out.writeBoolean(issue.isSyntaxError());
+		String[] data = issue.getData();
+		out.writeInt(data != null ? data.length : -1);
+		if (data != null) {
+			for (String value : data) {
+				writeNullable(out, value);
+			}
+		}
+	}
+
+	protected Issue readIssue(ObjectInputStream in) throws IOException {
+		Issue.IssueImpl result = new Issue.IssueImpl();
+		result.setSeverity(Severity.valueOf(readString(in)));
+		result.setMessage(readNullableString(in));
+		result.setCode(readNullableString(in));
+		String type = readNullableString(in);
+		result.setType(type != null ? CheckType.valueOf(type) : null);
+		String uriToProblem = readNullableString(in);
+		result.setUriToProblem(uriToProblem != null ? URI.createURI(uriToProblem) : null);
+		result.setOffset(readNullableInteger(in));
+		result.setLength(readNullableInteger(in));
+		result.setLineNumber(readNullableInteger(in));
+		result.setColumn(readNullableInteger(in));
+		result.setLineNumberEnd(readNullableInteger(in));
+		result.setColumnEnd(readNullableInteger(in));
+		result.setSyntaxError(in.readBoolean());
+		int dataLength = in.readInt();
+		if (dataLength >= 0) {
+			String[] data = new String[dataLength];
+			for (int i = 0; i < dataLength; i++) {
+				data[i] = readNullableString(in);
+			}
+			result.setData(data);
+		}
+		return result;
+	}
+
+	private void writeNullable(ObjectOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			writeString(out, value);
+		}
+	}
+
+	private void writeNullable(ObjectOutputStream out, Integer value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeInt(value);
+		}
+	}
+
+	private String readNullableString(ObjectInputStream in) throws IOException {
+		return in.readBoolean() ? readString(in) : null;
+	}
+
+	private Integer readNullableInteger(ObjectInputStream in) throws IOException {
+		return in.readBoolean() ? in.readInt() : null;
+	}
+
+	/**
+	 * Writes the UTF-8 bytes of the given string with a length prefix. Unlike
+	 * {@link ObjectOutputStream#writeUTF(String)}, this is not limited to strings of 64KB.
+	 */
+	private void writeString(ObjectOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private String readString(ObjectInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
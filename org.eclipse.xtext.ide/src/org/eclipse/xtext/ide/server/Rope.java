@@ -0,0 +1,362 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server;
+
+import java.util.Arrays;
+
+/**
+ * An immutable text that supports replacing, slicing and the conversion between offsets and lines in logarithmic time.
+ *
+ * The text is a balanced tree of pieces. Each piece is a region of a string, e.g. the initial content of a document or
+ * the text of an edit, together with the offsets of the line breaks in that string. Replacing a region shares all the
+ * pieces that are not touched by the edit with the original rope, so old versions of a text stay valid and cheap.
+ *
+ * Lines are separated by <code>'\n'</code>. A <code>'\r'</code> is treated as an ordinary character.
+ *
+ * @since 2.25
+ */
+public final class Rope implements CharSequence {
+
+	private static final int[] NO_LINE_BREAKS = new int[0];
+
+	private static final Piece EMPTY = new Piece("", NO_LINE_BREAKS, 0, 0);
+
+	private static abstract class Node {
+		final int length;
+
+		final int lineBreaks;
+
+		final int depth;
+
+		Node(int length, int lineBreaks, int depth) {
+			this.length = length;
+			this.lineBreaks = lineBreaks;
+			this.depth = depth;
+		}
+
+		abstract char charAt(int index);
+
+		abstract void appendTo(StringBuilder result, int start, int end);
+
+		/**
+		 * The number of line breaks before the given offset.
+		 */
+		abstract int lineBreaksBefore(int offset);
+
+		/**
+		 * The offset of the line break with the given zero based index.
+		 */
+		abstract int lineBreakOffset(int index);
+	}
+
+	private static final class Piece extends Node {
+		private final String source;
+
+		/**
+		 * The offsets of all line breaks in the source, shared by all pieces of the same source.
+		 */
+		private final int[] sourceLineBreaks;
+
+		private final int start;
+
+		private final int firstLineBreak;
+
+		Piece(String source, int[] sourceLineBreaks, int start, int end) {
+			this(source, sourceLineBreaks, start, end, lowerBound(sourceLineBreaks, start));
+		}
+
+		private Piece(String source, int[] sourceLineBreaks, int start, int end, int firstLineBreak) {
+			super(end - start, lowerBound(sourceLineBreaks, end) - firstLineBreak, 0);
+			this.source = source;
+			this.sourceLineBreaks = sourceLineBreaks;
+			this.start = start;
+			this.firstLineBreak = firstLineBreak;
+		}
+
+		Piece slice(int from, int to) {
+			return new Piece(source, sourceLineBreaks, start + from, start + to);
+		}
+
+		@Override
+		char charAt(int index) {
+			return source.charAt(start + index);
+		}
+
+		@Override
+		void appendTo(StringBuilder result, int from, int to) {
+			result.append(source, start + from, start + to);
+		}
+
+		@Override
+		int lineBreaksBefore(int offset) {
+			return lowerBound(sourceLineBreaks, start + offset) - firstLineBreak;
+		}
+
+		@Override
+		int lineBreakOffset(int index) {
+			return sourceLineBreaks[firstLineBreak + index] - start;
+		}
+	}
+
+	private static final class Concat extends Node {
+		private final Node left;
+
+		private final Node right;
+
+		Concat(Node left, Node right) {
+			super(left.length + right.length, left.lineBreaks + right.lineBreaks,
+					Math.max(left.depth, right.depth) + 1);
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		char charAt(int index) {
+			if (index < left.length) {
+				return left.charAt(index);
+			}
+			return right.charAt(index - left.length);
+		}
+
+		@Override
+		void appendTo(StringBuilder result, int start, int end) {
+			if (start < left.length) {
+				left.appendTo(result, start, Math.min(end, left.length));
+			}
+			if (end > left.length) {
+				right.appendTo(result, Math.max(start - left.length, 0), end - left.length);
+			}
+		}
+
+		@Override
+		int lineBreaksBefore(int offset) {
+			if (offset <= left.length) {
+				return left.lineBreaksBefore(offset);
+			}
+			return left.lineBreaks + right.lineBreaksBefore(offset - left.length);
+		}
+
+		@Override
+		int lineBreakOffset(int index) {
+			if (index < left.lineBreaks) {
+				return left.lineBreakOffset(index);
+			}
+			return left.length + right.lineBreakOffset(index - left.lineBreaks);
+		}
+	}
+
+	/**
+	 * Create a rope with the given text.
+	 */
+	public static Rope of(String text) {
+		if (text.isEmpty()) {
+			return new Rope(EMPTY);
+		}
+		return new Rope(piece(text));
+	}
+
+	private static Piece piece(String text) {
+		int[] lineBreaks = NO_LINE_BREAKS;
+		int count = 0;
+		for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) {
+			if (count == lineBreaks.length) {
+				lineBreaks = Arrays.copyOf(lineBreaks, Math.max(16, count * 2));
+			}
+			lineBreaks[count++] = i;
+		}
+		if (count != lineBreaks.length) {
+			lineBreaks = Arrays.copyOf(lineBreaks, count);
+		}
+		return new Piece(text, lineBreaks, 0, text.length());
+	}
+
+	/**
+	 * The index of the first element that is not less than the given value.
+	 */
+	private static int lowerBound(int[] values, int value) {
+		int low = 0;
+		int high = values.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values[mid] < value) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private static Node concat(Node left, Node right) {
+		if (left.length == 0) {
+			return right;
+		}
+		if (right.length == 0) {
+			return left;
+		}
+		int diff = left.depth - right.depth;
+		if (diff > 1) {
+			Concat l = (Concat) left;
+			return balance(l.left, concat(l.right, right));
+		}
+		if (diff < -1) {
+			Concat r = (Concat) right;
+			return balance(concat(left, r.left), r.right);
+		}
+		return new Concat(left, right);
+	}
+
+	/**
+	 * Join two trees whose depths differ by at most two, rotating once or twice if they differ by two.
+	 */
+	private static Node balance(Node left, Node right) {
+		int diff = left.depth - right.depth;
+		if (diff > 1) {
+			Concat l = (Concat) left;
+			if (l.left.depth >= l.right.depth) {
+				return new Concat(l.left, new Concat(l.right, right));
+			}
+			Concat lr = (Concat) l.right;
+			return new Concat(new Concat(l.left, lr.left), new Concat(lr.right, right));
+		}
+		if (diff < -1) {
+			Concat r = (Concat) right;
+			if (r.right.depth >= r.left.depth) {
+				return new Concat(new Concat(left, r.left), r.right);
+			}
+			Concat rl = (Concat) r.left;
+			return new Concat(new Concat(left, rl.left), new Concat(rl.right, r.right));
+		}
+		return new Concat(left, right);
+	}
+
+	private static Node slice(Node node, int start, int end) {
+		if (start == 0 && end == node.length) {
+			return node;
+		}
+		if (start == end) {
+			return EMPTY;
+		}
+		if (node instanceof Piece) {
+			return ((Piece) node).slice(start, end);
+		}
+		Concat concat = (Concat) node;
+		int split = concat.left.length;
+		if (end <= split) {
+			return slice(concat.left, start, end);
+		}
+		if (start >= split) {
+			return slice(concat.right, start - split, end - split);
+		}
+		return concat(slice(concat.left, start, split), slice(concat.right, 0, end - split));
+	}
+
+	private final Node root;
+
+	private String string;
+
+	private Rope(Node root) {
+		this.root = root;
+	}
+
+	@Override
+	public int length() {
+		return root.length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= root.length) {
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+		}
+		return root.charAt(index);
+	}
+
+	@Override
+	public Rope subSequence(int start, int end) {
+		checkRegion(start, end);
+		return new Rope(slice(root, start, end));
+	}
+
+	/**
+	 * Returns a new rope where the region between start (inclusive) and end (exclusive) is replaced by the given text.
+	 * This rope is not modified.
+	 */
+	public Rope replace(int start, int end, String text) {
+		checkRegion(start, end);
+		Node result = slice(root, 0, start);
+		if (!text.isEmpty()) {
+			result = concat(result, piece(text));
+		}
+		return new Rope(concat(result, slice(root, end, root.length)));
+	}
+
+	/**
+	 * The number of lines. An empty rope has one line.
+	 */
+	public int getLineCount() {
+		return root.lineBreaks + 1;
+	}
+
+	/**
+	 * The zero based line that contains the given offset. The offset of a line break belongs to the line that it
+	 * terminates.
+	 */
+	public int getLineOfOffset(int offset) {
+		if (offset < 0 || offset > root.length) {
+			throw new IndexOutOfBoundsException(String.valueOf(offset));
+		}
+		return root.lineBreaksBefore(offset);
+	}
+
+	/**
+	 * The offset of the first character of the given zero based line.
+	 */
+	public int getLineStart(int line) {
+		if (line < 0 || line > root.lineBreaks) {
+			throw new IndexOutOfBoundsException(String.valueOf(line));
+		}
+		if (line == 0) {
+			return 0;
+		}
+		return root.lineBreakOffset(line - 1) + 1;
+	}
+
+	/**
+	 * The offset of the line break that terminates the given zero based line, or the length of the rope for the last
+	 * line.
+	 */
+	public int getLineEnd(int line) {
+		if (line < 0 || line > root.lineBreaks) {
+			throw new IndexOutOfBoundsException(String.valueOf(line));
+		}
+		if (line == root.lineBreaks) {
+			return root.length;
+		}
+		return root.lineBreakOffset(line);
+	}
+
+	private void checkRegion(int start, int end) {
+		if (start < 0 || end > root.length || start > end) {
+			throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + root.length);
+		}
+	}
+
+	@Override
+	public String toString() {
+		String result = string;
+		if (result == null) {
+			StringBuilder builder = new StringBuilder(root.length);
+			root.appendTo(builder, 0, root.length);
+			result = builder.toString();
+			string = result;
+		}
+		return result;
+	}
+}
@@ -15,6 +15,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.log4j.Logger;
@@ -35,6 +36,7 @@ import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta;
 import org.eclipse.xtext.resource.impl.ProjectDescription;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.util.CancelIndicator;
@@ -80,9 +82,13 @@ public class WorkspaceManager {
 	
 	private final List<ILanguageServerAccess.IBuildListener> buildListeners = new CopyOnWriteArrayList<>();
 
-	private final Map<String, ResourceDescriptionsData> fullIndex = new HashMap<>();
+	private final Map<String, ResourceDescriptionsData> fullIndex = new ConcurrentHashMap<>();
 
-	private final Map<URI, Document> openDocuments = new HashMap<>();
+	private final Map<URI, Document> openDocuments = new ConcurrentHashMap<>();
+
+	private long buildDebounceDelay;
+
+	private boolean partialParsing = true;
 
 	/**
 	 * Add the listener to this workspace.
@@ -225,12 +231,31 @@ public class WorkspaceManager {
 				newProjects.add(projectDescription);
 			}
 		}
+		List<IResourceDescription.Delta> deltas = new ArrayList<>();
 		for (String deletedProject : remainingProjectNames) {
 			ProjectManager projectManager = projectName2ProjectManager.remove(deletedProject);
 			projectManager.aboutToRemoveFromWorkspace();
-			fullIndex.remove(deletedProject);
+			ResourceDescriptionsData removedIndex = fullIndex.remove(deletedProject);
+			if (removedIndex != null) {
+				// the resources of removed projects are reported as deleted
+				for (IResourceDescription description : removedIndex.getAllResourceDescriptions()) {
+					deltas.add(new DefaultResourceDescriptionDelta(description, null));
+				}
+			}
+		}
+		deltas.addAll(buildManager.doInitialBuild(newProjects, cancelIndicator));
+		afterBuild(deltas);
+	}
+
+	/**
+	 * Persists the state of all projects in the {@link ProjectStateCache}, if it is enabled.
+	 *
+	 * @since 2.25
+	 */
+	public void saveProjectStates() {
+		for (ProjectManager projectManager : getProjectManagers()) {
+			projectManager.saveState();
 		}
-		afterBuild(buildManager.doInitialBuild(newProjects, cancelIndicator));
 	}
 
 	/**
@@ -274,7 +299,25 @@ public class WorkspaceManager {
 	 * @return a build command that can be triggered
 	 */
 	public Buildable didChangeFiles(List<URI> dirtyFiles, List<URI> deletedFiles) {
-		BuildManager.Buildable buildable = buildManager.submit(dirtyFiles, deletedFiles);
+		return didChangeFiles(dirtyFiles, deletedFiles, false);
+	}
+
+	/**
+	 * Announce dirty and deleted files and provide means to start a build. If the affected resources are deferred, only
+	 * the given files are built. The resources that are affected by their changes are built by the next build that
+	 * does not defer them, e.g. {@link #buildDeferred()}.
+	 *
+	 * @param dirtyFiles
+	 *            the dirty files
+	 * @param deletedFiles
+	 *            the deleted files
+	 * @param deferAffectedResources
+	 *            whether the affected resources should be built later
+	 * @return a build command that can be triggered
+	 * @since 2.25
+	 */
+	public Buildable didChangeFiles(List<URI> dirtyFiles, List<URI> deletedFiles, boolean deferAffectedResources) {
+		BuildManager.Buildable buildable = buildManager.submit(dirtyFiles, deletedFiles, deferAffectedResources);
 		return (cancelIndicator) -> {
 			List<IResourceDescription.Delta> deltas = buildable.build(cancelIndicator);
 			afterBuild(deltas);
@@ -298,6 +341,16 @@ public class WorkspaceManager {
 		return didChangeFiles(dirtyFiles, deletedFiles).build(cancelIndicator);
 	}
 
+	/**
+	 * The content of the open documents. It may be read concurrently to the write requests, e.g. by
+	 * {@link org.eclipse.xtext.ide.server.findReferences.IndexSnapshotResourceAccess index snapshot reads}.
+	 *
+	 * @since 2.25
+	 */
+	public IExternalContentSupport.IExternalContentProvider getOpenedDocumentsContentProvider() {
+		return openedDocumentsContentProvider;
+	}
+
 	/**
 	 * Returns the current index.
 	 */
@@ -370,6 +423,9 @@ public class WorkspaceManager {
 	 * In particular, this has to be taken into account when undoing the deletion of multiple characters at the end of a
 	 * line.
 	 *
+	 * If {@link #isPartialParsing() partial parsing} is enabled, the changes are applied to the loaded resource of the
+	 * document, too.
+	 *
 	 * @since 2.18
 	 * @param version
 	 *            unused
@@ -381,8 +437,68 @@ public class WorkspaceManager {
 			LOG.error("The document " + uri + " has not been opened.");
 			return Buildable.NO_BUILD;
 		}
-		openDocuments.put(uri, contents.applyTextDocumentChanges(changes));
-		return didChangeFiles(ImmutableList.of(uri), Collections.emptyList());
+		Document newContents = null;
+		if (partialParsing) {
+			ProjectManager projectManager = getProjectManager(uri);
+			if (projectManager != null) {
+				newContents = projectManager.updateResource(uri, contents, changes);
+			}
+		}
+		if (newContents == null) {
+			newContents = contents.applyTextDocumentChanges(changes);
+		}
+		openDocuments.put(uri, newContents);
+		return didChangeFiles(ImmutableList.of(uri), Collections.emptyList(), buildDebounceDelay > 0);
+	}
+
+	/**
+	 * Provide means to build the resources that were affected by previous changes but deferred.
+	 *
+	 * @return a build command that can be triggered, or {@link Buildable#NO_BUILD} if nothing was deferred
+	 * @since 2.25
+	 */
+	public Buildable buildDeferred() {
+		if (!buildManager.hasDeferredFiles()) {
+			return Buildable.NO_BUILD;
+		}
+		return didChangeFiles(Collections.emptyList(), Collections.emptyList());
+	}
+
+	/**
+	 * The time in milliseconds that the language server waits after the last change of an open document before it
+	 * builds the resources that are affected by the changes. If the delay is zero, each change is built together with
+	 * its affected resources immediately.
+	 *
+	 * @since 2.25
+	 */
+	public long getBuildDebounceDelay() {
+		return buildDebounceDelay;
+	}
+
+	/**
+	 * @see #getBuildDebounceDelay()
+	 * @since 2.25
+	 */
+	public void setBuildDebounceDelay(long buildDebounceDelay) {
+		this.buildDebounceDelay = buildDebounceDelay;
+	}
+
+	/**
+	 * Whether the changes of open documents are applied to their loaded resources by means of partial parsing. If
+	 * not, the resources are unloaded and parsed again from the new content by the next build.
+	 *
+	 * @since 2.25
+	 */
+	public boolean isPartialParsing() {
+		return partialParsing;
+	}
+
+	/**
+	 * @see #isPartialParsing()
+	 * @since 2.25
+	 */
+	public void setPartialParsing(boolean partialParsing) {
+		this.partialParsing = partialParsing;
 	}
 
 	/**
@@ -406,6 +522,11 @@ public class WorkspaceManager {
 	 */
 	public BuildManager.Buildable didClose(URI uri) {
 		openDocuments.remove(uri);
+		ProjectManager projectManager = getProjectManager(uri);
+		if (projectManager != null) {
+			// the resource may have been updated to the content of the closed document
+			projectManager.unloadResource(uri);
+		}
 		if (exists(uri)) {
 			return didChangeFiles(ImmutableList.of(uri), Collections.emptyList());
 		}
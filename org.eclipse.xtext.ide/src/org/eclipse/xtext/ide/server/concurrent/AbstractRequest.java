@@ -9,6 +9,7 @@
 package org.eclipse.xtext.ide.server.concurrent;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.log4j.Logger;
 
@@ -47,13 +48,59 @@ public abstract class AbstractRequest<V> implements Runnable, Cancellable {
 	 */
 	protected final RequestManager requestManager;
 
+	private final long createdNanos = System.nanoTime();
+
+	private volatile long startedNanos;
+
+	private volatile boolean started;
+
+	private final AtomicBoolean recorded = new AtomicBoolean();
+
 	protected AbstractRequest(RequestManager requestManager) {
 		this.requestManager = requestManager;
 		this.result = new ResultFuture();
 		this.cancelIndicator = new RequestCancelIndicator(this);
 	}
 
+	/**
+	 * Marks the end of the queue latency of this request.
+	 * 
+	 * @since 2.25
+	 */
+	protected void started() {
+		startedNanos = System.nanoTime();
+		started = true;
+	}
+
+	/**
+	 * Reports this request to the {@link RequestManager#getMetrics() metrics} of the request manager. Only the first
+	 * call has an effect.
+	 * 
+	 * @since 2.25
+	 */
+	protected void finished(RequestMetrics.Outcome outcome) {
+		if (!recorded.compareAndSet(false, true)) {
+			return;
+		}
+		long now = System.nanoTime();
+		if (started) {
+			requestManager.getMetrics().record(getRequestType(), startedNanos - createdNanos, now - startedNanos, outcome);
+		} else {
+			requestManager.getMetrics().record(getRequestType(), now - createdNanos, 0, outcome);
+		}
+	}
+
+	/**
+	 * The key of this request in the {@link RequestMetrics}.
+	 * 
+	 * @since 2.25
+	 */
+	protected String getRequestType() {
+		return getClass().getSimpleName();
+	}
+
 	protected void cancelResult(boolean mayInterruptIfRunning) {
+		finished(RequestMetrics.Outcome.CANCELLED);
 		result.doCancel(mayInterruptIfRunning);
 	}
 
@@ -62,6 +109,7 @@ public abstract class AbstractRequest<V> implements Runnable, Cancellable {
 	}
 
 	protected void complete(V value) {
+		finished(RequestMetrics.Outcome.COMPLETED);
 		result.complete(value);
 	}
 	
@@ -70,6 +118,7 @@ public abstract class AbstractRequest<V> implements Runnable, Cancellable {
 	protected void logAndCompleteExceptionally(Throwable t) {
 		if (!requestManager.isCancelException(t)) {
 			getLogger().error("Error during request: ", t);
+			finished(RequestMetrics.Outcome.FAILED);
 			result.completeExceptionally(t);
 		} else {
 			cancelResult(true);
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server.concurrent;
+
+import java.util.concurrent.ExecutorService;
+
+import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.xbase.lib.Functions.Function2;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * A read request that works on an immutable index snapshot. It is not queued behind write requests and it is not
+ * cancelled by them. Only the index is available to it, documents are read by ordinary {@link ReadRequest read
+ * requests}.
+ *
+ * @see RequestManager#runReadOnIndexSnapshot(Function2)
+ * @since 2.25
+ */
+@Beta
+public class IndexSnapshotReadRequest<V> extends ReadRequest<V> {
+
+	private final IResourceDescriptions snapshot;
+
+	public IndexSnapshotReadRequest(RequestManager requestManager,
+			Function2<? super CancelIndicator, ? super IResourceDescriptions, ? extends V> readOperation,
+			IResourceDescriptions snapshot, ExecutorService executor) {
+		super(requestManager, cancelIndicator -> readOperation.apply(cancelIndicator, snapshot), executor);
+		this.snapshot = snapshot;
+	}
+
+	public IResourceDescriptions getSnapshot() {
+		return snapshot;
+	}
+
+}
@@ -62,6 +62,7 @@ public class ReadRequest<V> extends AbstractRequest<V> {
 				if (isDone()) {
 					return;
 				}
+				started();
 				cancelIndicator.checkCanceled();
 				V readResult = readOperation.apply(cancelIndicator);
 				complete(readResult);
@@ -15,12 +15,14 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.xbase.lib.Functions.Function0;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.Functions.Function2;
 
+import com.google.common.annotations.Beta;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -47,6 +49,12 @@ public class RequestManager {
 
 	private List<AbstractRequest<?>> requests = new ArrayList<>();
 
+	private final RequestMetrics metrics = new RequestMetrics();
+
+	private volatile Function0<? extends IResourceDescriptions> snapshotProvider;
+
+	private volatile IResourceDescriptions snapshot;
+
 	/**
 	 * An orderly shutdown of this request manager.
 	 */
@@ -71,6 +79,75 @@ public class RequestManager {
 		return submit(new ReadRequest<>(this, cancellable, parallel));
 	}
 
+	/**
+	 * Run the given cancellable logic on the index snapshot that was published by the last write request. The logic
+	 * neither waits for running or pending write requests nor is it cancelled by them. It must only read the index and
+	 * must not access the resource sets of the workspace, since they may be modified concurrently. Requests that work on
+	 * documents have to use {@link #runRead(Function1)}, which waits for the pending write requests.
+	 * 
+	 * If no snapshot has been published yet, the logic is run as an ordinary read request on a snapshot that is created
+	 * on demand.
+	 * 
+	 * @since 2.25
+	 */
+	@Beta
+	public <V> CompletableFuture<V> runReadOnIndexSnapshot(
+			Function2<? super CancelIndicator, ? super IResourceDescriptions, ? extends V> cancellable) {
+		IResourceDescriptions currentSnapshot = snapshot;
+		if (currentSnapshot == null) {
+			return runRead(cancelIndicator -> cancellable.apply(cancelIndicator, createSnapshot()));
+		}
+		IndexSnapshotReadRequest<V> request = new IndexSnapshotReadRequest<>(this, cancellable, currentSnapshot,
+				parallel);
+		request.run();
+		return request.get();
+	}
+
+	/**
+	 * Set the provider of the index snapshots. The provider is invoked at the end of each write request and must return
+	 * a view on the index that is not modified by subsequent writes.
+	 * 
+	 * @since 2.25
+	 */
+	@Beta
+	public void setSnapshotProvider(Function0<? extends IResourceDescriptions> snapshotProvider) {
+		this.snapshotProvider = snapshotProvider;
+		this.snapshot = null;
+	}
+
+	/**
+	 * Publish a new snapshot for subsequent {@link #runReadOnIndexSnapshot(Function2) index reads}. Called by the write
+	 * requests when they are done.
+	 * 
+	 * @since 2.25
+	 */
+	protected void publishSnapshot() {
+		if (snapshotProvider != null) {
+			snapshot = createSnapshot();
+		}
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	protected IResourceDescriptions createSnapshot() {
+		Function0<? extends IResourceDescriptions> provider = snapshotProvider;
+		if (provider == null) {
+			return null;
+		}
+		return provider.apply();
+	}
+
+	/**
+	 * The queue latencies and cancellations of the requests handled by this request manager.
+	 * 
+	 * @since 2.25
+	 */
+	@Beta
+	public RequestMetrics getMetrics() {
+		return metrics;
+	}
+
 	/**
 	 * Perform the given write and run the cancellable logic afterwards.
 	 */
@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server.concurrent;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Collects queue latencies, execution times and cancellations of the requests of a {@link RequestManager} per request
+ * type.
+ *
+ * The queue latency of a request is the time between its creation and the start of its execution, e.g. the time a
+ * read request waits for a running write request.
+ *
+ * @since 2.25
+ */
+@Beta
+public class RequestMetrics {
+
+	/**
+	 * The way a request has been finished.
+	 */
+	public enum Outcome {
+		COMPLETED, CANCELLED, FAILED
+	}
+
+	/**
+	 * The accumulated metrics of one request type.
+	 */
+	public static class Statistics {
+		private long count;
+
+		private long cancelled;
+
+		private long failed;
+
+		private long totalQueueNanos;
+
+		private long maxQueueNanos;
+
+		private long totalRunNanos;
+
+		private long maxRunNanos;
+
+		synchronized void record(long queueNanos, long runNanos, Outcome outcome) {
+			count++;
+			if (outcome == Outcome.CANCELLED) {
+				cancelled++;
+			} else if (outcome == Outcome.FAILED) {
+				failed++;
+			}
+			totalQueueNanos += queueNanos;
+			maxQueueNanos = Math.max(maxQueueNanos, queueNanos);
+			totalRunNanos += runNanos;
+			maxRunNanos = Math.max(maxRunNanos, runNanos);
+		}
+
+		synchronized Statistics copy() {
+			Statistics result = new Statistics();
+			result.count = count;
+			result.cancelled = cancelled;
+			result.failed = failed;
+			result.totalQueueNanos = totalQueueNanos;
+			result.maxQueueNanos = maxQueueNanos;
+			result.totalRunNanos = totalRunNanos;
+			result.maxRunNanos = maxRunNanos;
+			return result;
+		}
+
+		/**
+		 * The number of finished requests including the cancelled and failed ones.
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		public long getCancelled() {
+			return cancelled;
+		}
+
+		public long getFailed() {
+			return failed;
+		}
+
+		public long getTotalQueueLatency(TimeUnit unit) {
+			return unit.convert(totalQueueNanos, TimeUnit.NANOSECONDS);
+		}
+
+		public long getMaxQueueLatency(TimeUnit unit) {
+			return unit.convert(maxQueueNanos, TimeUnit.NANOSECONDS);
+		}
+
+		public long getAverageQueueLatency(TimeUnit unit) {
+			if (count == 0) {
+				return 0;
+			}
+			return unit.convert(totalQueueNanos / count, TimeUnit.NANOSECONDS);
+		}
+
+		public long getTotalRunTime(TimeUnit unit) {
+			return unit.convert(totalRunNanos, TimeUnit.NANOSECONDS);
+		}
+
+		public long getMaxRunTime(TimeUnit unit) {
+			return unit.convert(maxRunNanos, TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public String toString() {
+			return "count=" + count + ", cancelled=" + cancelled + ", failed=" + failed + ", avgQueue="
+					+ getAverageQueueLatency(TimeUnit.MILLISECONDS) + "ms, maxQueue="
+					+ getMaxQueueLatency(TimeUnit.MILLISECONDS) + "ms, totalRun=" + getTotalRunTime(TimeUnit.MILLISECONDS)
+					+ "ms, maxRun=" + getMaxRunTime(TimeUnit.MILLISECONDS) + "ms";
+		}
+	}
+
+	private final ConcurrentMap<String, Statistics> statistics = new ConcurrentHashMap<>();
+
+	/**
+	 * Record a finished request. A request that was cancelled before it was started has a run time of zero.
+	 */
+	public void record(String requestType, long queueNanos, long runNanos, Outcome outcome) {
+		statistics.computeIfAbsent(requestType, k -> new Statistics()).record(queueNanos, runNanos, outcome);
+	}
+
+	/**
+	 * A copy of the current metrics sorted by the request type.
+	 */
+	public Map<String, Statistics> getStatistics() {
+		Map<String, Statistics> result = new TreeMap<>();
+		statistics.forEach((type, stats) -> result.put(type, stats.copy()));
+		return result;
+	}
+
+	public void reset() {
+		statistics.clear();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		getStatistics().forEach((type, stats) -> result.append(type).append(": ").append(stats).append("\n"));
+		return result.toString();
+	}
+}
@@ -46,13 +46,32 @@ public class WriteRequest<U, V> extends AbstractRequest<V> {
 				LOG.error("Error during request: ", t);
 			}
 		}
+		started();
+		V writeResult;
 		try {
 			U intermediateResult = this.nonCancellable.apply();
 			cancelIndicator.checkCanceled();
-			V writeResult = cancellable.apply(cancelIndicator, intermediateResult);
-			complete(writeResult);
+			writeResult = cancellable.apply(cancelIndicator, intermediateResult);
 		} catch (Throwable t) {
+			publishSnapshot();
 			logAndCompleteExceptionally(t);
+			return;
+		}
+		publishSnapshot();
+		complete(writeResult);
+	}
+
+	/**
+	 * The non-cancellable part may have changed the state even if the request failed or was cancelled afterwards, so
+	 * a new snapshot is published in any case.
+	 */
+	private void publishSnapshot() {
+		try {
+			requestManager.publishSnapshot();
+		} catch (Throwable t) {
+			if (!requestManager.isCancelException(t)) {
+				LOG.error("Error while publishing a snapshot: ", t);
+			}
 		}
 	}
 	
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server.findReferences;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.xtext.findReferences.IReferenceFinder;
+import org.eclipse.xtext.resource.IExternalContentSupport;
+import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
+import org.eclipse.xtext.util.Exceptions;
+import org.eclipse.xtext.util.concurrent.IUnitOfWork;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * A resource access for {@link org.eclipse.xtext.ide.server.concurrent.RequestManager#runReadOnIndexSnapshot index
+ * snapshot reads}. The resources of the workspace may be modified by a build that runs concurrently, so the resources
+ * are loaded into a resource set of this access instead. It is linked against the given index and shows the content of
+ * the open documents. An instance is meant to be used by a single request.
+ *
+ * @since 2.25
+ */
+@Beta
+public class IndexSnapshotResourceAccess implements IReferenceFinder.IResourceAccess {
+
+	private final IResourceServiceProvider.Registry registry;
+
+	private final IResourceDescriptions index;
+
+	private final IExternalContentSupport.IExternalContentProvider openedDocumentsContentProvider;
+
+	private ResourceSet resourceSet;
+
+	public IndexSnapshotResourceAccess(IResourceServiceProvider.Registry registry, IResourceDescriptions index,
+			IExternalContentSupport.IExternalContentProvider openedDocumentsContentProvider) {
+		this.registry = registry;
+		this.index = index;
+		this.openedDocumentsContentProvider = openedDocumentsContentProvider;
+	}
+
+	@Override
+	public <R> R readOnly(URI targetURI, IUnitOfWork<R, ResourceSet> work) {
+		ResourceSet resourceSet = getResourceSet(targetURI);
+		if (resourceSet == null) {
+			return null;
+		}
+		try {
+			return work.exec(resourceSet);
+		} catch (Exception e) {
+			return Exceptions.throwUncheckedException(e);
+		}
+	}
+
+	/**
+	 * The resource set is created on first access by the language of the given URI.
+	 */
+	protected ResourceSet getResourceSet(URI uri) {
+		if (resourceSet == null) {
+			IResourceServiceProvider resourceServiceProvider = registry.getResourceServiceProvider(uri.trimFragment());
+			if (resourceServiceProvider == null) {
+				return null;
+			}
+			XtextResourceSet result = resourceServiceProvider.get(XtextResourceSet.class);
+			resourceServiceProvider.get(IExternalContentSupport.class).configureResourceSet(result,
+					openedDocumentsContentProvider);
+			if (index instanceof ChunkedResourceDescriptions) {
+				((ChunkedResourceDescriptions) index).createShallowCopyWith(result);
+			}
+			resourceSet = result;
+		}
+		return resourceSet;
+	}
+
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server.symbol;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.xtext.findReferences.IReferenceFinder.IResourceAccess;
+import org.eclipse.xtext.ide.server.ILanguageServerAccess;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.service.OperationCanceledManager;
+import org.eclipse.xtext.util.CancelIndicator;
+
+import com.google.common.annotations.Beta;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * A workspace symbol service that answers queries from a {@link WorkspaceSymbolIndex} instead of filtering all exported
+ * objects of the workspace. The results are ranked and limited to {@link #getMaxResults()}. Bind it in the server
+ * module to enable it:
+ *
+ * <pre>
+ * bind(WorkspaceSymbolService.class).to(IndexedWorkspaceSymbolService.class);
+ * </pre>
+ *
+ * The index is created from the workspace index on the first query and kept up to date with the deltas of the builds.
+ * The language server registers the service as a build listener. As long as no build has been reported, e.g. if the
+ * service is used without a language server, queries are answered by the {@link WorkspaceSymbolService default
+ * implementation}.
+ *
+ * The matching is done by the index, {@link DocumentSymbolService#filter(IEObjectDescription, String)} is not
+ * consulted. The symbols are still created by the {@link DocumentSymbolService} of the respective language.
+ *
+ * @since 2.25
+ */
+@Beta
+@Singleton
+public class IndexedWorkspaceSymbolService extends WorkspaceSymbolService
+		implements ILanguageServerAccess.IBuildListener {
+
+	private static final int DEFAULT_MAX_RESULTS = 1000;
+
+	@Inject
+	private IResourceServiceProvider.Registry registry;
+
+	@Inject
+	private OperationCanceledManager operationCanceledManager;
+
+	@Inject
+	private WorkspaceSymbolIndex symbolIndex;
+
+	private boolean listening;
+
+	private boolean initialized;
+
+	@Override
+	public synchronized void afterBuild(List<IResourceDescription.Delta> deltas) {
+		listening = true;
+		if (initialized) {
+			symbolIndex.update(deltas);
+		}
+	}
+
+	@Override
+	public List<? extends SymbolInformation> getSymbols(String query, IResourceAccess resourceAccess,
+			IResourceDescriptions indexData, CancelIndicator cancelIndicator) {
+		synchronized (this) {
+			if (!listening) {
+				return super.getSymbols(query, resourceAccess, indexData, cancelIndicator);
+			}
+			if (!initialized) {
+				symbolIndex.initialize(indexData);
+				initialized = true;
+			}
+		}
+		List<SymbolInformation> result = new ArrayList<>();
+		for (IEObjectDescription description : symbolIndex.find(query, getMaxResults(), cancelIndicator)) {
+			operationCanceledManager.checkCanceled(cancelIndicator);
+			URI resourceURI = description.getEObjectURI().trimFragment();
+			// the symbol index may already contain the changes of a build that is not part of the given index
+			if (indexData.getResourceDescription(resourceURI) == null) {
+				continue;
+			}
+			IResourceServiceProvider resourceServiceProvider = registry.getResourceServiceProvider(resourceURI);
+			if (resourceServiceProvider != null) {
+				DocumentSymbolService documentSymbolService = resourceServiceProvider.get(DocumentSymbolService.class);
+				if (documentSymbolService != null) {
+					documentSymbolService.createSymbol(description, resourceAccess, result::add);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The maximum number of symbols that are returned for a query.
+	 */
+	protected int getMaxResults() {
+		return DEFAULT_MAX_RESULTS;
+	}
+
+	protected WorkspaceSymbolIndex getSymbolIndex() {
+		return symbolIndex;
+	}
+}
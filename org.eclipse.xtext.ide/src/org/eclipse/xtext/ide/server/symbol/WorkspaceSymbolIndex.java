@@ -0,0 +1,408 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server.symbol;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.service.OperationCanceledManager;
+import org.eclipse.xtext.util.CancelIndicator;
+
+import com.google.common.annotations.Beta;
+import com.google.inject.Inject;
+
+/**
+ * A search index over the exported objects of the workspace. Queries are matched case insensitively against the
+ * qualified names and their last segments. The matches are ranked by their {@link MatchKind kind}, best first:
+ * <ol>
+ * <li>the last segment equals the query,</li>
+ * <li>the last segment starts with the query,</li>
+ * <li>the initials of the camel case humps of the last segment start with the query, e.g. <code>FB</code> matches
+ * <code>FooBar</code> and <code>FooBarBaz</code>,</li>
+ * <li>the qualified name contains the query.</li>
+ * </ol>
+ * Matches of the same kind are ordered by their last segment and qualified name.
+ *
+ * Exact and prefix matches are looked up in a sorted map of the last segments, camel case matches in a sorted map of
+ * the initials. Substrings of at least three characters are looked up in a trigram index. The index is updated
+ * incrementally with the deltas of the builds. It is thread-safe.
+ *
+ * @since 2.25
+ */
+@Beta
+public class WorkspaceSymbolIndex {
+
+	/**
+	 * The kinds of matches, best first.
+	 */
+	public enum MatchKind {
+		EXACT, PREFIX, CAMEL_CASE, SUBSTRING
+	}
+
+	private static class Entry {
+		private final IEObjectDescription description;
+
+		private final String qualifiedName;
+
+		private final String lastSegment;
+
+		private final String initials;
+
+		Entry(IEObjectDescription description, String qualifiedName, String lastSegment, String initials) {
+			this.description = description;
+			this.qualifiedName = qualifiedName;
+			this.lastSegment = lastSegment;
+			this.initials = initials;
+		}
+	}
+
+	private static final Comparator<Entry> ENTRY_ORDER = Comparator.<Entry, String> comparing(it -> it.lastSegment)
+			.thenComparing(it -> it.qualifiedName);
+
+	/**
+	 * Keeps the best entries up to a limit in a heap whose head is the worst of them.
+	 */
+	private static class BestEntries {
+		private final int limit;
+
+		private final Set<Entry> excluded;
+
+		private final PriorityQueue<Entry> heap = new PriorityQueue<>(ENTRY_ORDER.reversed());
+
+		BestEntries(int limit, Set<Entry> excluded) {
+			this.limit = limit;
+			this.excluded = excluded;
+		}
+
+		void add(Entry entry) {
+			if (excluded.contains(entry)) {
+				return;
+			}
+			if (heap.size() < limit) {
+				heap.add(entry);
+			} else if (ENTRY_ORDER.compare(entry, heap.peek()) < 0) {
+				heap.poll();
+				heap.add(entry);
+			}
+		}
+
+		void addAll(Collection<Entry> entries) {
+			for (Entry entry : entries) {
+				add(entry);
+			}
+		}
+
+		List<Entry> getResult() {
+			List<Entry> result = new ArrayList<>(heap);
+			result.sort(ENTRY_ORDER);
+			return result;
+		}
+	}
+
+	private static final int TRIGRAM = 3;
+
+	@Inject
+	private OperationCanceledManager operationCanceledManager;
+
+	private final Map<URI, List<Entry>> resource2entries = new HashMap<>();
+
+	private final NavigableMap<String, List<Entry>> lastSegments = new TreeMap<>();
+
+	private final NavigableMap<String, List<Entry>> initials = new TreeMap<>();
+
+	private final Map<String, Set<Entry>> trigrams = new HashMap<>();
+
+	private int size;
+
+	/**
+	 * Replace the contents of this index with the exported objects of the given resource descriptions.
+	 */
+	public synchronized void initialize(IResourceDescriptions resourceDescriptions) {
+		resource2entries.clear();
+		lastSegments.clear();
+		initials.clear();
+		trigrams.clear();
+		size = 0;
+		for (IResourceDescription resourceDescription : resourceDescriptions.getAllResourceDescriptions()) {
+			add(resourceDescription);
+		}
+	}
+
+	/**
+	 * Apply the given deltas to this index.
+	 */
+	public synchronized void update(Collection<? extends IResourceDescription.Delta> deltas) {
+		for (IResourceDescription.Delta delta : deltas) {
+			remove(delta.getUri());
+			if (delta.getNew() != null) {
+				add(delta.getNew());
+			}
+		}
+	}
+
+	/**
+	 * The number of indexed objects.
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Find the exported objects that match the given query. The search stops as soon as the given number of best
+	 * matches is known.
+	 *
+	 * @param limit
+	 *            the maximum number of results, or a negative value for all matches
+	 * @return the matching objects, best matches first
+	 */
+	public synchronized List<IEObjectDescription> find(String query, int limit, CancelIndicator cancelIndicator) {
+		String lowerCaseQuery = query.toLowerCase();
+		int max = limit < 0 ? Integer.MAX_VALUE : limit;
+		Set<Entry> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<IEObjectDescription> result = new ArrayList<>();
+		for (MatchKind kind : MatchKind.values()) {
+			if (result.size() >= max) {
+				break;
+			}
+			operationCanceledManager.checkCanceled(cancelIndicator);
+			List<Entry> candidates = findCandidates(kind, lowerCaseQuery, max - result.size(), matched,
+					cancelIndicator);
+			for (Entry entry : candidates) {
+				if (result.size() >= max) {
+					break;
+				}
+				if (matched.add(entry)) {
+					result.add(entry.description);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The entries that match the query in the given way, sorted by {@link #ENTRY_ORDER}. The returned list may contain
+	 * entries that also match in a better way. The camel case and substring matches are selected without the already
+	 * matched entries, such that the limit applies to the new ones.
+	 */
+	private List<Entry> findCandidates(MatchKind kind, String query, int limit, Set<Entry> matched,
+			CancelIndicator cancelIndicator) {
+		switch (kind) {
+			case EXACT: {
+				List<Entry> entries = lastSegments.get(query);
+				if (entries == null) {
+					return Collections.emptyList();
+				}
+				return sorted(entries);
+			}
+			case PREFIX:
+				return collectByPrefix(lastSegments, query, false, limit);
+			case CAMEL_CASE:
+				if (query.length() < 2) {
+					return Collections.emptyList();
+				}
+				// entries with different initials are ordered by their last segment, so all of them are ranked
+				BestEntries best = new BestEntries(limit, matched);
+				for (Map.Entry<String, List<Entry>> it : initials.tailMap(query, true).entrySet()) {
+					if (!it.getKey().startsWith(query)) {
+						break;
+					}
+					best.addAll(it.getValue());
+				}
+				return best.getResult();
+			case SUBSTRING:
+				if (query.length() < TRIGRAM) {
+					return findShortSubstrings(query, limit, matched, cancelIndicator);
+				}
+				return findSubstrings(query, limit, matched, cancelIndicator);
+			default:
+				throw new IllegalArgumentException(kind.toString());
+		}
+	}
+
+	/**
+	 * The entries whose key starts with the given prefix, in the order of the keys. Stops after the key that exceeds
+	 * the given limit. Entries with the same key are sorted.
+	 */
+	private List<Entry> collectByPrefix(NavigableMap<String, List<Entry>> map, String prefix, boolean inclusive,
+			int limit) {
+		List<Entry> result = new ArrayList<>();
+		for (Map.Entry<String, List<Entry>> it : map.tailMap(prefix, inclusive).entrySet()) {
+			if (!it.getKey().startsWith(prefix) || limit >= 0 && result.size() >= limit) {
+				break;
+			}
+			result.addAll(sorted(it.getValue()));
+		}
+		return result;
+	}
+
+	/**
+	 * Queries that are too short for the trigram index are matched against all entries. The entries are visited in the
+	 * order of their last segments, so the search stops after the last segment that reaches the limit.
+	 */
+	private List<Entry> findShortSubstrings(String query, int limit, Set<Entry> matched,
+			CancelIndicator cancelIndicator) {
+		List<Entry> result = new ArrayList<>();
+		int count = 0;
+		for (List<Entry> entries : lastSegments.values()) {
+			if (result.size() >= limit) {
+				break;
+			}
+			int start = result.size();
+			for (Entry entry : entries) {
+				if (++count % 1000 == 0) {
+					operationCanceledManager.checkCanceled(cancelIndicator);
+				}
+				if (!matched.contains(entry) && entry.qualifiedName.contains(query)) {
+					result.add(entry);
+				}
+			}
+			result.subList(start, result.size()).sort(ENTRY_ORDER);
+		}
+		return result;
+	}
+
+	/**
+	 * The candidates are the entries of the rarest trigram of the query.
+	 */
+	private List<Entry> findSubstrings(String query, int limit, Set<Entry> matched,
+			CancelIndicator cancelIndicator) {
+		Set<Entry> candidates = null;
+		for (int i = 0; i + TRIGRAM <= query.length(); i++) {
+			Set<Entry> entries = trigrams.get(query.substring(i, i + TRIGRAM));
+			if (entries == null) {
+				return Collections.emptyList();
+			}
+			if (candidates == null || entries.size() < candidates.size()) {
+				candidates = entries;
+			}
+		}
+		BestEntries best = new BestEntries(limit, matched);
+		int count = 0;
+		for (Entry entry : candidates) {
+			if (++count % 1000 == 0) {
+				operationCanceledManager.checkCanceled(cancelIndicator);
+			}
+			if (entry.qualifiedName.contains(query)) {
+				best.add(entry);
+			}
+		}
+		return best.getResult();
+	}
+
+	private List<Entry> sorted(List<Entry> entries) {
+		List<Entry> result = new ArrayList<>(entries);
+		result.sort(ENTRY_ORDER);
+		return result;
+	}
+
+	private void add(IResourceDescription resourceDescription) {
+		List<Entry> entries = new ArrayList<>();
+		for (IEObjectDescription description : resourceDescription.getExportedObjects()) {
+			QualifiedName name = description.getQualifiedName();
+			if (name == null || name.isEmpty()) {
+				continue;
+			}
+			String lastSegment = name.getLastSegment();
+			Entry entry = new Entry(description, name.toLowerCase().toString(), lastSegment.toLowerCase(),
+					getInitials(lastSegment));
+			entries.add(entry);
+			lastSegments.computeIfAbsent(entry.lastSegment, it -> new ArrayList<>(1)).add(entry);
+			if (entry.initials.length() > 1) {
+				initials.computeIfAbsent(entry.initials, it -> new ArrayList<>(1)).add(entry);
+			}
+			for (String trigram : getTrigrams(entry.qualifiedName)) {
+				trigrams.computeIfAbsent(trigram, it -> Collections.newSetFromMap(new IdentityHashMap<>()))
+						.add(entry);
+			}
+		}
+		if (!entries.isEmpty()) {
+			resource2entries.put(resourceDescription.getURI(), entries);
+			size += entries.size();
+		}
+	}
+
+	private void remove(URI uri) {
+		List<Entry> entries = resource2entries.remove(uri);
+		if (entries == null) {
+			return;
+		}
+		for (Entry entry : entries) {
+			removeFrom(lastSegments, entry.lastSegment, entry);
+			removeFrom(initials, entry.initials, entry);
+			for (String trigram : getTrigrams(entry.qualifiedName)) {
+				Set<Entry> set = trigrams.get(trigram);
+				if (set != null && set.remove(entry) && set.isEmpty()) {
+					trigrams.remove(trigram);
+				}
+			}
+		}
+		size -= entries.size();
+	}
+
+	private void removeFrom(Map<String, List<Entry>> map, String key, Entry entry) {
+		List<Entry> list = map.get(key);
+		if (list != null && list.remove(entry) && list.isEmpty()) {
+			map.remove(key);
+		}
+	}
+
+	private Set<String> getTrigrams(String text) {
+		if (text.length() < TRIGRAM) {
+			return Collections.emptySet();
+		}
+		Set<String> result = new HashSet<>();
+		for (int i = 0; i + TRIGRAM <= text.length(); i++) {
+			result.add(text.substring(i, i + TRIGRAM));
+		}
+		return result;
+	}
+
+	/**
+	 * The lower case initials of the camel case humps of the given name, e.g. <code>fb</code> for
+	 * <code>FooBar</code>, <code>xp</code> for <code>XMLParser</code>, and <code>fb</code> for <code>foo_bar</code>.
+	 */
+	protected String getInitials(String name) {
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < name.length(); i++) {
+			char ch = name.charAt(i);
+			if (!Character.isLetterOrDigit(ch)) {
+				continue;
+			}
+			char previous = i > 0 ? name.charAt(i - 1) : '_';
+			boolean startsHump = !Character.isLetterOrDigit(previous);
+			if (Character.isUpperCase(ch)) {
+				if (!Character.isUpperCase(previous)) {
+					startsHump = true;
+				} else if (i + 1 < name.length() && Character.isLowerCase(name.charAt(i + 1))) {
+					startsHump = true;
+				}
+			}
+			if (startsHump) {
+				result.append(Character.toLowerCase(ch));
+			}
+		}
+		return result.toString();
+	}
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.build;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.xtext.index.IndexTestLanguageInjectorProvider;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.DescriptionUtils;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta;
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionManager;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.eclipse.xtext.testing.builder.AbstractIncrementalBuilderTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.inject.Inject;
+
+@RunWith(XtextRunner.class)
+@InjectWith(IndexTestLanguageInjectorProvider.class)
+public class AffectionCandidatesTest extends AbstractIncrementalBuilderTest {
+
+	@Inject
+	private IResourceServiceProvider.Registry resourceServiceProviderFactory;
+
+	@Inject
+	private DefaultResourceDescriptionManager resourceDescriptionManager;
+
+	@Override
+	public IResourceServiceProvider.Registry getLanguages() {
+		return resourceServiceProviderFactory;
+	}
+
+	@Test
+	public void testDefaultManagerIsFilterable() {
+		Assert.assertTrue(resourceDescriptionManager.isAffectedByNamesAndReferencesOnly());
+		DefaultResourceDescriptionManager customized = new DefaultResourceDescriptionManager() {
+			@Override
+			public boolean isAffected(IResourceDescription.Delta delta, IResourceDescription candidate) {
+				return true;
+			}
+		};
+		customized.setDescriptionUtils(new DescriptionUtils());
+		Assert.assertTrue(customized.isAffectedByNamesAndReferencesOnly());
+		customized = new DefaultResourceDescriptionManager() {
+			@Override
+			public boolean isAffected(Collection<IResourceDescription.Delta> deltas,
+					IResourceDescription candidate, IResourceDescriptions context) {
+				return true;
+			}
+		};
+		customized.setDescriptionUtils(new DescriptionUtils());
+		Assert.assertFalse(customized.isAffectedByNamesAndReferencesOnly());
+	}
+
+	@Test
+	public void testOnlyDependentResourcesAreCandidates() {
+		build(newBuildRequest((BuildRequest it) -> {
+			it.setDirtyFiles(Lists.newArrayList(
+					newFile("src/A.indextestlanguage", "foo { entity A {} }"),
+					newFile("src/B.indextestlanguage", "foo { entity B { foo.A a } }"),
+					newFile("src/C.indextestlanguage", "bar { entity C {} }"),
+					newFile("src/D.indextestlanguage", "bar { entity D { bar.C c } }")));
+		}));
+		Assert.assertTrue(issues.toString(), issues.isEmpty());
+		build(newBuildRequest((BuildRequest it) -> {
+			it.setDirtyFiles(Lists.newArrayList(newFile("src/A.indextestlanguage", "foo { entity Renamed {} }")));
+		}));
+		Assert.assertEquals(issues.toString(), 1, issues.size());
+		Assert.assertEquals(uri("src/B.indextestlanguage"), issues.get(0).getUriToProblem().trimFragment());
+		Assert.assertEquals(Collections.singleton(uri("src/A.indextestlanguage")), generated.keySet());
+		ResourceDescriptionsData index = indexState.getResourceDescriptions();
+		Assert.assertEquals(2, index.getAffectionCandidateHits());
+		Assert.assertEquals(2, index.getAffectionCandidateMisses());
+
+		URI c = uri("src/C.indextestlanguage");
+		IResourceDescription.Delta delta = new DefaultResourceDescriptionDelta(index.getResourceDescription(c), null);
+		Assert.assertEquals(Sets.newHashSet(c, uri("src/D.indextestlanguage")),
+				index.copy().getAffectionCandidates(Collections.singleton(delta)));
+		Assert.assertEquals(4, index.getAffectionCandidateHits());
+		Assert.assertEquals(4, index.getAffectionCandidateMisses());
+	}
+
+	@Test
+	public void testReferencingResources() {
+		build(newBuildRequest((BuildRequest it) -> {
+			it.setDirtyFiles(Lists.newArrayList(
+					newFile("src/A.indextestlanguage", "foo { entity A {} entity A2 {} }"),
+					newFile("src/B.indextestlanguage", "foo { entity B { foo.A a foo.A a2 } }"),
+					newFile("src/C.indextestlanguage", "bar { entity C { foo.A2 a2 } }")));
+		}));
+		Assert.assertTrue(issues.toString(), issues.isEmpty());
+		ResourceDescriptionsData index = indexState.getResourceDescriptions();
+		URI a = uri("src/A.indextestlanguage");
+		URI b = uri("src/B.indextestlanguage");
+		URI c = uri("src/C.indextestlanguage");
+		Assert.assertEquals(Sets.newHashSet(b, c), index.getReferencingResources(Collections.singleton(a)));
+		// the referenced objects are indexed by the first lookup of objects
+		Assert.assertEquals(2, index.getIndexedReferenceCount());
+		Assert.assertEquals(Collections.singleton(b), index.getReferencingResources(getEObjectURIs(index, "foo.A")));
+		Assert.assertEquals(Collections.singleton(c), index.getReferencingResources(getEObjectURIs(index, "foo.A2")));
+		Assert.assertEquals(Collections.emptySet(), index.getReferencingResources(Collections.singleton(b)));
+		// B references resource A and object foo.A, C references resource A and object foo.A2
+		Assert.assertEquals(4, index.getIndexedReferenceCount());
+
+		build(newBuildRequest((BuildRequest it) -> {
+			it.setDirtyFiles(Lists.newArrayList(newFile("src/B.indextestlanguage", "foo { entity B {} }")));
+		}));
+		index = indexState.getResourceDescriptions();
+		Assert.assertEquals(Collections.singleton(c), index.getReferencingResources(Collections.singleton(a)));
+		Assert.assertEquals(Collections.emptySet(), index.getReferencingResources(getEObjectURIs(index, "foo.A")));
+		Assert.assertEquals(2, index.getIndexedReferenceCount());
+	}
+
+	private List<URI> getEObjectURIs(IResourceDescriptions index, String name) {
+		List<URI> result = new ArrayList<>();
+		for (IEObjectDescription description : index.getExportedObjects(EcorePackage.Literals.EOBJECT,
+				QualifiedName.create(name.split("\\.")), false)) {
+			result.add(description.getEObjectURI());
+		}
+		Assert.assertFalse(name, result.isEmpty());
+		return result;
+	}
+
+}
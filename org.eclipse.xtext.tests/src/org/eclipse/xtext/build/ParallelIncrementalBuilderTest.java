@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.build;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.index.IndexTestLanguageInjectorProvider;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.SynchronizedXtextResourceSet;
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.eclipse.xtext.testing.builder.AbstractIncrementalBuilderTest;
+import org.eclipse.xtext.validation.Issue;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+
+@RunWith(XtextRunner.class)
+@InjectWith(IndexTestLanguageInjectorProvider.class)
+public class ParallelIncrementalBuilderTest extends AbstractIncrementalBuilderTest {
+
+	private static final int FILE_COUNT = 30;
+
+	@Inject
+	private IResourceServiceProvider.Registry resourceServiceProviderFactory;
+
+	@Inject
+	private Provider<SynchronizedXtextResourceSet> synchronizedResourceSetProvider;
+
+	private ExecutorService executorService;
+
+	@Override
+	public IResourceServiceProvider.Registry getLanguages() {
+		return resourceServiceProviderFactory;
+	}
+
+	@Before
+	public void setUpExecutor() {
+		executorService = Executors.newFixedThreadPool(4);
+		resourceSetProvider = () -> synchronizedResourceSetProvider.get();
+	}
+
+	@After
+	public void shutDownExecutor() {
+		executorService.shutdown();
+	}
+
+	@Test
+	public void testParallelBuildMatchesSequentialBuild() {
+		List<URI> files = new ArrayList<>();
+		for (int i = 0; i < FILE_COUNT; i++) {
+			String model =
+					"foo {\n" +
+					"	entity E" + i + " { foo.E" + ((i + 1) % FILE_COUNT) + " next }\n" +
+					"}\n";
+			files.add(newFile("src/E" + i + ".indextestlanguage", model));
+		}
+		IncrementalBuilder.Result sequential = buildAndCheck(files, null);
+		IncrementalBuilder.Result parallel = buildAndCheck(files, executorService);
+		Assert.assertEquals(uris(sequential.getAffectedResources()), uris(parallel.getAffectedResources()));
+		Assert.assertEquals(files, uris(parallel.getAffectedResources()));
+		for (URI file : files) {
+			Assert.assertNotNull(parallel.getIndexState().getResourceDescriptions().getResourceDescription(file));
+			Assert.assertEquals(1, parallel.getIndexState().getFileMappings().getGenerated(file).size());
+		}
+	}
+
+	@Test
+	public void testParallelBuildOnCachedThreadPool() {
+		List<URI> files = new ArrayList<>();
+		for (int i = 0; i < FILE_COUNT; i++) {
+			files.add(newFile("src/E" + i + ".indextestlanguage", "foo {\n	entity E" + i + " {}\n}\n"));
+		}
+		ExecutorService cachedThreadPool = Executors.newCachedThreadPool();
+		try {
+			IncrementalBuilder.Result result = buildAndCheck(files, cachedThreadPool);
+			Assert.assertEquals(files, uris(result.getAffectedResources()));
+		} finally {
+			cachedThreadPool.shutdown();
+		}
+	}
+
+	@Test
+	public void testIncrementalParallelBuild() {
+		List<URI> files = new ArrayList<>();
+		for (int i = 0; i < FILE_COUNT; i++) {
+			String model =
+					"foo {\n" +
+					"	entity E" + i + (i > 0 ? " { foo.E0 first }" : " {}") + "\n" +
+					"}\n";
+			files.add(newFile("src/E" + i + ".indextestlanguage", model));
+		}
+		buildAndCheck(files, executorService);
+		newFile("src/E0.indextestlanguage", "foo {\n	entity Renamed {}\n}\n");
+		List<Issue> issues = new ArrayList<>();
+		BuildRequest request = newBuildRequest((BuildRequest it) -> {
+			it.setDirtyFiles(Lists.newArrayList(uri("src/E0.indextestlanguage")));
+			it.setExecutorService(executorService);
+			it.setAfterValidate((URI uri, Iterable<Issue> validated) -> {
+				synchronized (issues) {
+					Iterables.addAll(issues, validated);
+				}
+				return true;
+			});
+		});
+		IncrementalBuilder.Result result = incrementalBuilder.build(request,
+				it -> getLanguages().getResourceServiceProvider(it));
+		indexState = result.getIndexState();
+		List<URI> affected = uris(result.getAffectedResources());
+		Assert.assertEquals(files.get(0), affected.get(0));
+		Assert.assertEquals(Sets.newHashSet(files), Sets.newHashSet(affected));
+		Assert.assertEquals(issues.toString(), FILE_COUNT - 1, issues.size());
+	}
+
+	private IncrementalBuilder.Result buildAndCheck(List<URI> files, ExecutorService executor) {
+		indexState = new IndexState();
+		List<Issue> issues = new ArrayList<>();
+		List<URI> generatedFiles = new ArrayList<>();
+		BuildRequest request = newBuildRequest((BuildRequest it) -> {
+			it.setDirtyFiles(new ArrayList<>(files));
+			it.setExecutorService(executor);
+			it.setAfterValidate((URI uri, Iterable<Issue> validated) -> {
+				synchronized (issues) {
+					Iterables.addAll(issues, validated);
+				}
+				return true;
+			});
+			it.setAfterGenerateFile((URI source, URI target) -> {
+				synchronized (generatedFiles) {
+					generatedFiles.add(target);
+				}
+			});
+		});
+		Assert.assertTrue(request.getResourceSet() instanceof SynchronizedXtextResourceSet);
+		IncrementalBuilder.Result result = incrementalBuilder.build(request,
+				it -> getLanguages().getResourceServiceProvider(it));
+		indexState = result.getIndexState();
+		Assert.assertTrue(issues.toString(), issues.isEmpty());
+		Assert.assertEquals(files.size(), generatedFiles.size());
+		return result;
+	}
+
+	private List<URI> uris(List<IResourceDescription.Delta> deltas) {
+		List<URI> result = new ArrayList<>();
+		for (IResourceDescription.Delta delta : deltas) {
+			result.add(delta.getUri());
+		}
+		return result;
+	}
+}
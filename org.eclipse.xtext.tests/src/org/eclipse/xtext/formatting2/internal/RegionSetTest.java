@@ -20,9 +20,12 @@ import com.google.common.base.Functions;
  * @author Moritz Eysholdt - Initial contribution and API
  */
 public class RegionSetTest {
+	protected TextSegmentSet<ITextSegment> createTextSegmentSet() {
+		return new ArrayListTextSegmentSet<ITextSegment>(Functions.identity(), Functions.toStringFunction(), true);
+	}
+
 	private void test(CharSequence expectation, Procedure1<? super TestableTextSegmentSet> test) {
-		TestableTextSegmentSet set = new TestableTextSegmentSet(new ArrayListTextSegmentSet<ITextSegment>(
-				Functions.identity(), Functions.toStringFunction(), true));
+		TestableTextSegmentSet set = new TestableTextSegmentSet(createTextSegmentSet());
 		try {
 			test.apply(set);
 		} catch (Throwable t) {
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.formatting2.internal;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import org.eclipse.xtext.formatting2.regionaccess.ITextSegment;
+import org.eclipse.xtext.formatting2.regionaccess.internal.TextSegment;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.base.Functions;
+import com.google.common.collect.Lists;
+
+public class TreeRegionSetTest extends RegionSetTest {
+
+	@Override
+	protected TextSegmentSet<ITextSegment> createTextSegmentSet() {
+		return new TreeTextSegmentSet<ITextSegment>(Functions.identity(), Functions.toStringFunction(), true);
+	}
+
+	@Test
+	public void testSameAsArrayList() {
+		Random random = new Random(42);
+		TextSegmentSet<ITextSegment> arrayListSet = super.createTextSegmentSet();
+		TextSegmentSet<ITextSegment> treeSet = createTextSegmentSet();
+		TestableTextSegmentSet expected = new TestableTextSegmentSet(arrayListSet);
+		TestableTextSegmentSet actual = new TestableTextSegmentSet(treeSet);
+		for (int i = 0; i < 2000; i++) {
+			ITextSegment segment = new TextSegment(null, random.nextInt(5000), random.nextInt(4));
+			expected.add(segment);
+			actual.add(segment);
+		}
+		Assert.assertEquals(expected.toString(), actual.toString());
+		Assert.assertEquals(Lists.newArrayList(arrayListSet.reverseIterable()),
+				Lists.newArrayList(treeSet.reverseIterable()));
+		for (ITextSegment segment : arrayListSet) {
+			Assert.assertSame(segment, treeSet.get(segment));
+			Assert.assertEquals(Lists.newArrayList(arrayListSet.iteratorAfter(segment)),
+					Lists.newArrayList(treeSet.iteratorAfter(segment)));
+		}
+	}
+
+	@Test
+	public void testIteratorAfterMissingSegment() {
+		TextSegmentSet<ITextSegment> set = createTextSegmentSet();
+		set.add(new TextSegment(null, 10, 1));
+		Iterator<ITextSegment> iterator = set.iteratorAfter(new TextSegment(null, 11, 1));
+		Assert.assertFalse(iterator.hasNext());
+	}
+}
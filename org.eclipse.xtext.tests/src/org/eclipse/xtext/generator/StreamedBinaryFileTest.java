@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.generator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.impl.ExtensibleURIConverterImpl;
+import org.eclipse.xtext.util.Files;
+import org.eclipse.xtext.util.RuntimeIOException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.io.ByteStreams;
+
+public class StreamedBinaryFileTest {
+
+	private File tmpDir;
+
+	@Before
+	public void createTmpDir() {
+		tmpDir = com.google.common.io.Files.createTempDir();
+	}
+
+	@After
+	public void deleteTmpDir() throws IOException {
+		Files.cleanFolder(tmpDir, null, true, true);
+	}
+
+	@Test
+	public void testJavaIoFileSystemAccess() throws Exception {
+		JavaIoFileSystemAccess fsa = new JavaIoFileSystemAccess();
+		fsa.setOutputPath(tmpDir.getPath());
+		List<File> added = new ArrayList<>();
+		fsa.setCallBack(new JavaIoFileSystemAccess.IFileCallback() {
+			@Override
+			public void fileAdded(File file) {
+				added.add(file);
+			}
+
+			@Override
+			public void fileDeleted(File file) {
+			}
+		});
+		assertStreamedWrite(fsa, new File(tmpDir, "folder/file.bin"));
+		Assert.assertEquals(2, added.size());
+	}
+
+	@Test
+	public void testURIBasedFileSystemAccess() throws Exception {
+		URIBasedFileSystemAccess fsa = new URIBasedFileSystemAccess();
+		fsa.setOutputPath(tmpDir.getPath());
+		fsa.setConverter(new ExtensibleURIConverterImpl());
+		List<URI> written = new ArrayList<>();
+		fsa.setBeforeWrite(new URIBasedFileSystemAccess.BeforeWrite() {
+			@Override
+			public InputStream beforeWrite(URI changed, String outputCfgName, InputStream in) {
+				throw new AssertionError("Streamed content should not be buffered");
+			}
+
+			@Override
+			public IFileSystemAccess2.BinaryContent beforeWrite(URI changed, String outputCfgName,
+					IFileSystemAccess2.BinaryContent content) {
+				written.add(changed);
+				return content;
+			}
+		});
+		assertStreamedWrite(fsa, new File(tmpDir, "folder/file.bin"));
+		// unchanged files are reported, too, so that they are not considered as stale
+		Assert.assertEquals(4, written.size());
+	}
+
+	@Test
+	public void testURIBasedFileSystemAccessStreamsByDefault() throws Exception {
+		URIBasedFileSystemAccess fsa = new URIBasedFileSystemAccess();
+		fsa.setOutputPath(tmpDir.getPath());
+		fsa.setConverter(new ExtensibleURIConverterImpl());
+		IFileSystemAccess2.BinaryContent content = out -> out.write(1);
+		Assert.assertSame(content, fsa.getBeforeWrite().beforeWrite(fsa.getURI("file.bin"),
+				IFileSystemAccess.DEFAULT_OUTPUT, content));
+		assertStreamedWrite(fsa, new File(tmpDir, "folder/file.bin"));
+	}
+
+	@Test
+	public void testBufferingDefault() throws Exception {
+		InMemoryFileSystemAccess fsa = new InMemoryFileSystemAccess();
+		Assert.assertTrue(fsa.generateFile("file.bin", IFileSystemAccess.DEFAULT_OUTPUT, out -> out.write(1), true));
+		Assert.assertFalse(fsa.generateFile("file.bin", IFileSystemAccess.DEFAULT_OUTPUT, out -> out.write(1), true));
+		Assert.assertTrue(fsa.generateFile("file.bin", IFileSystemAccess.DEFAULT_OUTPUT, out -> out.write(2), true));
+		Assert.assertArrayEquals(new byte[] { 2 }, ByteStreams.toByteArray(fsa.readBinaryFile("file.bin")));
+	}
+
+	private void assertStreamedWrite(AbstractFileSystemAccess2 fsa, File file) throws Exception {
+		Assert.assertTrue(fsa.generateFile("folder/file.bin", IFileSystemAccess.DEFAULT_OUTPUT,
+				out -> out.write(new byte[] { 1, 2, 3 }), true));
+		Assert.assertArrayEquals(new byte[] { 1, 2, 3 }, java.nio.file.Files.readAllBytes(file.toPath()));
+		file.setLastModified(1000);
+		Assert.assertFalse(fsa.generateFile("folder/file.bin", IFileSystemAccess.DEFAULT_OUTPUT,
+				out -> out.write(new byte[] { 1, 2, 3 }), true));
+		Assert.assertEquals(1000, file.lastModified());
+		try {
+			fsa.generateFile("folder/file.bin", IFileSystemAccess.DEFAULT_OUTPUT, out -> {
+				out.write(4);
+				throw new IOException("failed");
+			}, false);
+			Assert.fail();
+		} catch (RuntimeIOException e) {
+			// expected
+		}
+		Assert.assertArrayEquals(new byte[] { 1, 2, 3 }, java.nio.file.Files.readAllBytes(file.toPath()));
+		Assert.assertTrue(fsa.generateFile("folder/file.bin", IFileSystemAccess.DEFAULT_OUTPUT,
+				out -> out.write(new byte[] { 1, 2, 3 }), false));
+		Assert.assertNotEquals(1000, file.lastModified());
+		Assert.assertEquals(1, file.getParentFile().list().length);
+	}
+
+}
@@ -41,6 +41,7 @@ import org.eclipse.xtext.linking.ILinkingService;
 import org.eclipse.xtext.linking.impl.IllegalNodeException;
 import org.eclipse.xtext.linking.impl.LinkingDiagnosticMessageProvider;
 import org.eclipse.xtext.linking.impl.LinkingHelper;
+import org.eclipse.xtext.linking.lazy.lazyLinking.LazyLinkingPackage;
 import org.eclipse.xtext.linking.lazy.lazyLinking.Model;
 import org.eclipse.xtext.linking.lazy.lazyLinking.Property;
 import org.eclipse.xtext.linking.lazy.lazyLinking.Type;
@@ -48,6 +49,7 @@ import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.impl.LeafNode;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.impl.ResourceSetBasedResourceDescriptions;
 import org.eclipse.xtext.scoping.IGlobalScopeProvider;
 import org.eclipse.xtext.tests.AbstractXtextTests;
@@ -283,6 +285,31 @@ public class LazyLinkingResourceTest extends AbstractXtextTests {
 		assertFalse(types.basicGet(1).eIsProxy());
 	}
 
+	@Test public void testDecodeLazyProxy() throws Exception {
+		with(LazyLinkingTestLanguageStandaloneSetup.class);
+		LazyLinkingResource resource = (LazyLinkingResource) get(XtextResourceSet.class).createResource(
+				URI.createURI("file.lazylinkingtestlanguage"));
+		resource.load(new StringInputStream("type Foo { } type Bar { Foo Bar prop; }"), null);
+		Model model = (Model) resource.getContents().get(0);
+		Property property = model.getTypes().get(1).getProperties().get(0);
+		InternalEList<Type> types = (InternalEList<Type>) property.getType();
+		List<String> names = Lists.newArrayList("Foo", "Bar");
+		for (int i = 0; i < types.size(); i++) {
+			String fragment = ((InternalEObject) types.basicGet(i)).eProxyURI().fragment();
+			Triple<EObject, EReference, INode> triple = resource.getEncoder().decode(resource, fragment);
+			assertSame(property, triple.getFirst());
+			assertSame(LazyLinkingPackage.Literals.PROPERTY__TYPE, triple.getSecond());
+			assertEquals(names.get(i), triple.getThird().getText());
+			assertEquals(fragment, resource.getEncoder().encode(triple.getFirst(), triple.getSecond(), triple.getThird()));
+			assertSame(resource.decodeLazyProxy(fragment), resource.decodeLazyProxy(fragment));
+		}
+		String fragment = ((InternalEObject) types.basicGet(0)).eProxyURI().fragment();
+		Triple<EObject, EReference, INode> decoded = resource.decodeLazyProxy(fragment);
+		model.getTypes().get(0).setName("Baz");
+		assertNotSame(decoded, resource.decodeLazyProxy(fragment));
+		assertEquals(decoded, resource.decodeLazyProxy(fragment));
+	}
+
 	protected ISetup lazyLinkingTestLangaugeSetup() {
 		return new LazyLinkingTestLanguageStandaloneSetup() {
 			@Override
@@ -9,13 +9,24 @@
  *******************************************************************************/
 package org.eclipse.xtext.linking.lazy;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtext.nodemodel.ICompositeNode;
 import org.eclipse.xtext.nodemodel.ILeafNode;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.impl.AbstractNode;
 import org.eclipse.xtext.nodemodel.impl.CompositeNode;
+import org.eclipse.xtext.nodemodel.impl.CompositeNodeWithSemanticElement;
 import org.eclipse.xtext.nodemodel.impl.LeafNode;
 import org.eclipse.xtext.nodemodel.impl.NodeModelBuilder;
+import org.eclipse.xtext.util.Triple;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -46,6 +57,36 @@ public class LazyURIEncoderTest extends Assert {
 		assertEquals(l2, find(n,l2));
 	}
 	
+	@Test public void testDecodeUsesPublicMethods() throws Exception {
+		List<String> segments = new ArrayList<>();
+		EObject source = EcoreFactory.eINSTANCE.createEObject();
+		CompositeNodeWithSemanticElement sourceNode = new CompositeNodeWithSemanticElement();
+		source.eAdapters().add(sourceNode);
+		LazyURIEncoder overridingEncoder = new LazyURIEncoder() {
+			@Override
+			public EObject resolveShortFragment(Resource res, String shortFragment) {
+				segments.add(shortFragment);
+				return source;
+			}
+
+			@Override
+			public EReference fromShortExternalForm(EClass clazz, String shortForm) {
+				segments.add(shortForm);
+				return null;
+			}
+
+			@Override
+			public INode getNode(INode node, String path) {
+				segments.add(path);
+				return node;
+			}
+		};
+		Triple<EObject, EReference, INode> decoded = overridingEncoder.decode(null, "|::0.1.2::3::/0/1");
+		assertEquals(Arrays.asList("0.1.2", "3", "/0/1"), segments);
+		assertSame(source, decoded.getFirst());
+		assertSame(sourceNode, decoded.getThird());
+	}
+
 	private LazyURIEncoder encoder;
 	
 	@Before
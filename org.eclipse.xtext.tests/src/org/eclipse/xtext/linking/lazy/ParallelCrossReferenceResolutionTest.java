@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.linking.lazy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.log4j.Level;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource.Diagnostic;
+import org.eclipse.xtext.XtextStandaloneSetup;
+import org.eclipse.xtext.linking.ILinkingService;
+import org.eclipse.xtext.linking.impl.DefaultLinkingService;
+import org.eclipse.xtext.linking.impl.IllegalNodeException;
+import org.eclipse.xtext.linking.lazy.Bug281990Test.RecursiveScopeProvider;
+import org.eclipse.xtext.linking.lazy.lazyLinking.Model;
+import org.eclipse.xtext.linking.lazy.lazyLinking.Property;
+import org.eclipse.xtext.linking.lazy.lazyLinking.Type;
+import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.scoping.IScopeProvider;
+import org.eclipse.xtext.testing.logging.LoggingTester;
+import org.eclipse.xtext.testing.logging.LoggingTester.LogCapture;
+import org.eclipse.xtext.tests.AbstractXtextTests;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.StringInputStream;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.junit.Test;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Binder;
+import com.google.inject.name.Names;
+
+public class ParallelCrossReferenceResolutionTest extends AbstractXtextTests {
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		XtextStandaloneSetup.doSetup();
+		with(new ParallelLinkingModule());
+	}
+
+	@Test public void testResolveLazyCrossReferences() throws Exception {
+		StringBuilder model = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			model.append("type T").append(i).append(" {\n");
+			for (int j = 0; j < 10; j++) {
+				model.append("  T").append((i * 7 + j) % 200).append(" T").append(j).append(" X").append(i)
+						.append(" p").append(j).append(";\n");
+			}
+			model.append("}\n");
+		}
+		LazyLinkingResource resource = resolve(model.toString());
+		assertTrue(resource.isParallelCrossReferenceResolution());
+		with(new LazyLinkingTestLanguageRuntimeModule());
+		LazyLinkingResource expected = resolve(model.toString());
+		assertFalse(expected.isParallelCrossReferenceResolution());
+		assertEquals(toString(expected), toString(resource));
+		assertEquals(2000, resource.getErrors().size());
+		assertEquals(messages(expected.getErrors()), messages(resource.getErrors()));
+	}
+
+	@Test public void testCyclicLinking() throws Exception {
+		with(new ParallelLinkingModule() {
+			@Override
+			public Class<? extends IScopeProvider> bindIScopeProvider() {
+				return RecursiveScopeProvider.class;
+			}
+
+			@Override
+			public void configure(Binder binder) {
+				super.configure(binder);
+				binder.bindConstant().annotatedWith(Names.named(LazyLinkingResource.CYCLIC_LINKING_DECTECTION_COUNTER_LIMIT)).to(0);
+			}
+		});
+		LogCapture loggings = LoggingTester.captureLogging(Level.ERROR, LazyLinkingResource.class, new Runnable() {
+			@Override
+			public void run() {
+				try {
+					LazyLinkingResource resource = resolve("type Foo extends Foo.bar { Foo foo; }");
+					Model model = (Model) resource.getContents().get(0);
+					assertTrue(model.getTypes().get(0).getParentId().eIsProxy());
+					assertEquals(2, resource.getErrors().size());
+					assertTrue(resource.getErrors().get(0).getMessage().contains("Couldn't"));
+				} catch (Exception e) {
+					throw Exceptions.sneakyThrow(e);
+				}
+			}
+		});
+		loggings.assertNumberOfLogEntries(1);
+	}
+
+	@Test public void testOverriddenGetLinkedObjects() throws Exception {
+		with(new ParallelLinkingModule() {
+			@Override
+			public Class<? extends ILinkingService> bindILinkingService() {
+				return NoLinksLinkingService.class;
+			}
+		});
+		LazyLinkingResource resource = resolve("type Foo { Foo foo; }");
+		Model model = (Model) resource.getContents().get(0);
+		assertTrue(model.getTypes().get(0).getProperties().get(0).getType().get(0).eIsProxy());
+		assertEquals(1, resource.getErrors().size());
+	}
+
+	private LazyLinkingResource resolve(String model) throws Exception {
+		new LazyLinkingTestLanguageStandaloneSetup().register(getInjector());
+		LazyLinkingResource result = (LazyLinkingResource) get(XtextResourceSet.class).createResource(
+				URI.createURI("file.lazylinkingtestlanguage"));
+		result.load(new StringInputStream(model), null);
+		result.resolveLazyCrossReferences(CancelIndicator.NullImpl);
+		return result;
+	}
+
+	private String toString(LazyLinkingResource resource) {
+		StringBuilder result = new StringBuilder();
+		for (Type type : ((Model) resource.getContents().get(0)).getTypes()) {
+			for (Property property : type.getProperties()) {
+				for (Type propertyType : property.getType()) {
+					result.append(propertyType.eIsProxy() ? "proxy" : propertyType.getName()).append(' ');
+				}
+				result.append(property.getName()).append('\n');
+			}
+		}
+		return result.toString();
+	}
+
+	private List<String> messages(List<Diagnostic> diagnostics) {
+		List<String> result = new ArrayList<>();
+		for (Diagnostic diagnostic : diagnostics) {
+			result.add(diagnostic.getLine() + ": " + diagnostic.getMessage());
+		}
+		return result;
+	}
+
+	public static class NoLinksLinkingService extends DefaultLinkingService {
+		@Override
+		public List<EObject> getLinkedObjects(EObject context, EReference ref, INode node) throws IllegalNodeException {
+			return Collections.emptyList();
+		}
+	}
+
+	private static class ParallelLinkingModule extends LazyLinkingTestLanguageRuntimeModule {
+		private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(4,
+				new ThreadFactoryBuilder().setDaemon(true).build());
+
+		@Override
+		public void configureParallelCrossReferenceResolution(Binder binder) {
+			binder.bind(Boolean.TYPE).annotatedWith(Names.named(LazyLinkingResource.PARALLEL_CROSS_REFERENCE_RESOLUTION)).toInstance(Boolean.TRUE);
+			binder.bind(ExecutorService.class).annotatedWith(Names.named(LazyLinkingResource.PARALLEL_CROSS_REFERENCE_RESOLUTION_EXECUTOR)).toInstance(EXECUTOR);
+		}
+	}
+
+}
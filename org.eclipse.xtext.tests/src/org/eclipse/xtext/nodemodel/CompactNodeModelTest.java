@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.nodemodel;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.nodemodel.impl.CompactNodeModelBuilder;
+import org.eclipse.xtext.nodemodel.impl.CompactRootNode;
+import org.eclipse.xtext.nodemodel.impl.NodeModelBuilder;
+import org.eclipse.xtext.nodemodel.impl.RootNode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.parser.IParseResult;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.testlanguages.SimpleExpressionsTestLanguageRuntimeModule;
+import org.eclipse.xtext.testlanguages.SimpleExpressionsTestLanguageStandaloneSetup;
+import org.eclipse.xtext.tests.AbstractXtextTests;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+public class CompactNodeModelTest extends AbstractXtextTests {
+
+	private static final String MODEL = "(a + b) * c / (d - e) // comment\n- f * (g + (h)) /* ml\ncomment */ + i";
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		with(SimpleExpressionsTestLanguageStandaloneSetup.class);
+	}
+
+	@Override
+	protected boolean shouldTestSerializer(XtextResource resource) {
+		return false;
+	}
+
+	@Test public void testSameNodes() throws Exception {
+		assertSameNodes(getParseResult(MODEL));
+	}
+
+	@Test public void testSameNodesWithSyntaxErrors() throws Exception {
+		assertSameNodes(getParseResultAndExpect("(a + b * / c\n(d - ", EXPECT_ERRORS));
+	}
+
+	@Test public void testSameNodesForEmptyInput() throws Exception {
+		assertSameNodes(getParseResultAndExpect("  ", 1));
+	}
+
+	@Test public void testSemanticElements() throws Exception {
+		XtextResource resource = getResourceFromString(MODEL);
+		CompactRootNode rootNode = CompactRootNode.create((RootNode) resource.getParseResult().getRootNode());
+		EObject root = resource.getContents().get(0);
+		int semanticNodes = 0;
+		for (INode node : rootNode.getAsTreeIterable()) {
+			if (node.hasDirectSemanticElement()) {
+				semanticNodes++;
+				assertSame(node, NodeModelUtils.getNode(node.getSemanticElement()));
+			}
+		}
+		for (Iterator<EObject> iterator = root.eAllContents(); iterator.hasNext();) {
+			semanticNodes--;
+			ICompositeNode node = NodeModelUtils.getNode(iterator.next());
+			assertSame(rootNode, node.getRootNode());
+			assertEquals(1, node.getSemanticElement().eAdapters().stream().filter(INode.class::isInstance).count());
+		}
+		assertEquals(1, semanticNodes);
+		assertSame(rootNode, NodeModelUtils.getNode(root).getRootNode());
+	}
+
+	@Test public void testFindLeafNodeAtOffset() throws Exception {
+		IParseResult parseResult = getParseResult(MODEL);
+		List<String> expected = new ArrayList<>();
+		for (int offset = 0; offset <= MODEL.length(); offset++) {
+			ILeafNode leaf = NodeModelUtils.findLeafNodeAtOffset(parseResult.getRootNode(), offset);
+			expected.add(leaf == null ? "null" : toString(leaf));
+		}
+		CompactRootNode rootNode = CompactRootNode.create((RootNode) parseResult.getRootNode());
+		for (int offset = 0; offset <= MODEL.length(); offset++) {
+			ILeafNode leaf = NodeModelUtils.findLeafNodeAtOffset(rootNode, offset);
+			assertEquals(expected.get(offset), leaf == null ? "null" : toString(leaf));
+		}
+	}
+
+	@Test public void testToRootNode() throws Exception {
+		IParseResult parseResult = getParseResultAndExpect("(a + b * / c\n(d - ", EXPECT_ERRORS);
+		String expected = dump(parseResult.getRootNode());
+		CompactRootNode rootNode = CompactRootNode.create((RootNode) parseResult.getRootNode());
+		RootNode copy = rootNode.toRootNode();
+		getInvariantChecker().checkInvariant(copy);
+		assertEquals(expected, dump(copy));
+		assertSame(rootNode, NodeModelUtils.getNode(parseResult.getRootASTElement()).getRootNode());
+	}
+
+	@Test public void testCompactNodeModelBuilder() throws Exception {
+		Injector injector = Guice.createInjector(new SimpleExpressionsTestLanguageRuntimeModule() {
+			@SuppressWarnings("unused")
+			public Class<? extends NodeModelBuilder> bindNodeModelBuilder() {
+				return CompactNodeModelBuilder.class;
+			}
+		});
+		setInjector(injector);
+		XtextResource resource = getResourceFromString(MODEL);
+		assertTrue(resource.getParseResult().getRootNode() instanceof CompactRootNode);
+		int offset = MODEL.indexOf("+ i");
+		resource.update(offset, 1, "-");
+		ICompositeNode rootNode = resource.getParseResult().getRootNode();
+		assertTrue(rootNode instanceof CompactRootNode);
+		assertEquals(MODEL.substring(0, offset) + "-" + MODEL.substring(offset + 1), rootNode.getText());
+		assertSame(rootNode, NodeModelUtils.getNode(resource.getContents().get(0)).getRootNode());
+	}
+
+	private void assertSameNodes(IParseResult parseResult) {
+		String expected = dump(parseResult.getRootNode());
+		List<String> expectedErrors = new ArrayList<>();
+		parseResult.getSyntaxErrors().forEach(node -> expectedErrors.add(toString(node)));
+		CompactRootNode rootNode = CompactRootNode.create((RootNode) parseResult.getRootNode());
+		assertEquals(expected, dump(rootNode));
+		List<String> errors = new ArrayList<>();
+		rootNode.getAsTreeIterable().forEach(node -> {
+			if (node.getSyntaxErrorMessage() != null)
+				errors.add(toString(node));
+		});
+		assertEquals(expectedErrors, errors);
+	}
+
+	private String dump(ICompositeNode rootNode) {
+		StringBuilder result = new StringBuilder();
+		for (INode node : rootNode.getAsTreeIterable()) {
+			result.append(toString(node)).append("\n");
+			result.append("  parent: ").append(node.getParent() == null ? null : toString(node.getParent())).append("\n");
+			result.append("  siblings: ").append(node.hasSiblings()).append(" ").append(node.hasPreviousSibling())
+					.append(" ").append(node.hasNextSibling()).append("\n");
+			if (node.hasPreviousSibling())
+				result.append("  previous: ").append(toString(node.getPreviousSibling())).append("\n");
+			if (node.hasNextSibling())
+				result.append("  next: ").append(toString(node.getNextSibling())).append("\n");
+			if (node instanceof ICompositeNode) {
+				ICompositeNode composite = (ICompositeNode) node;
+				result.append("  children: ").append(composite.hasChildren()).append(" ")
+						.append(composite.getLookAhead()).append("\n");
+				for (INode child : composite.getChildren().reverse())
+					result.append("    ").append(toString(child)).append("\n");
+			}
+			for (ILeafNode leaf : node.getLeafNodes())
+				result.append("  leaf: ").append(toString(leaf)).append("\n");
+		}
+		for (INode node : rootNode.getAsTreeIterable().reverse()) {
+			result.append(toString(node)).append("\n");
+		}
+		BidiTreeIterator<INode> iterator = rootNode.getAsTreeIterable().iterator();
+		while (iterator.hasNext()) {
+			INode node = iterator.next();
+			if (node.hasDirectSemanticElement() && node != rootNode)
+				iterator.prune();
+			result.append(toString(node)).append("\n");
+		}
+		return result.toString();
+	}
+
+	private String toString(INode node) {
+		return (node instanceof ILeafNode ? (((ILeafNode) node).isHidden() ? "hidden " : "leaf ") : "composite ")
+				+ node.getGrammarElement() + " '" + node.getText() + "' " + node.getTotalTextRegionWithLineInformation()
+				+ " " + node.getTextRegionWithLineInformation() + " " + node.getLength() + " "
+				+ node.getSemanticElement() + " " + node.hasDirectSemanticElement() + " "
+				+ (node.getSyntaxErrorMessage() == null ? null : node.getSyntaxErrorMessage().getMessage());
+	}
+
+}
@@ -27,6 +27,7 @@ import org.eclipse.xtext.nodemodel.ICompositeNode;
 import org.eclipse.xtext.nodemodel.ILeafNode;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.impl.SyntheticCompositeNode;
+import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.tests.AbstractXtextTests;
 import org.junit.Test;
 
@@ -296,4 +297,37 @@ public class NodeModelUtilsTest extends AbstractXtextTests {
 		}
 		assertTrue(syntheticNodeSeen);
 	}
+	
+	@Test public void testFindLeafNodeAtOffset_2() throws Exception {
+		String grammarText = "grammar foo.Bar with org.eclipse.xtext.common.Terminals generate foo 'bar'\n" +
+				"Model : /* comment */ (name=ID value=ID)* ;\n" +
+				"Other returns Model : {Model} name=STRING ;\n";
+		Grammar grammar = (Grammar) getModel(grammarText);
+		ICompositeNode rootNode = NodeModelUtils.getNode(grammar).getRootNode();
+		for (INode node : rootNode.getAsTreeIterable()) {
+			for (int offset = -1; offset <= grammarText.length(); offset++) {
+				ILeafNode expected = null;
+				for (ILeafNode leafNode : node.getLeafNodes()) {
+					if (leafNode.getTotalOffset() <= offset && leafNode.getTotalEndOffset() > offset) {
+						expected = leafNode;
+					}
+				}
+				assertSame(expected, NodeModelUtils.findLeafNodeAtOffset(node, offset));
+			}
+		}
+	}
+	
+	@Test public void testFindLeafNodeAtOffset_3() throws Exception {
+		String grammarText = "grammar foo.Bar with org.eclipse.xtext.common.Terminals generate foo 'bar'\n" +
+				"Model : name=ID value=ID ;\n" +
+				"Other returns Model : name=STRING ;\n";
+		XtextResource resource = getResourceFromString(grammarText);
+		ICompositeNode rootNode = resource.getParseResult().getRootNode();
+		int offset = grammarText.indexOf("name");
+		assertEquals("name", NodeModelUtils.findLeafNodeAtOffset(rootNode, offset).getText());
+		resource.update(offset, 0, "first=ID ");
+		assertSame(rootNode, resource.getParseResult().getRootNode());
+		assertEquals("first", NodeModelUtils.findLeafNodeAtOffset(rootNode, offset).getText());
+		assertEquals("name", NodeModelUtils.findLeafNodeAtOffset(rootNode, offset + "first=ID ".length()).getText());
+	}
 }
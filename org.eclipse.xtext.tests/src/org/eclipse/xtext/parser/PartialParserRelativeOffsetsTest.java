@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.parser;
+
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.ILeafNode;
+import org.eclipse.xtext.nodemodel.impl.NodeModelBuilder;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.testlanguages.ReferenceGrammarTestLanguageRuntimeModule;
+import org.eclipse.xtext.testlanguages.ReferenceGrammarTestLanguageStandaloneSetup;
+import org.junit.Test;
+
+import com.google.inject.Binder;
+import com.google.inject.Guice;
+import com.google.inject.name.Names;
+
+public class PartialParserRelativeOffsetsTest extends AbstractPartialParserTest {
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		with(ReferenceGrammarTestLanguageStandaloneSetup.class);
+		setInjector(Guice.createInjector(new ReferenceGrammarTestLanguageRuntimeModule() {
+			@Override
+			public void configureUseRelativeOffsetsForPartialParsing(Binder binder) {
+				binder.bind(Boolean.TYPE).annotatedWith(Names.named(NodeModelBuilder.USE_RELATIVE_OFFSETS)).toInstance(Boolean.TRUE);
+			}
+		}));
+	}
+
+	@Test public void testSubsequentEdits() throws Exception {
+		StringBuilder modelBuilder = new StringBuilder("spielplatz 17 {\n");
+		for (int i = 0; i < 10; i++) {
+			modelBuilder.append("  kind ( Herbert").append(i).append(" 11 )\n");
+			modelBuilder.append("  erwachsener ( Hugo").append(i).append(" 111 )\n");
+		}
+		modelBuilder.append("}\n");
+		String model = modelBuilder.toString();
+		IParseResult parseResult = getParseResult(model);
+		ICompositeNode rootNode = parseResult.getRootNode();
+		String[][] edits = {
+				{ "Herbert0", "Herbert" },
+				{ "Hugo9", "Hugo9999" },
+				{ "Herbert5", "H" },
+				{ "Hugo2 111", "Egon 1" },
+				{ "Herbert1 11", "Herbert1 1100" },
+				{ "Hugo0", "Hugo" },
+				{ "Hugo9999", "Hugo99" },
+		};
+		for (String[] edit : edits) {
+			int offset = model.indexOf(edit[0]);
+			parseResult = reparse(parseResult, offset, edit[0].length(), edit[1]);
+			model = model.substring(0, offset) + edit[1] + model.substring(offset + edit[0].length());
+			assertSame(rootNode, parseResult.getRootNode());
+			assertFalse(parseResult.hasSyntaxErrors());
+			assertEquals(model, rootNode.getText());
+			getInvariantChecker().checkInvariant(rootNode);
+			assertSameStructure(getParseResult(model).getRootNode(), rootNode);
+		}
+		int offset = model.indexOf("Hugo99");
+		ILeafNode leafNode = NodeModelUtils.findLeafNodeAtOffset(rootNode, offset);
+		assertEquals("Hugo99", leafNode.getText());
+		assertEquals(offset, leafNode.getOffset());
+	}
+
+	@Test public void testNestedEdit() throws Exception {
+		String model = "spielplatz 1 {\n  kind ( A 1 )\n  kind ( D 2 )\n  erwachsener ( M 30 )\n  erwachsener ( V 31 )\n"
+				+ "  familie ( keyword M V A, D )\n  kind ( E 3 )\n}\n";
+		IParseResult parseResult = getParseResult(model);
+		ICompositeNode rootNode = parseResult.getRootNode();
+		int offset = model.indexOf("A, D");
+		parseResult = reparse(parseResult, offset, 1, "E");
+		model = model.substring(0, offset) + "E" + model.substring(offset + 1);
+		offset = model.indexOf("A 1 )") + 2;
+		parseResult = reparse(parseResult, offset, 1, "1000");
+		model = model.substring(0, offset) + "1000" + model.substring(offset + 1);
+		assertSame(rootNode, parseResult.getRootNode());
+		assertEquals(model, rootNode.getText());
+		getInvariantChecker().checkInvariant(rootNode);
+		assertSameStructure(getParseResult(model).getRootNode(), rootNode);
+	}
+
+}
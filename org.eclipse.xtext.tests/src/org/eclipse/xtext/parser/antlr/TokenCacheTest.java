@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.parser.antlr;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.antlr.runtime.ANTLRStringStream;
+import org.antlr.runtime.CommonToken;
+import org.antlr.runtime.Token;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.parser.AbstractPartialParserTest;
+import org.eclipse.xtext.parser.IParseResult;
+import org.eclipse.xtext.testlanguages.ReferenceGrammarTestLanguageRuntimeModule;
+import org.eclipse.xtext.testlanguages.ReferenceGrammarTestLanguageStandaloneSetup;
+import org.eclipse.xtext.util.ReplaceRegion;
+import org.junit.Test;
+
+import com.google.inject.Binder;
+import com.google.inject.Guice;
+import com.google.inject.Key;
+import com.google.inject.name.Names;
+
+public class TokenCacheTest extends AbstractPartialParserTest {
+
+	private static final String MODEL = "spielplatz 17 \"Spielplatz\" {\n"
+			+ "  kind ( Herbert 11 ) // comment\n"
+			+ "  /* multi\n   line */ erwachsener ( Hugo 111 )\n"
+			+ "  familie ( keyword Hugo Hugo Herbert )\n"
+			+ "}\n";
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		with(ReferenceGrammarTestLanguageStandaloneSetup.class);
+		setInjector(Guice.createInjector(new ReferenceGrammarTestLanguageRuntimeModule() {
+			@Override
+			public void configureUseIncrementalLexing(Binder binder) {
+				binder.bind(Boolean.TYPE).annotatedWith(Names.named(AbstractAntlrParser.USE_INCREMENTAL_LEXING)).toInstance(Boolean.TRUE);
+			}
+		}));
+	}
+
+	@Test public void testRandomEdits() throws Exception {
+		String text = MODEL;
+		TokenCache tokenCache = lex(text, null, new ArrayList<>()).getTokenCache(text);
+		Random random = new Random(text.length());
+		String alphabet = "ab1 \n\"'/*(){}#";
+		for (int i = 0; i < 2000; i++) {
+			int offset = random.nextInt(text.length() + 1);
+			int length = Math.min(random.nextInt(4), text.length() - offset);
+			StringBuilder replacement = new StringBuilder();
+			for (int j = random.nextInt(4); j > 0; j--) {
+				replacement.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			}
+			text = text.substring(0, offset) + replacement + text.substring(offset + length);
+			List<String> tokens = new ArrayList<>();
+			TokenCacheRecorder recorder = lex(text, tokenCache, tokens);
+			assertEquals(text, lex(text), tokens);
+			tokenCache = recorder.getTokenCache(text);
+			assertEquals(tokens.size(), tokenCache.getTokenCount());
+		}
+	}
+
+	@Test public void testLocalEdit() throws Exception {
+		StringBuilder builder = new StringBuilder("spielplatz 17 {\n");
+		for (int i = 0; i < 100; i++) {
+			builder.append("  kind ( Herbert").append(i).append(" 11 ) // comment\n");
+		}
+		String text = builder.append("}\n").toString();
+		TokenCache tokenCache = lex(text, null, new ArrayList<>()).getTokenCache(text);
+		int offset = text.indexOf("Herbert50");
+		text = text.substring(0, offset) + "\"Egon\"\n  " + text.substring(offset);
+		List<String> tokens = new ArrayList<>();
+		TokenCacheRecorder recorder = lex(text, tokenCache, tokens);
+		assertEquals(lex(text), tokens);
+		assertEquals(3, recorder.getLexedTokenCount());
+	}
+
+	@Test public void testUnterminatedComment() throws Exception {
+		String text = MODEL;
+		TokenCache tokenCache = lex(text, null, new ArrayList<>()).getTokenCache(text);
+		int offset = text.indexOf("kind");
+		text = text.substring(0, offset) + "/*" + text.substring(offset);
+		List<String> tokens = new ArrayList<>();
+		TokenCacheRecorder recorder = lex(text, tokenCache, tokens);
+		assertEquals(lex(text), tokens);
+		tokenCache = recorder.getTokenCache(text);
+		text = text.substring(0, offset) + text.substring(offset + 2);
+		tokens.clear();
+		lex(text, tokenCache, tokens);
+		assertEquals(lex(text), tokens);
+	}
+
+	@Test public void testFullyReparse() throws Exception {
+		AbstractAntlrParser parser = (AbstractAntlrParser) getParser();
+		String model = MODEL;
+		IParseResult parseResult = parser.parse(new StringReader(model));
+		assertNotNull(parser.getTokenCache(parseResult.getRootNode()));
+		String[][] edits = {
+				{ "17", "1700" },
+				{ "kind (", "kind (\n" },
+				{ "}", "" },
+				{ "", "}" },
+				{ "keyword", "'keyword" },
+				{ "'keyword", "keyword" },
+		};
+		for (String[] edit : edits) {
+			int offset = edit[0].isEmpty() ? model.length() : model.indexOf(edit[0]);
+			parseResult = getPartialParser().reparse(parser, parseResult,
+					new ReplaceRegion(offset, edit[0].length(), edit[1]));
+			model = model.substring(0, offset) + edit[1] + model.substring(offset + edit[0].length());
+			ICompositeNode rootNode = parseResult.getRootNode();
+			assertEquals(model, rootNode.getText());
+			IParseResult expected = getParser().parse(new StringReader(model));
+			assertSameStructure(expected.getRootNode(), rootNode);
+			assertEquals(dump(expected), dump(parseResult));
+			TokenCache tokenCache = parser.getTokenCache(rootNode);
+			assertEquals(model, tokenCache.getText());
+		}
+	}
+
+	private List<String> lex(String text) {
+		Lexer lexer = newLexer();
+		lexer.setCharStream(new ANTLRStringStream(text));
+		List<String> result = new ArrayList<>();
+		for (Token token = lexer.nextToken(); token != Token.EOF_TOKEN; token = lexer.nextToken()) {
+			result.add(toString(lexer, token));
+		}
+		return result;
+	}
+
+	private TokenCacheRecorder lex(String text, TokenCache previous, List<String> tokens) throws Exception {
+		Lexer lexer = newLexer();
+		RecordingCharStream input = new RecordingCharStream(new StringReader(text), previous);
+		lexer.setCharStream(input);
+		TokenCacheRecorder recorder = new TokenCacheRecorder(lexer, input);
+		for (Token token = lexer.nextToken(); token != Token.EOF_TOKEN; token = lexer.nextToken()) {
+			tokens.add(toString(lexer, token));
+		}
+		return recorder;
+	}
+
+	private Lexer newLexer() {
+		return get(Key.get(Lexer.class, Names.named(LexerBindings.RUNTIME)));
+	}
+
+	private String toString(Lexer lexer, Token token) {
+		CommonToken commonToken = (CommonToken) token;
+		return token.getType() + " " + token.getChannel() + " '" + token.getText() + "' " + token.getLine() + ":"
+				+ token.getCharPositionInLine() + " " + commonToken.getStartIndex() + "-" + commonToken.getStopIndex()
+				+ " " + lexer.getErrorMessage(token);
+	}
+
+	private String dump(IParseResult parseResult) {
+		StringBuilder result = new StringBuilder();
+		for (INode node : parseResult.getRootNode().getAsTreeIterable()) {
+			result.append(node.getTotalTextRegionWithLineInformation()).append(" ")
+					.append(node.getSyntaxErrorMessage() == null ? null : node.getSyntaxErrorMessage().getMessage())
+					.append("\n");
+		}
+		return result.toString();
+	}
+
+}
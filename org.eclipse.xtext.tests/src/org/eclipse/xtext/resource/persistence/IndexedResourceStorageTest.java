@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.resource.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.linking.LangATestLanguageStandaloneSetup;
+import org.eclipse.xtext.linking.langATestLanguage.Main;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.tests.AbstractXtextTests;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
+
+public class IndexedResourceStorageTest extends AbstractXtextTests {
+
+	private static class CountingLoadable extends ResourceStorageLoadable {
+		int decoded;
+
+		CountingLoadable(InputStream in) {
+			super(in, false);
+		}
+
+		@Override
+		protected void loadPendingEntries(StorageAwareResource resource) throws IOException {
+			decoded++;
+			super.loadPendingEntries(resource);
+		}
+	}
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		with(new LangATestLanguageStandaloneSetup());
+	}
+
+	@Test
+	public void testWriterAndEntries() throws Exception {
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		try (IndexedResourceStorage.Writer writer = new IndexedResourceStorage.Writer(bout)) {
+			writer.putNextEntry("a");
+			writer.write(new byte[] { 1, 2, 3 });
+			writer.putNextEntry("empty");
+			writer.putNextEntry("b");
+			writer.write(4);
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bout.toByteArray());
+		Assert.assertTrue(IndexedResourceStorage.isIndexedStorage(buffer));
+		IndexedResourceStorage storage = new IndexedResourceStorage(buffer);
+		Assert.assertEquals(Lists.newArrayList("a", "empty", "b"), Lists.newArrayList(storage.getEntryNames()));
+		Assert.assertArrayEquals(new byte[] { 1, 2, 3 }, ByteStreams.toByteArray(storage.getInputStream("a")));
+		Assert.assertEquals(0, storage.getEntry("empty").remaining());
+		Assert.assertArrayEquals(new byte[] { 4 }, ByteStreams.toByteArray(storage.getInputStream("b")));
+		Assert.assertNull(storage.getEntry("c"));
+	}
+
+	@Test
+	public void testContentsAreDecodedLazily() throws Exception {
+		XtextResourceSet resourceSet = get(XtextResourceSet.class);
+		StorageAwareResource resourceA = (StorageAwareResource) resourceSet
+				.createResource(URI.createURI("hubba:/bubba.langatestlanguage"));
+		resourceA.load(getAsStream("type A type B extends A"), null);
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		new ResourceStorageWritable(bout, false, true).writeResource(resourceA);
+		Assert.assertTrue(IndexedResourceStorage.isIndexedStorage(ByteBuffer.wrap(bout.toByteArray())));
+
+		StorageAwareResource resourceB = (StorageAwareResource) resourceSet
+				.createResource(URI.createURI("hubba:/bubba2.langatestlanguage"));
+		CountingLoadable loadable = new CountingLoadable(new ByteArrayInputStream(bout.toByteArray()));
+		resourceB.loadFromStorage(loadable);
+		Assert.assertTrue(resourceB.isLoaded());
+		Iterable<IEObjectDescription> exported = resourceB.getResourceDescription().getExportedObjects();
+		Assert.assertEquals(2, Iterables.size(exported));
+		Assert.assertEquals(0, loadable.decoded);
+
+		Main main = (Main) resourceB.getContents().get(0);
+		Assert.assertEquals(1, loadable.decoded);
+		Assert.assertEquals(2, main.getTypes().size());
+		Assert.assertEquals("A", main.getTypes().get(1).getExtends().getName());
+		EObject resolved = resourceSet.getEObject(Iterables.getLast(exported).getEObjectURI(), false);
+		Assert.assertSame(main.getTypes().get(1), resolved);
+		Assert.assertEquals(1, loadable.decoded);
+	}
+
+	@Test
+	public void testUnloadDoesNotDecode() throws Exception {
+		XtextResourceSet resourceSet = get(XtextResourceSet.class);
+		StorageAwareResource resourceA = (StorageAwareResource) resourceSet
+				.createResource(URI.createURI("hubba:/bubba.langatestlanguage"));
+		resourceA.load(getAsStream("type A"), null);
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		new ResourceStorageWritable(bout, false, true).writeResource(resourceA);
+		StorageAwareResource resourceB = (StorageAwareResource) resourceSet
+				.createResource(URI.createURI("hubba:/bubba2.langatestlanguage"));
+		CountingLoadable loadable = new CountingLoadable(new ByteArrayInputStream(bout.toByteArray()));
+		resourceB.loadFromStorage(loadable);
+		resourceB.unload();
+		Assert.assertEquals(0, loadable.decoded);
+		Assert.assertTrue(resourceB.getContents().isEmpty());
+	}
+
+	@Test
+	public void testMappedStorage() throws Exception {
+		XtextResourceSet resourceSet = get(XtextResourceSet.class);
+		StorageAwareResource resourceA = (StorageAwareResource) resourceSet
+				.createResource(URI.createURI("hubba:/bubba.langatestlanguage"));
+		resourceA.load(getAsStream("type A"), null);
+		ResourceStorageFacade facade = (ResourceStorageFacade) resourceA.getResourceStorageFacade();
+		File indexed = File.createTempFile("indexed", ".langatestlanguagebin");
+		File zipped = File.createTempFile("zipped", ".langatestlanguagebin");
+		try {
+			try (FileOutputStream out = new FileOutputStream(indexed)) {
+				new ResourceStorageWritable(out, false, true).writeResource(resourceA);
+			}
+			try (FileOutputStream out = new FileOutputStream(zipped)) {
+				new ResourceStorageWritable(out, false, false).writeResource(resourceA);
+			}
+			Assert.assertNull(facade.createMappedResourceStorageLoadable(URI.createFileURI(zipped.getPath())));
+			ResourceStorageLoadable loadable = facade
+					.createMappedResourceStorageLoadable(URI.createFileURI(indexed.getPath()));
+			Assert.assertNotNull(loadable);
+			StorageAwareResource resourceB = (StorageAwareResource) resourceSet
+					.createResource(URI.createURI("hubba:/bubba2.langatestlanguage"));
+			resourceB.loadFromStorage(loadable);
+			Assert.assertEquals("A", ((Main) resourceB.getContents().get(0)).getTypes().get(0).getName());
+		} finally {
+			indexed.delete();
+			zipped.delete();
+		}
+	}
+
+}
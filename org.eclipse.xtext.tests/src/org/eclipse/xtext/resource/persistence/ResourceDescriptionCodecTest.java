@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.resource.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class ResourceDescriptionCodecTest {
+
+	private final SerializableResourceDescriptionTest serializationTest = new SerializableResourceDescriptionTest();
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		SerializableResourceDescription first = createDescription("file:/foo/first.foo", 3);
+		SerializableResourceDescription second = createDescription("file:/foo/second.foo", 5);
+		second.getReferences().get(0).setContainerEObjectURI(null);
+		second.getReferences().get(1).setTargetEObjectUri(URI.createURI("file:/foo/first.foo"));
+		second.getDescriptions().get(0).setUserData(null);
+		second.setImportedNames(Lists.newArrayList(QualifiedName.EMPTY, QualifiedName.create("foo", "E0")));
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bout);
+		ResourceDescriptionCodec.Writer writer = new ResourceDescriptionCodec.Writer(out);
+		writer.write(first);
+		writer.write(second);
+		out.flush();
+		ResourceDescriptionCodec.Reader reader = new ResourceDescriptionCodec.Reader(
+				new DataInputStream(new ByteArrayInputStream(bout.toByteArray())));
+		SerializableResourceDescription firstAfter = reader.read();
+		SerializableResourceDescription secondAfter = reader.read();
+		serializationTest.assertDescriptionsEqual(first, firstAfter);
+		serializationTest.assertDescriptionsEqual(second, secondAfter);
+		Assert.assertNull(secondAfter.getDescriptions().get(0).getUserData());
+		// the segment table is shared by all descriptions of a stream
+		Assert.assertSame(firstAfter.getDescriptions().get(0).getQualifiedName(),
+				Lists.newArrayList(secondAfter.getImportedNames()).get(1));
+	}
+
+	@Test
+	public void testSmallerThanJavaSerialization() throws Exception {
+		SerializableResourceDescription description = createDescription("file:/foo/bar.foo", 200);
+		ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+			out.writeObject(description);
+		}
+		ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(encoded)) {
+			new ResourceDescriptionCodec.Writer(out).write(description);
+		}
+		Assert.assertTrue(encoded.size() + " vs. " + serialized.size(), encoded.size() * 3 < serialized.size());
+	}
+
+	@Test
+	public void testChunkedResourceDescriptions() throws Exception {
+		SerializableResourceDescription description = createDescription("file:/foo/bar.foo", 3);
+		ChunkedResourceDescriptions before = new ChunkedResourceDescriptions(Collections.singletonMap("chunk",
+				new ResourceDescriptionsData(Collections.singleton(description))));
+		Assert.assertFalse(before.isWriteEncoded());
+		byte[] formerFormat = writeExternal(before);
+		Assert.assertEquals(1, new ObjectInputStream(new ByteArrayInputStream(formerFormat)).readInt());
+		before.setWriteEncoded(true);
+		byte[] encoded = writeExternal(before);
+		Assert.assertEquals(ResourceDescriptionCodec.MAGIC_NUMBER,
+				new ObjectInputStream(new ByteArrayInputStream(encoded)).readInt());
+		for (byte[] bytes : Arrays.asList(formerFormat, encoded)) {
+			ChunkedResourceDescriptions after = new ChunkedResourceDescriptions();
+			try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+				after.readExternal(in);
+			}
+			serializationTest.assertDescriptionsEqual(description,
+					(SerializableResourceDescription) after.getResourceDescription(description.getURI()));
+		}
+	}
+
+	private byte[] writeExternal(ChunkedResourceDescriptions descriptions) throws IOException {
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bout)) {
+			descriptions.writeExternal(out);
+		}
+		return bout.toByteArray();
+	}
+
+	@Test
+	public void testChunkedResourceDescriptionsReadsFormerFormat() throws Exception {
+		SerializableResourceDescription description = createDescription("file:/foo/bar.foo", 3);
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bout)) {
+			out.writeInt(1);
+			out.writeUTF("chunk");
+			out.writeInt(1);
+			out.writeObject(description);
+		}
+		ChunkedResourceDescriptions after = new ChunkedResourceDescriptions();
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bout.toByteArray()))) {
+			after.readExternal(in);
+		}
+		IResourceDescription afterDescription = after.getContainer("chunk").getResourceDescription(description.getURI());
+		serializationTest.assertDescriptionsEqual(description, (SerializableResourceDescription) afterDescription);
+	}
+
+	@Test
+	public void testStorageReadsFormerFormat() throws Exception {
+		SerializableResourceDescription description = createDescription("file:/foo/bar.foo", 3);
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bout)) {
+			out.writeObject(description);
+		}
+		StorageAwareResource resource = new StorageAwareResource();
+		resource.setURI(URI.createURI("file:/foo/bar.foo"));
+		new ResourceStorageLoadable(new ByteArrayInputStream(new byte[0]), false).readResourceDescription(resource,
+				new ByteArrayInputStream(bout.toByteArray()));
+		serializationTest.assertDescriptionsEqual(description,
+				(SerializableResourceDescription) resource.getResourceDescription());
+	}
+
+	@Test
+	public void testSpecializedDescriptionsAreSerialized() throws Exception {
+		SerializableResourceDescription description = new SerializableResourceDescription() {
+			private static final long serialVersionUID = 1L;
+		};
+		Assert.assertNull(ResourceDescriptionCodec.toEncodable(description));
+		Assert.assertNotNull(ResourceDescriptionCodec.toEncodable(createDescription("file:/foo/bar.foo", 1)));
+	}
+
+	private SerializableResourceDescription createDescription(String uriString, int count) {
+		URI uri = URI.createURI(uriString);
+		SerializableResourceDescription result = new SerializableResourceDescription();
+		result.setURI(uri);
+		List<SerializableEObjectDescription> descriptions = new ArrayList<>();
+		List<SerializableReferenceDescription> references = new ArrayList<>();
+		List<QualifiedName> importedNames = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			SerializableEObjectDescription desc = new SerializableEObjectDescription();
+			desc.setEObjectURI(uri.appendFragment("//@elements." + i));
+			desc.setQualifiedName(QualifiedName.create("foo", "E" + i));
+			desc.setEClass(EcorePackage.eINSTANCE.getEClass());
+			HashMap<String, String> userData = new HashMap<>();
+			userData.put("key", "value" + i % 2);
+			desc.setUserData(userData);
+			descriptions.add(desc);
+			SerializableReferenceDescription ref = new SerializableReferenceDescription();
+			ref.setSourceEObjectUri(uri.appendFragment("//@elements." + i + "/@features.0"));
+			ref.setContainerEObjectURI(uri.appendFragment("//@elements." + i));
+			ref.setTargetEObjectUri(URI.createURI("file:/foo/other.foo#//@elements." + (count - i)));
+			ref.setEReference(EcorePackage.eINSTANCE.getETypedElement_EType());
+			ref.setIndexInList(-1);
+			references.add(ref);
+			importedNames.add(QualifiedName.create("foo", "E" + (count - i)));
+		}
+		result.setDescriptions(descriptions);
+		result.setReferences(references);
+		result.setImportedNames(importedNames);
+		return result;
+	}
+
+}
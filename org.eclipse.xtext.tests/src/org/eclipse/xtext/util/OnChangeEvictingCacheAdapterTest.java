@@ -8,17 +8,21 @@
  *******************************************************************************/
 package org.eclipse.xtext.util;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.common.notify.impl.AdapterImpl;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.Resource.Diagnostic;
 import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
 import org.eclipse.xtext.util.OnChangeEvictingCache.CacheAdapter;
+import org.eclipse.xtext.util.OnChangeEvictingCache.Dependency;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -77,6 +81,59 @@ public class OnChangeEvictingCacheAdapterTest extends Assert {
 		assertIsSet(ca);
 	}
 	
+	@Test
+	public void testDependencies() throws Exception {
+		EcoreFactory factory = EcoreFactory.eINSTANCE;
+		EPackage ePackage = factory.createEPackage();
+		EClass first = factory.createEClass();
+		EClass second = factory.createEClass();
+		ePackage.getEClassifiers().add(first);
+		ePackage.getEClassifiers().add(second);
+		Resource resource = new ResourceImpl();
+		resource.getContents().add(ePackage);
+		CacheAdapter ca = new OnChangeEvictingCache().getOrCreate(resource);
+		ca.set("first", "value", Collections.singleton(Dependency.on(first)));
+		ca.set("firstName", "value", Collections.singleton(Dependency.on(first, EcorePackage.Literals.ENAMED_ELEMENT__NAME)));
+		ca.set("package", "value", Collections.singleton(Dependency.onContents(ePackage)));
+		setValue(ca);
+		second.setName("Second");
+		assertIsNull(ca);
+		assertEquals("value", ca.get("first"));
+		assertEquals("value", ca.get("firstName"));
+		assertNull(ca.get("package"));
+		first.setAbstract(true);
+		assertNull(ca.get("first"));
+		assertEquals("value", ca.get("firstName"));
+		first.setName("First");
+		assertNull(ca.get("firstName"));
+		ca.set("first", "value", Collections.singleton(Dependency.on(first)));
+		ePackage.getEClassifiers().remove(first);
+		assertNull(ca.get("first"));
+		ca.set("second", "value", Collections.singleton(Dependency.on(second)));
+		resource.getContents().clear();
+		assertNull(ca.get("second"));
+		assertEquals(0, ca.getSize());
+	}
+	
+	@Test
+	public void testStatistics() throws Exception {
+		EcoreFactory factory = EcoreFactory.eINSTANCE;
+		EClass eClass = factory.createEClass();
+		Resource resource = new ResourceImpl();
+		resource.getContents().add(eClass);
+		OnChangeEvictingCache cache = new OnChangeEvictingCache();
+		assertEquals(value, cache.get(key, resource, () -> value));
+		assertEquals(value, cache.get(key, resource, () -> value));
+		assertEquals(value, cache.get("bar", resource, Collections.singleton(Dependency.on(eClass)), () -> value));
+		CacheAdapter ca = cache.getOrCreate(resource);
+		assertEquals(1, ca.getHits());
+		assertEquals(2, ca.getMisses());
+		assertEquals(2, ca.getSize());
+		eClass.setName("Foo");
+		assertEquals(2, ca.getEvictions());
+		assertEquals(0, ca.getSize());
+	}
+	
 	private void assertIsSet(CacheAdapter ca) {
 		assertEquals(value, ca.get(key));
 	}
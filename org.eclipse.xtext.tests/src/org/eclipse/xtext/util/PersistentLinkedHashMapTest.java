@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class PersistentLinkedHashMapTest extends Assert {
+
+	/**
+	 * Keys with a constant hash code to enforce collisions.
+	 */
+	private static class Colliding {
+		private final int id;
+
+		Colliding(int id) {
+			this.id = id;
+		}
+
+		@Override
+		public int hashCode() {
+			return 42;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Colliding && ((Colliding) obj).id == id;
+		}
+
+		@Override
+		public String toString() {
+			return "Colliding" + id;
+		}
+	}
+
+	@Test public void testInsertionOrder() {
+		PersistentLinkedHashMap<String, Integer> map = new PersistentLinkedHashMap<>();
+		map.put("c", 1);
+		map.put("a", 2);
+		map.put("b", 3);
+		map.put("a", 4);
+		assertEquals(Lists.newArrayList("c", "a", "b"), new ArrayList<>(map.keySet()));
+		assertEquals(Lists.newArrayList(1, 4, 3), new ArrayList<>(map.values()));
+		map.remove("a");
+		map.put("a", 5);
+		assertEquals(Lists.newArrayList("c", "b", "a"), new ArrayList<>(map.keySet()));
+	}
+
+	@Test public void testCopyIsIndependent() {
+		PersistentLinkedHashMap<String, Integer> map = new PersistentLinkedHashMap<>();
+		for (int i = 0; i < 1000; i++) {
+			map.put("key" + i, i);
+		}
+		PersistentLinkedHashMap<String, Integer> copy = map.copy();
+		copy.remove("key1");
+		copy.put("key2", -2);
+		copy.put("new", 1);
+		map.remove("key3");
+		assertEquals(1000 - 1, map.size());
+		assertEquals(1000, copy.size());
+		assertEquals(Integer.valueOf(1), map.get("key1"));
+		assertNull(copy.get("key1"));
+		assertEquals(Integer.valueOf(2), map.get("key2"));
+		assertEquals(Integer.valueOf(-2), copy.get("key2"));
+		assertFalse(map.containsKey("new"));
+		assertEquals(Integer.valueOf(3), copy.get("key3"));
+	}
+
+	@Test public void testCollisions() {
+		PersistentLinkedHashMap<Colliding, Integer> map = new PersistentLinkedHashMap<>();
+		for (int i = 0; i < 10; i++) {
+			map.put(new Colliding(i), i);
+		}
+		PersistentLinkedHashMap<Colliding, Integer> copy = map.copy();
+		for (int i = 0; i < 10; i += 2) {
+			assertEquals(Integer.valueOf(i), map.remove(new Colliding(i)));
+		}
+		assertEquals(5, map.size());
+		assertEquals(10, copy.size());
+		for (int i = 0; i < 10; i++) {
+			assertEquals(i % 2 == 1, map.containsKey(new Colliding(i)));
+			assertEquals(Integer.valueOf(i), copy.get(new Colliding(i)));
+		}
+	}
+
+	@Test public void testModificationDuringIteration() {
+		PersistentLinkedHashMap<Integer, Integer> map = new PersistentLinkedHashMap<>();
+		for (int i = 0; i < 100; i++) {
+			map.put(i, i);
+		}
+		List<Integer> seen = new ArrayList<>();
+		Iterator<Integer> iterator = map.keySet().iterator();
+		while (iterator.hasNext()) {
+			Integer next = iterator.next();
+			seen.add(next);
+			map.remove(next + 1);
+			map.put(next + 1000, next);
+		}
+		assertEquals(100, seen.size());
+	}
+
+	@Test public void testRandomOperations() {
+		Random random = new Random(4711);
+		PersistentLinkedHashMap<Integer, Integer> map = new PersistentLinkedHashMap<>();
+		Map<Integer, Integer> expected = new LinkedHashMap<>();
+		List<PersistentLinkedHashMap<Integer, Integer>> copies = new ArrayList<>();
+		List<Map<Integer, Integer>> expectedCopies = new ArrayList<>();
+		for (int i = 0; i < 20000; i++) {
+			int key = random.nextInt(2000);
+			switch (random.nextInt(3)) {
+				case 0:
+					assertEquals(expected.remove(key), map.remove(key));
+					break;
+				default:
+					assertEquals(expected.put(key, i), map.put(key, i));
+			}
+			if (i % 1000 == 0) {
+				copies.add(map.copy());
+				expectedCopies.add(new LinkedHashMap<>(expected));
+			}
+		}
+		assertEquals(expected, map);
+		assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(map.entrySet()));
+		for (int i = 0; i < copies.size(); i++) {
+			assertEquals(new ArrayList<>(expectedCopies.get(i).entrySet()), new ArrayList<>(copies.get(i).entrySet()));
+		}
+	}
+
+}
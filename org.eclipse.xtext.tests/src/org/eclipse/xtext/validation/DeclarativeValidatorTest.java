@@ -345,6 +345,55 @@ public class DeclarativeValidatorTest extends Assert {
 		
 	}
 
+	@Test public void testNonPublicCheckMethods() throws Exception {
+		AbstractDeclarativeValidator test = new AbstractDeclarativeValidator() {
+			@Check(CheckType.NORMAL)
+			protected void foo(EClass x) {
+				error("foo", EcorePackage.Literals.ENAMED_ELEMENT__NAME);
+			}
+
+			@Check(CheckType.FAST)
+			@SuppressWarnings("unused")
+			private boolean bar(EObject x) {
+				error("bar", EcorePackage.Literals.ECLASS__ABSTRACT);
+				return true;
+			}
+		};
+		TestChain chain = helper.chain();
+		test.validate(EcorePackage.eINSTANCE.getEClass(), chain, null);
+		helper.assertMatch(chain, 
+				EcorePackage.Literals.ENAMED_ELEMENT__NAME, 
+				EcorePackage.Literals.ECLASS__ABSTRACT);
+		chain = helper.chain();
+		test.validate(EcorePackage.eINSTANCE.getEClass(), chain, Collections.<Object, Object>singletonMap(CheckMode.KEY, CheckMode.FAST_ONLY));
+		helper.assertMatch(chain, EcorePackage.Literals.ECLASS__ABSTRACT);
+	}
+
+	@Test public void testCustomMethodWrapper() throws Exception {
+		final Map<String, EObject> invoked = new HashMap<String, EObject>();
+		AbstractDeclarativeValidator test = new AbstractDeclarativeValidator() {
+			@Check
+			public void foo(EClass x) {
+				error("foo", EcorePackage.Literals.ENAMED_ELEMENT__NAME);
+			}
+
+			@Override
+			protected MethodWrapper createMethodWrapper(AbstractDeclarativeValidator instanceToUse, java.lang.reflect.Method method) {
+				return new MethodWrapper(instanceToUse, method) {
+					@Override
+					public void invoke(State state) {
+						invoked.put(getMethod().getName(), state.currentObject);
+						super.invoke(state);
+					}
+				};
+			}
+		};
+		TestChain chain = helper.chain();
+		test.validate(EcorePackage.eINSTANCE.getEClass(), chain, null);
+		helper.assertMatch(chain, EcorePackage.Literals.ENAMED_ELEMENT__NAME);
+		assertEquals(Collections.singletonMap("foo", EcorePackage.eINSTANCE.getEClass()), invoked);
+	}
+
 	// By default, NPEs occurring in validation code are swallowed 
 	@Test public void testSwallowNPEInValidation () {
 		AbstractDeclarativeValidator test = new AbstractDeclarativeValidator() {
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.common.util.BasicDiagnostic;
+import org.eclipse.emf.common.util.Diagnostic;
+import org.eclipse.emf.common.util.DiagnosticChain;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EValidator;
+import org.eclipse.xtext.linking.lazy.LazyLinkingTestLanguageRuntimeModule;
+import org.eclipse.xtext.linking.lazy.LazyLinkingTestLanguageStandaloneSetup;
+import org.eclipse.xtext.linking.lazy.lazyLinking.LazyLinkingPackage;
+import org.eclipse.xtext.linking.lazy.lazyLinking.Property;
+import org.eclipse.xtext.linking.lazy.lazyLinking.Type;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.service.OperationCanceledError;
+import org.eclipse.xtext.tests.AbstractXtextTests;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.junit.Test;
+
+import com.google.inject.Binder;
+import com.google.inject.name.Names;
+
+public class ParallelValidationTest extends AbstractXtextTests {
+
+	private final AtomicInteger validatedTypes = new AtomicInteger();
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		with(new LazyLinkingTestLanguageStandaloneSetup());
+		EValidator.Registry.INSTANCE.put(LazyLinkingPackage.eINSTANCE, new EValidator() {
+
+			@Override
+			public boolean validate(EObject eObject, DiagnosticChain diagnostics, Map<Object, Object> context) {
+				if (eObject instanceof Type) {
+					validatedTypes.incrementAndGet();
+					diagnostics.add(new BasicDiagnostic(Diagnostic.WARNING, "", 1, ((Type) eObject).getName(), null));
+				} else if (eObject instanceof Property) {
+					diagnostics.add(new BasicDiagnostic(Diagnostic.ERROR, "", 2, ((Property) eObject).getName(), null));
+				} else {
+					diagnostics.add(new BasicDiagnostic(Diagnostic.WARNING, "", 3, "model", null));
+				}
+				return true;
+			}
+
+			@Override
+			public boolean validate(EClass eClass, EObject eObject, DiagnosticChain diagnostics,
+					Map<Object, Object> context) {
+				return validate(eObject, diagnostics, context);
+			}
+
+			@Override
+			public boolean validate(EDataType eDataType, Object value, DiagnosticChain diagnostics,
+					Map<Object, Object> context) {
+				return true;
+			}
+		});
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		executor.shutdown();
+		super.tearDown();
+	}
+
+	@Test public void testSameIssuesAsSequentialValidation() throws Exception {
+		String model = createModel(100);
+		List<String> expected = validate(model);
+		assertEquals(1 + 100 + 500, expected.size());
+		assertEquals("WARNING model", expected.get(0));
+		assertEquals("WARNING T0", expected.get(1));
+		assertEquals("ERROR p0", expected.get(2));
+		with(new ParallelValidationModule(executor, 1));
+		assertEquals(expected, validate(model));
+		with(new ParallelValidationModule(executor, 2));
+		assertEquals(expected, validate(model));
+		with(new ParallelValidationModule(executor, 0));
+		assertEquals(expected, validate(model));
+	}
+
+	@Test public void testCancel() throws Exception {
+		with(new ParallelValidationModule(executor, 1));
+		XtextResource resource = getResourceFromString(createModel(100));
+		CancelIndicator cancelIndicator = new CancelIndicator() {
+			@Override
+			public boolean isCanceled() {
+				return validatedTypes.get() >= 10;
+			}
+		};
+		try {
+			get(IResourceValidator.class).validate(resource, CheckMode.ALL, cancelIndicator);
+			fail("Expected OperationCanceledError");
+		} catch (OperationCanceledError e) {
+			assertTrue(validatedTypes.get() < 100);
+		}
+	}
+
+	private String createModel(int types) {
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < types; i++) {
+			result.append("type T").append(i).append(" {\n");
+			for (int j = 0; j < 5; j++) {
+				result.append("  T").append(i).append(" p").append(j).append(";\n");
+			}
+			result.append("}\n");
+		}
+		return result.toString();
+	}
+
+	private List<String> validate(String model) throws Exception {
+		XtextResource resource = getResourceFromString(model);
+		List<String> result = new ArrayList<>();
+		for (Issue issue : get(IResourceValidator.class).validate(resource, CheckMode.ALL, CancelIndicator.NullImpl)) {
+			result.add(issue.getSeverity() + " " + issue.getMessage());
+		}
+		return result;
+	}
+
+	private static class ParallelValidationModule extends LazyLinkingTestLanguageRuntimeModule {
+		private final ExecutorService executor;
+
+		private final int depth;
+
+		private ParallelValidationModule(ExecutorService executor, int depth) {
+			this.executor = executor;
+			this.depth = depth;
+		}
+
+		@Override
+		public void configureParallelValidation(Binder binder) {
+			binder.bind(Boolean.TYPE).annotatedWith(Names.named(ResourceValidatorImpl.PARALLEL_VALIDATION)).toInstance(Boolean.TRUE);
+			binder.bindConstant().annotatedWith(Names.named(ResourceValidatorImpl.PARALLEL_VALIDATION_DEPTH)).to(depth);
+			binder.bind(ExecutorService.class).annotatedWith(Names.named(ResourceValidatorImpl.PARALLEL_VALIDATION_EXECUTOR)).toInstance(executor);
+		}
+	}
+
+}
@@ -8,20 +8,28 @@
  *******************************************************************************/
 package org.eclipse.xtext.util;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.xtext.util.concurrent.IUnitOfWork;
 
+import com.google.common.annotations.Beta;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.inject.Provider;
@@ -33,6 +41,9 @@ import com.google.inject.Singleton;
  * Clients may override this behavior for certain transactions by means of {@link #execWithoutCacheClear(Resource, IUnitOfWork)}
  * or {@link #execWithTemporaryCaching(Resource, IUnitOfWork)}.
  * 
+ * Values that are cached with {@link #get(Object, Resource, Iterable, Provider) declared dependencies} are only
+ * discarded if one of their dependencies changes, or if the contents of the resource itself change.
+ * 
  * @author Sven Efftinge - Initial contribution and API
  * @author Sebastian Zarnekow
  */
@@ -50,6 +61,73 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		void onEvict(CacheAdapter cache);
 	}
 	
+	/**
+	 * A part of the model that a cached value was computed from. The value is discarded as soon as the dependency
+	 * changes.
+	 * 
+	 * @since 2.25
+	 */
+	@Beta
+	public static final class Dependency {
+
+		private final EObject object;
+
+		private final EStructuralFeature feature;
+
+		private final boolean contents;
+
+		private Dependency(EObject object, EStructuralFeature feature, boolean contents) {
+			this.object = object;
+			this.feature = feature;
+			this.contents = contents;
+		}
+
+		/**
+		 * A dependency on all features of the given object. It changes if any feature of the object is changed or if
+		 * the object is removed from the resource.
+		 */
+		public static Dependency on(EObject object) {
+			return new Dependency(object, null, false);
+		}
+
+		/**
+		 * A dependency on a single feature of the given object. It changes if the feature is changed or if the object
+		 * is removed from the resource.
+		 */
+		public static Dependency on(EObject object, EStructuralFeature feature) {
+			return new Dependency(object, feature, false);
+		}
+
+		/**
+		 * A dependency on the given object and all its direct and indirect contents. It changes if any feature of any
+		 * of these objects is changed or if the object is removed from the resource.
+		 */
+		public static Dependency onContents(EObject object) {
+			return new Dependency(object, null, true);
+		}
+
+		private boolean isAffectedBy(EObject notifier, Object changedFeature) {
+			if (notifier != object) {
+				return contents;
+			}
+			return feature == null || feature == changedFeature;
+		}
+	}
+
+	/**
+	 * The dependency of the value with the given key.
+	 */
+	private static class TrackedDependency {
+		private final Object key;
+
+		private final Dependency dependency;
+
+		private TrackedDependency(Object key, Dependency dependency) {
+			this.key = key;
+			this.dependency = dependency;
+		}
+	}
+
 	/**
 	 * Clears the cache of the given resource. 
 	 */
@@ -85,6 +163,42 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		return element;
 	}
 	
+	/**
+	 * Try to obtain the value that is cached for the given key in the given resource. If no value is cached, the
+	 * provider is used to compute it and store it afterwards. Other than with {@link #get(Object, Resource, Provider)},
+	 * the value is not discarded on every change of the resource, but only if one of the given dependencies changes or
+	 * if the contents of the resource itself are changed.
+	 * 
+	 * @param key
+	 *            the cache key. May not be <code>null</code>.
+	 * @param resource
+	 *            the resource. If it is <code>null</code>, the provider will be used to compute the value.
+	 * @param dependencies
+	 *            the parts of the model that the value is computed from. May not be <code>null</code>.
+	 * @param provider
+	 *            the strategy to compute the value if necessary. May not be <code>null</code>.
+	 * @since 2.25
+	 */
+	@Beta
+	public <T> T get(Object key, Resource resource, Iterable<Dependency> dependencies, Provider<T> provider) {
+		if(resource == null) {
+			return provider.get();
+		}
+		CacheAdapter adapter = getOrCreate(resource);
+		T element = adapter.<T>internalGet(key);
+		if (element==null) {
+			element = provider.get();
+			cacheMiss(adapter);
+			adapter.set(key, element, dependencies);
+		} else {
+			cacheHit(adapter);
+		}
+		if (element == CacheAdapter.NULL) {
+			return null;
+		}
+		return element;
+	}
+	
 	/**
 	 * Announce a cache miss for the internal statistics of the adapter.
 	 * @since 2.1
@@ -175,6 +289,7 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 				log.debug(String.format("Discarding %d temporary cache entries", keys.size()));
 			}
 			adapter.values.keySet().removeAll(keys);
+			adapter.removeTrackedValues(keys);
 			adapter.ignoreValuesMemento = previous;
 		}
 
@@ -189,6 +304,22 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		
 		private final Map<Object, Object> values = new ConcurrentHashMap<Object, Object>(500);
 
+		/**
+		 * The values that were cached with declared dependencies.
+		 */
+		private final Map<Object, Object> trackedValues = new ConcurrentHashMap<Object, Object>();
+
+		/**
+		 * The dependencies of the tracked values by the key of the value. Guarded by the map itself, as is
+		 * {@link #dependents}.
+		 */
+		private final Map<Object, List<Dependency>> dependencies = new HashMap<Object, List<Dependency>>();
+
+		/**
+		 * The dependencies of the tracked values by the object that they refer to.
+		 */
+		private final Map<EObject, List<TrackedDependency>> dependents = new HashMap<EObject, List<TrackedDependency>>();
+
 		private final Collection<Listener> listeners = Sets.newLinkedHashSet();
 		
 		private final AtomicInteger ignoreNotificationCounter = new AtomicInteger(0);
@@ -202,8 +333,13 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		private int misses = 0;
 		private int hits = 0;
 
+		private final AtomicLong totalMisses = new AtomicLong();
+		private final AtomicLong totalHits = new AtomicLong();
+		private final AtomicLong evictions = new AtomicLong();
+
 		public void set(Object name, Object value) {
 			empty = false;
+			removeTrackedValue(name);
 			if (value != null)
 				this.values.put(name, value);
 			else
@@ -214,6 +350,73 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 			}
 		}
 
+		/**
+		 * Stores a value that is only discarded if one of the given dependencies changes or if the contents of the
+		 * resource itself are changed.
+		 * 
+		 * @since 2.25
+		 */
+		@Beta
+		public void set(Object name, Object value, Iterable<Dependency> dependencies) {
+			values.remove(name);
+			synchronized (this.dependencies) {
+				removeTrackedValue(name);
+				List<Dependency> list = Lists.newArrayList(dependencies);
+				for (Dependency dependency : list) {
+					List<TrackedDependency> trackedDependencies = dependents.get(dependency.object);
+					if (trackedDependencies == null) {
+						trackedDependencies = new ArrayList<TrackedDependency>(2);
+						dependents.put(dependency.object, trackedDependencies);
+					}
+					trackedDependencies.add(new TrackedDependency(name, dependency));
+				}
+				this.dependencies.put(name, list);
+				empty = false;
+				if (value != null)
+					this.trackedValues.put(name, value);
+				else
+					this.trackedValues.put(name, NULL);
+			}
+			IgnoreValuesMemento ignoreValuesMemento = this.ignoreValuesMemento;
+			if (ignoreValuesMemento != null) {
+				ignoreValuesMemento.storeKey(name);
+			}
+		}
+
+		private boolean removeTrackedValue(Object name) {
+			if (trackedValues.isEmpty()) {
+				return false;
+			}
+			synchronized (dependencies) {
+				List<Dependency> list = dependencies.remove(name);
+				if (list == null) {
+					return false;
+				}
+				for (Dependency dependency : list) {
+					List<TrackedDependency> trackedDependencies = dependents.get(dependency.object);
+					if (trackedDependencies != null) {
+						Iterator<TrackedDependency> iter = trackedDependencies.iterator();
+						while (iter.hasNext()) {
+							if (iter.next().key.equals(name)) {
+								iter.remove();
+							}
+						}
+						if (trackedDependencies.isEmpty()) {
+							dependents.remove(dependency.object);
+						}
+					}
+				}
+				trackedValues.remove(name);
+				return true;
+			}
+		}
+
+		private void removeTrackedValues(Collection<Object> names) {
+			for (Object name : names) {
+				removeTrackedValue(name);
+			}
+		}
+
 		/**
 		 * @since 2.1
 		 */
@@ -235,6 +438,7 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		 */
 		protected void cacheMiss() {
 			misses++;
+			totalMisses.incrementAndGet();
 		}
 		
 		/**
@@ -242,14 +446,54 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		 */
 		protected void cacheHit() {
 			hits++;
+			totalHits.incrementAndGet();
+		}
+		
+		/**
+		 * The number of values that were found in this cache since it was created.
+		 * 
+		 * @since 2.25
+		 */
+		public long getHits() {
+			return totalHits.get();
+		}
+		
+		/**
+		 * The number of values that were computed because they were not found in this cache since it was created.
+		 * 
+		 * @since 2.25
+		 */
+		public long getMisses() {
+			return totalMisses.get();
+		}
+		
+		/**
+		 * The number of values that were discarded because of changes of the resource since this cache was created.
+		 * 
+		 * @since 2.25
+		 */
+		public long getEvictions() {
+			return evictions.get();
+		}
+		
+		/**
+		 * The number of values that are currently cached.
+		 * 
+		 * @since 2.25
+		 */
+		public int getSize() {
+			return values.size() + trackedValues.size();
 		}
 		
 		@SuppressWarnings("unchecked")
 		private <T> T internalGet(Object name) {
 			if (empty)
 				return null;
-			return (T) this.values.get(name);
-			
+			T result = (T) this.values.get(name);
+			if (result == null && !trackedValues.isEmpty()) {
+				result = (T) this.trackedValues.get(name);
+			}
+			return result;
 		}
 		
 		public <T> T get(Object name) {
@@ -271,7 +515,11 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		public void notifyChanged(Notification notification) {
 			super.notifyChanged(notification);
 			if (ignoreNotificationCounter.get() == 0 && isSemanticStateChange(notification)) {
-				clearValues();
+				if (trackedValues.isEmpty() || !(notification.getNotifier() instanceof EObject)) {
+					clearValues();
+				} else {
+					clearValues(notification);
+				}
 				Iterator<Listener> iter = listeners.iterator();
 				while(iter.hasNext()) {
 					Listener next = iter.next();
@@ -288,13 +536,84 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 					log.debug(String.format("Clear %d cache entries for resource %s after %d hits and %d misses (quota: %d%%)", 
 							values.size(), lastSegment, hits, misses, hits + misses != 0 ? hits * 100 / (hits + misses) : 0));
 				}
+				evictions.addAndGet(values.size() + trackedValues.size());
 				values.clear();
+				synchronized (dependencies) {
+					trackedValues.clear();
+					dependencies.clear();
+					dependents.clear();
+				}
 				empty = true;
 				misses = 0;
 				hits = 0;
 			}
 		}
 
+		/**
+		 * Discards the values without declared dependencies and the values with dependencies that are affected by the
+		 * change of an object of the resource.
+		 */
+		private void clearValues(Notification notification) {
+			int evicted = values.size();
+			values.clear();
+			synchronized (dependencies) {
+				EObject notifier = (EObject) notification.getNotifier();
+				Object feature = notification.getFeature();
+				for (EObject object = notifier; object != null; object = object.eContainer()) {
+					List<TrackedDependency> trackedDependencies = dependents.get(object);
+					if (trackedDependencies != null) {
+						for (TrackedDependency trackedDependency : Lists.newArrayList(trackedDependencies)) {
+							if (trackedDependency.dependency.isAffectedBy(notifier, feature)
+									&& removeTrackedValue(trackedDependency.key)) {
+								evicted++;
+							}
+						}
+					}
+				}
+				if (feature instanceof EReference && ((EReference) feature).isContainment()) {
+					evicted += removeTrackedValuesOf(notification.getOldValue());
+				}
+			}
+			if (evicted != 0) {
+				evictions.addAndGet(evicted);
+			}
+			if (trackedValues.isEmpty()) {
+				clearValues();
+			}
+		}
+
+		/**
+		 * Discards the values that depend on the removed objects or their contents.
+		 */
+		private int removeTrackedValuesOf(Object removed) {
+			int result = 0;
+			if (removed instanceof EObject) {
+				TreeIterator<EObject> iter = ((EObject) removed).eAllContents();
+				result += removeDependentValues((EObject) removed);
+				while (iter.hasNext()) {
+					result += removeDependentValues(iter.next());
+				}
+			} else if (removed instanceof Collection<?>) {
+				for (Object element : (Collection<?>) removed) {
+					result += removeTrackedValuesOf(element);
+				}
+			}
+			return result;
+		}
+
+		private int removeDependentValues(EObject removed) {
+			int result = 0;
+			List<TrackedDependency> trackedDependencies = dependents.get(removed);
+			if (trackedDependencies != null) {
+				for (TrackedDependency trackedDependency : Lists.newArrayList(trackedDependencies)) {
+					if (removeTrackedValue(trackedDependency.key)) {
+						result++;
+					}
+				}
+			}
+			return result;
+		}
+
 		/**
 		 * @since 2.23
 		 */
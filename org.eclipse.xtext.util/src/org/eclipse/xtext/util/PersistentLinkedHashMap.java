@@ -0,0 +1,534 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * An insertion ordered {@link Map} that supports a constant time {@link #copy()}.
+ *
+ * The entries are stored in two hash array mapped tries: one that is keyed by the hash of the key and one that is
+ * keyed by the insertion sequence of the entry which yields the iteration order. A copy shares the complete tree
+ * structure with the original. Each modification of either the copy or the original only duplicates the path from
+ * the root to the modified entry, nodes that have already been duplicated by the same map instance are modified in
+ * place.
+ *
+ * Iteration works on a snapshot of the map, that is the map may be modified while it is iterated without a
+ * {@link java.util.ConcurrentModificationException}. Like a {@link java.util.LinkedHashMap}, instances are not
+ * thread safe, though a copy may be read concurrently while the original is modified and vice versa.
+ *
+ * @since 2.25
+ */
+@Beta
+public class PersistentLinkedHashMap<K, V> extends AbstractMap<K, V> {
+
+	/**
+	 * Number of levels that consume five bits of the hash each. The last level consumes the remaining two bits.
+	 */
+	private static final int MAX_LEVEL = 6;
+
+	private static final class Entry<K, V> implements Map.Entry<K, V> {
+		final K key;
+		final V value;
+		final int hash;
+		final int seq;
+
+		Entry(K key, V value, int hash, int seq) {
+			this.key = key;
+			this.value = value;
+			this.hash = hash;
+			this.seq = seq;
+		}
+
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+
+		@Override
+		public V setValue(V value) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Map.Entry))
+				return false;
+			Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+			return eq(key, e.getKey()) && eq(value, e.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + value;
+		}
+	}
+
+	/**
+	 * An inner node of a trie. The slots of a node are either entries, nodes or - on the last level only - arrays of
+	 * entries with colliding hashes.
+	 */
+	private static final class Node {
+		final Object owner;
+		int bitmap;
+		Object[] slots;
+
+		Node(Object owner, int bitmap, Object[] slots) {
+			this.owner = owner;
+			this.bitmap = bitmap;
+			this.slots = slots;
+		}
+
+		Node editable(Object editor) {
+			if (owner == editor)
+				return this;
+			return new Node(editor, bitmap, slots.clone());
+		}
+	}
+
+	private Object hashRoot;
+
+	private Object orderRoot;
+
+	private int size;
+
+	private int nextSeq;
+
+	/**
+	 * Nodes that are owned by this token may be modified in place.
+	 */
+	private Object owner = new Object();
+
+	public PersistentLinkedHashMap() {
+		super();
+	}
+
+	public PersistentLinkedHashMap(Map<? extends K, ? extends V> map) {
+		putAll(map);
+	}
+
+	private PersistentLinkedHashMap(PersistentLinkedHashMap<K, V> original) {
+		this.hashRoot = original.hashRoot;
+		this.orderRoot = original.orderRoot;
+		this.size = original.size;
+		this.nextSeq = original.nextSeq;
+	}
+
+	/**
+	 * Returns a copy of this map in constant time. Subsequent modifications of either this map or the copy are not
+	 * visible in the other one.
+	 */
+	public PersistentLinkedHashMap<K, V> copy() {
+		freeze();
+		return new PersistentLinkedHashMap<>(this);
+	}
+
+	private void freeze() {
+		owner = new Object();
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return findEntry(key) != null;
+	}
+
+	@Override
+	public V get(Object key) {
+		Entry<K, V> entry = findEntry(key);
+		return entry != null ? entry.value : null;
+	}
+
+	@Override
+	public V put(K key, V value) {
+		int hash = hash(key);
+		Entry<K, V> existing = findEntry(key, hash);
+		if (existing != null) {
+			if (existing.value == value)
+				return value;
+			Entry<K, V> replacement = new Entry<>(key, value, hash, existing.seq);
+			hashRoot = insert(hashRoot, 0, replacement, false);
+			orderRoot = insert(orderRoot, 0, replacement, true);
+			return existing.value;
+		}
+		if (nextSeq == Integer.MAX_VALUE) {
+			renumber();
+		}
+		Entry<K, V> entry = new Entry<>(key, value, hash, nextSeq++);
+		hashRoot = insert(hashRoot, 0, entry, false);
+		orderRoot = insert(orderRoot, 0, entry, true);
+		size++;
+		return null;
+	}
+
+	@Override
+	public V remove(Object key) {
+		Entry<K, V> existing = findEntry(key);
+		if (existing == null)
+			return null;
+		hashRoot = remove(hashRoot, 0, existing, false);
+		orderRoot = remove(orderRoot, 0, existing, true);
+		size--;
+		return existing.value;
+	}
+
+	@Override
+	public void clear() {
+		hashRoot = null;
+		orderRoot = null;
+		size = 0;
+		nextSeq = 0;
+	}
+
+	private Set<Map.Entry<K, V>> entrySet;
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new AbstractSet<Map.Entry<K, V>>() {
+				@Override
+				public Iterator<Map.Entry<K, V>> iterator() {
+					return new EntryIterator();
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public boolean contains(Object o) {
+					if (!(o instanceof Map.Entry))
+						return false;
+					Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+					Entry<K, V> entry = findEntry(e.getKey());
+					return entry != null && eq(entry.value, e.getValue());
+				}
+
+				@Override
+				public boolean remove(Object o) {
+					if (contains(o)) {
+						PersistentLinkedHashMap.this.remove(((Map.Entry<?, ?>) o).getKey());
+						return true;
+					}
+					return false;
+				}
+
+				@Override
+				public void clear() {
+					PersistentLinkedHashMap.this.clear();
+				}
+			};
+		}
+		return entrySet;
+	}
+
+	/**
+	 * Iterates the order trie depth first. The iterator works on the nodes that were reachable when it was created.
+	 * Since the map is frozen beforehand, later modifications will not touch these nodes.
+	 */
+	private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+		private Object[][] slotStack = new Object[MAX_LEVEL + 2][];
+		private int[] indexStack = new int[MAX_LEVEL + 2];
+		private int depth = -1;
+		private Entry<K, V> next;
+		private Entry<K, V> lastReturned;
+
+		EntryIterator() {
+			freeze();
+			if (orderRoot instanceof Entry) {
+				next = castEntry(orderRoot);
+			} else if (orderRoot instanceof Node) {
+				push(((Node) orderRoot).slots);
+				advance();
+			}
+		}
+
+		private void push(Object[] slots) {
+			depth++;
+			slotStack[depth] = slots;
+			indexStack[depth] = 0;
+		}
+
+		private void advance() {
+			next = null;
+			while (depth >= 0) {
+				Object[] slots = slotStack[depth];
+				int idx = indexStack[depth];
+				if (idx >= slots.length) {
+					slotStack[depth] = null;
+					depth--;
+					continue;
+				}
+				indexStack[depth] = idx + 1;
+				Object slot = slots[idx];
+				if (slot instanceof Entry) {
+					next = castEntry(slot);
+					return;
+				}
+				push(((Node) slot).slots);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Map.Entry<K, V> next() {
+			if (next == null)
+				throw new NoSuchElementException();
+			lastReturned = next;
+			advance();
+			return lastReturned;
+		}
+
+		@Override
+		public void remove() {
+			if (lastReturned == null)
+				throw new IllegalStateException();
+			PersistentLinkedHashMap.this.remove(lastReturned.key);
+			lastReturned = null;
+		}
+	}
+
+	private void renumber() {
+		Object[] entries = new Object[size];
+		int i = 0;
+		for (Map.Entry<K, V> e : entrySet()) {
+			entries[i++] = e;
+		}
+		clear();
+		for (Object e : entries) {
+			Entry<K, V> old = castEntry(e);
+			Entry<K, V> entry = new Entry<>(old.key, old.value, old.hash, nextSeq++);
+			hashRoot = insert(hashRoot, 0, entry, false);
+			orderRoot = insert(orderRoot, 0, entry, true);
+			size++;
+		}
+	}
+
+	private Entry<K, V> findEntry(Object key) {
+		return findEntry(key, hash(key));
+	}
+
+	private Entry<K, V> findEntry(Object key, int hash) {
+		Object current = hashRoot;
+		int level = 0;
+		while (current != null) {
+			if (current instanceof Entry) {
+				Entry<K, V> entry = castEntry(current);
+				return entry.hash == hash && eq(key, entry.key) ? entry : null;
+			}
+			if (current instanceof Node) {
+				Node node = (Node) current;
+				int bit = 1 << index(hash, level);
+				if ((node.bitmap & bit) == 0)
+					return null;
+				current = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+				level++;
+			} else {
+				for (Object candidate : (Object[]) current) {
+					Entry<K, V> entry = castEntry(candidate);
+					if (eq(key, entry.key))
+						return entry;
+				}
+				return null;
+			}
+		}
+		return null;
+	}
+
+	private Object insert(Object current, int level, Entry<K, V> entry, boolean byOrder) {
+		if (current == null)
+			return entry;
+		if (current instanceof Entry) {
+			Entry<K, V> existing = castEntry(current);
+			if (sameKey(existing, entry, byOrder))
+				return entry;
+			return merge(existing, entry, level, byOrder);
+		}
+		if (current instanceof Node) {
+			Node node = (Node) current;
+			int bit = 1 << index(key(entry, byOrder), level);
+			int pos = Integer.bitCount(node.bitmap & (bit - 1));
+			if ((node.bitmap & bit) != 0) {
+				Object child = node.slots[pos];
+				Object newChild = insert(child, level + 1, entry, byOrder);
+				if (newChild == child)
+					return node;
+				Node result = node.editable(owner);
+				result.slots[pos] = newChild;
+				return result;
+			}
+			Object[] newSlots = new Object[node.slots.length + 1];
+			System.arraycopy(node.slots, 0, newSlots, 0, pos);
+			newSlots[pos] = entry;
+			System.arraycopy(node.slots, pos, newSlots, pos + 1, node.slots.length - pos);
+			if (node.owner == owner) {
+				node.bitmap |= bit;
+				node.slots = newSlots;
+				return node;
+			}
+			return new Node(owner, node.bitmap | bit, newSlots);
+		}
+		// collision bucket on the last level
+		Object[] bucket = (Object[]) current;
+		for (int i = 0; i < bucket.length; i++) {
+			if (eq(castEntry(bucket[i]).key, entry.key)) {
+				Object[] newBucket = bucket.clone();
+				newBucket[i] = entry;
+				return newBucket;
+			}
+		}
+		Object[] newBucket = new Object[bucket.length + 1];
+		System.arraycopy(bucket, 0, newBucket, 0, bucket.length);
+		newBucket[bucket.length] = entry;
+		return newBucket;
+	}
+
+	private Object merge(Entry<K, V> first, Entry<K, V> second, int level, boolean byOrder) {
+		if (level > MAX_LEVEL) {
+			return new Object[] { first, second };
+		}
+		int firstIndex = index(key(first, byOrder), level);
+		int secondIndex = index(key(second, byOrder), level);
+		if (firstIndex == secondIndex) {
+			return new Node(owner, 1 << firstIndex, new Object[] { merge(first, second, level + 1, byOrder) });
+		}
+		int bitmap = (1 << firstIndex) | (1 << secondIndex);
+		if (firstIndex < secondIndex) {
+			return new Node(owner, bitmap, new Object[] { first, second });
+		}
+		return new Node(owner, bitmap, new Object[] { second, first });
+	}
+
+	/**
+	 * Removes the given entry from the subtree. Returns the (possibly new) subtree, which is either {@code null}, a
+	 * single entry that can be inlined into the parent, a node or a bucket.
+	 */
+	private Object remove(Object current, int level, Entry<K, V> entry, boolean byOrder) {
+		if (current == null)
+			return null;
+		if (current instanceof Entry) {
+			return sameKey(castEntry(current), entry, byOrder) ? null : current;
+		}
+		if (current instanceof Node) {
+			Node node = (Node) current;
+			int bit = 1 << index(key(entry, byOrder), level);
+			if ((node.bitmap & bit) == 0)
+				return node;
+			int pos = Integer.bitCount(node.bitmap & (bit - 1));
+			Object child = node.slots[pos];
+			Object newChild = remove(child, level + 1, entry, byOrder);
+			if (newChild == child)
+				return node;
+			int slotCount = node.slots.length;
+			if (newChild == null) {
+				if (slotCount == 1)
+					return null;
+				if (slotCount == 2 && level > 0) {
+					Object other = node.slots[1 - pos];
+					if (other instanceof Entry)
+						return other;
+				}
+				Object[] newSlots = new Object[slotCount - 1];
+				System.arraycopy(node.slots, 0, newSlots, 0, pos);
+				System.arraycopy(node.slots, pos + 1, newSlots, pos, slotCount - pos - 1);
+				if (node.owner == owner) {
+					node.bitmap &= ~bit;
+					node.slots = newSlots;
+					return node;
+				}
+				return new Node(owner, node.bitmap & ~bit, newSlots);
+			}
+			if (slotCount == 1 && level > 0 && newChild instanceof Entry)
+				return newChild;
+			Node result = node.editable(owner);
+			result.slots[pos] = newChild;
+			return result;
+		}
+		Object[] bucket = (Object[]) current;
+		for (int i = 0; i < bucket.length; i++) {
+			if (eq(castEntry(bucket[i]).key, entry.key)) {
+				if (bucket.length == 2)
+					return bucket[1 - i];
+				Object[] newBucket = new Object[bucket.length - 1];
+				System.arraycopy(bucket, 0, newBucket, 0, i);
+				System.arraycopy(bucket, i + 1, newBucket, i, bucket.length - i - 1);
+				return newBucket;
+			}
+		}
+		return bucket;
+	}
+
+	private static boolean sameKey(Entry<?, ?> existing, Entry<?, ?> entry, boolean byOrder) {
+		if (byOrder)
+			return existing.seq == entry.seq;
+		return existing.hash == entry.hash && eq(existing.key, entry.key);
+	}
+
+	private static int key(Entry<?, ?> entry, boolean byOrder) {
+		return byOrder ? entry.seq : entry.hash;
+	}
+
+	/**
+	 * The trie consumes the most significant bits first such that the order trie yields the entries sorted by their
+	 * (non-negative) sequence number.
+	 */
+	private static int index(int hash, int level) {
+		if (level < MAX_LEVEL)
+			return (hash >>> (27 - 5 * level)) & 31;
+		return hash & 3;
+	}
+
+	private static int hash(Object key) {
+		if (key == null)
+			return 0;
+		// spread the lower bits since the most significant ones are used first
+		return key.hashCode() * 0x9E3779B9;
+	}
+
+	private static boolean eq(Object a, Object b) {
+		return a == b || a != null && a.equals(b);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K, V> Entry<K, V> castEntry(Object o) {
+		return (Entry<K, V>) o;
+	}
+
+}
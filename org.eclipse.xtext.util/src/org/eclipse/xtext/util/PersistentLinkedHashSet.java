@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.util;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * An insertion ordered set that supports a constant time {@link #copy()}. It is backed by a
+ * {@link PersistentLinkedHashMap}.
+ *
+ * @since 2.25
+ */
+@Beta
+public class PersistentLinkedHashSet<E> extends AbstractSet<E> {
+
+	private final PersistentLinkedHashMap<E, Boolean> map;
+
+	public PersistentLinkedHashSet() {
+		this(new PersistentLinkedHashMap<>());
+	}
+
+	public PersistentLinkedHashSet(Collection<? extends E> elements) {
+		this();
+		addAll(elements);
+	}
+
+	private PersistentLinkedHashSet(PersistentLinkedHashMap<E, Boolean> map) {
+		this.map = map;
+	}
+
+	/**
+	 * Returns a copy of this set in constant time. Subsequent modifications of either this set or the copy are not
+	 * visible in the other one.
+	 */
+	public PersistentLinkedHashSet<E> copy() {
+		return new PersistentLinkedHashSet<>(map.copy());
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return map.keySet().iterator();
+	}
+
+	@Override
+	public int size() {
+		return map.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return map.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return map.containsKey(o);
+	}
+
+	@Override
+	public boolean add(E e) {
+		return map.put(e, Boolean.TRUE) == null;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		return map.remove(o) != null;
+	}
+
+	@Override
+	public void clear() {
+		map.clear();
+	}
+
+}
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.eclipse.xtext.util.Exceptions;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Applies an operation to a list of elements on an executor. The calling thread participates in the work such that a
+ * saturated executor cannot dead-lock the caller, e.g. if the caller itself runs on the executor. The first exception
+ * stops the processing of the remaining elements and is rethrown after all running tasks are done.
+ *
+ * @since 2.25
+ */
+@Beta
+public final class ParallelBatch<S, T> implements Runnable {
+
+	/**
+	 * Apply the operation to all the given elements with at most the given number of threads, including the calling
+	 * thread. The results are in the order of the elements.
+	 */
+	public static <S, T> List<T> execute(List<S> elements, Function<? super S, ? extends T> operation,
+			ExecutorService executor, int parallelism) {
+		int helpers = Math.min(elements.size(), parallelism) - 1;
+		if (executor == null || helpers <= 0) {
+			List<T> result = new ArrayList<>(elements.size());
+			for (S element : elements) {
+				result.add(operation.apply(element));
+			}
+			return result;
+		}
+		ParallelBatch<S, T> batch = new ParallelBatch<>(elements, operation);
+		List<Future<?>> futures = new ArrayList<>(helpers);
+		for (int i = 0; i < helpers; i++) {
+			futures.add(executor.submit(batch));
+		}
+		batch.work();
+		batch.awaitHelpers();
+		for (Future<?> future : futures) {
+			future.cancel(false);
+		}
+		return batch.getResult();
+	}
+
+	/**
+	 * The number of threads that should work on a batch, including the calling thread. The threads of a thread pool
+	 * are limited by its core pool size, since pools that grow on demand, e.g. cached thread pools, have no useful
+	 * maximum.
+	 */
+	public static int getParallelism(ExecutorService executor) {
+		int threads = Runtime.getRuntime().availableProcessors() - 1;
+		if (executor instanceof ThreadPoolExecutor) {
+			int corePoolSize = ((ThreadPoolExecutor) executor).getCorePoolSize();
+			if (corePoolSize > 0) {
+				threads = corePoolSize;
+			}
+		} else if (executor instanceof ForkJoinPool) {
+			threads = ((ForkJoinPool) executor).getParallelism();
+		}
+		return Math.max(1, threads + 1);
+	}
+
+	private final List<S> elements;
+
+	private final Function<? super S, ? extends T> operation;
+
+	private final Object[] results;
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+	private int running;
+
+	private boolean closed;
+
+	private ParallelBatch(List<S> elements, Function<? super S, ? extends T> operation) {
+		this.elements = elements;
+		this.operation = operation;
+		this.results = new Object[elements.size()];
+	}
+
+	/**
+	 * Helper threads that start after the calling thread has finished its work return immediately.
+	 */
+	@Override
+	public void run() {
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			running++;
+		}
+		try {
+			work();
+		} finally {
+			synchronized (this) {
+				running--;
+				notifyAll();
+			}
+		}
+	}
+
+	private void work() {
+		int i;
+		while (failure.get() == null && (i = next.getAndIncrement()) < results.length) {
+			try {
+				results[i] = operation.apply(elements.get(i));
+			} catch (Throwable t) {
+				failure.compareAndSet(null, t);
+			}
+		}
+	}
+
+	private synchronized void awaitHelpers() {
+		closed = true;
+		boolean interrupted = false;
+		while (running > 0) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<T> getResult() {
+		if (failure.get() != null) {
+			return Exceptions.throwUncheckedException(failure.get());
+		}
+		return (List<T>) Arrays.asList(results);
+	}
+}
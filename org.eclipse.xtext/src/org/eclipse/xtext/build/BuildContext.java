@@ -8,9 +8,12 @@
  *******************************************************************************/
 package org.eclipse.xtext.build;
 
+import java.util.concurrent.ExecutorService;
+
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.ISynchronizable;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.clustering.IResourceClusteringPolicy;
 import org.eclipse.xtext.util.CancelIndicator;
@@ -33,16 +36,28 @@ public class BuildContext {
 
 	private final CancelIndicator cancelIndicator;
 
+	private final ExecutorService executorService;
+
 	private ClusteringStorageAwareResourceLoader loader;
 
 	public BuildContext(Function1<? super URI, ? extends IResourceServiceProvider> resourceServiceProviderProvider,
 			XtextResourceSet resourceSet, IndexState oldState, IResourceClusteringPolicy clusteringPolicy,
 			CancelIndicator cancelIndicator) {
+		this(resourceServiceProviderProvider, resourceSet, oldState, clusteringPolicy, cancelIndicator, null);
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	public BuildContext(Function1<? super URI, ? extends IResourceServiceProvider> resourceServiceProviderProvider,
+			XtextResourceSet resourceSet, IndexState oldState, IResourceClusteringPolicy clusteringPolicy,
+			CancelIndicator cancelIndicator, ExecutorService executorService) {
 		this.resourceServiceProviderProvider = resourceServiceProviderProvider;
 		this.resourceSet = resourceSet;
 		this.oldState = oldState;
 		this.clusteringPolicy = clusteringPolicy;
 		this.cancelIndicator = cancelIndicator;
+		this.executorService = executorService;
 	}
 
 	/**
@@ -88,4 +103,21 @@ public class BuildContext {
 	public CancelIndicator getCancelIndicator() {
 		return cancelIndicator;
 	}
+
+	/**
+	 * @since 2.25
+	 */
+	public ExecutorService getExecutorService() {
+		return executorService;
+	}
+
+	/**
+	 * Return true, if the resources of a cluster are processed concurrently. This requires an executor and a
+	 * {@link ISynchronizable synchronized} resource set.
+	 * 
+	 * @since 2.25
+	 */
+	public boolean isParallel() {
+		return executorService != null && resourceSet instanceof ISynchronizable<?>;
+	}
 }
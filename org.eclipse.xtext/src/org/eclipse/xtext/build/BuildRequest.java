@@ -11,6 +11,7 @@ package org.eclipse.xtext.build;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.URI;
@@ -72,6 +73,8 @@ public class BuildRequest {
 
 	private List<URI> deletedFiles = new ArrayList<>();
 
+	private List<URI> updatedFiles = new ArrayList<>();
+
 	private List<IResourceDescription.Delta> externalDeltas = new ArrayList<>();
 
 	/**
@@ -97,6 +100,10 @@ public class BuildRequest {
 
 	private CancelIndicator cancelIndicator = CancelIndicator.NullImpl;
 
+	private ExecutorService executorService;
+
+	private boolean deferAffectedResources = false;
+
 	public void setBaseDir(URI baseDir) {
 		this.baseDir = baseDir;
 	}
@@ -125,6 +132,24 @@ public class BuildRequest {
 		this.deletedFiles = deletedFiles;
 	}
 
+	/**
+	 * @since 2.25
+	 */
+	public List<URI> getUpdatedFiles() {
+		return updatedFiles;
+	}
+
+	/**
+	 * The dirty files whose resources in the {@link #getResourceSet() resource set} have already been updated in place,
+	 * e.g. by partial parsing. These resources are not unloaded before they are indexed, unless they are affected by
+	 * other changes. Files that are not dirty are ignored.
+	 * 
+	 * @since 2.25
+	 */
+	public void setUpdatedFiles(List<URI> updatedFiles) {
+		this.updatedFiles = updatedFiles;
+	}
+
 	public List<IResourceDescription.Delta> getExternalDeltas() {
 		return externalDeltas;
 	}
@@ -196,4 +221,43 @@ public class BuildRequest {
 	public void setCancelIndicator(CancelIndicator cancelIndicator) {
 		this.cancelIndicator = cancelIndicator;
 	}
+
+	/**
+	 * @since 2.25
+	 */
+	public ExecutorService getExecutorService() {
+		return executorService;
+	}
+
+	/**
+	 * Opt into the parallel build mode. If an executor is given, the resources of a cluster are loaded, indexed,
+	 * linked, validated and generated concurrently. The results are merged in the order of the resources such that
+	 * the produced deltas are the same as in the sequential mode.
+	 * 
+	 * The parallel mode requires a {@link org.eclipse.xtext.resource.SynchronizedXtextResourceSet synchronized
+	 * resource set}, otherwise the executor is ignored. The callbacks of this request may be invoked concurrently.
+	 * 
+	 * @since 2.25
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	public boolean isDeferAffectedResources() {
+		return deferAffectedResources;
+	}
+
+	/**
+	 * Only build the dirty and deleted files. The resources that are affected by their changes are not rebuilt but
+	 * reported as {@link IncrementalBuilder.Result#getDeferredResources() deferred resources}, which the caller is
+	 * expected to build later as dirty files.
+	 * 
+	 * @since 2.25
+	 */
+	public void setDeferAffectedResources(boolean deferAffectedResources) {
+		this.deferAffectedResources = deferAffectedResources;
+	}
 }
@@ -8,19 +8,29 @@
  *******************************************************************************/
 package org.eclipse.xtext.build;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.linking.lazy.LazyLinkingResource;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.resource.IResourceServiceProviderExtension;
+import org.eclipse.xtext.resource.ISynchronizable;
+import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.persistence.SourceLevelURIsAdapter;
 import org.eclipse.xtext.resource.persistence.StorageAwareResource;
+import org.eclipse.xtext.util.concurrent.ParallelBatch;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 
 import com.google.common.collect.FluentIterable;
@@ -48,7 +58,7 @@ public class ClusteringStorageAwareResourceLoader {
 			URI uri = iter.next();
 			XtextResourceSet resourceSet = context.getResourceSet();
 			if (!context.getClusteringPolicy().continueProcessing(resourceSet, uri, loadedURIsCount)) {
-				FluentIterable.from(resources).transform(operation::apply).copyInto(result);
+				result.addAll(process(resources, operation));
 				clearResourceSet();
 				resources.clear();
 				loadedURIsCount = 0;
@@ -64,9 +74,115 @@ public class ClusteringStorageAwareResourceLoader {
 				}
 				SourceLevelURIsAdapter.setSourceLevelUrisWithoutCopy(resourceSet, sourceLevelURIs);
 			}
-			resources.add(resourceSet.getResource(uri, true));
+			if (context.isParallel()) {
+				resources.add(createResource(uri));
+			} else {
+				resources.add(resourceSet.getResource(uri, true));
+			}
+		}
+		result.addAll(process(resources, operation));
+		return result;
+	}
+
+	/**
+	 * Apply the operation to the resources of a cluster. In parallel mode, the resources are loaded and processed
+	 * concurrently, the result preserves the order of the given resources in both modes.
+	 * 
+	 * The resources are only parsed concurrently, their loading must not resolve any proxies, since another thread
+	 * could otherwise see a resource that is still being loaded. Resources that are not {@link XtextResource Xtext
+	 * resources} or that link eagerly are loaded on the calling thread before, the
+	 * {@link XtextResource#OPTION_RESOLVE_ALL resolve all} load option is applied on the calling thread afterwards.
+	 * The operations may resolve proxies concurrently: the resource set is {@link ISynchronizable synchronized} and
+	 * loads resources on demand while it holds its lock, and lazy links are resolved by the synchronized
+	 * {@link LazyLinkingResource#getEObject(String)}.
+	 */
+	protected <T> List<T> process(List<Resource> resources, Function1<? super Resource, ? extends T> operation) {
+		if (!context.isParallel()) {
+			return executeSequentially(resources, operation);
+		}
+		Map<Object, Object> loadOptions = new HashMap<>(context.getResourceSet().getLoadOptions());
+		boolean resolveAll = Boolean.TRUE.equals(loadOptions.remove(XtextResource.OPTION_RESOLVE_ALL));
+		List<Resource> unloaded = FluentIterable.from(resources).filter(it -> !it.isLoaded()).toList();
+		List<Resource> parsedConcurrently = new ArrayList<>(unloaded.size());
+		for (Resource resource : unloaded) {
+			if (isLoadedConcurrently(resource)) {
+				parsedConcurrently.add(resource);
+			} else {
+				load(resource, loadOptions);
+			}
+		}
+		executeInParallel(parsedConcurrently, (resource) -> {
+			load(resource, loadOptions);
+			return null;
+		});
+		if (resolveAll) {
+			for (Resource resource : unloaded) {
+				EcoreUtil.resolveAll(resource);
+			}
+		}
+		return executeInParallel(resources, operation);
+	}
+
+	/**
+	 * Whether loading the given resource does not resolve any proxies, such that it may be loaded concurrently to the
+	 * other resources of a cluster.
+	 * 
+	 * @since 2.25
+	 */
+	protected boolean isLoadedConcurrently(Resource resource) {
+		if (!(resource instanceof XtextResource)) {
+			return false;
+		}
+		return !(resource instanceof LazyLinkingResource) || !((LazyLinkingResource) resource).isEagerLinking();
+	}
+
+	private void load(Resource resource, Map<?, ?> loadOptions) {
+		try {
+			resource.load(loadOptions);
+		} catch (IOException e) {
+			throw new WrappedException(e);
+		}
+	}
+
+	/**
+	 * Obtain the resource for the given URI without loading it, such that it can be loaded concurrently afterwards.
+	 */
+	protected Resource createResource(URI uri) {
+		XtextResourceSet resourceSet = context.getResourceSet();
+		Resource result = resourceSet.getResource(uri, false);
+		if (result == null) {
+			result = resourceSet.createResource(uri);
+		}
+		if (result == null) {
+			// no factory available, let the resource set report the problem
+			result = resourceSet.getResource(uri, true);
+		}
+		return result;
+	}
+
+	/**
+	 * Apply the operation to all the given elements on the {@link BuildContext#getExecutorService() executor}. The
+	 * calling thread participates in the work such that a saturated executor cannot dead-lock the build. The first
+	 * exception stops the processing of the remaining elements and is rethrown after all running tasks are done.
+	 */
+	protected <S, T> List<T> executeInParallel(List<S> elements, Function1<? super S, ? extends T> operation) {
+		return ParallelBatch.execute(elements, operation::apply, context.getExecutorService(), getParallelism());
+	}
+
+	/**
+	 * The number of threads that should work on a cluster, including the calling thread.
+	 * 
+	 * @see ParallelBatch#getParallelism(ExecutorService)
+	 */
+	protected int getParallelism() {
+		return ParallelBatch.getParallelism(context.getExecutorService());
+	}
+
+	private <S, T> List<T> executeSequentially(List<S> elements, Function1<? super S, ? extends T> operation) {
+		List<T> result = new ArrayList<>(elements.size());
+		for (S element : elements) {
+			result.add(operation.apply(element));
 		}
-		FluentIterable.from(resources).transform(operation::apply).copyInto(result);
 		return result;
 	}
 
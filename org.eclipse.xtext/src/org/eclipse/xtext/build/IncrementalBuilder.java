@@ -9,6 +9,7 @@
 package org.eclipse.xtext.build;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -16,6 +17,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.URIConverter;
@@ -26,6 +28,7 @@ import org.eclipse.xtext.generator.IContextualOutputConfigurationProvider;
 import org.eclipse.xtext.generator.IContextualOutputConfigurationProvider2;
 import org.eclipse.xtext.generator.IFilePostProcessor;
 import org.eclipse.xtext.generator.IFileSystemAccess;
+import org.eclipse.xtext.generator.IFileSystemAccess2;
 import org.eclipse.xtext.generator.IShouldGenerate;
 import org.eclipse.xtext.generator.OutputConfiguration;
 import org.eclipse.xtext.generator.URIBasedFileSystemAccess;
@@ -35,6 +38,7 @@ import org.eclipse.xtext.parser.IEncodingProvider;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescription.Delta;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.ISynchronizable;
 import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.clustering.DisabledClusteringPolicy;
@@ -66,6 +70,8 @@ import com.google.inject.Singleton;
  * @since 2.9
  */
 public class IncrementalBuilder {
+	private static final Logger LOG = Logger.getLogger(IncrementalBuilder.class);
+
 	/**
 	 * The result of the build. Encapsulates the new index state and the list of changes.
 	 */
@@ -74,9 +80,20 @@ public class IncrementalBuilder {
 
 		private final List<IResourceDescription.Delta> affectedResources;
 
+		private final List<URI> deferredResources;
+
 		public Result(IndexState indexState, List<IResourceDescription.Delta> affectedResources) {
+			this(indexState, affectedResources, Collections.emptyList());
+		}
+
+		/**
+		 * @since 2.25
+		 */
+		public Result(IndexState indexState, List<IResourceDescription.Delta> affectedResources,
+				List<URI> deferredResources) {
 			this.indexState = indexState;
 			this.affectedResources = affectedResources;
+			this.deferredResources = deferredResources;
 		}
 
 		public IndexState getIndexState() {
@@ -87,6 +104,16 @@ public class IncrementalBuilder {
 			return affectedResources;
 		}
 
+		/**
+		 * The resources that are affected by the changes but have not been built, because the request
+		 * {@link BuildRequest#isDeferAffectedResources() defers them}. Their index entries are still the old ones.
+		 * 
+		 * @since 2.25
+		 */
+		public List<URI> getDeferredResources() {
+			return deferredResources;
+		}
+
 		@Override
 		public int hashCode() {
 			int prime = 31;
@@ -129,6 +156,7 @@ public class IncrementalBuilder {
 			ToStringBuilder b = new ToStringBuilder(this);
 			b.add("indexState", indexState);
 			b.add("affectedResources", affectedResources);
+			b.add("deferredResources", deferredResources);
 			return b.toString();
 		}
 
@@ -216,8 +244,10 @@ public class IncrementalBuilder {
 					unloadResource(deleted);
 				}
 			}
+			Set<URI> updated = new HashSet<>(request.getUpdatedFiles());
 			for (URI dirty : request.getDirtyFiles()) {
-				if (unloaded.add(dirty)) {
+				// resources that were updated in place are indexed from their current state
+				if (unloaded.add(dirty) && !updated.contains(dirty)) {
 					unloadResource(dirty);
 				}
 			}
@@ -270,7 +300,9 @@ public class IncrementalBuilder {
 						IResourceDescription description = manager.getResourceDescription(resource);
 						SerializableResourceDescription copiedDescription = SerializableResourceDescription
 								.createCopy(description);
-						result.getNewIndex().addDescription(resource.getURI(), copiedDescription);
+						if (!context.isParallel()) {
+							result.getNewIndex().addDescription(resource.getURI(), copiedDescription);
+						}
 						operationCanceledManager.checkCanceled(cancelIndicator);
 						if (!request.isIndexOnly() && validate(resource) && serviceProvider.get(IShouldGenerate.class)
 								.shouldGenerate(resource, CancelIndicator.NullImpl)) {
@@ -282,8 +314,14 @@ public class IncrementalBuilder {
 						return manager.createDelta(old, copiedDescription);
 					});
 
+			if (context.isParallel()) {
+				// the index is not thread safe, it is updated after all resources have been processed
+				for (IResourceDescription.Delta delta : deltas) {
+					result.getNewIndex().addDescription(delta.getUri(), delta.getNew());
+				}
+			}
 			Iterables.addAll(resolvedDeltas, deltas);
-			return new IncrementalBuilder.Result(request.getState(), resolvedDeltas);
+			return new IncrementalBuilder.Result(request.getState(), resolvedDeltas, result.getDeferredResources());
 		}
 
 		private IResourceServiceProvider getResourceServiceProvider(Resource resource) {
@@ -317,11 +355,25 @@ public class IncrementalBuilder {
 			}
 			Set<URI> previous = newMappings.deleteSource(resource.getURI());
 			URIBasedFileSystemAccess fileSystemAccess = createFileSystemAccess(serviceProvider, resource);
-			fileSystemAccess.setBeforeWrite((uri, outputCfgName, contents) -> {
-				newMappings.addSource2Generated(resource.getURI(), uri, outputCfgName);
-				previous.remove(uri);
-				request.getAfterGenerateFile().apply(resource.getURI(), uri);
-				return contents;
+			fileSystemAccess.setBeforeWrite(new URIBasedFileSystemAccess.BeforeWrite() {
+				@Override
+				public InputStream beforeWrite(URI uri, String outputCfgName, InputStream contents) {
+					generated(uri, outputCfgName);
+					return contents;
+				}
+
+				@Override
+				public IFileSystemAccess2.BinaryContent beforeWrite(URI uri, String outputCfgName,
+						IFileSystemAccess2.BinaryContent contents) {
+					generated(uri, outputCfgName);
+					return contents;
+				}
+
+				private void generated(URI uri, String outputCfgName) {
+					newMappings.addSource2Generated(resource.getURI(), uri, outputCfgName);
+					previous.remove(uri);
+					request.getAfterGenerateFile().apply(resource.getURI(), uri);
+				}
 			});
 			fileSystemAccess.setBeforeDelete((uri) -> {
 				newMappings.deleteGenerated(uri);
@@ -395,8 +447,11 @@ public class IncrementalBuilder {
 		XtextResourceSet resourceSet = request.getResourceSet();
 		IndexState oldState = new IndexState(request.getState().getResourceDescriptions().copy(),
 				request.getState().getFileMappings().copy());
+		if (request.getExecutorService() != null && !(resourceSet instanceof ISynchronizable<?>)) {
+			LOG.warn("The parallel build requires a synchronized resource set, falling back to a sequential build.");
+		}
 		BuildContext context = new BuildContext(languages, resourceSet, oldState, clusteringPolicy,
-				request.getCancelIndicator());
+				request.getCancelIndicator(), request.getExecutorService());
 		IncrementalBuilder.InternalStatefulIncrementalBuilder builder = provider.get();
 		builder.setContext(context);
 		builder.setRequest(request);
@@ -32,6 +32,7 @@ import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.resource.impl.AbstractResourceDescription;
 import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta;
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionManager;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.resource.persistence.SerializableEObjectDescriptionProvider;
 import org.eclipse.xtext.service.OperationCanceledManager;
@@ -54,9 +55,20 @@ public class Indexer {
 
 		private final ResourceDescriptionsData newIndex;
 
+		private final List<URI> deferredResources;
+
 		public IndexResult(List<IResourceDescription.Delta> resourceDeltas, ResourceDescriptionsData newIndex) {
+			this(resourceDeltas, newIndex, Collections.emptyList());
+		}
+
+		/**
+		 * @since 2.25
+		 */
+		public IndexResult(List<IResourceDescription.Delta> resourceDeltas, ResourceDescriptionsData newIndex,
+				List<URI> deferredResources) {
 			this.resourceDeltas = resourceDeltas;
 			this.newIndex = newIndex;
+			this.deferredResources = deferredResources;
 		}
 
 		public List<IResourceDescription.Delta> getResourceDeltas() {
@@ -67,6 +79,16 @@ public class Indexer {
 			return newIndex;
 		}
 
+		/**
+		 * The affected resources that have not been indexed, because the request
+		 * {@link BuildRequest#isDeferAffectedResources() defers them}.
+		 * 
+		 * @since 2.25
+		 */
+		public List<URI> getDeferredResources() {
+			return deferredResources;
+		}
+
 		@Override
 		public int hashCode() {
 			int prime = 31;
@@ -109,6 +131,7 @@ public class Indexer {
 			ToStringBuilder b = new ToStringBuilder(this);
 			b.add("resourceDeltas", resourceDeltas);
 			b.add("newIndex", newIndex);
+			b.add("deferredResources", deferredResources);
 			return b.toString();
 		}
 
@@ -118,7 +141,8 @@ public class Indexer {
 	 * A resource description that has no references to the origin resource anymore. Imported names and reference
 	 * descriptions are not available.
 	 */
-	protected static class ResolvedResourceDescription extends AbstractResourceDescription {
+	protected static class ResolvedResourceDescription extends AbstractResourceDescription
+			implements ResourceDescriptionsData.ExportedObjectsOnly {
 
 		private static final Logger LOG = Logger.getLogger(ResolvedResourceDescription.class);
 
@@ -180,6 +204,8 @@ public class Indexer {
 	@Inject
 	private OperationCanceledManager operationCanceledManager;
 
+	private volatile Boolean overridesIsAffected;
+
 	/**
 	 * Compute an updated index.
 	 */
@@ -197,12 +223,20 @@ public class Indexer {
 		Set<URI> remainingURIs = FluentIterable.from(previousIndex.getAllResourceDescriptions())
 				.transform(IResourceDescription::getURI).copyInto(new HashSet<>());
 		remainingURIs.removeAll(FluentIterable.from(deltas).transform(Delta::getUri).toSet());
+		Set<URI> candidates = remainingURIs.isEmpty() ? Collections.emptySet()
+				: newIndex.getAffectionCandidates(allDeltas);
 		List<URI> allAffected = FluentIterable.from(remainingURIs).filter(it -> {
 			IResourceDescription.Manager manager = context.getResourceServiceProvider(it)
 					.getResourceDescriptionManager();
+			if (!candidates.contains(it) && isAffectedByNamesAndReferencesOnly(manager)) {
+				return false;
+			}
 			IResourceDescription resourceDescription = previousIndex.getResourceDescription(it);
 			return isAffected(resourceDescription, manager, allDeltas, allDeltas, newIndex);
 		}).toList();
+		if (request.isDeferAffectedResources()) {
+			return new Indexer.IndexResult(deltas, newIndex, allAffected);
+		}
 		deltas.addAll(getDeltasForChangedResources(allAffected, previousIndex, context));
 		return new Indexer.IndexResult(deltas, newIndex);
 	}
@@ -263,6 +297,45 @@ public class Indexer {
 		return delta;
 	}
 
+	/**
+	 * Return true, if the given manager only considers resources as affected that import or export a name exported by a
+	 * delta or that reference a delta's resource. Resources that are no
+	 * {@link ResourceDescriptionsData#getAffectionCandidates(java.util.Collection) affection candidates} are skipped for
+	 * such managers.
+	 * 
+	 * @since 2.25
+	 */
+	protected boolean isAffectedByNamesAndReferencesOnly(IResourceDescription.Manager manager) {
+		if (manager instanceof IResourceDescription.Manager.AllChangeAware
+				|| !(manager instanceof DefaultResourceDescriptionManager)) {
+			return false;
+		}
+		return !overridesIsAffected()
+				&& ((DefaultResourceDescriptionManager) manager).isAffectedByNamesAndReferencesOnly();
+	}
+
+	private boolean overridesIsAffected() {
+		Boolean result = overridesIsAffected;
+		if (result == null) {
+			result = computeOverridesIsAffected();
+			overridesIsAffected = result;
+		}
+		return result;
+	}
+
+	private boolean computeOverridesIsAffected() {
+		for (Class<?> type = getClass(); type != Indexer.class; type = type.getSuperclass()) {
+			try {
+				type.getDeclaredMethod("isAffected", IResourceDescription.class, IResourceDescription.Manager.class,
+						Collection.class, Collection.class, IResourceDescriptions.class);
+				return true;
+			} catch (NoSuchMethodException e) {
+				// continue with the super type
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Return true, if the given resource must be processed due to the given changes.
 	 */
@@ -27,6 +27,9 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
 
 /**
+ * The mapping is thread safe such that generators may run concurrently in the
+ * {@link BuildRequest#setExecutorService(java.util.concurrent.ExecutorService) parallel build mode}.
+ * 
  * @author Jan Koehnlein - Initial contribution and API
  */
 public class Source2GeneratedMapping implements Externalizable {
@@ -47,7 +50,7 @@ public class Source2GeneratedMapping implements Externalizable {
 		this.generated2OutputConfigName = generated2OutputConfigName;
 	}
 
-	public Source2GeneratedMapping copy() {
+	public synchronized Source2GeneratedMapping copy() {
 		return new Source2GeneratedMapping(HashMultimap.create(source2generated), HashMultimap.create(generated2source),
 				new HashMap<>(generated2OutputConfigName));
 	}
@@ -55,18 +58,18 @@ public class Source2GeneratedMapping implements Externalizable {
 	/**
 	 * Add a mapping in the {@link IFileSystemAccess#DEFAULT_OUTPUT default output}.
 	 */
-	public void addSource2Generated(URI source, URI generated) {
+	public synchronized void addSource2Generated(URI source, URI generated) {
 		addSource2Generated(source, generated, IFileSystemAccess.DEFAULT_OUTPUT);
 	}
 
-	public void addSource2Generated(URI source, URI generated, String outputCfgName) {
+	public synchronized void addSource2Generated(URI source, URI generated, String outputCfgName) {
 		source2generated.put(source, generated);
 		generated2source.put(generated, source);
 		generated2OutputConfigName.put(generated,
 				outputCfgName == null ? IFileSystemAccess.DEFAULT_OUTPUT : outputCfgName);
 	}
 
-	public void removeSource2Generated(URI source, URI generated) {
+	public synchronized void removeSource2Generated(URI source, URI generated) {
 		source2generated.remove(source, generated);
 		generated2source.remove(generated, source);
 		if (!generated2source.containsKey(generated)) {
@@ -77,7 +80,7 @@ public class Source2GeneratedMapping implements Externalizable {
 	/**
 	 * Mark the source as deleted and return all the former generated uris.
 	 */
-	public Set<URI> deleteSource(URI source) {
+	public synchronized Set<URI> deleteSource(URI source) {
 		Set<URI> generated = new HashSet<>(source2generated.removeAll(source));
 		for (URI gen : generated) {
 			generated2source.remove(gen, source);
@@ -91,7 +94,7 @@ public class Source2GeneratedMapping implements Externalizable {
 	/**
 	 * Mark the source as deleted and return all the former generated uris.
 	 */
-	public Map<URI, String> deleteSourceAndGetOutputConfigs(URI source) {
+	public synchronized Map<URI, String> deleteSourceAndGetOutputConfigs(URI source) {
 		Set<URI> generated = new HashSet<>(source2generated.removeAll(source));
 		Map<URI, String> result = new HashMap<>();
 		for (URI gen : generated) {
@@ -107,7 +110,7 @@ public class Source2GeneratedMapping implements Externalizable {
 	/**
 	 * Remove the generated file from this mapping.
 	 */
-	public void deleteGenerated(URI generated) {
+	public synchronized void deleteGenerated(URI generated) {
 		generated2source.removeAll(generated).forEach(it -> {
 			source2generated.remove(it, generated);
 		});
@@ -117,33 +120,33 @@ public class Source2GeneratedMapping implements Externalizable {
 	/**
 	 * Get the output configuration that led to the given generated URI.
 	 */
-	public String getOutputConfigName(URI generated) {
+	public synchronized String getOutputConfigName(URI generated) {
 		return generated2OutputConfigName.get(generated);
 	}
 
 	/**
 	 * Return all the generated resources for the given source.
 	 */
-	public List<URI> getGenerated(URI source) {
+	public synchronized List<URI> getGenerated(URI source) {
 		return new ArrayList<>(source2generated.get(source));
 	}
 
 	/**
 	 * Return all the source resources for the given generated resource.
 	 */
-	public List<URI> getSource(URI generated) {
+	public synchronized List<URI> getSource(URI generated) {
 		return new ArrayList<>(generated2source.get(generated));
 	}
 
 	/**
 	 * Return all the generated resources.
 	 */
-	public List<URI> getAllGenerated() {
+	public synchronized List<URI> getAllGenerated() {
 		return new ArrayList<>(generated2source.keySet());
 	}
 
 	@Override
-	public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+	public synchronized void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
 		int numEntries = in.readInt();
 		while (numEntries > 0) {
 			numEntries--;
@@ -159,7 +162,7 @@ public class Source2GeneratedMapping implements Externalizable {
 	}
 
 	@Override
-	public void writeExternal(ObjectOutput out) throws IOException {
+	public synchronized void writeExternal(ObjectOutput out) throws IOException {
 		Set<Map.Entry<URI, Collection<URI>>> entries = source2generated.asMap().entrySet();
 		out.writeInt(entries.size());
 		for (Map.Entry<URI, Collection<URI>> it : entries) {
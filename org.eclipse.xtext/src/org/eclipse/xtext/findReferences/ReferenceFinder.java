@@ -10,6 +10,10 @@ package org.eclipse.xtext.findReferences;
 
 import static com.google.common.collect.Iterables.*;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -171,8 +175,26 @@ public class ReferenceFinder implements IReferenceFinder {
 	public void findAllReferences(TargetURIs targetURIs, IResourceAccess resourceAccess,
 			IResourceDescriptions indexData, Acceptor acceptor, IProgressMonitor monitor) {
 		if (!targetURIs.isEmpty()) {
-			Iterable<IResourceDescription> allResourceDescriptions = indexData.getAllResourceDescriptions();
-			SubMonitor subMonitor = SubMonitor.convert(monitor, size(allResourceDescriptions) / MONITOR_CHUNK_SIZE + 1);
+			Iterable<IResourceDescription> allResourceDescriptions;
+			int size;
+			Set<URI> candidates = getReferencingResourceCandidates(targetURIs, indexData);
+			if (candidates != null) {
+				List<IResourceDescription> candidateDescriptions = new ArrayList<>(candidates.size());
+				for (URI candidate : candidates) {
+					IResourceDescription candidateDescription = indexData.getResourceDescription(candidate);
+					if (candidateDescription != null) {
+						candidateDescriptions.add(candidateDescription);
+					}
+				}
+				// the candidates are unordered, search them in a stable order
+				candidateDescriptions.sort(Comparator.comparing(it -> it.getURI().toString()));
+				allResourceDescriptions = candidateDescriptions;
+				size = candidateDescriptions.size();
+			} else {
+				allResourceDescriptions = indexData.getAllResourceDescriptions();
+				size = size(allResourceDescriptions);
+			}
+			SubMonitor subMonitor = SubMonitor.convert(monitor, size / MONITOR_CHUNK_SIZE + 1);
 			IProgressMonitor useMe = subMonitor.newChild(1);
 			int i = 0;
 			for (IResourceDescription resourceDescription : allResourceDescriptions) {
@@ -188,6 +210,28 @@ public class ReferenceFinder implements IReferenceFinder {
 		}
 	}
 
+	/**
+	 * Returns the URIs of the resources that have to be searched by
+	 * {@link #findAllReferences(TargetURIs, IResourceAccess, IResourceDescriptions, Acceptor, IProgressMonitor)}, or
+	 * <code>null</code> if all resources of the index have to be searched. The candidates are the target resources
+	 * themselves and the resources that reference a target according to an
+	 * {@link IResourceDescriptions.IReferenceIndexAware index of the references}.
+	 * 
+	 * Clients whose language specific reference finders match references in another way than by the target URIs of the
+	 * reference descriptions should return <code>null</code>.
+	 * 
+	 * @since 2.25
+	 */
+	protected Set<URI> getReferencingResourceCandidates(TargetURIs targetURIs, IResourceDescriptions indexData) {
+		if (indexData instanceof IResourceDescriptions.IReferenceIndexAware) {
+			Set<URI> result = new HashSet<>(
+					((IResourceDescriptions.IReferenceIndexAware) indexData).getReferencingResources(targetURIs.asSet()));
+			result.addAll(targetURIs.getTargetResourceURIs());
+			return result;
+		}
+		return null;
+	}
+
 	protected void findLocalReferencesFromElement(
 			Predicate<URI> targetURIs, 
 			EObject sourceCandidate,
@@ -168,8 +168,12 @@ public abstract class FormattableDocument implements IFormattableDocument {
 		return context.withDocument(previous.getDocument());
 	}
 
+	/**
+	 * Creates the set of replacers of this document. Since 2.25 the replacers are kept in a
+	 * {@link TreeTextSegmentSet}. Subclasses may return an {@link ArrayListTextSegmentSet} for the former behavior.
+	 */
 	protected TextSegmentSet<ITextReplacer> createTextReplacerSet() {
-		return new ArrayListTextSegmentSet<ITextReplacer>(ITextReplacer.GET_REGION,
+		return new TreeTextSegmentSet<ITextReplacer>(ITextReplacer.GET_REGION,
 				new Function<ITextReplacer, String>() {
 					@Override
 					public String apply(ITextReplacer input) {
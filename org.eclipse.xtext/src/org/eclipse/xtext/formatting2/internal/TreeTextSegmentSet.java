@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.formatting2.internal;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.eclipse.xtext.formatting2.IMerger;
+import org.eclipse.xtext.formatting2.regionaccess.ITextSegment;
+
+import com.google.common.base.Function;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+
+/**
+ * A {@link TextSegmentSet} that keeps its segments in a balanced search tree ordered by offset and length. Adding a
+ * segment, finding the conflicting segments and starting an iteration at a segment take logarithmic time, whereas
+ * {@link ArrayListTextSegmentSet} has to shift the elements of its list on every insertion.
+ *
+ * The segments that conflict with a new segment are the neighbors of its position in the tree, so only these are
+ * visited. The conflicts are handled like in {@link ArrayListTextSegmentSet}.
+ *
+ * @since 2.25
+ */
+public class TreeTextSegmentSet<T> extends TextSegmentSet<T> {
+
+	private final TreeMap<T, T> contents;
+
+	public TreeTextSegmentSet(Function<? super T, ? extends ITextSegment> region,
+			Function<? super T, String> title) {
+		this(region, title, true);
+	}
+
+	public TreeTextSegmentSet(Function<? super T, ? extends ITextSegment> region,
+			Function<? super T, String> title, boolean trace) {
+		super(region, title, trace);
+		this.contents = new TreeMap<>(new RegionComparator<T>(region));
+	}
+
+	@Override
+	public void add(T segment, IMerger<T> merger) throws ConflictingRegionsException, RegionTraceMissingException {
+		Preconditions.checkNotNull(segment);
+		trace(segment);
+		T existing = contents.get(segment);
+		if (existing != null)
+			replaceExistingEntry(segment, existing, merger);
+		else
+			insert(segment, merger);
+	}
+
+	@Override
+	public T get(T segment) {
+		return contents.get(segment);
+	}
+
+	protected void insert(T segment, IMerger<T> merger) throws ConflictingRegionsException, RegionTraceMissingException {
+		List<T> conflicting = null;
+		for (T item : contents.headMap(segment, false).descendingKeySet()) {
+			if (!isConflict(item, segment))
+				break;
+			if (conflicting == null)
+				conflicting = Lists.newArrayList();
+			conflicting.add(item);
+		}
+		for (T item : contents.tailMap(segment, false).keySet()) {
+			if (!isConflict(item, segment))
+				break;
+			if (conflicting == null)
+				conflicting = Lists.newArrayList();
+			conflicting.add(item);
+		}
+		if (conflicting == null) {
+			trace(segment);
+			contents.put(segment, segment);
+		} else {
+			conflicting.add(0, segment);
+			try {
+				T merged = merger != null ? merger.merge(conflicting) : null;
+				if (merged != null) {
+					removeAll(conflicting);
+					trace(merged);
+					contents.put(merged, merged);
+				} else {
+					int segmentLengh = getRegion(segment).getLength();
+					int totalLength = 0;
+					for (int i = 1; i < conflicting.size(); i++)
+						totalLength += getRegion(conflicting.get(i)).getLength();
+					if (segmentLengh >= totalLength)
+						removeAll(conflicting);
+					if (segmentLengh > totalLength) {
+						trace(segment);
+						contents.put(segment, segment);
+					}
+					handleConflict(conflicting, null);
+				}
+			} catch (ConflictingRegionsException e) {
+				throw e;
+			} catch (Exception e) {
+				handleConflict(conflicting, e);
+			}
+		}
+	}
+
+	/**
+	 * Removes the given conflicting segments. The first element is the new segment, which is not contained.
+	 */
+	private void removeAll(List<T> conflicting) {
+		for (int i = 1; i < conflicting.size(); i++)
+			contents.remove(conflicting.get(i));
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return Iterators.unmodifiableIterator(contents.keySet().iterator());
+	}
+
+	@Override
+	public Iterator<T> iteratorAfter(T segment) {
+		if (!contents.containsKey(segment)) {
+			return Collections.emptyIterator();
+		}
+		return Iterators.unmodifiableIterator(contents.tailMap(segment, false).keySet().iterator());
+	}
+
+	@Override
+	public Iterable<T> reverseIterable() {
+		NavigableMap<T, T> descending = contents.descendingMap();
+		return new Iterable<T>() {
+			@Override
+			public Iterator<T> iterator() {
+				return Iterators.unmodifiableIterator(descending.keySet().iterator());
+			}
+		};
+	}
+
+	protected void replaceExistingEntry(T segment, T existing, IMerger<T> merger)
+			throws ConflictingRegionsException, RegionTraceMissingException {
+		List<T> conflicting = ImmutableList.of(segment, existing);
+		try {
+			T merged = merger != null ? merger.merge(conflicting) : null;
+			contents.remove(existing);
+			if (merged != null) {
+				trace(merged);
+				contents.put(merged, merged);
+			} else {
+				handleConflict(conflicting, null);
+			}
+		} catch (ConflictingRegionsException e) {
+			throw e;
+		} catch (Exception e) {
+			handleConflict(conflicting, e);
+		}
+	}
+
+}
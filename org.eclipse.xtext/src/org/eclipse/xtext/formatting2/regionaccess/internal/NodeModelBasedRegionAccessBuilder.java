@@ -163,7 +163,7 @@ public class NodeModelBasedRegionAccessBuilder {
 				Action action = (Action) grammarElement;
 				if (feature.equals(action.getFeature()))
 					return grammarElement;
-				else if (current == node && current instanceof ICompositeNode) {
+				else if (current.equals(node) && current instanceof ICompositeNode) {
 					INode child = ((ICompositeNode) current).getFirstChild();
 					while (child instanceof ICompositeNode) {
 						EObject grammarElement2 = child.getGrammarElement();
@@ -8,12 +8,22 @@
  *******************************************************************************/
 package org.eclipse.xtext.generator;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.StandardCopyOption;
 
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtext.util.RuntimeIOException;
 
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import com.google.common.io.Files;
+
 /**
  * Abstract base class for file system access supporting {@link IFileSystemAccess2}.
  *
@@ -88,4 +98,41 @@ public abstract class AbstractFileSystemAccess2 extends AbstractFileSystemAccess
 		}
 	}
 
+	/**
+	 * Streams the content into a temporary file next to the target file and moves it to the target afterwards. The
+	 * target is not modified if the content fails or if {@code skipUnchanged} is {@code true} and the target has the
+	 * same content hash.
+	 * 
+	 * @return {@code false} if the target was unchanged and has not been written.
+	 * @since 2.25
+	 */
+	protected boolean writeFile(File target, BinaryContent content, boolean skipUnchanged) throws IOException {
+		File parent = target.getAbsoluteFile().getParentFile();
+		parent.mkdirs();
+		File tmpFile = File.createTempFile(target.getName(), ".tmp", parent);
+		try {
+			HashingOutputStream out = new HashingOutputStream(Hashing.murmur3_128(),
+					new BufferedOutputStream(new FileOutputStream(tmpFile)));
+			try {
+				content.writeTo(out);
+			} finally {
+				out.close();
+			}
+			HashCode hash = out.hash();
+			if (skipUnchanged && target.isFile() && target.length() == tmpFile.length()
+					&& Files.asByteSource(target).hash(Hashing.murmur3_128()).equals(hash)) {
+				return false;
+			}
+			try {
+				java.nio.file.Files.move(tmpFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				java.nio.file.Files.move(tmpFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			return true;
+		} finally {
+			tmpFile.delete();
+		}
+	}
+
 }
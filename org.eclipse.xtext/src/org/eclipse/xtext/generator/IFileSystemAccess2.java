@@ -8,8 +8,18 @@
  *******************************************************************************/
 package org.eclipse.xtext.generator;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
 import org.eclipse.xtext.util.RuntimeIOException;
 
+import com.google.common.annotations.Beta;
+import com.google.common.io.ByteStreams;
+
 /**
  * Abstraction for file system operations with the added value of a logical
  * path mapping (outlet).
@@ -45,5 +55,51 @@ public interface IFileSystemAccess2 extends IFileSystemAccess, IFileSystemAccess
 	 * the path belongs to a directory.
 	 */
 	boolean isFile (String path) throws RuntimeIOException;
-	
+
+	/**
+	 * Binary content that is written to a stream.
+	 * 
+	 * @since 2.25
+	 */
+	@Beta
+	@FunctionalInterface
+	interface BinaryContent {
+		/**
+		 * Writes the content to the given stream. The stream may be closed by the content.
+		 */
+		void writeTo(OutputStream out) throws IOException;
+	}
+
+	/**
+	 * Writes binary data to disk that is streamed by the given content. If the content fails, the file is not
+	 * modified. If {@code skipUnchanged} is {@code true} and the file exists with the same content, it is not touched.
+	 * 
+	 * The default implementation buffers the content and delegates to
+	 * {@link #generateFile(String, String, InputStream)}. Implementations should override this method to write the
+	 * file directly.
+	 * 
+	 * @return {@code false} if the file was unchanged and has not been written.
+	 * @since 2.25
+	 */
+	@Beta
+	default boolean generateFile(String fileName, String outputConfigurationName, BinaryContent content,
+			boolean skipUnchanged) throws RuntimeIOException {
+		try {
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			content.writeTo(buffer);
+			byte[] bytes = buffer.toByteArray();
+			if (skipUnchanged && isFile(fileName, outputConfigurationName)) {
+				try (InputStream existing = readBinaryFile(fileName, outputConfigurationName)) {
+					if (Arrays.equals(bytes, ByteStreams.toByteArray(existing))) {
+						return false;
+					}
+				}
+			}
+			generateFile(fileName, outputConfigurationName, new ByteArrayInputStream(bytes));
+			return true;
+		} catch (IOException e) {
+			throw new RuntimeIOException(e);
+		}
+	}
+
 }
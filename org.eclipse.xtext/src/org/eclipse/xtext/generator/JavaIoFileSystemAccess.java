@@ -236,6 +236,27 @@ public class JavaIoFileSystemAccess extends AbstractFileSystemAccess2 {
 		}
 	}
 
+	/**
+	 * @since 2.25
+	 */
+	@Override
+	public boolean generateFile(String fileName, String outputCfgName, BinaryContent content, boolean skipUnchanged)
+			throws RuntimeIOException {
+		File file = getFile(fileName, outputCfgName);
+		if (!getOutputConfig(outputCfgName).isOverrideExistingResources() && file.exists()) {
+			return false;
+		}
+		try {
+			createFolder(file.getParentFile());
+			boolean written = writeFile(file, content, skipUnchanged);
+			if (written && callBack != null)
+				callBack.fileAdded(file);
+			return written;
+		} catch (IOException e) {
+			throw new RuntimeIOException(e);
+		}
+	}
+
 	/**
 	 * @since 2.4
 	 */
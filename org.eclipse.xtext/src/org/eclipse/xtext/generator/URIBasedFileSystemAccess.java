@@ -16,6 +16,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
 import java.util.Collections;
 
 import org.eclipse.emf.common.util.URI;
@@ -45,6 +46,21 @@ public class URIBasedFileSystemAccess extends AbstractFileSystemAccess2 {
 
 	public interface BeforeWrite {
 		InputStream beforeWrite(URI changed, String outputCfgName, InputStream in);
+
+		/**
+		 * Invoked before streamed binary content is written. The default implementation buffers the whole content in
+		 * memory to pass it to {@link #beforeWrite(URI, String, InputStream)}. Implementations that do not transform
+		 * the content should override this method and return the given content, so it is streamed to the file.
+		 * 
+		 * @since 2.25
+		 */
+		default BinaryContent beforeWrite(URI changed, String outputCfgName, BinaryContent content)
+				throws IOException {
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			content.writeTo(buffer);
+			InputStream result = beforeWrite(changed, outputCfgName, new ByteArrayInputStream(buffer.toByteArray()));
+			return out -> ByteStreams.copy(result, out);
+		}
 	}
 
 	public interface BeforeRead {
@@ -58,7 +74,17 @@ public class URIBasedFileSystemAccess extends AbstractFileSystemAccess2 {
 	private TraceRegionSerializer traceRegionSerializer;
 	private TraceFileNameProvider traceFileNameProvider;
 	private URIBasedFileSystemAccess.BeforeDelete beforeDelete = (uri) -> true;
-	private URIBasedFileSystemAccess.BeforeWrite beforeWrite = (uri, string, stream) -> stream;
+	private URIBasedFileSystemAccess.BeforeWrite beforeWrite = new URIBasedFileSystemAccess.BeforeWrite() {
+		@Override
+		public InputStream beforeWrite(URI changed, String outputCfgName, InputStream in) {
+			return in;
+		}
+
+		@Override
+		public BinaryContent beforeWrite(URI changed, String outputCfgName, BinaryContent content) {
+			return content;
+		}
+	};
 	private URIBasedFileSystemAccess.BeforeRead beforeRead = (uri, stream) -> stream;
 
 	@Override
@@ -126,6 +152,39 @@ public class URIBasedFileSystemAccess extends AbstractFileSystemAccess2 {
 		}
 	}
 
+	/**
+	 * Streams local files directly to disk. Other files are buffered.
+	 * 
+	 * @since 2.25
+	 */
+	@Override
+	public boolean generateFile(String fileName, String outputCfgName, BinaryContent content, boolean skipUnchanged)
+			throws RuntimeIOException {
+		try {
+			URI uri = getURI(fileName, outputCfgName);
+			BinaryContent toWrite = beforeWrite.beforeWrite(uri, outputCfgName, content);
+			URI normalized = converter.normalize(uri);
+			if (normalized.isFile()) {
+				return writeFile(new File(normalized.toFileString()), toWrite, skipUnchanged);
+			}
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			toWrite.writeTo(buffer);
+			if (skipUnchanged && converter.exists(uri, Collections.emptyMap())) {
+				try (InputStream existing = converter.createInputStream(uri)) {
+					if (Arrays.equals(buffer.toByteArray(), ByteStreams.toByteArray(existing))) {
+						return false;
+					}
+				}
+			}
+			try (OutputStream out = converter.createOutputStream(uri)) {
+				buffer.writeTo(out);
+			}
+			return true;
+		} catch (IOException t) {
+			throw new RuntimeIOException(t);
+		}
+	}
+
 	@Override
 	public InputStream readBinaryFile(String fileName, String outputCfgName) throws RuntimeIOException {
 		try {
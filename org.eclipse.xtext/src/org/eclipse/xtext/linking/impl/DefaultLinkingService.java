@@ -98,23 +98,17 @@ public class DefaultLinkingService extends AbstractLinkingService {
 		if (requiredType == null) {
 			return Collections.<EObject>emptyList();
 		}
-		final String crossRefString = getCrossRefNodeAsString(node);
-		if (crossRefString == null || crossRefString.equals("")) {
+		final QualifiedName qualifiedLinkName = getLinkName(node);
+		if (qualifiedLinkName == null) {
 			return Collections.<EObject>emptyList();
 		}
 		if (logger.isDebugEnabled()) {
-			logger.debug("before getLinkedObjects: node: '" + crossRefString + "'");
-		}
-		final IScope scope = getScope(context, ref);
-		if (scope == null) {
-			throw new AssertionError(
-					"Scope provider " + scopeProvider.getClass().getName() + " must not return null for context "
-							+ context + ", reference " + ref + "! Consider to return IScope.NULLSCOPE instead.");
+			logger.debug("before getLinkedObjects: node: '" + qualifiedLinkName + "'");
 		}
-		final QualifiedName qualifiedLinkName = qualifiedNameConverter.toQualifiedName(crossRefString);
+		final IScope scope = getLinkingScope(context, ref);
 		final IEObjectDescription eObjectDescription = scope.getSingleElement(qualifiedLinkName);
 		if (logger.isDebugEnabled()) {
-			logger.debug("after getLinkedObjects: node: '" + crossRefString + "' result: " + eObjectDescription);
+			logger.debug("after getLinkedObjects: node: '" + qualifiedLinkName + "' result: " + eObjectDescription);
 		}
 		if (eObjectDescription == null) {
 			return Collections.emptyList();
@@ -123,6 +117,37 @@ public class DefaultLinkingService extends AbstractLinkingService {
 		return Collections.singletonList(result);
 	}
 	
+	/**
+	 * Returns the scope that is used to link the cross references of the given reference of the context object. Names
+	 * that are looked up in the scope are recorded as imported names of the context's resource.
+	 * 
+	 * @throws AssertionError if the scope provider returns <code>null</code>.
+	 * @since 2.25
+	 */
+	public IScope getLinkingScope(EObject context, EReference ref) {
+		IScope scope = getScope(context, ref);
+		if (scope == null) {
+			throw new AssertionError(
+					"Scope provider " + scopeProvider.getClass().getName() + " must not return null for context "
+							+ context + ", reference " + ref + "! Consider to return IScope.NULLSCOPE instead.");
+		}
+		return scope;
+	}
+
+	/**
+	 * Returns the name that the given cross reference node links to, or <code>null</code> if the node does not
+	 * contain a name.
+	 * 
+	 * @since 2.25
+	 */
+	public QualifiedName getLinkName(INode node) throws IllegalNodeException {
+		String crossRefString = getCrossRefNodeAsString(node);
+		if (crossRefString == null || crossRefString.equals("")) {
+			return null;
+		}
+		return qualifiedNameConverter.toQualifiedName(crossRefString);
+	}
+
 	public String getCrossRefNodeAsString(INode node) throws IllegalNodeException {
 		return linkingHelper.getCrossRefNodeAsString(node, true);
 	}
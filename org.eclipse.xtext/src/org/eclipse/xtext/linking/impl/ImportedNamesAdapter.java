@@ -8,6 +8,7 @@
  *******************************************************************************/
 package org.eclipse.xtext.linking.impl;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
@@ -112,7 +113,11 @@ public class ImportedNamesAdapter extends AdapterImpl implements IScopeWrapper {
 		}
 	}
 
-	private Set<QualifiedName> importedNames = new HashSet<QualifiedName>();
+	/**
+	 * Synchronized since names may be looked up concurrently, see
+	 * {@link org.eclipse.xtext.linking.lazy.LazyLinkingResource#PARALLEL_CROSS_REFERENCE_RESOLUTION}.
+	 */
+	private Set<QualifiedName> importedNames = Collections.synchronizedSet(new HashSet<QualifiedName>());
 	
 	public Set<QualifiedName> getImportedNames() {
 		return importedNames;
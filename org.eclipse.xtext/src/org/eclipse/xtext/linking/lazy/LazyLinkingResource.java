@@ -19,6 +19,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import javax.inject.Named;
 
@@ -39,15 +40,23 @@ import org.eclipse.xtext.diagnostics.ExceptionDiagnostic;
 import org.eclipse.xtext.linking.ILinkingDiagnosticMessageProvider;
 import org.eclipse.xtext.linking.ILinkingDiagnosticMessageProvider.ILinkingDiagnosticContext;
 import org.eclipse.xtext.linking.ILinkingService;
+import org.eclipse.xtext.linking.impl.DefaultLinkingService;
 import org.eclipse.xtext.linking.impl.IllegalNodeException;
 import org.eclipse.xtext.linking.impl.LinkingHelper;
 import org.eclipse.xtext.linking.impl.XtextLinkingDiagnostic;
+import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.scoping.IScope;
+import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.Triple;
+import org.eclipse.xtext.util.concurrent.ParallelBatch;
 import org.eclipse.xtext.util.Tuples;
 
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
@@ -81,12 +90,56 @@ public class LazyLinkingResource extends XtextResource {
 	 */
 	public static final String UNRESOLVEABLE_PROXIES_KEY = "UNRESOLVEABLE_PROXIES";
 
+	/**
+	 * The cache key for a Map of uri fragments to their decoded lazy proxy information.
+	 * @since 2.25
+	 */
+	public static final String DECODED_PROXIES_KEY = "DECODED_PROXIES";
+
 	/**
 	 * Determines the limit that is used to switch from a counter to a set to detect cyclic linking.
 	 * @since 2.16
 	 */
 	public static final String CYCLIC_LINKING_DECTECTION_COUNTER_LIMIT = "CYCLIC_LINKING_DECTECTION_COUNTER_LIMIT";
 
+	/**
+	 * Bind to <code>true</code> to let {@link #resolveLazyCrossReferences(CancelIndicator)} look up the names of all
+	 * lazy cross references of the resource in parallel on the {@link #PARALLEL_CROSS_REFERENCE_RESOLUTION_EXECUTOR
+	 * executor}. The scopes are still computed on the calling thread, so they have to support concurrent lookups.
+	 * 
+	 * @see #resolveLazyCrossReferencesInParallel(CancelIndicator)
+	 * @since 2.25
+	 */
+	public static final String PARALLEL_CROSS_REFERENCE_RESOLUTION = "org.eclipse.xtext.linking.lazy.LazyLinkingResource.parallelCrossReferenceResolution";
+
+	/**
+	 * Bind an {@link ExecutorService} to run the {@link #PARALLEL_CROSS_REFERENCE_RESOLUTION parallel cross reference
+	 * resolution} on. Without it, the cross references are resolved sequentially.
+	 * 
+	 * @since 2.25
+	 */
+	public static final String PARALLEL_CROSS_REFERENCE_RESOLUTION_EXECUTOR = "org.eclipse.xtext.linking.lazy.LazyLinkingResource.parallelCrossReferenceResolutionExecutor";
+
+	/**
+	 * The parallel resolution looks up the names like
+	 * {@link DefaultLinkingService#getLinkedObjects(EObject, EReference, INode)}, so it is only used for linking
+	 * services that do not override that method.
+	 */
+	private static final ClassValue<Boolean> PARALLEL_LOOK_UP_SUPPORT = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			if (!DefaultLinkingService.class.isAssignableFrom(type)) {
+				return false;
+			}
+			try {
+				return type.getMethod("getLinkedObjects", EObject.class, EReference.class, INode.class)
+						.getDeclaringClass() == DefaultLinkingService.class;
+			} catch (NoSuchMethodException e) {
+				return false;
+			}
+		}
+	};
+
 	@Inject
 	private ILinkingService linkingService;
 
@@ -110,6 +163,14 @@ public class LazyLinkingResource extends XtextResource {
 
 	private int cyclicLinkingDetectionCounter = 0;
 
+	@Named(PARALLEL_CROSS_REFERENCE_RESOLUTION)
+	@Inject(optional=true)
+	private boolean parallelCrossReferenceResolution = false;
+
+	@Named(PARALLEL_CROSS_REFERENCE_RESOLUTION_EXECUTOR)
+	@Inject(optional=true)
+	private ExecutorService parallelCrossReferenceResolutionExecutor;
+
 	@Override
 	protected void doLoad(InputStream inputStream, Map<?, ?> options) throws IOException {
 		super.doLoad(inputStream, options);
@@ -137,6 +198,12 @@ public class LazyLinkingResource extends XtextResource {
 	 */
 	public void resolveLazyCrossReferences(final CancelIndicator mon) {
 		final CancelIndicator monitor = mon == null ? CancelIndicator.NullImpl : mon;
+		// parallel lookups may resolve further proxies by means of the synchronized getEObject
+		if (isParallelCrossReferenceResolution() && getParallelCrossReferenceResolutionExecutor() != null
+				&& PARALLEL_LOOK_UP_SUPPORT.get(getLinkingService().getClass()) && !Thread.holdsLock(this)) {
+			resolveLazyCrossReferencesInParallel(monitor);
+			return;
+		}
 		TreeIterator<Object> iterator = EcoreUtil.getAllContents(this, true);
 		while (iterator.hasNext()) {
 			operationCanceledManager.checkCanceled(monitor);
@@ -152,6 +219,242 @@ public class LazyLinkingResource extends XtextResource {
 		}
 	}
 
+	/**
+	 * Resolves the lazy cross references of this resource like {@link #resolveLazyCrossReferences(CancelIndicator)}
+	 * but looks up their names in parallel:
+	 * <ol>
+	 * <li>All lazy proxies are collected.</li>
+	 * <li>The scope is computed once per source object and reference, and the link texts are converted to names. This
+	 * is done on the calling thread since scope providers are not expected to be thread-safe.</li>
+	 * <li>The names are looked up in their scopes in parallel on the
+	 * {@link #getParallelCrossReferenceResolutionExecutor() executor}. The calling thread takes part in the
+	 * lookups.</li>
+	 * <li>The results are applied to the model on the calling thread in the order of the proxies. Unresolvable proxies
+	 * yield the same diagnostics as before.</li>
+	 * </ol>
+	 * Proxies whose scope or lookup fails, e.g. due to cyclic resolution, are resolved sequentially by means of
+	 * {@link #getEObject(String)} in the last phase. Scopes that resolve further proxies of this resource during a lookup
+	 * do so by means of {@link #getEObject(String)}, too, so cyclic linking is still detected.
+	 * 
+	 * It is only used if the linking service is a {@link DefaultLinkingService} that does not override
+	 * {@link DefaultLinkingService#getLinkedObjects(EObject, EReference, INode) getLinkedObjects}.
+	 * Only {@link #isPotentialLazyCrossReference(EStructuralFeature)} is consulted, the hooks
+	 * {@link #resolveLazyCrossReference(InternalEObject, EStructuralFeature)} and
+	 * {@link #doResolveLazyCrossReference(InternalEObject, EStructuralFeature)} are not used.
+	 * 
+	 * @see #PARALLEL_CROSS_REFERENCE_RESOLUTION
+	 * @since 2.25
+	 */
+	protected void resolveLazyCrossReferencesInParallel(final CancelIndicator monitor) {
+		DefaultLinkingService linkingService = (DefaultLinkingService) getLinkingService();
+		List<LazyProxy> proxies = newArrayList();
+		synchronized (this) {
+			TreeIterator<Object> iterator = EcoreUtil.getAllContents(this, true);
+			while (iterator.hasNext()) {
+				operationCanceledManager.checkCanceled(monitor);
+				InternalEObject source = (InternalEObject) iterator.next();
+				EStructuralFeature[] eStructuralFeatures = ((EClassImpl.FeatureSubsetSupplier) source.eClass()
+						.getEAllStructuralFeatures()).crossReferences();
+				if (eStructuralFeatures != null) {
+					for (EStructuralFeature crossRef : eStructuralFeatures) {
+						if (isPotentialLazyCrossReference(crossRef)) {
+							int first = proxies.size();
+							collectLazyProxies(source, (EReference) crossRef, proxies);
+							if (proxies.size() > first) {
+								operationCanceledManager.checkCanceled(monitor);
+								prepareLookUp(linkingService, proxies.subList(first, proxies.size()));
+							}
+						}
+					}
+				}
+			}
+		}
+		ExecutorService executor = getParallelCrossReferenceResolutionExecutor();
+		ParallelBatch.execute(proxies, proxy -> {
+			operationCanceledManager.checkCanceled(monitor);
+			proxy.lookUp(operationCanceledManager);
+			return null;
+		}, executor, ParallelBatch.getParallelism(executor));
+		synchronized (this) {
+			for (LazyProxy proxy : proxies) {
+				operationCanceledManager.checkCanceled(monitor);
+				EObject target;
+				if (proxy.resolveSequentially) {
+					target = getEObject(proxy.fragment);
+				} else {
+					target = toLinkTarget(proxy.fragment, proxy.triple, proxy.linkedObjects);
+				}
+				if (target != null) {
+					proxy.resolve(target);
+				}
+			}
+		}
+	}
+
+	private void collectLazyProxies(InternalEObject source, EReference crossRef, List<LazyProxy> result) {
+		if (crossRef.isMany()) {
+			@SuppressWarnings("unchecked")
+			InternalEList<EObject> list = (InternalEList<EObject>) source.eGet(crossRef);
+			for (int i = 0; i < list.size(); i++) {
+				collectLazyProxy(source, crossRef, i, list.basicGet(i), result);
+			}
+		} else {
+			collectLazyProxy(source, crossRef, -1, (EObject) source.eGet(crossRef, false), result);
+		}
+	}
+
+	private void collectLazyProxy(InternalEObject source, EReference crossRef, int index, EObject proxy,
+			List<LazyProxy> result) {
+		if (proxy != null && proxy.eIsProxy()) {
+			URI proxyURI = ((InternalEObject) proxy).eProxyURI();
+			if (getURI().equals(proxyURI.trimFragment())) {
+				String fragment = proxyURI.fragment();
+				if (getEncoder().isCrossLinkFragment(this, fragment)
+						&& !getUnresolvableURIFragments().contains(fragment)) {
+					LazyProxy lazyProxy = new LazyProxy(source, crossRef, index, proxy, fragment);
+					try {
+						lazyProxy.triple = decodeLazyProxy(fragment);
+					} catch (RuntimeException e) {
+						operationCanceledManager.propagateIfCancelException(e);
+						lazyProxy.resolveSequentially = true;
+					}
+					result.add(lazyProxy);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes the scope for lazy proxies of the same source and reference and converts their link texts to names. The
+	 * scope is computed on behalf of the first proxy, so resolving that proxy again while the scope is computed is
+	 * detected as cyclic linking.
+	 */
+	private void prepareLookUp(DefaultLinkingService linkingService, List<LazyProxy> proxies) {
+		IScope scope = null;
+		Triple<EObject, EReference, INode> triple = null;
+		for (LazyProxy proxy : proxies) {
+			if (!proxy.resolveSequentially) {
+				triple = proxy.triple;
+				break;
+			}
+		}
+		if (triple != null && triple.getSecond().getEReferenceType() != null) {
+			cyclicLinkingDetectionCounter++;
+			boolean detectCycles = cyclicLinkingDetectionCounter > cyclicLinkingDectectionCounterLimit;
+			boolean added = detectCycles && resolving.add(triple);
+			try {
+				if (!detectCycles || added) {
+					scope = linkingService.getLinkingScope(triple.getFirst(), triple.getSecond());
+				}
+			} catch (RuntimeException | CyclicLinkingException e) {
+				operationCanceledManager.propagateIfCancelException(e);
+			} finally {
+				if (added) {
+					resolving.remove(triple);
+				}
+				cyclicLinkingDetectionCounter--;
+			}
+		}
+		for (LazyProxy proxy : proxies) {
+			if (scope == null) {
+				proxy.resolveSequentially = true;
+			} else if (!proxy.resolveSequentially) {
+				try {
+					proxy.scope = scope;
+					proxy.name = linkingService.getLinkName(proxy.triple.getThird());
+				} catch (RuntimeException e) {
+					operationCanceledManager.propagateIfCancelException(e);
+					proxy.resolveSequentially = true;
+				}
+			}
+		}
+	}
+
+	/**
+	 * A lazy proxy that is resolved by {@link LazyLinkingResource#resolveLazyCrossReferencesInParallel(CancelIndicator)}.
+	 */
+	private static class LazyProxy {
+
+		private final InternalEObject source;
+
+		private final EReference reference;
+
+		/**
+		 * The index of the proxy in a many-valued reference or -1.
+		 */
+		private final int index;
+
+		private final EObject proxy;
+
+		private final String fragment;
+
+		private Triple<EObject, EReference, INode> triple;
+
+		private IScope scope;
+
+		/**
+		 * The name to look up or <code>null</code> if the node does not contain a name.
+		 */
+		private QualifiedName name;
+
+		private List<EObject> linkedObjects;
+
+		/**
+		 * Whether the proxy has to be resolved by means of {@link LazyLinkingResource#getEObject(String)}.
+		 */
+		private volatile boolean resolveSequentially;
+
+		private LazyProxy(InternalEObject source, EReference reference, int index, EObject proxy, String fragment) {
+			this.source = source;
+			this.reference = reference;
+			this.index = index;
+			this.proxy = proxy;
+			this.fragment = fragment;
+		}
+
+		private void lookUp(OperationCanceledManager operationCanceledManager) {
+			if (resolveSequentially) {
+				return;
+			}
+			if (name == null) {
+				linkedObjects = Collections.emptyList();
+				return;
+			}
+			try {
+				IEObjectDescription description = scope.getSingleElement(name);
+				if (description == null) {
+					linkedObjects = Collections.emptyList();
+				} else {
+					linkedObjects = Collections.singletonList(description.getEObjectOrProxy());
+				}
+			} catch (RuntimeException | CyclicLinkingException e) {
+				operationCanceledManager.propagateIfCancelException(e);
+				resolveSequentially = true;
+			}
+		}
+
+		/**
+		 * Replaces the proxy with the given target unless it was already resolved in the meantime.
+		 */
+		private void resolve(EObject target) {
+			try {
+				source.eSetDeliver(false);
+				if (index >= 0) {
+					@SuppressWarnings("unchecked")
+					InternalEList<EObject> list = (InternalEList<EObject>) source.eGet(reference);
+					if (index < list.size() && list.basicGet(index) == proxy) {
+						list.setUnique(index, target);
+					}
+				} else if (source.eGet(reference, false) == proxy) {
+					source.eSet(reference, target);
+				}
+			} finally {
+				source.eSetDeliver(true);
+			}
+		}
+
+	}
+
 	/**
 	 * If the given {@code crossRef} may hold lazy linking proxies, they are attempted to be resolved. 
 	 * @since 2.4
@@ -233,7 +536,7 @@ public class LazyLinkingResource extends XtextResource {
 	public synchronized EObject getEObject(String uriFragment) {
 		try {
 			if (getEncoder().isCrossLinkFragment(this, uriFragment)) {
-				Triple<EObject, EReference, INode> triple = getEncoder().decode(this, uriFragment);
+				Triple<EObject, EReference, INode> triple = decodeLazyProxy(uriFragment);
 				return getEObject(uriFragment, triple);
 			}
 		} catch (RuntimeException e) {
@@ -261,36 +564,12 @@ public class LazyLinkingResource extends XtextResource {
 			Set<String> unresolveableProxies = getUnresolvableURIFragments();
 			if (unresolveableProxies.contains(uriFragment))
 				return null;
-			EReference reference = triple.getSecond();
 			try {
 				List<EObject> linkedObjects = getLinkingService().getLinkedObjects(
 						triple.getFirst(), 
-						reference,
+						triple.getSecond(),
 						triple.getThird());
-	
-				if (linkedObjects.isEmpty()) {
-					if (isUnresolveableProxyCacheable(triple))
-						unresolveableProxies.add(uriFragment);
-					createAndAddDiagnostic(triple);
-					return null;
-				}
-				if (linkedObjects.size() > 1)
-					throw new IllegalStateException("linkingService returned more than one object for fragment "
-							+ uriFragment);
-				EObject result = linkedObjects.get(0);
-				if (!EcoreUtil2.isAssignableFrom(reference.getEReferenceType(), result.eClass())) {
-					log.error("An element of type " + result.getClass().getName()
-							+ " is not assignable to the reference " + reference.getEContainingClass().getName()
-							+ "." + reference.getName());
-					if (isUnresolveableProxyCacheable(triple))
-						unresolveableProxies.add(uriFragment);
-					createAndAddDiagnostic(triple);
-					return null;
-				}
-				// remove previously added error markers, since everything should be fine now
-				unresolveableProxies.remove(uriFragment);
-				removeDiagnostic(triple);
-				return result;
+				return toLinkTarget(uriFragment, triple, linkedObjects);
 			} catch (CyclicLinkingException e) {
 				if (e.triple.equals(triple)) {
 					log.error(e.getMessage(), e);
@@ -313,6 +592,38 @@ public class LazyLinkingResource extends XtextResource {
 		}
 	}
 
+	/**
+	 * Validates the objects that the linking service returned for the given lazy proxy and updates the unresolvable
+	 * fragments and the diagnostics accordingly. Returns the target of the proxy or <code>null</code>.
+	 */
+	private EObject toLinkTarget(String uriFragment, Triple<EObject, EReference, INode> triple, List<EObject> linkedObjects) {
+		Set<String> unresolveableProxies = getUnresolvableURIFragments();
+		EReference reference = triple.getSecond();
+		if (linkedObjects.isEmpty()) {
+			if (isUnresolveableProxyCacheable(triple))
+				unresolveableProxies.add(uriFragment);
+			createAndAddDiagnostic(triple);
+			return null;
+		}
+		if (linkedObjects.size() > 1)
+			throw new IllegalStateException("linkingService returned more than one object for fragment "
+					+ uriFragment);
+		EObject result = linkedObjects.get(0);
+		if (!EcoreUtil2.isAssignableFrom(reference.getEReferenceType(), result.eClass())) {
+			log.error("An element of type " + result.getClass().getName()
+					+ " is not assignable to the reference " + reference.getEContainingClass().getName()
+					+ "." + reference.getName());
+			if (isUnresolveableProxyCacheable(triple))
+				unresolveableProxies.add(uriFragment);
+			createAndAddDiagnostic(triple);
+			return null;
+		}
+		// remove previously added error markers, since everything should be fine now
+		unresolveableProxies.remove(uriFragment);
+		removeDiagnostic(triple);
+		return result;
+	}
+
 	/**
 	 * @since 2.1
 	 */
@@ -455,6 +766,22 @@ public class LazyLinkingResource extends XtextResource {
 		return encoder;
 	}
 
+	/**
+	 * @see #PARALLEL_CROSS_REFERENCE_RESOLUTION
+	 * @since 2.25
+	 */
+	protected boolean isParallelCrossReferenceResolution() {
+		return parallelCrossReferenceResolution;
+	}
+
+	/**
+	 * @see #PARALLEL_CROSS_REFERENCE_RESOLUTION_EXECUTOR
+	 * @since 2.25
+	 */
+	protected ExecutorService getParallelCrossReferenceResolutionExecutor() {
+		return parallelCrossReferenceResolutionExecutor;
+	}
+
 	public void setEagerLinking(boolean eagerLinking) {
 		this.eagerLinking = eagerLinking;
 	}
@@ -492,6 +819,40 @@ public class LazyLinkingResource extends XtextResource {
 		getUnresolvableURIFragments().add(proxyURI.fragment());
 	}
 	
+	/**
+	 * Decodes the given cross link fragment. Decoded fragments are cached until the resource is changed, unless the
+	 * fragments are {@link LazyURIEncoder#isUseIndexFragment(org.eclipse.emf.ecore.resource.Resource) indexes} that can be
+	 * looked up directly.
+	 * 
+	 * @since 2.25
+	 */
+	protected Triple<EObject, EReference, INode> decodeLazyProxy(String uriFragment) {
+		if (getEncoder().isUseIndexFragment(this)) {
+			return getEncoder().decode(this, uriFragment);
+		}
+		Map<String, Triple<EObject, EReference, INode>> decodedProxies = getCache().get(DECODED_PROXIES_KEY, this,
+				new Provider<Map<String, Triple<EObject, EReference, INode>>>() {
+					@Override
+					public Map<String, Triple<EObject, EReference, INode>> get() {
+						return Maps.newHashMap();
+					}
+				});
+		Triple<EObject, EReference, INode> result = decodedProxies.get(uriFragment);
+		if (result == null || !isAttached(result)) {
+			result = getEncoder().decode(this, uriFragment);
+			decodedProxies.put(uriFragment, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Node models may be detached or replaced without a notification to the resource.
+	 */
+	private boolean isAttached(Triple<EObject, EReference, INode> decoded) {
+		INode node = NodeModelUtils.getNode(decoded.getFirst());
+		return node != null && node.getRootNode().equals(decoded.getThird().getRootNode());
+	}
+
 	/**
 	 * @since 2.4
 	 */
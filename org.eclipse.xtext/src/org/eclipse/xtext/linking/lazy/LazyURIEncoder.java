@@ -10,6 +10,7 @@
 package org.eclipse.xtext.linking.lazy;
 
 import java.util.List;
+import java.util.Objects;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EClass;
@@ -19,7 +20,6 @@ import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtext.nodemodel.ICompositeNode;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
-import org.eclipse.xtext.util.Strings;
 import org.eclipse.xtext.util.Triple;
 import org.eclipse.xtext.util.Tuples;
 
@@ -54,6 +54,8 @@ public class LazyURIEncoder {
 			
 	@Inject(optional=true) @Named(value=USE_INDEXED_FRAGMENTS_BINDING)
 	private boolean isUseIndexFragment = false;
+
+	private volatile Boolean segmentDecodingOverridden;
 	
 	/**
 	 * @since 2.7
@@ -127,15 +129,67 @@ public class LazyURIEncoder {
 		if (isUseIndexFragment(res)) {
 			return getLazyProxyInformation(res, uriFragment);
 		}
-		List<String> split = Strings.split(uriFragment, SEP);
-		EObject source = resolveShortFragment(res, split.get(1));
-		EReference ref = fromShortExternalForm(source.eClass(), split.get(2));
+		int sourceStart = nextSegment(uriFragment, 0);
+		int referenceStart = nextSegment(uriFragment, sourceStart);
+		int pathStart = nextSegment(uriFragment, referenceStart);
+		boolean decodeSubstrings = isSegmentDecodingOverridden();
+		int sourceEnd = referenceStart - SEP.length();
+		EObject source = decodeSubstrings
+				? resolveShortFragment(res, uriFragment.substring(sourceStart, sourceEnd))
+				: resolveShortFragment(res, uriFragment, sourceStart, sourceEnd);
+		int referenceEnd = pathStart - SEP.length();
+		EReference ref = decodeSubstrings
+				? fromShortExternalForm(source.eClass(), uriFragment.substring(referenceStart, referenceEnd))
+				: fromShortExternalForm(source.eClass(), uriFragment, referenceStart, referenceEnd);
 		INode compositeNode = NodeModelUtils.getNode(source);
 		if (compositeNode==null)
 			throw new IllegalStateException("Couldn't resolve lazy link, because no node model is attached.");
-		INode textNode = getNode(compositeNode, split.get(3));
+		INode textNode = getNode(compositeNode, uriFragment, pathStart, decodeSubstrings);
 		return Tuples.create(source, ref, textNode);
 	}
+
+	/**
+	 * Subclasses may customize the decoding of the segments by means of the public methods that take the segment as a
+	 * string. The segments are only extracted as substrings for them.
+	 */
+	private boolean isSegmentDecodingOverridden() {
+		Boolean result = segmentDecodingOverridden;
+		if (result == null) {
+			result = overrides("resolveShortFragment", Resource.class, String.class)
+					|| overrides("fromShortExternalForm", EClass.class, String.class)
+					|| overrides("getNode", INode.class, String.class);
+			segmentDecodingOverridden = result;
+		}
+		return result;
+	}
+
+	private boolean overrides(String methodName, Class<?>... parameterTypes) {
+		try {
+			return getClass().getMethod(methodName, parameterTypes).getDeclaringClass() != LazyURIEncoder.class;
+		} catch (NoSuchMethodException e) {
+			return true;
+		}
+	}
+
+	private INode getNode(INode compositeNode, String uriFragment, int pathStart, boolean decodeSubstrings) {
+		int pathEnd = segmentEnd(uriFragment, pathStart);
+		if (decodeSubstrings)
+			return getNode(compositeNode, uriFragment.substring(pathStart, pathEnd));
+		return getNode(compositeNode, uriFragment, pathStart, pathEnd);
+	}
+
+	private int nextSegment(String uriFragment, int start) {
+		int separator = uriFragment.indexOf(SEP, start);
+		if (separator < 0) {
+			throw new IllegalArgumentException("Invalid lazy link fragment '" + uriFragment + "'");
+		}
+		return separator + SEP.length();
+	}
+
+	private int segmentEnd(String uriFragment, int start) {
+		int separator = uriFragment.indexOf(SEP, start);
+		return separator < 0 ? uriFragment.length() : separator;
+	}
 	
 	/**
 	 * @since 2.7
@@ -164,16 +218,30 @@ public class LazyURIEncoder {
 	}
 
 	public EObject resolveShortFragment(Resource res, String shortFragment) {
-		List<String> split = Strings.split(shortFragment, '.');
-		int contentsIdx = Integer.parseInt(split.get(0));
+		return resolveShortFragment(res, shortFragment, 0, shortFragment.length());
+	}
+
+	/**
+	 * Resolves the short fragment between the given start and end index of the string without splitting it.
+	 * 
+	 * @since 2.25
+	 */
+	protected EObject resolveShortFragment(Resource res, String string, int start, int end) {
+		int segmentEnd = indexOf(string, '.', start, end);
+		int contentsIdx = parseInt(string, start, segmentEnd);
 		EObject result = res.getContents().get(contentsIdx);
-		int splitIdx = 1;
-		while(splitIdx < split.size()) {
-			int featureId = Integer.parseInt(split.get(splitIdx++));
+		while(segmentEnd < end) {
+			int segmentStart = segmentEnd + 1;
+			segmentEnd = indexOf(string, '.', segmentStart, end);
+			int featureId = parseInt(string, segmentStart, segmentEnd);
 			EReference reference = (EReference) result.eClass().getEStructuralFeature(featureId);
 			if (reference.isMany()) {
 				List<?> list = (List<?>) result.eGet(reference);
-				int listIdx = Integer.parseInt(split.get(splitIdx++));
+				if (segmentEnd >= end)
+					throw new IndexOutOfBoundsException("Missing list index in '" + string.substring(start, end) + "'");
+				segmentStart = segmentEnd + 1;
+				segmentEnd = indexOf(string, '.', segmentStart, end);
+				int listIdx = parseInt(string, segmentStart, segmentEnd);
 				result = (EObject) list.get(listIdx);
 			} else {
 				result = (EObject) result.eGet(reference);
@@ -183,24 +251,59 @@ public class LazyURIEncoder {
 	}
 	
 	public EReference fromShortExternalForm(EClass clazz, String shortForm) {
-		int featureId = Integer.parseInt(shortForm);
+		return fromShortExternalForm(clazz, shortForm, 0, shortForm.length());
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	protected EReference fromShortExternalForm(EClass clazz, String string, int start, int end) {
+		int featureId = parseInt(string, start, end);
 		return (EReference) clazz.getEStructuralFeature(featureId);
 	}
 
+	/**
+	 * Parses the decimal integer between the given start and end index of the string without creating a substring.
+	 */
+	private static int parseInt(String string, int start, int end) {
+		if (start >= end)
+			throw new NumberFormatException("For input string: \"\"");
+		boolean negative = string.charAt(start) == '-';
+		int i = negative ? start + 1 : start;
+		if (i == end || end - i > 9)
+			return Integer.parseInt(string.substring(start, end));
+		int result = 0;
+		for (; i < end; i++) {
+			int digit = string.charAt(i) - '0';
+			if (digit < 0 || digit > 9)
+				throw new NumberFormatException("For input string: \"" + string.substring(start, end) + "\"");
+			result = result * 10 + digit;
+		}
+		return negative ? -result : result;
+	}
+
+	private static int indexOf(String string, char c, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (string.charAt(i) == c)
+				return i;
+		}
+		return end;
+	}
+
 	/**
 	 * ONLY public to be testable
 	 * 
 	 * @noreference This method is not intended to be referenced by clients.
 	 */
 	public void getRelativePath(StringBuilder result, INode parserNode, INode node) {
-		if (parserNode == node)
+		if (Objects.equals(parserNode, node))
 			return;
 		if (isAncestor(parserNode, node)) {
 			ICompositeNode parent = node.getParent();
 			getRelativePath(result, parserNode, parent);
 			int idx = 0;
 			INode child = parent.getFirstChild();
-			while(child != node && child.hasNextSibling()) {
+			while(!child.equals(node) && child.hasNextSibling()) {
 				idx++;
 				child = child.getNextSibling();
 			}
@@ -230,8 +333,8 @@ public class LazyURIEncoder {
 		INode compositeNode = NodeModelUtils.getNode(object);
 		if (compositeNode == null)
 			throw new IllegalStateException("Couldn't resolve lazy link, because no node model is attached.");
-		List<String> split = Strings.split(fragment, LazyURIEncoder.SEP);
-		INode node = getNode(compositeNode, split.get(3));
+		int pathStart = nextSegment(fragment, nextSegment(fragment, nextSegment(fragment, 0)));
+		INode node = getNode(compositeNode, fragment, pathStart, isSegmentDecodingOverridden());
 		return node;
 	}
 
@@ -239,17 +342,32 @@ public class LazyURIEncoder {
 	 * ONLY public to be testable
 	 */
 	public INode getNode(final INode node, String path) {
-		final List<String> split = Strings.split(path, '/');
+		return getNode(node, path, 0, path.length());
+	}
+
+	/**
+	 * Follows the relative path between the given start and end index of the string without splitting it.
+	 * 
+	 * @since 2.25
+	 */
+	protected INode getNode(final INode node, String string, int start, int end) {
 		INode result = node;
-		for (String string : split) {
-			String trimmed = string.trim();
-			if (trimmed.length() > 0) {
-				if ("..".equals(trimmed)) {
+		int segmentStart = start;
+		while (segmentStart < end) {
+			int segmentEnd = indexOf(string, '/', segmentStart, end);
+			int trimmedStart = segmentStart;
+			int trimmedEnd = segmentEnd;
+			while (trimmedStart < trimmedEnd && string.charAt(trimmedStart) <= ' ')
+				trimmedStart++;
+			while (trimmedEnd > trimmedStart && string.charAt(trimmedEnd - 1) <= ' ')
+				trimmedEnd--;
+			if (trimmedStart < trimmedEnd) {
+				if (trimmedEnd - trimmedStart == 2 && string.startsWith("..", trimmedStart)) {
 					if (result.getParent() == null)
 						throw new IllegalStateException("node has no parent");
 					result = result.getParent();
 				} else {
-					int index = Integer.parseInt(string);
+					int index = parseInt(string, segmentStart, segmentEnd);
 					if (index >= 0) {
 						INode child = ((ICompositeNode) result).getFirstChild();
 						while(index > 0) {
@@ -260,6 +378,7 @@ public class LazyURIEncoder {
 					}
 				}
 			}
+			segmentStart = segmentEnd + 1;
 		}
 		return result;
 	}
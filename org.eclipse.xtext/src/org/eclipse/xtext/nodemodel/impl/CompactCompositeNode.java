@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.nodemodel.impl;
+
+import org.eclipse.xtext.nodemodel.BidiIterable;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.nodemodel.util.EmptyBidiIterable;
+import org.eclipse.xtext.nodemodel.util.NodeIterable;
+import org.eclipse.xtext.nodemodel.util.SingletonBidiIterable;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * A view on a composite node of a {@link CompactRootNode compact node model}. Folded grammar elements are exposed as
+ * nested composite nodes just like {@link SyntheticCompositeNode}.
+ *
+ * @since 2.25
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+@Beta
+public class CompactCompositeNode extends CompactNode implements ICompositeNode {
+
+	private final int fold;
+
+	CompactCompositeNode(CompactNodeModel model, int index, int fold) {
+		super(model, index);
+		this.fold = fold;
+	}
+
+	@Override
+	int getFold() {
+		return fold;
+	}
+
+	@Override
+	public BidiIterable<INode> getChildren() {
+		if (hasChildren()) {
+			INode firstChild = getFirstChild();
+			if (firstChild.hasSiblings()) {
+				return new NodeIterable(firstChild);
+			} else {
+				return SingletonBidiIterable.<INode>create(firstChild);
+			}
+		}
+		return EmptyBidiIterable.instance();
+	}
+
+	@Override
+	public boolean hasChildren() {
+		return model.hasChildren(index, fold);
+	}
+
+	@Override
+	public INode getFirstChild() {
+		return model.getNode(model.getFirstChild(index, fold));
+	}
+
+	@Override
+	public INode getLastChild() {
+		return model.getNode(model.getLastChild(index, fold));
+	}
+
+	@Override
+	public int getLookAhead() {
+		return model.getLookAhead(index);
+	}
+
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.nodemodel.impl;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.nodemodel.INode;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * The canonical view on a composite node of a {@link CompactRootNode compact node model} that has a direct semantic
+ * element. Like {@link CompositeNodeWithSemanticElement} it is an adapter of its semantic element.
+ *
+ * @since 2.25
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+@Beta
+public class CompactCompositeNodeWithSemanticElement extends CompactCompositeNode implements Adapter {
+
+	private EObject semanticElement;
+
+	CompactCompositeNodeWithSemanticElement(CompactNodeModel model, int index) {
+		super(model, index, 0);
+	}
+
+	@Override
+	public EObject getSemanticElement() {
+		if (semanticElement != null)
+			return semanticElement;
+		return super.getSemanticElement();
+	}
+
+	EObject basicGetSemanticElement() {
+		return semanticElement;
+	}
+
+	@Override
+	public boolean hasDirectSemanticElement() {
+		return semanticElement != null;
+	}
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		// ignore
+	}
+
+	@Override
+	public Notifier getTarget() {
+		return semanticElement;
+	}
+
+	@Override
+	public void setTarget(Notifier newTarget) {
+		if (newTarget == null || newTarget instanceof EObject)
+			semanticElement = (EObject) newTarget;
+		else
+			throw new IllegalArgumentException("Notifier must be an Eobject");
+	}
+
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return type instanceof Class<?> && INode.class.isAssignableFrom((Class<?>) type);
+	}
+
+}
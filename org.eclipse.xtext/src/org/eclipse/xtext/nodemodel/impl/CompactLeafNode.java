@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.nodemodel.impl;
+
+import java.util.Collections;
+
+import org.eclipse.xtext.nodemodel.ILeafNode;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * A view on a leaf node of a {@link CompactRootNode compact node model}.
+ *
+ * @since 2.25
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+@Beta
+public class CompactLeafNode extends CompactNode implements ILeafNode {
+
+	CompactLeafNode(CompactNodeModel model, int index) {
+		super(model, index);
+	}
+
+	@Override
+	public boolean isHidden() {
+		return model.kinds[index] == CompactNodeModel.HIDDEN_LEAF;
+	}
+
+	@Override
+	public int getOffset() {
+		return getTotalOffset();
+	}
+
+	@Override
+	public int getLength() {
+		return getTotalLength();
+	}
+
+	@Override
+	public int getEndOffset() {
+		return getTotalEndOffset();
+	}
+
+	@Override
+	public Iterable<ILeafNode> getLeafNodes() {
+		return Collections.<ILeafNode>singletonList(this);
+	}
+
+}
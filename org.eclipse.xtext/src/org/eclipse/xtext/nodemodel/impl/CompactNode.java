@@ -0,0 +1,263 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.nodemodel.impl;
+
+import java.util.Iterator;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.nodemodel.BidiTreeIterable;
+import org.eclipse.xtext.nodemodel.BidiTreeIterator;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.ILeafNode;
+import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.nodemodel.SyntaxErrorMessage;
+import org.eclipse.xtext.nodemodel.util.ReversedBidiTreeIterable;
+import org.eclipse.xtext.util.ITextRegion;
+import org.eclipse.xtext.util.ITextRegionWithLineInformation;
+import org.eclipse.xtext.util.TextRegion;
+import org.eclipse.xtext.util.TextRegionWithLineInformation;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.AbstractIterator;
+
+/**
+ * A lightweight view on a node of a {@link CompactRootNode compact node model}. Views are created on demand, so two
+ * views on the same node are {@link #equals(Object) equal} but not necessarily identical. Only the root node and the
+ * nodes with a direct semantic element are canonical.
+ *
+ * @since 2.25
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+@Beta
+public abstract class CompactNode implements INode, BidiTreeIterable<INode> {
+
+	final CompactNodeModel model;
+
+	final int index;
+
+	CompactNode(CompactNodeModel model, int index) {
+		this.model = model;
+		this.index = index;
+	}
+
+	/**
+	 * The index of the folded grammar element that is represented by this view.
+	 */
+	int getFold() {
+		return 0;
+	}
+
+	@Override
+	public ICompositeNode getParent() {
+		return (ICompositeNode) model.getNode(model.getParent(index, getFold()));
+	}
+
+	@Override
+	public boolean hasSiblings() {
+		return hasPreviousSibling() || hasNextSibling();
+	}
+
+	@Override
+	public boolean hasPreviousSibling() {
+		return getFold() == 0 && model.parents[index] != -1 && index != model.parents[index] + 1;
+	}
+
+	@Override
+	public boolean hasNextSibling() {
+		return model.getNextSibling(index, getFold()) != CompactNodeModel.NONE;
+	}
+
+	@Override
+	public INode getPreviousSibling() {
+		return model.getNode(model.getPreviousSibling(index, getFold()));
+	}
+
+	@Override
+	public INode getNextSibling() {
+		return model.getNode(model.getNextSibling(index, getFold()));
+	}
+
+	@Override
+	public ICompositeNode getRootNode() {
+		return model.root;
+	}
+
+	@Override
+	public Iterable<ILeafNode> getLeafNodes() {
+		return new Iterable<ILeafNode>() {
+			@Override
+			public Iterator<ILeafNode> iterator() {
+				return new AbstractIterator<ILeafNode>() {
+					private final int end = model.subtreeEnds[index];
+
+					private int next = index;
+
+					@Override
+					protected ILeafNode computeNext() {
+						while (next < end) {
+							int candidate = next++;
+							if (model.isLeaf(candidate))
+								return new CompactLeafNode(model, candidate);
+						}
+						return endOfData();
+					}
+				};
+			}
+		};
+	}
+
+	@Override
+	public int getTotalOffset() {
+		return model.totalOffsets[index];
+	}
+
+	@Override
+	public int getTotalLength() {
+		return model.totalLengths[index];
+	}
+
+	@Override
+	public int getTotalEndOffset() {
+		return getTotalOffset() + getTotalLength();
+	}
+
+	@Override
+	public int getOffset() {
+		return model.getOffset(index);
+	}
+
+	@Override
+	public int getLength() {
+		int lastLeaf = model.getLastNonHiddenLeaf(index);
+		if (lastLeaf != -1)
+			return model.totalOffsets[lastLeaf] + model.totalLengths[lastLeaf] - getOffset();
+		return getTotalLength();
+	}
+
+	@Override
+	public int getEndOffset() {
+		int lastLeaf = model.getLastNonHiddenLeaf(index);
+		if (lastLeaf != -1)
+			return model.totalOffsets[lastLeaf] + model.totalLengths[lastLeaf];
+		return getTotalEndOffset();
+	}
+
+	@Override
+	public ITextRegion getTextRegion() {
+		int offset = getOffset();
+		int length = getEndOffset() - offset;
+		return new TextRegion(offset, length);
+	}
+
+	@Override
+	public ITextRegion getTotalTextRegion() {
+		return new TextRegion(getTotalOffset(), getTotalLength());
+	}
+
+	@Override
+	public ITextRegionWithLineInformation getTextRegionWithLineInformation() {
+		int offset = getOffset();
+		int length = getEndOffset() - offset;
+		return getTextRegionWithLineInformation(offset, length);
+	}
+
+	@Override
+	public ITextRegionWithLineInformation getTotalTextRegionWithLineInformation() {
+		return getTextRegionWithLineInformation(getTotalOffset(), getTotalLength());
+	}
+
+	private ITextRegionWithLineInformation getTextRegionWithLineInformation(int offset, int length) {
+		int startLine = getLineOfOffset(offset);
+		int endLine = getLineOfOffset(offset + length);
+		return new TextRegionWithLineInformation(offset, length, startLine, endLine);
+	}
+
+	private int getLineOfOffset(int offset) {
+		return InternalNodeModelUtils.getLineAndColumn(model.completeContent, model.lineBreakOffsets, offset).getLine();
+	}
+
+	@Override
+	public int getTotalStartLine() {
+		return getLineOfOffset(getTotalOffset());
+	}
+
+	@Override
+	public int getStartLine() {
+		return getLineOfOffset(getOffset());
+	}
+
+	@Override
+	public int getTotalEndLine() {
+		return getLineOfOffset(getTotalEndOffset());
+	}
+
+	@Override
+	public int getEndLine() {
+		return getLineOfOffset(getEndOffset());
+	}
+
+	@Override
+	public String getText() {
+		int offset = getTotalOffset();
+		return model.completeContent.substring(offset, offset + getTotalLength());
+	}
+
+	@Override
+	public EObject getGrammarElement() {
+		return model.getGrammarElement(index, getFold());
+	}
+
+	@Override
+	public EObject getSemanticElement() {
+		return model.getSemanticElement(index);
+	}
+
+	@Override
+	public boolean hasDirectSemanticElement() {
+		return false;
+	}
+
+	@Override
+	public SyntaxErrorMessage getSyntaxErrorMessage() {
+		if (getFold() != 0)
+			return null;
+		return model.getSyntaxErrorMessage(index);
+	}
+
+	@Override
+	public BidiTreeIterable<INode> getAsTreeIterable() {
+		return this;
+	}
+
+	@Override
+	public BidiTreeIterator<INode> iterator() {
+		return new CompactNodeTreeIterator(this);
+	}
+
+	@Override
+	public BidiTreeIterable<INode> reverse() {
+		return new ReversedBidiTreeIterable<INode>(this);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this)
+			return true;
+		if (!(obj instanceof CompactNode))
+			return false;
+		CompactNode other = (CompactNode) obj;
+		return model == other.model && index == other.index && getFold() == other.getFold();
+	}
+
+	@Override
+	public int hashCode() {
+		return System.identityHashCode(model) ^ (index * 31 + getFold());
+	}
+
+}
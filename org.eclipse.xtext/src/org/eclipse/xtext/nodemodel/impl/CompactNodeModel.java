@@ -0,0 +1,515 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.nodemodel.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.nodemodel.BidiTreeIterator;
+import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.nodemodel.SyntaxErrorMessage;
+
+/**
+ * The storage of a compact node model. All nodes are numbered in pre-order, so the children of a composite node
+ * directly follow it and its subtree is the range <code>[index, subtreeEnd)</code>. The data of the nodes is held in
+ * parallel arrays, rare data like semantic elements, syntax errors and look ahead values in sorted sparse arrays.
+ *
+ * Folded composite nodes (see {@link SyntheticCompositeNode}) are addressed as a <em>position</em> that combines the
+ * node index with the index of the folded grammar element.
+ *
+ * @see CompactRootNode
+ * @since 2.25
+ */
+final class CompactNodeModel {
+
+	static final byte COMPOSITE = 0;
+
+	static final byte LEAF = 1;
+
+	static final byte HIDDEN_LEAF = 2;
+
+	static final long NONE = -1L;
+
+	final String completeContent;
+
+	final int[] lineBreakOffsets;
+
+	final byte[] kinds;
+
+	final int[] parents;
+
+	final int[] subtreeEnds;
+
+	final int[] totalOffsets;
+
+	final int[] totalLengths;
+
+	/**
+	 * Indexes into {@link #grammarElements} or <code>-1</code>.
+	 */
+	final int[] grammarElementIds;
+
+	/**
+	 * The distinct {@link EObject grammar elements} and interned {@link EObject EObject[] folded grammar elements}.
+	 */
+	final Object[] grammarElements;
+
+	final int[] lookAheadNodes;
+
+	final int[] lookAheads;
+
+	final int[] syntaxErrorNodes;
+
+	final SyntaxErrorMessage[] syntaxErrors;
+
+	final int[] semanticNodes;
+
+	final CompactCompositeNodeWithSemanticElement[] semanticViews;
+
+	final CompactRootNode root;
+
+	/**
+	 * The indexes of the non-empty leaf nodes in document order. Computed on demand.
+	 */
+	private int[] leafNodes;
+
+	/**
+	 * Copies the given node model. The semantic elements are associated with the new nodes.
+	 */
+	CompactNodeModel(RootNode rootNode) {
+		completeContent = rootNode.getCompleteContent();
+		lineBreakOffsets = rootNode.basicGetLineBreakOffsets();
+		int size = 0;
+		for (BidiTreeIterator<AbstractNode> iterator = rootNode.basicIterator(); iterator.hasNext(); iterator.next()) {
+			size++;
+		}
+		AbstractNode[] nodes = new AbstractNode[size];
+		kinds = new byte[size];
+		parents = new int[size];
+		subtreeEnds = new int[size];
+		totalOffsets = new int[size];
+		totalLengths = new int[size];
+		grammarElementIds = new int[size];
+		int[] lastChildren = new int[size];
+		Map<Object, Integer> grammarElementToId = new IdentityHashMap<>();
+		List<Object> grammarElementList = new ArrayList<>();
+		int[] openComposites = new int[16];
+		int depth = 0;
+		int index = 0;
+		for (BidiTreeIterator<AbstractNode> iterator = rootNode.basicIterator(); iterator.hasNext(); index++) {
+			AbstractNode node = iterator.next();
+			nodes[index] = node;
+			CompositeNode parent = node.basicGetParent();
+			while (depth > 0 && nodes[openComposites[depth - 1]] != parent) {
+				subtreeEnds[openComposites[--depth]] = index;
+			}
+			if (depth == 0) {
+				parents[index] = -1;
+			} else {
+				parents[index] = openComposites[depth - 1];
+				lastChildren[parents[index]] = index;
+			}
+			Object grammarElement = node.basicGetGrammarElement();
+			if (grammarElement == null) {
+				grammarElementIds[index] = -1;
+			} else {
+				Integer id = grammarElementToId.get(grammarElement);
+				if (id == null) {
+					id = grammarElementList.size();
+					grammarElementToId.put(grammarElement, id);
+					grammarElementList.add(grammarElement);
+				}
+				grammarElementIds[index] = id;
+			}
+			if (node instanceof LeafNode) {
+				kinds[index] = ((LeafNode) node).isHidden() ? HIDDEN_LEAF : LEAF;
+				subtreeEnds[index] = index + 1;
+				totalOffsets[index] = node.getTotalOffset();
+				totalLengths[index] = node.getTotalLength();
+			} else {
+				kinds[index] = COMPOSITE;
+				lastChildren[index] = -1;
+				if (depth == openComposites.length) {
+					openComposites = Arrays.copyOf(openComposites, depth * 2);
+				}
+				openComposites[depth++] = index;
+			}
+		}
+		while (depth > 0) {
+			subtreeEnds[openComposites[--depth]] = size;
+		}
+		grammarElements = grammarElementList.toArray();
+		// the offsets of composite nodes are derived from their children, see CompositeNode#getTotalOffset()
+		for (int i = size - 1; i >= 0; i--) {
+			if (kinds[i] == COMPOSITE) {
+				int lastChild = lastChildren[i];
+				if (lastChild != -1) {
+					totalOffsets[i] = totalOffsets[i + 1];
+					totalLengths[i] = totalOffsets[lastChild] + totalLengths[lastChild] - totalOffsets[i];
+				} else {
+					totalOffsets[i] = nodes[i].getTotalOffset();
+				}
+			}
+		}
+		totalOffsets[0] = rootNode.getTotalOffset();
+		totalLengths[0] = rootNode.getTotalLength();
+
+		int lookAheadCount = 0;
+		int syntaxErrorCount = 0;
+		int semanticCount = 0;
+		for (int i = 0; i < size; i++) {
+			AbstractNode node = nodes[i];
+			if (node instanceof CompositeNode && ((CompositeNode) node).getLookAhead() != 0)
+				lookAheadCount++;
+			if (node.getSyntaxErrorMessage() != null)
+				syntaxErrorCount++;
+			if (i != 0 && node.basicGetSemanticElement() != null)
+				semanticCount++;
+		}
+		lookAheadNodes = new int[lookAheadCount];
+		lookAheads = new int[lookAheadCount];
+		syntaxErrorNodes = new int[syntaxErrorCount];
+		syntaxErrors = new SyntaxErrorMessage[syntaxErrorCount];
+		semanticNodes = new int[semanticCount];
+		semanticViews = new CompactCompositeNodeWithSemanticElement[semanticCount];
+		lookAheadCount = 0;
+		syntaxErrorCount = 0;
+		semanticCount = 0;
+		for (int i = 0; i < size; i++) {
+			AbstractNode node = nodes[i];
+			if (node instanceof CompositeNode && ((CompositeNode) node).getLookAhead() != 0) {
+				lookAheadNodes[lookAheadCount] = i;
+				lookAheads[lookAheadCount++] = ((CompositeNode) node).getLookAhead();
+			}
+			if (node.getSyntaxErrorMessage() != null) {
+				syntaxErrorNodes[syntaxErrorCount] = i;
+				syntaxErrors[syntaxErrorCount++] = node.getSyntaxErrorMessage();
+			}
+			if (i != 0 && node.basicGetSemanticElement() != null) {
+				semanticNodes[semanticCount] = i;
+				semanticViews[semanticCount++] = new CompactCompositeNodeWithSemanticElement(this, i);
+			}
+		}
+		root = new CompactRootNode(this);
+		for (int i = 0; i < semanticNodes.length; i++) {
+			replaceAdapter(nodes[semanticNodes[i]], semanticViews[i]);
+		}
+		replaceAdapter(rootNode, root);
+	}
+
+	private void replaceAdapter(AbstractNode node, CompactCompositeNodeWithSemanticElement view) {
+		EObject semanticElement = node.basicGetSemanticElement();
+		if (semanticElement == null)
+			return;
+		List<Adapter> adapters = semanticElement.eAdapters();
+		int position = adapters.indexOf(node);
+		if (position >= 0) {
+			adapters.remove(position);
+			adapters.add(position, view);
+		} else {
+			adapters.add(view);
+		}
+	}
+
+	static long position(int index, int fold) {
+		return ((long) index << 32) | fold;
+	}
+
+	static int index(long position) {
+		return (int) (position >>> 32);
+	}
+
+	static int fold(long position) {
+		return (int) position;
+	}
+
+	int size() {
+		return kinds.length;
+	}
+
+	boolean isLeaf(int index) {
+		return kinds[index] != COMPOSITE;
+	}
+
+	/**
+	 * Find the leaf node that covers the given offset by means of a binary search.
+	 *
+	 * @return the index of the leaf node or <code>-1</code> if there is none.
+	 */
+	int findLeafNodeAtOffset(int offset) {
+		int[] leafNodes = this.leafNodes;
+		if (leafNodes == null) {
+			leafNodes = new int[size()];
+			int count = 0;
+			for (int i = 0; i < leafNodes.length; i++) {
+				if (isLeaf(i) && totalLengths[i] > 0)
+					leafNodes[count++] = i;
+			}
+			leafNodes = Arrays.copyOf(leafNodes, count);
+			this.leafNodes = leafNodes;
+		}
+		int low = 0;
+		int high = leafNodes.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int leaf = leafNodes[mid];
+			if (totalOffsets[leaf] > offset)
+				high = mid - 1;
+			else if (totalOffsets[leaf] + totalLengths[leaf] <= offset)
+				low = mid + 1;
+			else
+				return leaf;
+		}
+		return -1;
+	}
+
+	/**
+	 * The number of grammar elements that have been folded into the given node.
+	 */
+	int getFoldCount(int index) {
+		int id = grammarElementIds[index];
+		if (id != -1 && grammarElements[id] instanceof EObject[])
+			return ((EObject[]) grammarElements[id]).length;
+		return 1;
+	}
+
+	EObject getGrammarElement(int index, int fold) {
+		int id = grammarElementIds[index];
+		if (id == -1)
+			return null;
+		Object grammarElement = grammarElements[id];
+		if (grammarElement instanceof EObject[])
+			return ((EObject[]) grammarElement)[fold];
+		return (EObject) grammarElement;
+	}
+
+	Object basicGetGrammarElement(int index) {
+		int id = grammarElementIds[index];
+		if (id == -1)
+			return null;
+		return grammarElements[id];
+	}
+
+	INode getNode(long position) {
+		if (position == NONE)
+			return null;
+		return getNode(index(position), fold(position));
+	}
+
+	INode getNode(int index, int fold) {
+		if (isLeaf(index))
+			return new CompactLeafNode(this, index);
+		if (fold == 0) {
+			if (index == 0)
+				return root;
+			int semanticIdx = Arrays.binarySearch(semanticNodes, index);
+			if (semanticIdx >= 0)
+				return semanticViews[semanticIdx];
+		}
+		return new CompactCompositeNode(this, index, fold);
+	}
+
+	long getParent(int index, int fold) {
+		if (fold > 0)
+			return position(index, fold - 1);
+		int parent = parents[index];
+		if (parent == -1)
+			return NONE;
+		return position(parent, getFoldCount(parent) - 1);
+	}
+
+	boolean hasChildren(int index, int fold) {
+		return fold < getFoldCount(index) - 1 || subtreeEnds[index] > index + 1;
+	}
+
+	long getFirstChild(int index, int fold) {
+		if (fold < getFoldCount(index) - 1)
+			return position(index, fold + 1);
+		if (subtreeEnds[index] > index + 1)
+			return position(index + 1, 0);
+		return NONE;
+	}
+
+	long getLastChild(int index, int fold) {
+		if (fold < getFoldCount(index) - 1)
+			return position(index, fold + 1);
+		int end = subtreeEnds[index];
+		if (end == index + 1)
+			return NONE;
+		int child = end - 1;
+		while (parents[child] != index) {
+			child = parents[child];
+		}
+		return position(child, 0);
+	}
+
+	long getNextSibling(int index, int fold) {
+		if (fold > 0)
+			return NONE;
+		int parent = parents[index];
+		if (parent == -1)
+			return NONE;
+		int next = subtreeEnds[index];
+		if (next < subtreeEnds[parent])
+			return position(next, 0);
+		return NONE;
+	}
+
+	long getPreviousSibling(int index, int fold) {
+		if (fold > 0)
+			return NONE;
+		int parent = parents[index];
+		if (parent == -1 || index == parent + 1)
+			return NONE;
+		int previous = index - 1;
+		while (parents[previous] != parent) {
+			previous = parents[previous];
+		}
+		return position(previous, 0);
+	}
+
+	/**
+	 * The offset of the first non-hidden leaf of the given subtree, see {@link AbstractNode#getOffset()}.
+	 */
+	int getOffset(int index) {
+		int end = subtreeEnds[index];
+		int firstLeaf = -1;
+		for (int i = index; i < end; i++) {
+			if (kinds[i] == LEAF)
+				return totalOffsets[i];
+			if (firstLeaf == -1 && kinds[i] == HIDDEN_LEAF)
+				firstLeaf = i;
+		}
+		if (firstLeaf != -1)
+			return totalOffsets[firstLeaf];
+		return totalOffsets[index];
+	}
+
+	/**
+	 * The index of the last non-hidden leaf of the given subtree or <code>-1</code>.
+	 */
+	int getLastNonHiddenLeaf(int index) {
+		for (int i = subtreeEnds[index] - 1; i >= index; i--) {
+			if (kinds[i] == LEAF)
+				return i;
+		}
+		return -1;
+	}
+
+	int getLookAhead(int index) {
+		int idx = Arrays.binarySearch(lookAheadNodes, index);
+		if (idx >= 0)
+			return lookAheads[idx];
+		return 0;
+	}
+
+	SyntaxErrorMessage getSyntaxErrorMessage(int index) {
+		int idx = Arrays.binarySearch(syntaxErrorNodes, index);
+		if (idx >= 0)
+			return syntaxErrors[idx];
+		return null;
+	}
+
+	/**
+	 * The semantic element of the given node or its closest container, see {@link AbstractNode#getSemanticElement()}.
+	 */
+	EObject getSemanticElement(int index) {
+		for (int i = index; i > 0; i = parents[i]) {
+			int semanticIdx = Arrays.binarySearch(semanticNodes, i);
+			if (semanticIdx >= 0) {
+				EObject result = semanticViews[semanticIdx].basicGetSemanticElement();
+				if (result != null)
+					return result;
+			}
+		}
+		return root.basicGetSemanticElement();
+	}
+
+	/**
+	 * Creates a pointer based copy of this node model. The semantic elements of the copy are not associated with its
+	 * nodes.
+	 */
+	RootNode toRootNode() {
+		NodeModelBuilder builder = new NodeModelBuilder();
+		int size = size();
+		AbstractNode[] nodes = new AbstractNode[size];
+		RootNode result = new RootNode();
+		result.basicSetCompleteContent(completeContent);
+		result.basicSetSemanticElement(root.basicGetSemanticElement());
+		result.basicSetSyntaxErrorMessage(getSyntaxErrorMessage(0));
+		nodes[0] = result;
+		for (int i = 0; i < size; i++) {
+			SyntaxErrorMessage syntaxError = getSyntaxErrorMessage(i);
+			AbstractNode node;
+			if (i == 0) {
+				node = result;
+			} else if (isLeaf(i)) {
+				LeafNode leaf;
+				if (kinds[i] == HIDDEN_LEAF) {
+					if (syntaxError != null) {
+						HiddenLeafNodeWithSyntaxError withSyntaxError = new HiddenLeafNodeWithSyntaxError();
+						withSyntaxError.basicSetSyntaxErrorMessage(syntaxError);
+						leaf = withSyntaxError;
+					} else {
+						leaf = new HiddenLeafNode();
+					}
+				} else {
+					if (syntaxError != null) {
+						LeafNodeWithSyntaxError withSyntaxError = new LeafNodeWithSyntaxError();
+						withSyntaxError.basicSetSyntaxErrorMessage(syntaxError);
+						leaf = withSyntaxError;
+					} else {
+						leaf = new LeafNode();
+					}
+				}
+				leaf.basicSetTotalOffset(totalOffsets[i]);
+				leaf.basicSetTotalLength(totalLengths[i]);
+				node = leaf;
+			} else {
+				int semanticIdx = Arrays.binarySearch(semanticNodes, i);
+				EObject semanticElement = semanticIdx >= 0 ? semanticViews[semanticIdx].basicGetSemanticElement() : null;
+				CompositeNode composite;
+				if (semanticElement != null) {
+					if (syntaxError != null) {
+						CompositeNodeWithSemanticElementAndSyntaxError withSyntaxError = new CompositeNodeWithSemanticElementAndSyntaxError();
+						withSyntaxError.basicSetSyntaxErrorMessage(syntaxError);
+						withSyntaxError.basicSetSemanticElement(semanticElement);
+						composite = withSyntaxError;
+					} else {
+						CompositeNodeWithSemanticElement withSemanticElement = new CompositeNodeWithSemanticElement();
+						withSemanticElement.basicSetSemanticElement(semanticElement);
+						composite = withSemanticElement;
+					}
+				} else if (syntaxError != null) {
+					CompositeNodeWithSyntaxError withSyntaxError = new CompositeNodeWithSyntaxError();
+					withSyntaxError.basicSetSyntaxErrorMessage(syntaxError);
+					composite = withSyntaxError;
+				} else {
+					composite = new CompositeNode();
+				}
+				node = composite;
+			}
+			if (node instanceof CompositeNode) {
+				((CompositeNode) node).basicSetLookAhead(getLookAhead(i));
+			}
+			node.basicSetGrammarElement(basicGetGrammarElement(i));
+			if (i != 0) {
+				nodes[i] = node;
+				builder.addChild((CompositeNode) nodes[parents[i]], node);
+			}
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.nodemodel.impl;
+
+import org.eclipse.xtext.RuleCall;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * A node model builder that converts the node model of a completely parsed document into a {@link CompactRootNode
+ * compact node model}. It reduces the retained heap of large resources but disables partial parsing. Bind it in the
+ * runtime module of a language:
+ * 
+ * <pre>
+ * public Class&lt;? extends NodeModelBuilder&gt; bindNodeModelBuilder() {
+ * 	return CompactNodeModelBuilder.class;
+ * }
+ * </pre>
+ *
+ * @since 2.25
+ */
+@Beta
+public class CompactNodeModelBuilder extends NodeModelBuilder {
+
+	private boolean partialParse = false;
+
+	@Override
+	public void setForcedFirstGrammarElement(RuleCall ruleCall) {
+		super.setForcedFirstGrammarElement(ruleCall);
+		partialParse = true;
+	}
+
+	@Override
+	public ICompositeNode completeNodeModel(ICompositeNode rootNode) {
+		if (partialParse || !(rootNode instanceof RootNode))
+			return rootNode;
+		return CompactRootNode.create((RootNode) rootNode);
+	}
+
+}
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.nodemodel.impl;
+
+import java.util.NoSuchElementException;
+
+import org.eclipse.xtext.nodemodel.BidiTreeIterator;
+import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.nodemodel.util.NodeTreeIterator;
+
+import com.google.common.collect.UnmodifiableIterator;
+
+/**
+ * A tree iterator with the semantics of the {@link NodeTreeIterator} that navigates the arrays of a compact node model
+ * and only creates the views of the returned nodes.
+ *
+ * @since 2.25
+ */
+class CompactNodeTreeIterator extends UnmodifiableIterator<INode> implements BidiTreeIterator<INode> {
+
+	private static final long NONE = CompactNodeModel.NONE;
+
+	private final CompactNode root;
+
+	private final CompactNodeModel model;
+
+	private final long rootPosition;
+
+	private long lastNextReturned = NONE;
+
+	private long lastPreviousReturned = NONE;
+
+	private long next = NONE;
+
+	private boolean nextComputed = false;
+
+	private boolean pruned = false;
+
+	private long previous = NONE;
+
+	private boolean previousComputed = false;
+
+	CompactNodeTreeIterator(CompactNode root) {
+		this.root = root;
+		this.model = root.model;
+		this.rootPosition = CompactNodeModel.position(root.index, root.getFold());
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (nextComputed)
+			return next != NONE;
+		if (lastNextReturned == NONE) {
+			next = lastPreviousReturned != NONE ? lastPreviousReturned : rootPosition;
+		} else {
+			int index = CompactNodeModel.index(lastNextReturned);
+			int fold = CompactNodeModel.fold(lastNextReturned);
+			if (!pruned && !model.isLeaf(index) && model.hasChildren(index, fold)) {
+				next = model.getFirstChild(index, fold);
+			} else if (lastNextReturned == rootPosition) {
+				next = NONE;
+			} else if ((next = model.getNextSibling(index, fold)) == NONE) {
+				for (long parent = model.getParent(index, fold); next == NONE
+						&& parent != rootPosition; parent = model.getParent(CompactNodeModel.index(parent),
+								CompactNodeModel.fold(parent))) {
+					next = model.getNextSibling(CompactNodeModel.index(parent), CompactNodeModel.fold(parent));
+				}
+			}
+		}
+		nextComputed = true;
+		return next != NONE;
+	}
+
+	@Override
+	public INode next() {
+		if (next == NONE && !hasNext())
+			throw new NoSuchElementException();
+		lastNextReturned = next;
+		lastPreviousReturned = NONE;
+		afterAdvance();
+		return getNode(lastNextReturned);
+	}
+
+	@Override
+	public boolean hasPrevious() {
+		if (previousComputed)
+			return previous != NONE;
+		if (lastPreviousReturned == NONE) {
+			previous = lastNextReturned != NONE ? lastNextReturned : rootPosition;
+		} else {
+			int index = CompactNodeModel.index(lastPreviousReturned);
+			int fold = CompactNodeModel.fold(lastPreviousReturned);
+			if (!pruned && !model.isLeaf(index) && model.hasChildren(index, fold)) {
+				previous = model.getLastChild(index, fold);
+			} else if (lastPreviousReturned == rootPosition) {
+				previous = NONE;
+			} else if ((previous = model.getPreviousSibling(index, fold)) == NONE) {
+				for (long parent = model.getParent(index, fold); previous == NONE
+						&& parent != rootPosition; parent = model.getParent(CompactNodeModel.index(parent),
+								CompactNodeModel.fold(parent))) {
+					previous = model.getPreviousSibling(CompactNodeModel.index(parent), CompactNodeModel.fold(parent));
+				}
+			}
+		}
+		previousComputed = true;
+		return previous != NONE;
+	}
+
+	@Override
+	public INode previous() {
+		if (previous == NONE && !hasPrevious())
+			throw new NoSuchElementException();
+		lastPreviousReturned = previous;
+		lastNextReturned = NONE;
+		afterAdvance();
+		return getNode(lastPreviousReturned);
+	}
+
+	private void afterAdvance() {
+		next = NONE;
+		previous = NONE;
+		nextComputed = false;
+		previousComputed = false;
+		pruned = false;
+	}
+
+	private INode getNode(long position) {
+		if (position == rootPosition)
+			return root;
+		return model.getNode(position);
+	}
+
+	@Override
+	public void prune() {
+		if (lastPreviousReturned == NONE && lastNextReturned == NONE)
+			throw new IllegalStateException("Cannot prune before #next or #previous");
+		pruned = true;
+	}
+
+}
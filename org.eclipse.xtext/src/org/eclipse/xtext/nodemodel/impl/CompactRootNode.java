@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.nodemodel.impl;
+
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * The root of a compact, read-only node model. Instead of one object per node with parent and sibling pointers, the
+ * compact node model stores the offsets, lengths, tree structure and interned grammar elements of all nodes in
+ * parallel arrays. The other nodes are {@link CompactNode lightweight views} that are created on demand.
+ *
+ * A compact node model is created from a complete {@link RootNode} by
+ * {@link #create(RootNode)}, usually by the {@link CompactNodeModelBuilder}. It cannot be modified, so a
+ * {@link org.eclipse.xtext.parser.antlr.IPartialParsingHelper partial parser} will reparse the complete document.
+ *
+ * @since 2.25
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+@Beta
+public class CompactRootNode extends CompactCompositeNodeWithSemanticElement {
+
+	CompactRootNode(CompactNodeModel model) {
+		super(model, 0);
+	}
+
+	/**
+	 * Creates a compact copy of the given node model. The semantic elements are associated with the nodes of the
+	 * copy, so the given node model must not be used afterwards.
+	 */
+	public static CompactRootNode create(RootNode rootNode) {
+		return new CompactNodeModel(rootNode).root;
+	}
+
+	@Override
+	public ICompositeNode getRootNode() {
+		return this;
+	}
+
+	@Override
+	public String getText() {
+		return getCompleteContent();
+	}
+
+	public String getCompleteContent() {
+		return model.completeContent;
+	}
+
+	/**
+	 * @return the number of nodes in this node model.
+	 */
+	public int getNodeCount() {
+		return model.size();
+	}
+
+	/**
+	 * Creates a pointer based copy of this node model, e.g. to serialize it. The semantic elements remain associated
+	 * with the nodes of this node model.
+	 * 
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public RootNode toRootNode() {
+		return model.toRootNode();
+	}
+
+	int[] basicGetLineBreakOffsets() {
+		return model.lineBreakOffsets;
+	}
+
+}
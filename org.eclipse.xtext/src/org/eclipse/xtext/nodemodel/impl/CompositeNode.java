@@ -38,6 +38,15 @@ public class CompositeNode extends AbstractNode implements ICompositeNode {
 	
 	private int lookAhead;
 	
+	/**
+	 * The offset of the children of this node relative to the children of the parent node, or
+	 * {@link #ABSOLUTE_OFFSETS} if the offsets in this node model are absolute.
+	 * @see NodeModelBuilder#USE_RELATIVE_OFFSETS
+	 */
+	private int relativeOffset = ABSOLUTE_OFFSETS;
+	
+	private static final int ABSOLUTE_OFFSETS = Integer.MIN_VALUE;
+	
 	@Override
 	public BidiIterable<INode> getChildren() {
 		if (hasChildren()) {
@@ -116,6 +125,44 @@ public class CompositeNode extends AbstractNode implements ICompositeNode {
 		this.lookAhead = lookAhead;
 	}
 	
+	/**
+	 * Returns the amount by which the stored offsets of the children of this node are shifted. It is the sum of the
+	 * relative offsets of this node and its ancestors, or <code>0</code> if the node model uses absolute offsets.
+	 * @since 2.25
+	 */
+	protected int basicGetChildOffset() {
+		int result = 0;
+		for (CompositeNode node = this; node != null && node.relativeOffset != ABSOLUTE_OFFSETS; node = node.basicGetParent()) {
+			result += node.relativeOffset;
+		}
+		return result;
+	}
+	
+	/**
+	 * @since 2.25
+	 */
+	protected boolean basicHasRelativeOffset() {
+		return relativeOffset != ABSOLUTE_OFFSETS;
+	}
+	
+	/**
+	 * @return the offset of the children of this node relative to the children of the parent node or <code>0</code>
+	 *         if the node model uses absolute offsets.
+	 * @since 2.25
+	 */
+	protected int basicGetRelativeOffset() {
+		return basicHasRelativeOffset() ? relativeOffset : 0;
+	}
+	
+	/**
+	 * Sets the offset of the children of this node relative to the children of the parent node. All ancestors
+	 * of this node have to use relative offsets, too.
+	 * @since 2.25
+	 */
+	protected void basicSetRelativeOffset(int relativeOffset) {
+		this.relativeOffset = relativeOffset;
+	}
+	
 	@Override
 	public INode getFirstChild() {
 		if (isFolded()) {
@@ -12,6 +12,8 @@ import java.io.LineNumberReader;
 import java.util.Arrays;
 import java.util.List;
 
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.ILeafNode;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.util.LineAndColumn;
 
@@ -56,6 +58,37 @@ public class InternalNodeModelUtils {
 		return getLineAndColumn(document, lineBreaks, documentOffset);
 	}
 	
+	/**
+	 * Find the leaf node at the given offset within the given composite node by means of a binary search in the
+	 * leaf node index of its node model. Returns <code>null</code> if the offset is not covered by a leaf node
+	 * or if the node model does not provide an index.
+	 * 
+	 * @since 2.25
+	 */
+	protected static ILeafNode basicFindLeafNodeAtOffset(ICompositeNode node, int offset) {
+		if (node instanceof CompactNode) {
+			CompactNodeModel model = ((CompactNode) node).model;
+			int leaf = model.findLeafNodeAtOffset(offset);
+			if (leaf == -1)
+				return null;
+			return new CompactLeafNode(model, leaf);
+		}
+		ICompositeNode rootNode = node.getRootNode();
+		if (!(rootNode instanceof RootNode))
+			return null;
+		LeafNode result = ((RootNode) rootNode).basicFindLeafNodeAtOffset(offset);
+		if (result != null && node != rootNode) {
+			// the node may have been detached from the node model
+			CompositeNode parent = result.basicGetParent();
+			while (parent != node) {
+				if (parent == null)
+					return null;
+				parent = parent.basicGetParent();
+			}
+		}
+		return result;
+	}
+	
 	/**
 	 * Obtain the parent node of the given node. Does not unfold {@link SyntheticCompositeNode synthetic}
 	 * nodes. May return {@code null}.
@@ -177,6 +210,8 @@ public class InternalNodeModelUtils {
 	private static int[] getLineBreakOffsets(INode rootNode) {
 		if (rootNode instanceof RootNode) {
 			return ((RootNode) rootNode).basicGetLineBreakOffsets();
+		} else if (rootNode instanceof CompactRootNode) {
+			return ((CompactRootNode) rootNode).basicGetLineBreakOffsets();
 		} else {
 			String text = rootNode.getText();
 			return computeLineBreaks(text);
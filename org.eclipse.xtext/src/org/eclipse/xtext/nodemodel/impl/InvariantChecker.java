@@ -53,7 +53,12 @@ public class InvariantChecker {
 	 */
 	public void checkInvariant(INode node) throws InconsistentNodeModelException {
 		try {
-			doCheckInvariant(node.getRootNode());
+			ICompositeNode rootNode = node.getRootNode();
+			if (rootNode instanceof CompactRootNode) {
+				// check the structure of the copied nodes
+				rootNode = ((CompactRootNode) rootNode).toRootNode();
+			}
+			doCheckInvariant(rootNode);
 		} catch(ClassCastException e) {
 			throw new InconsistentNodeModelException("node has no root node", e);
 		} catch(NullPointerException e) {
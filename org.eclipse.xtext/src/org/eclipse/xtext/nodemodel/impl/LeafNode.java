@@ -36,6 +36,9 @@ public class LeafNode extends AbstractNode implements ILeafNode {
 
 	@Override
 	public int getTotalOffset() {
+		CompositeNode parent = basicGetParent();
+		if (parent != null)
+			return totalOffset + parent.basicGetChildOffset();
 		return totalOffset;
 	}
 
@@ -46,7 +49,7 @@ public class LeafNode extends AbstractNode implements ILeafNode {
 	
 	@Override
 	public int getOffset() {
-		return totalOffset;
+		return getTotalOffset();
 	}
 	
 	@Override
@@ -54,8 +57,16 @@ public class LeafNode extends AbstractNode implements ILeafNode {
 		return totalLength;
 	}
 	
+	/**
+	 * Sets the absolute offset of this node. If the parent uses {@link CompositeNode#basicGetChildOffset() relative
+	 * offsets}, the stored offset is relative to the parent.
+	 */
 	protected void basicSetTotalOffset(int offset) {
-		this.totalOffset = offset;
+		CompositeNode parent = basicGetParent();
+		if (parent != null)
+			this.totalOffset = offset - parent.basicGetChildOffset();
+		else
+			this.totalOffset = offset;
 	}
 	
 	protected void basicSetTotalLength(int length) {
@@ -17,6 +17,9 @@ import org.eclipse.xtext.nodemodel.ILeafNode;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.SyntaxErrorMessage;
 
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
 /**
  * A stateful (!) builder that provides call back methods for clients who
  * want to create a node model and maintain its invariants. 
@@ -25,6 +28,18 @@ import org.eclipse.xtext.nodemodel.SyntaxErrorMessage;
  */
 public class NodeModelBuilder {
 
+	/**
+	 * The name of a boolean constant binding that enables relative offsets for partially reparsed node models, see
+	 * {@link #replaceAndTransferLookAhead(INode, INode)}.
+	 * 
+	 * @since 2.25
+	 */
+	public static final String USE_RELATIVE_OFFSETS = "org.eclipse.xtext.nodemodel.impl.NodeModelBuilder.useRelativeOffsets";
+
+	@Inject(optional = true)
+	@Named(USE_RELATIVE_OFFSETS)
+	private boolean useRelativeOffsets = false;
+
 	private EObject forcedGrammarElement;
 
 	private GrammarElementsInterner cachedFoldedGrammarElements = new GrammarElementsInterner();
@@ -273,14 +288,32 @@ public class NodeModelBuilder {
 		}
 	}
 	
+	/**
+	 * Replaces the old node by the first child of the new root node. With {@link #USE_RELATIVE_OFFSETS relative
+	 * offsets}, only the new nodes and the nodes that follow the new node on the way up to the root are touched.
+	 * Otherwise the offsets of all leaf nodes are recomputed.
+	 */
 	public void replaceAndTransferLookAhead(INode oldNode, INode newRootNode) {
 		AbstractNode newNode = ((CompositeNode) newRootNode).basicGetFirstChild();
-		replaceWithoutChildren((AbstractNode) oldNode, newNode);
+		if (isUseRelativeOffsets()) {
+			replaceAndShiftOffsets((AbstractNode) oldNode, newNode);
+		} else {
+			replaceWithoutChildren((AbstractNode) oldNode, newNode);
+		}
 		if (oldNode instanceof ICompositeNode && newNode instanceof CompositeNode) {
 			CompositeNode newCompositeNode = (CompositeNode) newNode;
 			newCompositeNode.basicSetLookAhead(((ICompositeNode) oldNode).getLookAhead());
 		}
 		ICompositeNode root = newNode.getRootNode();
+		if (isUseRelativeOffsets()) {
+			if (root instanceof RootNode) {
+				((RootNode) root).basicInvalidateLeafNodeIndex();
+			}
+			return;
+		}
+		if (root instanceof RootNode) {
+			((RootNode) root).basicInvalidateLeafNodeIndex();
+		}
 		BidiTreeIterator<AbstractNode> iterator = ((AbstractNode) root).basicIterator();
 		int offset = 0;
 		while(iterator.hasNext()) {
@@ -292,6 +325,64 @@ public class NodeModelBuilder {
 		}
 	}
 
+	/**
+	 * @since 2.25
+	 */
+	protected boolean isUseRelativeOffsets() {
+		return useRelativeOffsets;
+	}
+
+	/**
+	 * Replaces the old node by the new node, whose offsets are relative to the reparsed region. Instead of updating
+	 * the offsets of all following leaf nodes, the new node is moved to the offset of the old node and the siblings
+	 * that follow the new node and its ancestors are shifted by the difference in length. Composite nodes are
+	 * shifted as a whole by means of their {@link CompositeNode#basicSetRelativeOffset(int) relative offset}.
+	 * 
+	 * @since 2.25
+	 */
+	protected void replaceAndShiftOffsets(AbstractNode oldNode, AbstractNode newNode) {
+		int offset = oldNode.getTotalOffset();
+		int delta = newNode.getTotalLength() - oldNode.getTotalLength();
+		int newOffset = newNode.getTotalOffset();
+		CompositeNode root = (CompositeNode) oldNode.getRootNode();
+		if (!root.basicHasRelativeOffset()) {
+			initializeRelativeOffsets(root);
+		}
+		replaceWithoutChildren(oldNode, newNode);
+		if (newNode instanceof CompositeNode) {
+			initializeRelativeOffsets((CompositeNode) newNode);
+			int parentOffset = newNode.basicGetParent().basicGetChildOffset();
+			((CompositeNode) newNode).basicSetRelativeOffset(offset - newOffset - parentOffset);
+		} else {
+			((LeafNode) newNode).basicSetTotalOffset(offset);
+		}
+		if (delta != 0) {
+			for (AbstractNode node = newNode; node.basicGetParent() != null; node = node.basicGetParent()) {
+				AbstractNode sibling = node;
+				while (sibling.basicHasNextSibling()) {
+					sibling = sibling.basicGetNextSibling();
+					if (sibling instanceof CompositeNode) {
+						CompositeNode composite = (CompositeNode) sibling;
+						composite.basicSetRelativeOffset(composite.basicGetRelativeOffset() + delta);
+					} else {
+						LeafNode leaf = (LeafNode) sibling;
+						leaf.basicSetTotalOffset(leaf.getTotalOffset() + delta);
+					}
+				}
+			}
+		}
+	}
+
+	private void initializeRelativeOffsets(CompositeNode node) {
+		BidiTreeIterator<AbstractNode> iterator = node.basicIterator();
+		while (iterator.hasNext()) {
+			AbstractNode next = iterator.next();
+			if (next instanceof CompositeNode) {
+				((CompositeNode) next).basicSetRelativeOffset(0);
+			}
+		}
+	}
+
 	protected void replaceWithoutChildren(AbstractNode oldNode, AbstractNode newNode) {
 		CompositeNode parent = oldNode.basicGetParent();
 		newNode.basicSetParent(parent);
@@ -318,6 +409,17 @@ public class NodeModelBuilder {
 		((RootNode)rootNode).basicSetCompleteContent(completeContent);
 	}
 
+	/**
+	 * Called by the parser with the root node of the node model once parsing is done. Returns the root node that is
+	 * published in the parse result.
+	 * 
+	 * @see CompactNodeModelBuilder
+	 * @since 2.25
+	 */
+	public ICompositeNode completeNodeModel(ICompositeNode rootNode) {
+		return rootNode;
+	}
+
 	public void setForcedFirstGrammarElement(RuleCall ruleCall) {
 		this.forcedGrammarElement = ruleCall;
 		compressRoot = false;
@@ -10,10 +10,13 @@ package org.eclipse.xtext.nodemodel.impl;
 
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.nodemodel.BidiTreeIterator;
 import org.eclipse.xtext.nodemodel.ICompositeNode;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.serialization.DeserializationConversionContext;
@@ -29,6 +32,8 @@ public class RootNode extends CompositeNodeWithSemanticElementAndSyntaxError {
 	
 	private int[] lineBreakOffsets;
 	
+	private LeafNodeIndex leafNodeIndex;
+	
 	/**
 	 * @return <code>null</code> the root node does not have any parent.
 	 */
@@ -64,6 +69,7 @@ public class RootNode extends CompositeNodeWithSemanticElementAndSyntaxError {
 	protected void basicSetCompleteContent(String completeContent) {
 		this.completeContent = completeContent;
 		this.lineBreakOffsets = computeLineBreaks(completeContent);
+		this.leafNodeIndex = null;
 	}
 	
 	/**
@@ -78,6 +84,29 @@ public class RootNode extends CompositeNodeWithSemanticElementAndSyntaxError {
 		return lineBreakOffsets;
 	}
 	
+	/**
+	 * Returns the leaf node whose text contains the given offset. The lookup is a binary search in an index
+	 * of the leaf nodes that is computed on demand and discarded when the content of the node model changes.
+	 * @return the leaf node at the given offset or <code>null</code> if there is none.
+	 * @since 2.25
+	 */
+	protected LeafNode basicFindLeafNodeAtOffset(int offset) {
+		LeafNodeIndex index = leafNodeIndex;
+		if (index == null) {
+			index = new LeafNodeIndex(this);
+			leafNodeIndex = index;
+		}
+		return index.find(offset);
+	}
+	
+	/**
+	 * Discards the index of the leaf nodes, e.g. after nodes have been replaced.
+	 * @since 2.25
+	 */
+	protected void basicInvalidateLeafNodeIndex() {
+		leafNodeIndex = null;
+	}
+	
 	public String getCompleteContent() {
 		return completeContent;
 	}
@@ -208,4 +237,42 @@ public class RootNode extends CompositeNodeWithSemanticElementAndSyntaxError {
 			List<String> grammarIdToURIMap) {
 		fillGrammarElementToIdMap(0, grammarElementToIdMap, grammarIdToURIMap);
 	}
+	
+	/**
+	 * The non-empty leaf nodes of a node model sorted by their offset.
+	 */
+	private static class LeafNodeIndex {
+		
+		private final LeafNode[] leafNodes;
+		
+		private final int[] offsets;
+		
+		LeafNodeIndex(RootNode rootNode) {
+			List<LeafNode> list = new ArrayList<LeafNode>();
+			BidiTreeIterator<AbstractNode> iterator = rootNode.basicIterator();
+			while (iterator.hasNext()) {
+				AbstractNode node = iterator.next();
+				if (node instanceof LeafNode && node.getTotalLength() > 0) {
+					list.add((LeafNode) node);
+				}
+			}
+			leafNodes = list.toArray(new LeafNode[list.size()]);
+			offsets = new int[leafNodes.length];
+			for (int i = 0; i < leafNodes.length; i++) {
+				offsets[i] = leafNodes[i].getTotalOffset();
+			}
+		}
+		
+		LeafNode find(int offset) {
+			int index = Arrays.binarySearch(offsets, offset);
+			if (index < 0) {
+				// the insertion point is the index of the first leaf that starts after the offset
+				index = -index - 2;
+				if (index < 0 || offsets[index] + leafNodes[index].getTotalLength() <= offset) {
+					return null;
+				}
+			}
+			return leafNodes[index];
+		}
+	}
 }
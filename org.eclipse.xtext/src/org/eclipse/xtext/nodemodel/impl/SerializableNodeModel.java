@@ -36,7 +36,11 @@ public class SerializableNodeModel {
 		IParseResult parseResult = resource.getParseResult();
 		if (parseResult != null) {
 			ICompositeNode rootNode = parseResult.getRootNode();
-			root = (RootNode) rootNode;
+			if (rootNode instanceof CompactRootNode) {
+				root = ((CompactRootNode) rootNode).toRootNode();
+			} else {
+				root = (RootNode) rootNode;
+			}
 		}
 		formatVersion = 1;
 		date = new Date();
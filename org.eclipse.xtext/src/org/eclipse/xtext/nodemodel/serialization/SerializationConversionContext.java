@@ -14,6 +14,8 @@ import java.util.Map;
 
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.impl.CompactRootNode;
 import org.eclipse.xtext.nodemodel.impl.RootNode;
 import org.eclipse.xtext.parser.IParseResult;
 import org.eclipse.xtext.resource.XtextResource;
@@ -61,7 +63,8 @@ public class SerializationConversionContext {
 	protected void fillGrammarElementToIdMap(XtextResource r) {
 		IParseResult parseResult = r.getParseResult();
 		if (parseResult != null) {
-			RootNode it = (RootNode) parseResult.getRootNode();
+			ICompositeNode rootNode = parseResult.getRootNode();
+			RootNode it = rootNode instanceof CompactRootNode ? ((CompactRootNode) rootNode).toRootNode() : (RootNode) rootNode;
 			it.fillGrammarElementToIdMap(grammarElementToIdMap, grammarIdToURIMap);
 		}
 	}
@@ -30,6 +30,9 @@ import org.eclipse.xtext.nodemodel.ILeafNode;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.SyntaxErrorMessage;
 import org.eclipse.xtext.nodemodel.impl.AbstractNode;
+import org.eclipse.xtext.nodemodel.impl.CompactCompositeNode;
+import org.eclipse.xtext.nodemodel.impl.CompactNode;
+import org.eclipse.xtext.nodemodel.impl.CompactRootNode;
 import org.eclipse.xtext.nodemodel.impl.CompositeNode;
 import org.eclipse.xtext.nodemodel.impl.InternalNodeModelUtils;
 import org.eclipse.xtext.nodemodel.impl.RootNode;
@@ -62,6 +65,8 @@ public class NodeModelUtils extends InternalNodeModelUtils {
 	 *  node.totalEndOffset &gt; leafNodeOffset 
 	 * </pre>
 	 * 
+	 * The lookup is a binary search in an index of the leaf nodes of the node model.
+	 * 
 	 * @param node the container node. May not be <code>null</code>.
 	 * @param leafNodeOffset the offset that is covered by the searched node.
 	 * @return the leaf node at the given offset or <code>null</code>.
@@ -69,15 +74,25 @@ public class NodeModelUtils extends InternalNodeModelUtils {
 	/* @Nullable */
 	public static ILeafNode findLeafNodeAtOffset(/* @NonNull */ INode node, int leafNodeOffset) {
 		INode localNode = node;
-		while(!(localNode instanceof AbstractNode)) {
+		while(!(localNode instanceof AbstractNode || localNode instanceof CompactNode)) {
 			localNode = localNode.getParent();
 		}
 		int offset = localNode.getTotalOffset();
 		int length = localNode.getTotalLength();
-		BidiTreeIterator<AbstractNode> iterator = ((AbstractNode) localNode).basicIterator();
+		if (localNode instanceof ICompositeNode) {
+			if (!intersects(offset, length, leafNodeOffset)) {
+				return null;
+			}
+			ILeafNode result = basicFindLeafNodeAtOffset((ICompositeNode) localNode, leafNodeOffset);
+			if (result != null) {
+				return result;
+			}
+		}
+		BidiTreeIterator<? extends INode> iterator = localNode instanceof AbstractNode
+				? ((AbstractNode) localNode).basicIterator() : localNode.getAsTreeIterable().iterator();
 		if (leafNodeOffset > (offset + length) / 2) {
 			while (iterator.hasPrevious()) {
-				AbstractNode previous = iterator.previous();
+				INode previous = iterator.previous();
 				int previousOffset = previous.getTotalOffset();
 				int previousLength = previous.getTotalLength();
 				if (!intersects(previousOffset, previousLength, leafNodeOffset)) {
@@ -92,7 +107,7 @@ public class NodeModelUtils extends InternalNodeModelUtils {
 			}
 		} else {
 			while (iterator.hasNext()) {
-				AbstractNode next = iterator.next();
+				INode next = iterator.next();
 				int nextOffset = next.getTotalOffset();
 				int nextLength = next.getTotalLength();
 				if (!intersects(nextOffset, nextLength, leafNodeOffset)) {
@@ -126,7 +141,7 @@ public class NodeModelUtils extends InternalNodeModelUtils {
 	 */
 	public static LineAndColumn getLineAndColumn(INode anyNode, int documentOffset) {
 		// special treatment for inconsistent nodes such as SyntheticLinkingLeafNode
-		if (anyNode.getParent() == null && !(anyNode instanceof RootNode)) {
+		if (anyNode.getParent() == null && !(anyNode instanceof RootNode || anyNode instanceof CompactRootNode)) {
 			return LineAndColumn.from(1,1);
 		}
 		return InternalNodeModelUtils.getLineAndColumn(anyNode, documentOffset);
@@ -437,8 +452,9 @@ public class NodeModelUtils extends InternalNodeModelUtils {
 			return (ParserRule) ge1;
 		} else if (ge1 instanceof Action) {
 			INode firstChild = root.getFirstChild();
-			while (firstChild.getGrammarElement() instanceof Action && firstChild instanceof CompositeNode) {
-				firstChild = ((CompositeNode)firstChild).getFirstChild();
+			while (firstChild.getGrammarElement() instanceof Action
+					&& (firstChild instanceof CompositeNode || firstChild instanceof CompactCompositeNode)) {
+				firstChild = ((ICompositeNode)firstChild).getFirstChild();
 			}
 			EObject ge2 = firstChild.getGrammarElement();
 			if (ge2 instanceof ParserRule) {
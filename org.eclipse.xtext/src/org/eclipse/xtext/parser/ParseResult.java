@@ -59,6 +59,10 @@ public class ParseResult implements IParseResult {
 			@Override
 			@SuppressWarnings("unchecked")
 			public Iterator<INode> iterator() {
+				if (!(rootNode instanceof CompositeNode)) {
+					return Iterators.filter(rootNode.getAsTreeIterable().iterator(),
+							node -> node.getSyntaxErrorMessage() != null);
+				}
 				Iterator<? extends INode> result = Iterators.filter(((CompositeNode) rootNode).basicIterator(),
 						new Predicate<AbstractNode>() {
 					@Override
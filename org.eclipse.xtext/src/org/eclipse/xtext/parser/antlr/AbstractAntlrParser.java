@@ -11,6 +11,9 @@ package org.eclipse.xtext.parser.antlr;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import org.antlr.runtime.ANTLRReaderStream;
 import org.antlr.runtime.CharStream;
@@ -18,6 +21,7 @@ import org.antlr.runtime.TokenSource;
 import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.xtext.ParserRule;
 import org.eclipse.xtext.RuleCall;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
 import org.eclipse.xtext.nodemodel.impl.NodeModelBuilder;
 import org.eclipse.xtext.parser.AbstractParser;
 import org.eclipse.xtext.parser.IAstFactory;
@@ -35,6 +39,21 @@ import com.google.inject.name.Named;
  */
 public abstract class AbstractAntlrParser extends AbstractParser {
 
+	/**
+	 * The name of a boolean constant binding that enables incremental lexing. The tokens of a parsed document are kept
+	 * in a {@link TokenCache} for its root node, and a reparse of the complete document only lexes the tokens that are
+	 * affected by the change, see {@link #parse(ParserRule, Reader, ICompositeNode)}.
+	 * 
+	 * @since 2.25
+	 */
+	public static final String USE_INCREMENTAL_LEXING = "org.eclipse.xtext.parser.antlr.AbstractAntlrParser.useIncrementalLexing";
+
+	@Inject(optional = true)
+	@Named(USE_INCREMENTAL_LEXING)
+	private boolean useIncrementalLexing = false;
+
+	private final Map<ICompositeNode, TokenCache> tokenCaches = Collections.synchronizedMap(new WeakHashMap<>());
+
 	@Inject
 	private IAstFactory elementFactory;
 
@@ -60,6 +79,9 @@ public abstract class AbstractAntlrParser extends AbstractParser {
 	@Override
 	public IParseResult doParse(Reader reader) {
 		try {
+			if (isUseIncrementalLexing()) {
+				return parse(getDefaultRuleName(), new RecordingCharStream(reader, null));
+			}
 			return parse(getDefaultRuleName(), new ANTLRReaderStream(reader));
 		} catch (IOException e) {
 			throw new WrappedException(e);
@@ -87,6 +109,10 @@ public abstract class AbstractAntlrParser extends AbstractParser {
 
 	protected IParseResult doParse(String ruleName, CharStream in, NodeModelBuilder nodeModelBuilder, int initialLookAhead) {
 		TokenSource tokenSource = createLexer(in);
+		TokenCacheRecorder recorder = null;
+		if (in instanceof RecordingCharStream && tokenSource instanceof Lexer) {
+			recorder = new TokenCacheRecorder((Lexer) tokenSource, (RecordingCharStream) in);
+		}
 		XtextTokenStream tokenStream = createTokenStream(tokenSource);
 		tokenStream.initCurrentLookAhead(initialLookAhead);
 		setInitialHiddenTokens(tokenStream);
@@ -98,13 +124,23 @@ public abstract class AbstractAntlrParser extends AbstractParser {
 		IUnorderedGroupHelper helper = getUnorderedGroupHelper().get();
 		parser.setUnorderedGroupHelper(helper);
 		helper.initializeWith(parser);
+		IParseResult result;
 		try {
 			if(ruleName != null)
-				return parser.parse(ruleName);
-			return parser.parse();
+				result = parser.parse(ruleName);
+			else
+				result = parser.parse();
 		} catch (Exception re) {
 			throw new ParseException(re.getMessage(),re);
 		}
+		if (recorder != null) {
+			ICompositeNode rootNode = result.getRootNode();
+			TokenCache tokenCache = recorder.getTokenCache(rootNode.getText());
+			if (tokenCache != null) {
+				tokenCaches.put(rootNode, tokenCache);
+			}
+		}
+		return result;
 	}
 	
 	protected void setInitialHiddenTokens(XtextTokenStream tokenStream) {
@@ -122,6 +158,42 @@ public abstract class AbstractAntlrParser extends AbstractParser {
 		}
 	}
 	
+	/**
+	 * Parses the complete document. If {@link #USE_INCREMENTAL_LEXING incremental lexing} is enabled, the tokens of
+	 * the previous root node that are not affected by the changes are reused.
+	 * 
+	 * @since 2.25
+	 */
+	public IParseResult parse(ParserRule rule, Reader reader, ICompositeNode previousRootNode) {
+		if (!isUseIncrementalLexing()) {
+			return parse(rule, reader);
+		}
+		try {
+			return parse(rule.getName(), new RecordingCharStream(reader, getTokenCache(previousRootNode)));
+		} catch (IOException e) {
+			throw new WrappedException(e);
+		}
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	protected boolean isUseIncrementalLexing() {
+		return useIncrementalLexing;
+	}
+
+	/**
+	 * Returns the tokens that were recorded when the given root node was parsed or <code>null</code> if there are none.
+	 * 
+	 * @since 2.25
+	 */
+	protected TokenCache getTokenCache(ICompositeNode rootNode) {
+		if (rootNode == null) {
+			return null;
+		}
+		return tokenCaches.get(rootNode);
+	}
+
 	@Override
 	public IParseResult parse(RuleCall ruleCall, Reader reader, int initialLookAhead) {
 		try {
@@ -599,7 +599,7 @@ public abstract class AbstractInternalAntlrParser extends Parser {
 			try {
 				appendAllTokens();
 			} finally {
-				ICompositeNode root = nodeBuilder.compressAndReturnParent(currentNode);
+				ICompositeNode root = nodeBuilder.completeNodeModel(nodeBuilder.compressAndReturnParent(currentNode));
 				result = new ParseResult(current, root, hadErrors);
 			}
 		} catch (InvocationTargetException ite) {
@@ -608,7 +608,7 @@ public abstract class AbstractInternalAntlrParser extends Parser {
 				try {
 					appendAllTokens();
 				} finally {
-					ICompositeNode root = nodeBuilder.compressAndReturnParent(currentNode);
+					ICompositeNode root = nodeBuilder.completeNodeModel(nodeBuilder.compressAndReturnParent(currentNode));
 					result = new ParseResult(current, root, hadErrors);
 				}
 				throw (RecognitionException) targetException;
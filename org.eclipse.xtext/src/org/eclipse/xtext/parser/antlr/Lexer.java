@@ -47,8 +47,20 @@ public abstract class Lexer extends org.antlr.runtime.Lexer {
 
 	private final Map<Token, String> tokenErrorMap = new HashMap<Token, String>();
 
+	private TokenCacheRecorder tokenCacheRecorder;
+
 	@Override
 	public Token nextToken() {
+		if (tokenCacheRecorder != null) {
+			return tokenCacheRecorder.nextToken();
+		}
+		return basicNextToken();
+	}
+
+	/**
+	 * Produces the next token from the current position of the char stream.
+	 */
+	Token basicNextToken() {
 		while (true) {
 			this.state.token = null;
 			this.state.channel = Token.DEFAULT_CHANNEL;
@@ -90,6 +102,21 @@ public abstract class Lexer extends org.antlr.runtime.Lexer {
 	public String getErrorMessage(Token t) {
 		return tokenErrorMap.get(t);
 	}
+
+	void setErrorMessage(Token t, String message) {
+		tokenErrorMap.put(t, message);
+	}
+
+	/**
+	 * The text that was explicitly set for the last token or <code>null</code> if it is a substring of the input.
+	 */
+	String getExplicitTokenText() {
+		return state.text;
+	}
+
+	void setTokenCacheRecorder(TokenCacheRecorder tokenCacheRecorder) {
+		this.tokenCacheRecorder = tokenCacheRecorder;
+	}
 	
 	@Override
 	public void emitErrorMessage(String msg) {
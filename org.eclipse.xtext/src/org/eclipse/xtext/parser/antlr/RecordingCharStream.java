@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.parser.antlr;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import org.antlr.runtime.ANTLRReaderStream;
+
+/**
+ * A char stream that remembers the largest index that was looked at by the lexer. A {@link Lexer} that reads from
+ * this stream records its tokens in a {@link TokenCache} and reuses the tokens of the previous cache, if any.
+ */
+class RecordingCharStream extends ANTLRReaderStream {
+
+	private final TokenCache previousTokens;
+
+	private int maxLookAheadIndex = -1;
+
+	RecordingCharStream(Reader reader, TokenCache previousTokens) throws IOException {
+		super(reader);
+		this.previousTokens = previousTokens;
+	}
+
+	@Override
+	public int LA(int i) {
+		if (i > 0) {
+			int index = p + i - 1;
+			if (index > maxLookAheadIndex) {
+				maxLookAheadIndex = index;
+			}
+		}
+		return super.LA(i);
+	}
+
+	TokenCache getPreviousTokens() {
+		return previousTokens;
+	}
+
+	int getMaxLookAheadIndex() {
+		return maxLookAheadIndex;
+	}
+
+	void resetMaxLookAheadIndex() {
+		maxLookAheadIndex = -1;
+	}
+
+	/**
+	 * Moves to the given index without consuming the characters in between.
+	 */
+	void seek(int index, int line, int charPositionInLine) {
+		this.p = index;
+		this.line = line;
+		this.charPositionInLine = charPositionInLine;
+	}
+
+	char charAt(int index) {
+		return data[index];
+	}
+
+}
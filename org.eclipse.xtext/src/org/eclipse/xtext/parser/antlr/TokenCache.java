@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.parser.antlr;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * The tokens that a {@link Lexer} produced for a text. When the text is lexed again after a change, the tokens that do
+ * not depend on the changed characters are taken from the cache instead of being lexed again.
+ *
+ * For each token, the cache knows the offset where the lexer started to look for it and the largest offset that the
+ * lexer looked at to produce it. Tokens in front of a change are reused as long as the lexer did not look at the changed
+ * characters. Behind the change, the lexer stops as soon as it starts a token at the shifted offset of a cached token,
+ * and the remaining tokens are taken from the cache with shifted offsets and lines. This assumes that the lexer does
+ * not keep any state between two tokens.
+ *
+ * @since 2.25
+ */
+@Beta
+public final class TokenCache {
+
+	static final int SEGMENT_START = 0;
+	static final int LOOK_AHEAD_END = 1;
+	static final int START = 2;
+	static final int STOP = 3;
+	static final int TYPE = 4;
+	static final int CHANNEL = 5;
+	static final int LINE = 6;
+	static final int COLUMN = 7;
+	static final int FIELDS = 8;
+
+	private final String text;
+
+	private final int[] tokens;
+
+	private final int size;
+
+	private final int end;
+
+	private final Map<Integer, String> tokenTexts;
+
+	private final Map<Integer, String> errorMessages;
+
+	TokenCache(String text, int[] tokens, int size, int end, Map<Integer, String> tokenTexts,
+			Map<Integer, String> errorMessages) {
+		this.text = text;
+		this.tokens = tokens;
+		this.size = size;
+		this.end = end;
+		this.tokenTexts = tokenTexts.isEmpty() ? Collections.emptyMap() : tokenTexts;
+		this.errorMessages = errorMessages.isEmpty() ? Collections.emptyMap() : errorMessages;
+	}
+
+	/**
+	 * The text that was lexed.
+	 */
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * The number of tokens, including hidden tokens.
+	 */
+	public int getTokenCount() {
+		return size;
+	}
+
+	int get(int index, int field) {
+		return tokens[index * FIELDS + field];
+	}
+
+	/**
+	 * The offset where the lexer started to look for the token at the given index. If the index is the token count,
+	 * the offset where the lexer reached the end of the input.
+	 */
+	int getSegmentStart(int index) {
+		if (index == size) {
+			return end;
+		}
+		return get(index, SEGMENT_START);
+	}
+
+	void copyTo(int index, int[] target, int targetIndex) {
+		System.arraycopy(tokens, index * FIELDS, target, targetIndex * FIELDS, FIELDS);
+	}
+
+	String getTokenText(int index) {
+		return tokenTexts.get(index);
+	}
+
+	String getErrorMessage(int index) {
+		return errorMessages.get(index);
+	}
+
+	/**
+	 * The number of leading tokens that the lexer produced without looking at the given offset or any offset behind it.
+	 */
+	int getUnaffectedTokenCount(int offset) {
+		for (int i = 0; i < size; i++) {
+			if (get(i, LOOK_AHEAD_END) >= offset) {
+				return i;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * The index of the token whose segment starts at the given offset or -1 if there is no such token. Returns the
+	 * token count if the offset is the end of the input.
+	 */
+	int indexOfSegmentStart(int offset) {
+		if (offset == end) {
+			return size;
+		}
+		int low = 0;
+		int high = size - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int segmentStart = get(mid, SEGMENT_START);
+			if (segmentStart < offset) {
+				low = mid + 1;
+			} else if (segmentStart > offset) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+}
@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.parser.antlr;
+
+import static org.eclipse.xtext.parser.antlr.TokenCache.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.antlr.runtime.CommonToken;
+import org.antlr.runtime.Token;
+
+/**
+ * Produces the tokens of a {@link Lexer} and records them in a new {@link TokenCache}. Tokens of the previous cache of
+ * the {@link RecordingCharStream} are reused where the change of the text does not affect them.
+ */
+class TokenCacheRecorder {
+
+	private final Lexer lexer;
+
+	private final RecordingCharStream input;
+
+	private final TokenCache previous;
+
+	private int[] tokens;
+
+	private int size;
+
+	private int end = -1;
+
+	private final Map<Integer, String> tokenTexts = new HashMap<>();
+
+	private final Map<Integer, String> errorMessages = new HashMap<>();
+
+	/**
+	 * The number of tokens at the start of the previous cache that are not affected by the change.
+	 */
+	private int reusableTokens;
+
+	/**
+	 * The next token of the previous cache that is reused in front of the change.
+	 */
+	private int reusedIndex;
+
+	/**
+	 * The next token of the previous cache that is reused behind the change or -1 if the lexer did not resynchronize
+	 * yet.
+	 */
+	private int replayIndex = -1;
+
+	/**
+	 * The offset behind the change in the new text. The lexer may only resynchronize at or behind this offset.
+	 */
+	private int changeEnd;
+
+	private int offsetDelta;
+
+	private int lineDelta;
+
+	private int columnDelta;
+
+	/**
+	 * The line of the first replayed token in the previous text. Only tokens on this line are shifted horizontally.
+	 */
+	private int resyncLine;
+
+	private int lexedTokens;
+
+	TokenCacheRecorder(Lexer lexer, RecordingCharStream input) {
+		this.lexer = lexer;
+		this.input = input;
+		this.previous = input.getPreviousTokens();
+		if (previous != null) {
+			String previousText = previous.getText();
+			int previousLength = previousText.length();
+			int length = input.size();
+			int maxCommon = Math.min(previousLength, length);
+			int prefix = 0;
+			while (prefix < maxCommon && previousText.charAt(prefix) == input.charAt(prefix)) {
+				prefix++;
+			}
+			int suffix = 0;
+			while (suffix < maxCommon - prefix
+					&& previousText.charAt(previousLength - 1 - suffix) == input.charAt(length - 1 - suffix)) {
+				suffix++;
+			}
+			changeEnd = length - suffix;
+			offsetDelta = length - previousLength;
+			reusableTokens = previous.getUnaffectedTokenCount(prefix);
+			tokens = new int[(previous.getTokenCount() + 256) * FIELDS];
+		} else {
+			tokens = new int[256 * FIELDS];
+		}
+		lexer.setTokenCacheRecorder(this);
+	}
+
+	Token nextToken() {
+		if (reusedIndex < reusableTokens) {
+			Token result = replay(reusedIndex);
+			reusedIndex++;
+			if (reusedIndex == reusableTokens) {
+				skipReusedTokens();
+			}
+			return result;
+		}
+		if (replayIndex < 0) {
+			int segmentStart = input.index();
+			if (previous != null && segmentStart >= changeEnd) {
+				int index = previous.indexOfSegmentStart(segmentStart - offsetDelta);
+				if (index >= reusableTokens) {
+					resynchronize(index, segmentStart);
+				}
+			}
+		}
+		if (replayIndex >= 0) {
+			if (replayIndex == previous.getTokenCount()) {
+				end = previous.getSegmentStart(replayIndex) + offsetDelta;
+				return Token.EOF_TOKEN;
+			}
+			return replay(replayIndex++);
+		}
+		return lex();
+	}
+
+	private Token lex() {
+		int segmentStart = input.index();
+		input.resetMaxLookAheadIndex();
+		Token token = lexer.basicNextToken();
+		if (token == Token.EOF_TOKEN) {
+			end = input.index();
+			return token;
+		}
+		lexedTokens++;
+		int index = record();
+		set(index, TYPE, token.getType());
+		set(index, CHANNEL, token.getChannel());
+		set(index, SEGMENT_START, segmentStart);
+		set(index, LOOK_AHEAD_END, input.getMaxLookAheadIndex());
+		CommonToken commonToken = (CommonToken) token;
+		set(index, START, commonToken.getStartIndex());
+		set(index, STOP, commonToken.getStopIndex());
+		set(index, LINE, token.getLine());
+		set(index, COLUMN, token.getCharPositionInLine());
+		String text = lexer.getExplicitTokenText();
+		if (text != null) {
+			tokenTexts.put(index, text);
+		}
+		String errorMessage = lexer.getErrorMessage(token);
+		if (errorMessage != null) {
+			errorMessages.put(index, errorMessage);
+		}
+		return token;
+	}
+
+	/**
+	 * Moves the input behind the last reused token in front of the change.
+	 */
+	private void skipReusedTokens() {
+		int last = reusableTokens - 1;
+		int line = previous.get(last, LINE);
+		int column = previous.get(last, COLUMN);
+		int segmentEnd = previous.getSegmentStart(reusableTokens);
+		for (int i = previous.get(last, START); i < segmentEnd; i++) {
+			if (input.charAt(i) == '\n') {
+				line++;
+				column = 0;
+			} else {
+				column++;
+			}
+		}
+		input.seek(segmentEnd, line, column);
+	}
+
+	private void resynchronize(int index, int segmentStart) {
+		replayIndex = index;
+		if (index == previous.getTokenCount()) {
+			return;
+		}
+		int start = previous.get(index, START) + offsetDelta;
+		int line = input.getLine();
+		int column = input.getCharPositionInLine();
+		for (int i = segmentStart; i < start; i++) {
+			if (input.charAt(i) == '\n') {
+				line++;
+				column = 0;
+			} else {
+				column++;
+			}
+		}
+		resyncLine = previous.get(index, LINE);
+		lineDelta = line - resyncLine;
+		columnDelta = column - previous.get(index, COLUMN);
+	}
+
+	/**
+	 * Creates the token at the given index of the previous cache and records it. Tokens behind the resynchronization
+	 * point are shifted.
+	 */
+	private Token replay(int previousIndex) {
+		int delta = 0;
+		int lines = 0;
+		int columns = 0;
+		if (replayIndex >= 0) {
+			delta = offsetDelta;
+			lines = lineDelta;
+			if (previous.get(previousIndex, LINE) == resyncLine) {
+				columns = columnDelta;
+			}
+		}
+		int index = record();
+		previous.copyTo(previousIndex, tokens, index);
+		if (delta != 0 || lines != 0 || columns != 0) {
+			int offset = index * FIELDS;
+			tokens[offset + SEGMENT_START] += delta;
+			tokens[offset + LOOK_AHEAD_END] += delta;
+			tokens[offset + START] += delta;
+			tokens[offset + STOP] += delta;
+			tokens[offset + LINE] += lines;
+			tokens[offset + COLUMN] += columns;
+		}
+		CommonToken token = new CommonToken(input, get(index, TYPE), get(index, CHANNEL), get(index, START),
+				get(index, STOP));
+		token.setLine(get(index, LINE));
+		token.setCharPositionInLine(get(index, COLUMN));
+		String text = previous.getTokenText(previousIndex);
+		if (text != null) {
+			token.setText(text);
+			tokenTexts.put(index, text);
+		}
+		String errorMessage = previous.getErrorMessage(previousIndex);
+		if (errorMessage != null) {
+			lexer.setErrorMessage(token, errorMessage);
+			errorMessages.put(index, errorMessage);
+		}
+		return token;
+	}
+
+	private int record() {
+		if ((size + 1) * FIELDS > tokens.length) {
+			tokens = Arrays.copyOf(tokens, tokens.length * 2);
+		}
+		return size++;
+	}
+
+	private void set(int index, int field, int value) {
+		tokens[index * FIELDS + field] = value;
+	}
+
+	private int get(int index, int field) {
+		return tokens[index * FIELDS + field];
+	}
+
+	/**
+	 * The number of tokens that were produced by the lexer rather than taken from the previous cache.
+	 */
+	int getLexedTokenCount() {
+		return lexedTokens;
+	}
+
+	/**
+	 * Returns the recorded tokens for the given text or <code>null</code> if the end of the input was not reached.
+	 */
+	TokenCache getTokenCache(String text) {
+		if (end < 0) {
+			return null;
+		}
+		return new TokenCache(text, tokens, size, end, tokenTexts, errorMessages);
+	}
+
+}
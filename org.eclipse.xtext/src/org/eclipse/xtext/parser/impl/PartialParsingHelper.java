@@ -37,6 +37,7 @@ import org.eclipse.xtext.nodemodel.ICompositeNode;
 import org.eclipse.xtext.nodemodel.ILeafNode;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.impl.AbstractNode;
+import org.eclipse.xtext.nodemodel.impl.CompactRootNode;
 import org.eclipse.xtext.nodemodel.impl.CompositeNode;
 import org.eclipse.xtext.nodemodel.impl.NodeModelBuilder;
 import org.eclipse.xtext.nodemodel.impl.SyntheticCompositeNode;
@@ -45,6 +46,7 @@ import org.eclipse.xtext.parser.IParseResult;
 import org.eclipse.xtext.parser.IParser;
 import org.eclipse.xtext.parser.ParseException;
 import org.eclipse.xtext.parser.ParseResult;
+import org.eclipse.xtext.parser.antlr.AbstractAntlrParser;
 import org.eclipse.xtext.parser.antlr.IPartialParsingHelper;
 import org.eclipse.xtext.parser.antlr.IReferableElementsUnloader;
 import org.eclipse.xtext.util.ReplaceRegion;
@@ -78,6 +80,10 @@ public class PartialParsingHelper implements IPartialParsingHelper {
 			throw new NullPointerException("previousParseResult and previousParseResult.rootNode may not be null");
 		}
 		ICompositeNode oldRootNode = previousParseResult.getRootNode();
+		if (oldRootNode instanceof CompactRootNode) {
+			// compact node models are read-only
+			return fullyReparse(parser, previousParseResult, changedRegion);
+		}
 		if (changedRegion.getEndOffset() > oldRootNode.getTotalLength()) {
 			log.error("Invalid " + changedRegion + " originalLength=" + oldRootNode.getTotalLength());
 			return fullyReparse(parser, previousParseResult, changedRegion);
@@ -224,6 +230,9 @@ public class PartialParsingHelper implements IPartialParsingHelper {
 		ICompositeNode node = previousParseResult.getRootNode();
 		ParserRule parserRule = NodeModelUtils.getEntryParserRule(node);
 		String reparseRegion = insertChangeIntoReplaceRegion(previousParseResult.getRootNode(), replaceRegion);
+		if (parser instanceof AbstractAntlrParser) {
+			return ((AbstractAntlrParser) parser).parse(parserRule, new StringReader(reparseRegion), node);
+		}
 		return parser.parse(parserRule, new StringReader(reparseRegion));
 	}
 
@@ -118,6 +118,7 @@ public class DerivedStateAwareResource extends StorageAwareResource {
 	/*@Override only for emf 2.11. We build with 2.10.2 add Override for 2.9*/
 	@SuppressWarnings("all")
 	protected List<EObject> getUnloadingContents() {
+		discardPendingStorage();
 		return new BasicEList.FastCompare<EObject>(doGetContents());
 	}
 	
@@ -9,6 +9,7 @@
 package org.eclipse.xtext.resource;
 
 import java.util.Collections;
+import java.util.Set;
 
 import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.util.URI;
@@ -56,6 +57,23 @@ public interface IResourceDescriptions extends ISelectable {
 		ResourceSet getResourceSet();
 	}
 
+	/**
+	 * An {@link IResourceDescriptions} that maintains an index of the incoming references of the described resources
+	 * and objects.
+	 * 
+	 * @since 2.25
+	 */
+	interface IReferenceIndexAware extends IResourceDescriptions {
+
+		/**
+		 * Returns the URIs of the resources whose {@link IResourceDescription#getReferenceDescriptions() reference
+		 * descriptions} may contain a reference to one of the given targets. Targets with a fragment denote objects,
+		 * targets without a fragment denote resources and match all references into the resource. Resources whose
+		 * descriptions do not provide their references are always part of the result.
+		 */
+		Set<URI> getReferencingResources(Iterable<URI> targets);
+	}
+
 	class NullImpl implements IResourceDescriptions {
 
 		@Override
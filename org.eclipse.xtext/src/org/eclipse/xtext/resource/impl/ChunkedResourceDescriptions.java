@@ -17,9 +17,11 @@ import java.io.ObjectOutput;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.emf.common.notify.Adapter;
@@ -31,6 +33,7 @@ import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.ISelectable;
 import org.eclipse.xtext.resource.containers.ProjectDescriptionBasedContainerManager;
+import org.eclipse.xtext.resource.persistence.ResourceDescriptionCodec;
 import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 
@@ -49,11 +52,13 @@ import com.google.common.annotations.Beta;
  */
 @Beta
 public class ChunkedResourceDescriptions extends AbstractCompoundSelectable
-		implements IResourceDescriptions, Externalizable {
+		implements IResourceDescriptions.IReferenceIndexAware, Externalizable {
 
 	protected ConcurrentHashMap<String, ResourceDescriptionsData> chunk2resourceDescriptions = new ConcurrentHashMap<>();
 	protected ResourceSet resourceSet;
 
+	private boolean writeEncoded = false;
+
 	public ChunkedResourceDescriptions() {
 	}
 
@@ -70,7 +75,9 @@ public class ChunkedResourceDescriptions extends AbstractCompoundSelectable
 	 * Creates a shallow copy of the resource descriptions map and installs it with the given ResourceSet.
 	 */
 	public ChunkedResourceDescriptions createShallowCopyWith(ResourceSet resourceSet) {
-		return new ChunkedResourceDescriptions(chunk2resourceDescriptions, resourceSet);
+		ChunkedResourceDescriptions copy = new ChunkedResourceDescriptions(chunk2resourceDescriptions, resourceSet);
+		copy.setWriteEncoded(writeEncoded);
+		return copy;
 	}
 
 	public ResourceSet getResourceSet() {
@@ -116,6 +123,20 @@ public class ChunkedResourceDescriptions extends AbstractCompoundSelectable
 		return null;
 	}
 
+	/**
+	 * Collects the referencing resources of all chunks.
+	 * 
+	 * @since 2.25
+	 */
+	@Override
+	public Set<URI> getReferencingResources(Iterable<URI> targets) {
+		Set<URI> result = new HashSet<>();
+		for (ResourceDescriptionsData data : chunk2resourceDescriptions.values()) {
+			result.addAll(data.getReferencingResources(targets));
+		}
+		return result;
+	}
+
 	public ResourceDescriptionsData getContainer(URI uri) {
 		for (ResourceDescriptionsData container : chunk2resourceDescriptions.values()) {
 			IResourceDescription description = container.getResourceDescription(uri);
@@ -129,33 +150,74 @@ public class ChunkedResourceDescriptions extends AbstractCompoundSelectable
 		return chunk2resourceDescriptions.get(containerHandle);
 	}
 
+	/**
+	 * Reads the chunks in the format of the {@link ResourceDescriptionCodec} and in the former format that relied on
+	 * Java serialization.
+	 */
 	@Override
 	public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-		int numChunks = in.readInt();
+		int header = in.readInt();
+		ResourceDescriptionCodec.Reader reader = null;
+		int numChunks = header;
+		if (header == ResourceDescriptionCodec.MAGIC_NUMBER) {
+			reader = new ResourceDescriptionCodec.Reader(in, header);
+			numChunks = in.readInt();
+		}
 		for (int i = 0; i < numChunks; i++) {
 			String chunkName = in.readUTF();
 			int numDescriptions = in.readInt();
 			List<IResourceDescription> descriptions = new ArrayList<IResourceDescription>(numDescriptions);
-			for (int j = 0; j < numDescriptions; j++)
-				descriptions.add((IResourceDescription) in.readObject());
+			for (int j = 0; j < numDescriptions; j++) {
+				if (reader != null)
+					descriptions.add(reader.readResourceDescription());
+				else
+					descriptions.add((IResourceDescription) in.readObject());
+			}
 			chunk2resourceDescriptions.put(chunkName, new ResourceDescriptionsData(descriptions));
 		}
 	}
 
+	/**
+	 * Writes the chunks in the format of the {@link ResourceDescriptionCodec} if {@link #isWriteEncoded()} is set, and
+	 * in the former format that relies on Java serialization otherwise.
+	 */
 	@Override
 	public void writeExternal(ObjectOutput out) throws IOException {
 		Map<String, ResourceDescriptionsData> copy = new HashMap<>(chunk2resourceDescriptions);
+		ResourceDescriptionCodec.Writer writer = null;
+		if (isWriteEncoded())
+			writer = new ResourceDescriptionCodec.Writer(out);
 		out.writeInt(copy.entrySet().size());
 		for (Entry<String, ResourceDescriptionsData> entry : copy.entrySet()) {
 			out.writeUTF(entry.getKey());
-			Iterable<Object> descriptions = transform(entry.getValue().getAllResourceDescriptions(),
-					d -> d instanceof Serializable ? d : SerializableResourceDescription.createCopy(d));
+			Iterable<IResourceDescription> descriptions = entry.getValue().getAllResourceDescriptions();
 			out.writeInt(IterableExtensions.size(descriptions));
-			for (Object d : descriptions)
-				out.writeObject(d);
+			for (IResourceDescription d : descriptions) {
+				if (writer != null)
+					writer.writeResourceDescription(d);
+				else
+					out.writeObject(d instanceof Serializable ? d : SerializableResourceDescription.createCopy(d));
+			}
 		}
 	}
 
+	/**
+	 * @since 2.25
+	 */
+	public boolean isWriteEncoded() {
+		return writeEncoded;
+	}
+
+	/**
+	 * Whether {@link #writeExternal(ObjectOutput)} uses the compact format of the {@link ResourceDescriptionCodec}.
+	 * Former versions cannot read that format. Defaults to <code>false</code>.
+	 * 
+	 * @since 2.25
+	 */
+	public void setWriteEncoded(boolean writeEncoded) {
+		this.writeEncoded = writeEncoded;
+	}
+
 	public static ChunkedResourceDescriptions findInEmfObject(Notifier emfObject) {
 		for (Adapter adapter : emfObject.eAdapters()) {
 			if (adapter instanceof ChunkedResourceDescriptionsAdapter)
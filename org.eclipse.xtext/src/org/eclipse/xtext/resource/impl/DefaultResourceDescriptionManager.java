@@ -60,6 +60,8 @@ public class DefaultResourceDescriptionManager implements IResourceDescription.M
 	
 	private static final String CACHE_KEY = DefaultResourceDescriptionManager.class.getName() + "#getResourceDescription";
 	
+	private volatile Boolean affectedByNamesAndReferencesOnly;
+	
 	@Override
 	public IResourceDescription getResourceDescription(final Resource resource) {
 		return cache.get(CACHE_KEY, resource, new Provider<IResourceDescription>() {
@@ -160,6 +162,55 @@ public class DefaultResourceDescriptionManager implements IResourceDescription.M
 		return isAffectedByExtensions(deltas, candidate, context);
 	}
 
+	/**
+	 * Returns <code>true</code> if
+	 * {@link #isAffected(Collection, IResourceDescription, IResourceDescriptions) isAffected} only reports candidates
+	 * that import or export a name that is exported by one of the deltas or that reference the resource of one of the
+	 * deltas. Callers may use the reverse dependencies of the index to skip all other candidates, e.g. by means of
+	 * {@link ResourceDescriptionsData#getAffectionCandidates(Collection)}.
+	 * 
+	 * This is not the case if a registered {@link IsAffectedExtension extension} does not
+	 * {@link IsAffectedExtension#isAffectedByNamesAndReferencesOnly() guarantee} the same, or if a subclass customizes
+	 * the computation of the imported names or the affection.
+	 * 
+	 * @since 2.25
+	 */
+	@Beta
+	public boolean isAffectedByNamesAndReferencesOnly() {
+		Boolean result = affectedByNamesAndReferencesOnly;
+		if (result == null) {
+			result = computeAffectedByNamesAndReferencesOnly();
+			affectedByNamesAndReferencesOnly = result;
+		}
+		return result;
+	}
+
+	private boolean computeAffectedByNamesAndReferencesOnly() {
+		if (descriptionUtils.getClass() != DescriptionUtils.class) {
+			return false;
+		}
+		for (int i = 0; i < isAffectedExtensions.size(); i++) {
+			if (!isAffectedExtensions.get(i).isAffectedByNamesAndReferencesOnly()) {
+				return false;
+			}
+		}
+		return !overrides("isAffected", Collection.class, IResourceDescription.class, IResourceDescriptions.class)
+				&& !overrides("isAffected", Collection.class, IResourceDescription.class)
+				&& !overrides("getImportedNames", IResourceDescription.class);
+	}
+
+	private boolean overrides(String methodName, Class<?>... parameterTypes) {
+		for (Class<?> type = getClass(); type != DefaultResourceDescriptionManager.class; type = type.getSuperclass()) {
+			try {
+				type.getDeclaredMethod(methodName, parameterTypes);
+				return true;
+			} catch (NoSuchMethodException e) {
+				// continue with the super type
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Query all registered extensions.
 	 * 
@@ -201,6 +252,7 @@ public class DefaultResourceDescriptionManager implements IResourceDescription.M
 	
 	public void setDescriptionUtils(DescriptionUtils descriptionUtils) {
 		this.descriptionUtils = descriptionUtils;
+		this.affectedByNamesAndReferencesOnly = null;
 	}
 	
 	public void setStrategy(IDefaultResourceDescriptionStrategy strategy) {
@@ -62,4 +62,17 @@ public interface IsAffectedExtension {
 	 * contradict the default implementation or other extensions by turning their yes into a no.
 	 */
 	boolean isAffected(Collection<Delta> deltas, IResourceDescription candidate, IResourceDescriptions context);
+
+	/**
+	 * Answers true if this extension only reports candidates that import or export a name that is exported by one of
+	 * the deltas or that reference the resource of one of the deltas. This allows the builder to skip all other
+	 * candidates. Implementations that answer true have to be revisited whenever {@link #isAffected(Collection,
+	 * IResourceDescription, IResourceDescriptions) isAffected} is changed.
+	 * 
+	 * @see DefaultResourceDescriptionManager#isAffectedByNamesAndReferencesOnly()
+	 * @since 2.25
+	 */
+	default boolean isAffectedByNamesAndReferencesOnly() {
+		return false;
+	}
 }
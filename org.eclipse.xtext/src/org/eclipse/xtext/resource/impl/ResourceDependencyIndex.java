@@ -0,0 +1,317 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescription.Delta;
+import org.eclipse.xtext.util.PersistentLinkedHashMap;
+import org.eclipse.xtext.util.PersistentLinkedHashSet;
+
+/**
+ * The reverse dependencies of the resources in a {@link ResourceDescriptionsData}. Lower case imported names and the
+ * URIs of referenced resources and objects are mapped to the URIs of the importing or referencing resources.
+ *
+ * The index does not keep the {@link IReferenceDescription reference descriptions}. Only the URIs of the referencing
+ * resources, which are shared with the keys of the {@link ResourceDescriptionsData}, the URIs of the target resources
+ * and the interned fragments of the target objects are stored. Many references from one resource to the same object
+ * result in a single entry. The builds only need the reverse map of the referenced resources, so the reverse map of
+ * the referenced objects is created by the first lookup of objects and maintained incrementally afterwards.
+ *
+ * The values of the reverse maps are either a single {@link URI} or a {@link PersistentLinkedHashSet} of URIs. Sets may
+ * be shared with copies of this index, so they are copied before they are modified.
+ *
+ * @since 2.25
+ */
+class ResourceDependencyIndex {
+
+	/**
+	 * The counters are shared by all copies of an index.
+	 */
+	static class Statistics {
+		final AtomicLong hits = new AtomicLong();
+
+		final AtomicLong misses = new AtomicLong();
+	}
+
+	private static class Dependencies {
+		final QualifiedName[] importedNames;
+
+		final URI[] referencedResources;
+
+		/**
+		 * The fragments of the referenced objects, per referenced resource.
+		 */
+		final String[][] referencedFragments;
+
+		Dependencies(Collection<QualifiedName> importedNames, Map<URI, Set<String>> referencedObjects) {
+			this.importedNames = importedNames.toArray(new QualifiedName[importedNames.size()]);
+			this.referencedResources = new URI[referencedObjects.size()];
+			this.referencedFragments = new String[referencedObjects.size()][];
+			int i = 0;
+			for (Map.Entry<URI, Set<String>> entry : referencedObjects.entrySet()) {
+				referencedResources[i] = entry.getKey();
+				referencedFragments[i] = entry.getValue().toArray(new String[entry.getValue().size()]);
+				i++;
+			}
+		}
+
+		int getReferencedObjectCount() {
+			int result = 0;
+			for (String[] fragments : referencedFragments) {
+				result += fragments.length;
+			}
+			return result;
+		}
+	}
+
+	private final PersistentLinkedHashMap<URI, Dependencies> dependencies;
+
+	private final PersistentLinkedHashMap<QualifiedName, Object> importingResources;
+
+	private final PersistentLinkedHashMap<URI, Object> referencingResources;
+
+	/**
+	 * Created on demand by {@link #getReferencingObjects()}.
+	 */
+	private volatile PersistentLinkedHashMap<URI, Object> referencingObjects;
+
+	/**
+	 * The number of pairs of a referencing resource and a referenced resource.
+	 */
+	private int resourceReferenceCount;
+
+	/**
+	 * The number of pairs of a referencing resource and a referenced object.
+	 */
+	private int objectReferenceCount;
+
+	/**
+	 * Resources with descriptions that do not provide their imported names and references.
+	 */
+	private final PersistentLinkedHashSet<URI> unknownDependencies;
+
+	private final Statistics statistics;
+
+	ResourceDependencyIndex(Statistics statistics) {
+		this.dependencies = new PersistentLinkedHashMap<>();
+		this.importingResources = new PersistentLinkedHashMap<>();
+		this.referencingResources = new PersistentLinkedHashMap<>();
+		this.unknownDependencies = new PersistentLinkedHashSet<>();
+		this.statistics = statistics;
+	}
+
+	private ResourceDependencyIndex(ResourceDependencyIndex original) {
+		this.dependencies = original.dependencies.copy();
+		this.importingResources = original.importingResources.copy();
+		this.referencingResources = original.referencingResources.copy();
+		PersistentLinkedHashMap<URI, Object> objects = original.referencingObjects;
+		this.referencingObjects = objects != null ? objects.copy() : null;
+		this.resourceReferenceCount = original.resourceReferenceCount;
+		this.objectReferenceCount = original.objectReferenceCount;
+		this.unknownDependencies = original.unknownDependencies.copy();
+		this.statistics = original.statistics;
+	}
+
+	ResourceDependencyIndex copy() {
+		return new ResourceDependencyIndex(this);
+	}
+
+	Statistics getStatistics() {
+		return statistics;
+	}
+
+	void add(URI uri, IResourceDescription description) {
+		remove(uri);
+		if (description instanceof ResourceDescriptionsData.ExportedObjectsOnly) {
+			unknownDependencies.add(uri);
+			return;
+		}
+		Set<QualifiedName> importedNames = new LinkedHashSet<>();
+		for (QualifiedName importedName : description.getImportedNames()) {
+			importedNames.add(importedName.toLowerCase());
+		}
+		Map<URI, Set<String>> referencedObjects = new LinkedHashMap<>();
+		for (IReferenceDescription reference : description.getReferenceDescriptions()) {
+			URI targetObject = reference.getTargetEObjectUri();
+			URI targetResource = targetObject.trimFragment();
+			if (!uri.equals(targetResource)) {
+				Set<String> fragments = referencedObjects.computeIfAbsent(targetResource, it -> new LinkedHashSet<>());
+				if (targetObject.hasFragment()) {
+					fragments.add(targetObject.fragment().intern());
+				}
+			}
+		}
+		for (QualifiedName importedName : importedNames) {
+			addValue(importingResources, importedName, uri);
+		}
+		Dependencies added = new Dependencies(importedNames, referencedObjects);
+		for (URI referencedResource : added.referencedResources) {
+			addValue(referencingResources, referencedResource, uri);
+		}
+		resourceReferenceCount += added.referencedResources.length;
+		PersistentLinkedHashMap<URI, Object> objects = referencingObjects;
+		if (objects != null) {
+			addReferencingObjects(objects, uri, added);
+		}
+		dependencies.put(uri, added);
+	}
+
+	void remove(URI uri) {
+		unknownDependencies.remove(uri);
+		Dependencies removed = dependencies.remove(uri);
+		if (removed != null) {
+			for (QualifiedName importedName : removed.importedNames) {
+				removeValue(importingResources, importedName, uri);
+			}
+			for (URI referencedResource : removed.referencedResources) {
+				removeValue(referencingResources, referencedResource, uri);
+			}
+			resourceReferenceCount -= removed.referencedResources.length;
+			PersistentLinkedHashMap<URI, Object> objects = referencingObjects;
+			if (objects != null) {
+				for (int i = 0; i < removed.referencedResources.length; i++) {
+					for (String fragment : removed.referencedFragments[i]) {
+						removeValue(objects, removed.referencedResources[i].appendFragment(fragment), uri);
+					}
+				}
+				objectReferenceCount -= removed.getReferencedObjectCount();
+			}
+		}
+	}
+
+	/**
+	 * Returns the URIs of all resources that reference one of the given targets or whose dependencies are unknown.
+	 * Targets with a fragment denote objects, targets without a fragment denote resources. References within a
+	 * resource are not indexed, so a target resource is only part of the result if it references another target.
+	 */
+	Set<URI> getReferencingResources(Iterable<URI> targets) {
+		Set<URI> result = new HashSet<>(unknownDependencies);
+		for (URI target : targets) {
+			if (target.hasFragment()) {
+				addValues(result, getReferencingObjects().get(target));
+			} else {
+				addValues(result, referencingResources.get(target));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The number of entries in the reverse maps of the referenced resources and objects. Each entry is a pair of a
+	 * referencing resource and a referenced resource or object. The referenced objects are only counted once their
+	 * reverse map was created.
+	 */
+	int getReferenceCount() {
+		return resourceReferenceCount + (referencingObjects != null ? objectReferenceCount : 0);
+	}
+
+	/**
+	 * The reverse map of the referenced objects is created from the stored fragments on first access. Concurrent
+	 * readers of a published index may request it at the same time.
+	 */
+	private synchronized PersistentLinkedHashMap<URI, Object> getReferencingObjects() {
+		PersistentLinkedHashMap<URI, Object> result = referencingObjects;
+		if (result == null) {
+			result = new PersistentLinkedHashMap<>();
+			objectReferenceCount = 0;
+			for (Map.Entry<URI, Dependencies> entry : dependencies.entrySet()) {
+				addReferencingObjects(result, entry.getKey(), entry.getValue());
+			}
+			referencingObjects = result;
+		}
+		return result;
+	}
+
+	private void addReferencingObjects(PersistentLinkedHashMap<URI, Object> objects, URI uri,
+			Dependencies resourceDependencies) {
+		for (int i = 0; i < resourceDependencies.referencedResources.length; i++) {
+			for (String fragment : resourceDependencies.referencedFragments[i]) {
+				addValue(objects, resourceDependencies.referencedResources[i].appendFragment(fragment), uri);
+			}
+		}
+		objectReferenceCount += resourceDependencies.getReferencedObjectCount();
+	}
+
+	/**
+	 * Returns the URIs of all resources that import a name that is exported by the old or new description of one of
+	 * the deltas, that reference a resource of one of the deltas or whose dependencies are unknown.
+	 */
+	Set<URI> getCandidates(Iterable<? extends Delta> deltas) {
+		Set<URI> result = new HashSet<>(unknownDependencies);
+		for (Delta delta : deltas) {
+			addValues(result, referencingResources.get(delta.getUri()));
+			addImportingResources(result, delta.getOld());
+			addImportingResources(result, delta.getNew());
+		}
+		return result;
+	}
+
+	private void addImportingResources(Set<URI> result, IResourceDescription description) {
+		if (description != null) {
+			for (IEObjectDescription exported : description.getExportedObjects()) {
+				addValues(result, importingResources.get(exported.getName().toLowerCase()));
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void addValues(Set<URI> result, Object value) {
+		if (value instanceof URI) {
+			result.add((URI) value);
+		} else if (value != null) {
+			result.addAll((Set<URI>) value);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K> void addValue(PersistentLinkedHashMap<K, Object> map, K key, URI uri) {
+		Object existing = map.put(key, uri);
+		if (existing != null && !uri.equals(existing)) {
+			PersistentLinkedHashSet<URI> set;
+			if (existing instanceof URI) {
+				set = new PersistentLinkedHashSet<>();
+				set.add((URI) existing);
+			} else {
+				set = ((PersistentLinkedHashSet<URI>) existing).copy();
+			}
+			set.add(uri);
+			map.put(key, set);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K> void removeValue(PersistentLinkedHashMap<K, Object> map, K key, URI uri) {
+		Object existing = map.get(key);
+		if (uri.equals(existing)) {
+			map.remove(key);
+		} else if (existing instanceof PersistentLinkedHashSet<?>) {
+			PersistentLinkedHashSet<URI> set = ((PersistentLinkedHashSet<URI>) existing).copy();
+			if (set.remove(uri)) {
+				if (set.size() == 1) {
+					map.put(key, set.iterator().next());
+				} else {
+					map.put(key, set);
+				}
+			}
+		}
+	}
+
+}
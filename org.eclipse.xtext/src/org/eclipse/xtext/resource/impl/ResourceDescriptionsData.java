@@ -10,7 +10,6 @@ package org.eclipse.xtext.resource.impl;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
@@ -27,12 +26,13 @@ import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescription.Delta;
 import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.util.PersistentLinkedHashMap;
+import org.eclipse.xtext.util.PersistentLinkedHashSet;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.Function;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 
 /**
  * Instances of {@link ResourceDescriptionsData} provide indexed access to
@@ -42,7 +42,7 @@ import com.google.common.collect.Sets;
  * @since 2.5
  * 
  */
-@Beta public class ResourceDescriptionsData extends AbstractCompoundSelectable implements IResourceDescriptions {
+@Beta public class ResourceDescriptionsData extends AbstractCompoundSelectable implements IResourceDescriptions.IReferenceIndexAware {
 	
 	public static class ResourceSetAdapter extends AdapterImpl {
 		
@@ -91,20 +91,23 @@ import com.google.common.collect.Sets;
 	 */
 	private final Map<QualifiedName, Object> lookupMap;
 
+	/**
+	 * The reverse dependencies are computed on demand by {@link #getAffectionCandidates(Collection)} or
+	 * {@link #getReferencingResources(Iterable)} and maintained incrementally afterwards.
+	 */
+	private volatile ResourceDependencyIndex dependencyIndex;
+
+	private ResourceDependencyIndex.Statistics dependencyStatistics = new ResourceDependencyIndex.Statistics();
+
 	public ResourceDescriptionsData(Iterable<IResourceDescription> descriptions) {
-		int expectedSize = 500; // magic number in case it's not a Collection
-		if (descriptions instanceof Collection) {
-			expectedSize = ((Collection<?>) descriptions).size();
-		}
-		resourceDescriptionMap = new LinkedHashMap<>(expectedSize);
+		resourceDescriptionMap = new PersistentLinkedHashMap<>();
 		for (IResourceDescription desc : descriptions) {
 			resourceDescriptionMap.put(desc.getURI(), desc);
 		}
-		// magic number - it is assumend that we export at least 2 entries per resource description
-		lookupMap = new LinkedHashMap<>(resourceDescriptionMap.size() * 2);
-	    for (IResourceDescription description: descriptions) {
-	    	registerDescription(description, lookupMap);
-	    }
+		lookupMap = new PersistentLinkedHashMap<>();
+		for (IResourceDescription description: descriptions) {
+			registerDescription(description, lookupMap);
+		}
 	}
 
 	protected ResourceDescriptionsData(Map<URI, IResourceDescription> resourceDescriptionMap, Map<QualifiedName, Object> lookupMap) {
@@ -112,13 +115,36 @@ import com.google.common.collect.Sets;
 		this.lookupMap = lookupMap;
 	}
 	
+	/**
+	 * Creates a copy of this index. If the data is backed by {@link PersistentLinkedHashMap persistent maps}, which is
+	 * the default, the copy is created in constant time and shares its structure with this instance.
+	 */
 	public ResourceDescriptionsData copy() {
-		return new ResourceDescriptionsData(
-				Maps.newLinkedHashMap(resourceDescriptionMap),
+		ResourceDescriptionsData result = new ResourceDescriptionsData(
+				copyResourceDescriptionMap(),
 				copyLookupMap());
+		result.dependencyStatistics = dependencyStatistics;
+		if (dependencyIndex != null) {
+			result.dependencyIndex = dependencyIndex.copy();
+		}
+		return result;
+	}
+	
+	/**
+	 * @since 2.25
+	 */
+	protected Map<URI, IResourceDescription> copyResourceDescriptionMap() {
+		if (resourceDescriptionMap instanceof PersistentLinkedHashMap<?, ?>) {
+			return ((PersistentLinkedHashMap<URI, IResourceDescription>) resourceDescriptionMap).copy();
+		}
+		return Maps.newLinkedHashMap(resourceDescriptionMap);
 	}
 	
 	protected Map<QualifiedName, Object> copyLookupMap() {
+		if (lookupMap instanceof PersistentLinkedHashMap<?, ?>) {
+			// values of type PersistentLinkedHashSet are shared and copied on write
+			return ((PersistentLinkedHashMap<QualifiedName, Object>) lookupMap).copy();
+		}
 		Map<QualifiedName, Object> result = Maps.newLinkedHashMap(lookupMap);
 		for(Map.Entry<QualifiedName, Object> entry: result.entrySet()) {
 			Object value = entry.getValue();
@@ -144,6 +170,9 @@ import com.google.common.collect.Sets;
 	}
 
 	public void removeDescription(URI uri) {
+		if (dependencyIndex != null) {
+			dependencyIndex.remove(uri);
+		}
 		IResourceDescription oldDescription = resourceDescriptionMap.remove(uri);
 		if (oldDescription != null) {
 			for(IEObjectDescription object: oldDescription.getExportedObjects()) {
@@ -152,7 +181,7 @@ import com.google.common.collect.Sets;
 				if (existing == oldDescription) {
 					lookupMap.remove(objectName);
 				} else if (existing instanceof Set<?>) {
-					Set<?> casted = (Set<?>) existing;
+					Set<?> casted = modifiableSet(objectName, existing, lookupMap);
 					if (casted.remove(oldDescription)) {
 						if (casted.size() == 1) {
 							lookupMap.put(objectName, casted.iterator().next());
@@ -209,6 +238,9 @@ import com.google.common.collect.Sets;
 		if (newDescription != null) {
 			resourceDescriptionMap.put(uri, newDescription);
 			registerDescription(newDescription, lookupMap);
+			if (dependencyIndex != null) {
+				dependencyIndex.add(uri, newDescription);
+			}
 		}
 	}
 
@@ -220,10 +252,10 @@ import com.google.common.collect.Sets;
 			if (existing != null && existing != description) {
 				Set<IResourceDescription> set = null;
 				if (existing instanceof IResourceDescription) {
-					set = Sets.newLinkedHashSetWithExpectedSize(2);
+					set = new PersistentLinkedHashSet<>();
 					set.add((IResourceDescription)existing);
 				} else {
-					set = (Set<IResourceDescription>) existing;
+					set = (Set<IResourceDescription>) modifiableSet(lowerCase, existing, target);
 				}
 				set.add(description);
 				target.put(lowerCase, set);
@@ -231,6 +263,19 @@ import com.google.common.collect.Sets;
 		}
 	}
 
+	/**
+	 * Sets in the lookup map may be shared with copies of this instance. Returns a set for the given name that may be
+	 * modified safely. The result is already registered in the given lookup map.
+	 */
+	private Set<?> modifiableSet(QualifiedName name, Object existing, Map<QualifiedName, Object> target) {
+		if (existing instanceof PersistentLinkedHashSet<?>) {
+			PersistentLinkedHashSet<?> copy = ((PersistentLinkedHashSet<?>) existing).copy();
+			target.put(name, copy);
+			return copy;
+		}
+		return (Set<?>) existing;
+	}
+
 	/**
 	 * Put a new resource description into the index, or remove one if the delta has no new description. A delta for a
 	 * particular URI may be registered more than once; overwriting any earlier registration.
@@ -247,4 +292,124 @@ import com.google.common.collect.Sets;
 			addDescription(delta.getUri(), newDesc);
 		}
 	}
+
+	/**
+	 * Returns the URIs of the resources that may be affected by the given deltas according to the default semantics of
+	 * {@link DefaultResourceDescriptionManager#isAffected(Collection, IResourceDescription, IResourceDescriptions)}.
+	 * These are the resources that import or export a name that is exported by the old or the new description of a
+	 * delta, that reference a resource of a delta, or whose description does not provide its dependencies (see
+	 * {@link ExportedObjectsOnly}). The result may contain the URIs of the deltas themselves.
+	 * 
+	 * The reverse dependency index that is used to compute the candidates is created on the first invocation and kept
+	 * in sync by {@link #register(Delta)}, {@link #addDescription(URI, IResourceDescription)} and
+	 * {@link #removeDescription(URI)} afterwards. It is shared with {@link #copy() copies} of this instance.
+	 * 
+	 * @since 2.25
+	 */
+	public Set<URI> getAffectionCandidates(Collection<? extends Delta> deltas) {
+		Set<URI> result = getDependencyIndex().getCandidates(deltas);
+		for (Delta delta : deltas) {
+			addExportingResources(result, delta.getOld());
+			addExportingResources(result, delta.getNew());
+		}
+		int hits = 0;
+		for (URI candidate : result) {
+			if (resourceDescriptionMap.containsKey(candidate)) {
+				hits++;
+			}
+		}
+		dependencyStatistics.hits.addAndGet(hits);
+		dependencyStatistics.misses.addAndGet(resourceDescriptionMap.size() - hits);
+		return result;
+	}
+
+	/**
+	 * Returns the URIs of the resources whose reference descriptions contain a reference to one of the given targets,
+	 * and of the resources whose description does not provide its references (see {@link ExportedObjectsOnly}).
+	 * References within a resource are not part of its reference descriptions, so they are not considered.
+	 * 
+	 * The lookup uses the same reverse dependency index as {@link #getAffectionCandidates(Collection)}. See
+	 * {@link #getIndexedReferenceCount()} for its size.
+	 * 
+	 * @since 2.25
+	 */
+	@Override
+	public Set<URI> getReferencingResources(Iterable<URI> targets) {
+		return getDependencyIndex().getReferencingResources(targets);
+	}
+
+	/**
+	 * The number of entries in the reverse maps of the dependency index, or zero if the index was not created yet.
+	 * Each entry is a distinct pair of a referencing resource and a referenced resource or object. The map of the
+	 * referenced objects is created by the first {@link #getReferencingResources(Iterable) lookup} of objects, its
+	 * entries are not counted before. This is a count of entries, not of bytes.
+	 * 
+	 * @since 2.25
+	 */
+	public int getIndexedReferenceCount() {
+		ResourceDependencyIndex index = dependencyIndex;
+		if (index == null) {
+			return 0;
+		}
+		return index.getReferenceCount();
+	}
+
+	/**
+	 * The index is usually created by a build but may also be requested by concurrent readers first.
+	 */
+	private synchronized ResourceDependencyIndex getDependencyIndex() {
+		if (dependencyIndex == null) {
+			ResourceDependencyIndex index = new ResourceDependencyIndex(dependencyStatistics);
+			for (Map.Entry<URI, IResourceDescription> entry : resourceDescriptionMap.entrySet()) {
+				index.add(entry.getKey(), entry.getValue());
+			}
+			dependencyIndex = index;
+		}
+		return dependencyIndex;
+	}
+
+	private void addExportingResources(Set<URI> result, IResourceDescription description) {
+		if (description != null) {
+			for (IEObjectDescription object : description.getExportedObjects()) {
+				Object existing = lookupMap.get(object.getName().toLowerCase());
+				if (existing instanceof IResourceDescription) {
+					result.add(((IResourceDescription) existing).getURI());
+				} else if (existing instanceof Set<?>) {
+					for (Object exporting : (Set<?>) existing) {
+						result.add(((IResourceDescription) exporting).getURI());
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * The number of indexed resources that were returned by {@link #getAffectionCandidates(Collection)}, accumulated
+	 * over this instance and all its copies.
+	 * 
+	 * @since 2.25
+	 */
+	public long getAffectionCandidateHits() {
+		return dependencyStatistics.hits.get();
+	}
+
+	/**
+	 * The number of indexed resources that were excluded from the result of {@link #getAffectionCandidates(Collection)},
+	 * accumulated over this instance and all its copies.
+	 * 
+	 * @since 2.25
+	 */
+	public long getAffectionCandidateMisses() {
+		return dependencyStatistics.misses.get();
+	}
+
+	/**
+	 * Marker interface for resource descriptions that provide their exported objects only, but neither imported names
+	 * nor reference descriptions. Resources with such a description are always returned by
+	 * {@link ResourceDescriptionsData#getAffectionCandidates(Collection)}.
+	 * 
+	 * @since 2.25
+	 */
+	public interface ExportedObjectsOnly {
+	}
 }
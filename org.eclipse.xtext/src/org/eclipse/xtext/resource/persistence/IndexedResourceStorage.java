@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.resource.persistence;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * An uncompressed storage layout for resources that allows random access to its entries, e.g. in a memory mapped file.
+ *
+ * The storage starts with the {@link #MAGIC_NUMBER magic number} and the {@link #VERSION version} followed by the
+ * bytes of the entries. The entry directory with the names, offsets and lengths of the entries is written after the
+ * entries, so the storage can be written in one pass. The last int of the storage is the offset of the directory.
+ *
+ * @since 2.25
+ */
+@Beta
+public class IndexedResourceStorage {
+
+	/**
+	 * The first int of an indexed storage. It differs from the local file header signature of a zip file.
+	 */
+	public static final int MAGIC_NUMBER = 0x58544953;
+
+	public static final int VERSION = 1;
+
+	/**
+	 * Writes the entries of an indexed storage. The API mimics the {@link java.util.zip.ZipOutputStream}.
+	 */
+	public static class Writer extends OutputStream {
+		private final DataOutputStream out;
+
+		private final Map<String, int[]> directory = new LinkedHashMap<>();
+
+		private int position;
+
+		private String currentEntry;
+
+		private int currentEntryOffset;
+
+		private boolean finished;
+
+		public Writer(OutputStream out) throws IOException {
+			this.out = new DataOutputStream(out);
+			this.out.writeInt(MAGIC_NUMBER);
+			this.out.writeInt(VERSION);
+			this.position = 8;
+		}
+
+		/**
+		 * Starts a new entry and closes the current one, if any.
+		 */
+		public void putNextEntry(String name) throws IOException {
+			closeEntry();
+			if (directory.containsKey(name))
+				throw new IOException("Duplicate entry " + name);
+			currentEntry = name;
+			currentEntryOffset = position;
+		}
+
+		public void closeEntry() {
+			if (currentEntry != null) {
+				directory.put(currentEntry, new int[] { currentEntryOffset, position - currentEntryOffset });
+				currentEntry = null;
+			}
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			checkEntry();
+			out.write(b);
+			position++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			checkEntry();
+			out.write(b, off, len);
+			position += len;
+		}
+
+		private void checkEntry() throws IOException {
+			if (currentEntry == null)
+				throw new IOException("No current entry");
+		}
+
+		/**
+		 * Writes the entry directory without closing the underlying stream.
+		 */
+		public void finish() throws IOException {
+			if (finished)
+				return;
+			closeEntry();
+			int directoryOffset = position;
+			out.writeInt(directory.size());
+			for (Map.Entry<String, int[]> entry : directory.entrySet()) {
+				byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+				out.writeInt(name.length);
+				out.write(name);
+				out.writeInt(entry.getValue()[0]);
+				out.writeInt(entry.getValue()[1]);
+			}
+			out.writeInt(directoryOffset);
+			out.flush();
+			finished = true;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			out.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			finish();
+			out.close();
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if the remaining bytes of the given buffer start with the magic number of an indexed
+	 * storage.
+	 */
+	public static boolean isIndexedStorage(ByteBuffer buffer) {
+		return buffer.remaining() >= 12 && buffer.getInt(buffer.position()) == MAGIC_NUMBER;
+	}
+
+	private final Map<String, ByteBuffer> entries = new LinkedHashMap<>();
+
+	/**
+	 * Reads the entry directory of the storage in the remaining bytes of the given buffer. The entries are not copied.
+	 */
+	public IndexedResourceStorage(ByteBuffer buffer) throws IOException {
+		ByteBuffer storage = buffer.slice();
+		if (!isIndexedStorage(storage))
+			throw new IOException("Not an indexed resource storage.");
+		int version = storage.getInt(4);
+		if (version > VERSION)
+			throw new IOException("Unsupported resource storage version " + version);
+		try {
+			storage.position(storage.getInt(storage.limit() - 4));
+			int entryCount = storage.getInt();
+			for (int i = 0; i < entryCount; i++) {
+				byte[] name = new byte[storage.getInt()];
+				storage.get(name);
+				int offset = storage.getInt();
+				int length = storage.getInt();
+				ByteBuffer entry = storage.duplicate();
+				entry.limit(offset + length);
+				entry.position(offset);
+				entries.put(new String(name, StandardCharsets.UTF_8), entry.slice());
+			}
+		} catch (RuntimeException e) {
+			throw new IOException("Corrupt resource storage.", e);
+		}
+	}
+
+	public Iterable<String> getEntryNames() {
+		return entries.keySet();
+	}
+
+	/**
+	 * Returns a read only view of the entry with the given name or <code>null</code> if there is no such entry.
+	 */
+	public ByteBuffer getEntry(String name) {
+		ByteBuffer entry = entries.get(name);
+		if (entry == null)
+			return null;
+		return entry.asReadOnlyBuffer();
+	}
+
+	/**
+	 * Returns a stream over the entry with the given name or <code>null</code> if there is no such entry.
+	 */
+	public InputStream getInputStream(String name) {
+		ByteBuffer entry = getEntry(name);
+		if (entry == null)
+			return null;
+		return new ByteBufferInputStream(entry);
+	}
+
+	private static class ByteBufferInputStream extends InputStream {
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			if (!buffer.hasRemaining())
+				return -1;
+			return buffer.get() & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (len == 0)
+				return 0;
+			if (!buffer.hasRemaining())
+				return -1;
+			int result = Math.min(len, buffer.remaining());
+			buffer.get(b, off, result);
+			return result;
+		}
+
+		@Override
+		public long skip(long n) {
+			int result = (int) Math.max(0, Math.min(n, buffer.remaining()));
+			buffer.position(buffer.position() + result);
+			return result;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+
+		@Override
+		public boolean markSupported() {
+			return true;
+		}
+
+		@Override
+		public synchronized void mark(int readlimit) {
+			buffer.mark();
+		}
+
+		@Override
+		public synchronized void reset() {
+			buffer.reset();
+		}
+	}
+
+}
@@ -0,0 +1,494 @@
+/*******************************************************************************
+ * Copyright (c) 2021 itemis AG (http://www.itemis.eu) and others.
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.xtext.resource.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.ENamedElement;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IResourceDescription;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * A compact binary encoding of {@link SerializableResourceDescription resource descriptions}.
+ *
+ * A stream starts with the {@link #MAGIC_NUMBER magic number} and the {@link #VERSION version} of the format. Each
+ * description is preceded by the entries of the segment table that it introduces: strings, qualified names, Ecore
+ * elements and URIs are written only once per stream and referenced by their varint encoded index afterwards. The
+ * indices of the references of a description are delta encoded, since subsequent references usually share their source
+ * and container.
+ *
+ * Readers check the magic number to distinguish the encoding from the former {@link java.io.ObjectOutputStream Java
+ * serialization} of resource descriptions.
+ *
+ * @since 2.25
+ */
+@Beta
+public class ResourceDescriptionCodec {
+
+	/**
+	 * The first int of an encoded stream. It is negative, so it cannot be mistaken for an element count of the former
+	 * format, and it differs from the stream header of the Java serialization.
+	 */
+	public static final int MAGIC_NUMBER = 0xC0DEC0DE;
+
+	public static final int VERSION = 1;
+
+	private static final byte ENCODED = 0;
+
+	private static final byte JAVA_SERIALIZED = 1;
+
+	/**
+	 * Returns the description that is encoded for the given description or <code>null</code> if the given description
+	 * has to be stored with Java serialization, because it or its elements are specialized serializable types.
+	 */
+	public static SerializableResourceDescription toEncodable(IResourceDescription description) {
+		SerializableResourceDescription result;
+		if (description instanceof SerializableResourceDescription) {
+			result = (SerializableResourceDescription) description;
+		} else if (description instanceof Serializable) {
+			return null;
+		} else {
+			result = SerializableResourceDescription.createCopy(description);
+		}
+		if (result.getClass() != SerializableResourceDescription.class)
+			return null;
+		for (SerializableEObjectDescription exported : result.getDescriptions()) {
+			if (exported.getClass() != SerializableEObjectDescription.class)
+				return null;
+		}
+		for (SerializableReferenceDescription reference : result.getReferences()) {
+			if (reference.getClass() != SerializableReferenceDescription.class)
+				return null;
+		}
+		return result;
+	}
+
+	/**
+	 * Writes resource descriptions to a {@link DataOutput}. The segment table is shared by all descriptions that are
+	 * written by the same writer.
+	 */
+	public static class Writer {
+		private final DataOutput out;
+
+		private final Map<String, Integer> strings = new HashMap<>();
+
+		private final Map<QualifiedName, Integer> names = new HashMap<>();
+
+		private final Map<ENamedElement, Integer> elements = new HashMap<>();
+
+		private final Map<URI, Integer> uris = new HashMap<>();
+
+		private final List<String> newStrings = new ArrayList<>();
+
+		private final List<QualifiedName> newNames = new ArrayList<>();
+
+		private final List<ENamedElement> newElements = new ArrayList<>();
+
+		private final List<URI> newURIs = new ArrayList<>();
+
+		private final ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(1024);
+
+		private final DataOutputStream body = new DataOutputStream(bodyBytes);
+
+		/**
+		 * Creates a writer and writes the header of the stream.
+		 */
+		public Writer(DataOutput out) throws IOException {
+			this.out = out;
+			out.writeInt(MAGIC_NUMBER);
+			out.writeByte(VERSION);
+		}
+
+		/**
+		 * Writes the given description. Descriptions that are not
+		 * {@link ResourceDescriptionCodec#toEncodable(IResourceDescription) encodable} are written with Java
+		 * serialization, which requires the underlying output to be an {@link ObjectOutput}.
+		 *
+		 * @see Reader#readResourceDescription()
+		 */
+		public void writeResourceDescription(IResourceDescription description) throws IOException {
+			SerializableResourceDescription encodable = toEncodable(description);
+			if (encodable != null) {
+				out.writeByte(ENCODED);
+				write(encodable);
+			} else if (out instanceof ObjectOutput) {
+				out.writeByte(JAVA_SERIALIZED);
+				((ObjectOutput) out).writeObject(description);
+			} else {
+				throw new IOException("Cannot encode the resource description " + description.getURI());
+			}
+		}
+
+		/**
+		 * Encodes the given description. Specializations of the serializable descriptions are not preserved.
+		 *
+		 * @see Reader#read()
+		 */
+		public void write(SerializableResourceDescription description) throws IOException {
+			bodyBytes.reset();
+			writeURI(description.getURI());
+			List<SerializableEObjectDescription> exported = description.getDescriptions();
+			writeVarint(body, exported.size());
+			for (SerializableEObjectDescription desc : exported) {
+				writeURI(desc.getEObjectURI());
+				writeVarint(body, elementIndex(desc.getEClass()));
+				writeVarint(body, nameIndex(desc.getQualifiedName()));
+				HashMap<String, String> userData = desc.getUserData();
+				if (userData == null) {
+					writeVarint(body, 0);
+				} else {
+					writeVarint(body, userData.size() + 1);
+					for (Map.Entry<String, String> entry : userData.entrySet()) {
+						writeVarint(body, stringIndex(entry.getKey()));
+						writeVarint(body, stringIndex(entry.getValue()));
+					}
+				}
+			}
+			List<SerializableReferenceDescription> references = description.getReferences();
+			writeVarint(body, references.size());
+			int source = 0, target = 0, container = 0, reference = 0;
+			for (SerializableReferenceDescription ref : references) {
+				int nextSource = uriIndex(ref.getSourceEObjectUri());
+				int nextTarget = uriIndex(ref.getTargetEObjectUri());
+				int nextContainer = uriIndex(ref.getContainerEObjectURI());
+				int nextReference = elementIndex(ref.getEReference());
+				writeVarint(body, zigZag(nextSource - source));
+				writeVarint(body, zigZag(nextTarget - target));
+				writeVarint(body, zigZag(nextContainer - container));
+				writeVarint(body, zigZag(nextReference - reference));
+				writeVarint(body, zigZag(ref.getIndexInList()));
+				source = nextSource;
+				target = nextTarget;
+				container = nextContainer;
+				reference = nextReference;
+			}
+			List<QualifiedName> importedNames = new ArrayList<>();
+			for (QualifiedName importedName : description.getImportedNames()) {
+				importedNames.add(importedName);
+			}
+			writeVarint(body, importedNames.size());
+			int name = 0;
+			for (QualifiedName importedName : importedNames) {
+				int nextName = nameIndex(importedName);
+				writeVarint(body, zigZag(nextName - name));
+				name = nextName;
+			}
+			body.flush();
+			writeSegmentTable();
+			writeVarint(out, bodyBytes.size());
+			out.write(bodyBytes.toByteArray(), 0, bodyBytes.size());
+		}
+
+		private void writeSegmentTable() throws IOException {
+			writeVarint(out, newStrings.size());
+			for (String string : newStrings) {
+				byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+				writeVarint(out, bytes.length);
+				out.write(bytes);
+			}
+			writeVarint(out, newNames.size());
+			for (QualifiedName name : newNames) {
+				writeVarint(out, name.getSegmentCount());
+				for (String segment : name.getSegments()) {
+					writeVarint(out, strings.get(segment) + 1);
+				}
+			}
+			writeVarint(out, newElements.size());
+			for (ENamedElement element : newElements) {
+				writeVarint(out, strings.get(EcoreUtil.getURI(element).toString()) + 1);
+			}
+			writeVarint(out, newURIs.size());
+			for (URI uri : newURIs) {
+				writeVarint(out, strings.get(uri.trimFragment().toString()) + 1);
+				writeVarint(out, uri.hasFragment() ? strings.get(uri.fragment()) + 1 : 0);
+			}
+			newStrings.clear();
+			newNames.clear();
+			newElements.clear();
+			newURIs.clear();
+		}
+
+		private void writeURI(URI uri) throws IOException {
+			writeVarint(body, uriIndex(uri));
+		}
+
+		/**
+		 * Returns the index plus one of the given string in the segment table or zero for <code>null</code>.
+		 */
+		private int stringIndex(String string) {
+			if (string == null)
+				return 0;
+			Integer index = strings.get(string);
+			if (index == null) {
+				index = strings.size();
+				strings.put(string, index);
+				newStrings.add(string);
+			}
+			return index + 1;
+		}
+
+		private int nameIndex(QualifiedName name) {
+			if (name == null)
+				return 0;
+			Integer index = names.get(name);
+			if (index == null) {
+				for (String segment : name.getSegments()) {
+					stringIndex(segment);
+				}
+				index = names.size();
+				names.put(name, index);
+				newNames.add(name);
+			}
+			return index + 1;
+		}
+
+		private int elementIndex(ENamedElement element) {
+			if (element == null)
+				return 0;
+			Integer index = elements.get(element);
+			if (index == null) {
+				stringIndex(EcoreUtil.getURI(element).toString());
+				index = elements.size();
+				elements.put(element, index);
+				newElements.add(element);
+			}
+			return index + 1;
+		}
+
+		private int uriIndex(URI uri) {
+			if (uri == null)
+				return 0;
+			Integer index = uris.get(uri);
+			if (index == null) {
+				stringIndex(uri.trimFragment().toString());
+				stringIndex(uri.fragment());
+				index = uris.size();
+				uris.put(uri, index);
+				newURIs.add(uri);
+			}
+			return index + 1;
+		}
+	}
+
+	/**
+	 * Reads resource descriptions that have been written by a {@link Writer}.
+	 */
+	public static class Reader {
+		private final DataInput in;
+
+		private final int version;
+
+		private final List<String> strings = new ArrayList<>();
+
+		private final List<QualifiedName> names = new ArrayList<>();
+
+		private final List<ENamedElement> elements = new ArrayList<>();
+
+		private final List<URI> uris = new ArrayList<>();
+
+		private byte[] buffer = new byte[256];
+
+		/**
+		 * Creates a reader and reads the header of the stream.
+		 */
+		public Reader(DataInput in) throws IOException {
+			this(in, in.readInt());
+		}
+
+		/**
+		 * Creates a reader for a stream whose magic number has already been read by the caller.
+		 */
+		public Reader(DataInput in, int magicNumber) throws IOException {
+			if (magicNumber != MAGIC_NUMBER)
+				throw new IOException("Not an encoded resource description stream.");
+			this.in = in;
+			this.version = in.readUnsignedByte();
+			if (version > VERSION)
+				throw new IOException("Unsupported resource description format version " + version);
+		}
+
+		public int getVersion() {
+			return version;
+		}
+
+		/**
+		 * Reads a description that has been written with {@link Writer#writeResourceDescription(IResourceDescription)}.
+		 */
+		public IResourceDescription readResourceDescription() throws IOException, ClassNotFoundException {
+			byte kind = in.readByte();
+			if (kind == ENCODED)
+				return read();
+			if (kind == JAVA_SERIALIZED && in instanceof ObjectInput)
+				return (IResourceDescription) ((ObjectInput) in).readObject();
+			throw new IOException("Unexpected resource description kind " + kind);
+		}
+
+		/**
+		 * Reads a description that has been written with {@link Writer#write(SerializableResourceDescription)}.
+		 */
+		public SerializableResourceDescription read() throws IOException {
+			readSegmentTable();
+			readVarint(in); // the length of the description allows to skip it
+			SerializableResourceDescription result = new SerializableResourceDescription();
+			result.setURI(readURI());
+			int exportedCount = readVarint(in);
+			List<SerializableEObjectDescription> exported = new ArrayList<>(exportedCount);
+			for (int i = 0; i < exportedCount; i++) {
+				SerializableEObjectDescription desc = new SerializableEObjectDescription();
+				desc.setEObjectURI(readURI());
+				desc.setEClass((EClass) element(readVarint(in)));
+				desc.setQualifiedName(name(readVarint(in)));
+				int userDataSize = readVarint(in) - 1;
+				if (userDataSize >= 0) {
+					HashMap<String, String> userData = new HashMap<>(Math.max(4, userDataSize * 2));
+					for (int j = 0; j < userDataSize; j++) {
+						String key = string(readVarint(in));
+						userData.put(key, string(readVarint(in)));
+					}
+					desc.setUserData(userData);
+				}
+				exported.add(desc);
+			}
+			result.setDescriptions(exported);
+			int referenceCount = readVarint(in);
+			List<SerializableReferenceDescription> references = new ArrayList<>(referenceCount);
+			int source = 0, target = 0, container = 0, reference = 0;
+			for (int i = 0; i < referenceCount; i++) {
+				source += unZigZag(readVarint(in));
+				target += unZigZag(readVarint(in));
+				container += unZigZag(readVarint(in));
+				reference += unZigZag(readVarint(in));
+				SerializableReferenceDescription ref = new SerializableReferenceDescription();
+				ref.setSourceEObjectUri(uri(source));
+				ref.setTargetEObjectUri(uri(target));
+				ref.setContainerEObjectURI(uri(container));
+				ref.setEReference((EReference) element(reference));
+				ref.setIndexInList(unZigZag(readVarint(in)));
+				references.add(ref);
+			}
+			result.setReferences(references);
+			int importedNamesCount = readVarint(in);
+			List<QualifiedName> importedNames = new ArrayList<>(importedNamesCount);
+			int name = 0;
+			for (int i = 0; i < importedNamesCount; i++) {
+				name += unZigZag(readVarint(in));
+				importedNames.add(name(name));
+			}
+			result.setImportedNames(importedNames);
+			return result;
+		}
+
+		private void readSegmentTable() throws IOException {
+			int stringCount = readVarint(in);
+			for (int i = 0; i < stringCount; i++) {
+				int length = readVarint(in);
+				if (buffer.length < length)
+					buffer = new byte[Math.max(length, buffer.length * 2)];
+				in.readFully(buffer, 0, length);
+				strings.add(new String(buffer, 0, length, StandardCharsets.UTF_8));
+			}
+			int nameCount = readVarint(in);
+			for (int i = 0; i < nameCount; i++) {
+				String[] segments = new String[readVarint(in)];
+				for (int j = 0; j < segments.length; j++) {
+					segments[j] = string(readVarint(in));
+				}
+				names.add(segments.length == 0 ? QualifiedName.EMPTY : QualifiedName.create(segments));
+			}
+			int elementCount = readVarint(in);
+			for (int i = 0; i < elementCount; i++) {
+				elements.add(resolveElement(URI.createURI(string(readVarint(in)))));
+			}
+			int uriCount = readVarint(in);
+			for (int i = 0; i < uriCount; i++) {
+				URI uri = URI.createURI(string(readVarint(in)));
+				String fragment = string(readVarint(in));
+				uris.add(fragment != null ? uri.appendFragment(fragment) : uri);
+			}
+		}
+
+		private ENamedElement resolveElement(URI uri) {
+			EPackage ePackage = EPackage.Registry.INSTANCE.getEPackage(uri.trimFragment().toString());
+			if (ePackage == null)
+				return null;
+			Resource eResource = ePackage.eResource();
+			if (eResource == null)
+				return null;
+			return (ENamedElement) eResource.getEObject(uri.fragment());
+		}
+
+		private URI readURI() throws IOException {
+			return uri(readVarint(in));
+		}
+
+		private String string(int index) {
+			return index == 0 ? null : strings.get(index - 1);
+		}
+
+		private QualifiedName name(int index) {
+			return index == 0 ? null : names.get(index - 1);
+		}
+
+		private ENamedElement element(int index) {
+			return index == 0 ? null : elements.get(index - 1);
+		}
+
+		private URI uri(int index) {
+			return index == 0 ? null : uris.get(index - 1);
+		}
+	}
+
+	private static void writeVarint(DataOutput out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readVarint(DataInput in) throws IOException {
+		int result = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			byte b = in.readByte();
+			result |= (b & 0x7F) << shift;
+			if (b >= 0)
+				return result;
+		}
+		throw new IOException("Malformed varint");
+	}
+
+	private static int zigZag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	private static int unZigZag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+}
@@ -12,9 +12,14 @@ import static org.eclipse.xtext.xbase.lib.IterableExtensions.*;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 
 import org.apache.log4j.Logger;
@@ -24,6 +29,8 @@ import org.eclipse.emf.ecore.resource.impl.ExtensibleURIConverterImpl;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.xtext.generator.AbstractFileSystemAccess2;
 import org.eclipse.xtext.generator.IContextualOutputConfigurationProvider;
+import org.eclipse.xtext.generator.IFileSystemAccess;
+import org.eclipse.xtext.generator.IFileSystemAccess2;
 import org.eclipse.xtext.generator.IFileSystemAccessExtension3;
 import org.eclipse.xtext.util.RuntimeIOException;
 
@@ -44,6 +51,10 @@ public class ResourceStorageFacade implements IResourceStorageFacade {
 
 	private boolean storeNodeModel = false;
 
+	private boolean storeIndexed = false;
+
+	private boolean skipUnchangedStorage = false;
+
 	@Override
 	public boolean shouldLoadFromStorage(StorageAwareResource resource) {
 		SourceLevelURIsAdapter adapter = SourceLevelURIsAdapter.findInstalledAdapter(resource.getResourceSet());
@@ -62,17 +73,51 @@ public class ResourceStorageFacade implements IResourceStorageFacade {
 				if (loadable != null)
 					return loadable;
 			}
-			if (resourceSet.getURIConverter().exists(getBinaryStorageURI(resource.getURI()),
-					Collections.emptyMap())) {
-				return createResourceStorageLoadable(resourceSet.getURIConverter()
-						.createInputStream(getBinaryStorageURI(resource.getURI())));
+			URI binaryStorageURI = getBinaryStorageURI(resource.getURI());
+			if (resourceSet.getURIConverter().exists(binaryStorageURI, Collections.emptyMap())) {
+				ResourceStorageLoadable mapped = createMappedResourceStorageLoadable(binaryStorageURI);
+				if (mapped != null)
+					return mapped;
+				return createResourceStorageLoadable(resourceSet.getURIConverter().createInputStream(binaryStorageURI));
+			}
+			AbstractFileSystemAccess2 fileSystemAccess = getFileSystemAccess(resource);
+			URI outputURI = fileSystemAccess.getURI(computeOutputPath(resource));
+			if (outputURI != null) {
+				ResourceStorageLoadable mapped = createMappedResourceStorageLoadable(outputURI);
+				if (mapped != null)
+					return mapped;
 			}
-			return createResourceStorageLoadable(
-					getFileSystemAccess(resource).readBinaryFile(computeOutputPath(resource)));
+			return createResourceStorageLoadable(fileSystemAccess.readBinaryFile(computeOutputPath(resource)));
 		} catch (IOException e) {
 			throw new RuntimeIOException(e);
 		}
 	}
+
+	/**
+	 * Maps the storage with the given URI into memory if it is a local file in the {@link IndexedResourceStorage
+	 * indexed layout}. Returns <code>null</code> otherwise. The layout is detected from the header, so other storages
+	 * are never mapped. A mapped file may not be replaced on some platforms as long as the mapping is alive.
+	 *
+	 * @since 2.25
+	 */
+	protected ResourceStorageLoadable createMappedResourceStorageLoadable(URI storageURI) throws IOException {
+		if (!storageURI.isFile())
+			return null;
+		File file = new File(storageURI.toFileString());
+		if (!file.isFile())
+			return null;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(12);
+			while (header.hasRemaining() && channel.read(header) >= 0) {
+				// read until the header is complete or the end of the file is reached
+			}
+			header.flip();
+			if (!IndexedResourceStorage.isIndexedStorage(header))
+				return null;
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new ResourceStorageLoadable(buffer, isStoreNodeModel());
+		}
+	}
 	
 	protected boolean doesStorageExist(StorageAwareResource resource) {
 		ResourceSet resourceSet = resource.getResourceSet();
@@ -90,8 +135,21 @@ public class ResourceStorageFacade implements IResourceStorageFacade {
 		return uri != null && resourceSet.getURIConverter().exists(uri, null);
 	}
 
+	/**
+	 * Streams the storage to the file system access if it supports it. Otherwise the storage is buffered.
+	 */
 	@Override
 	public void saveResource(StorageAwareResource resource, IFileSystemAccessExtension3 fsa) {
+		if (fsa instanceof IFileSystemAccess2) {
+			try {
+				((IFileSystemAccess2) fsa).generateFile(computeOutputPath(resource), IFileSystemAccess.DEFAULT_OUTPUT,
+						out -> createResourceStorageWritable(out).writeResource(resource), isSkipUnchangedStorage());
+			} catch (RuntimeIOException e) {
+				// the storage is not written to disk if something went wrong when writing the resource
+				LOG.warn("Cannot write storage for " + resource.getURI(), e);
+			}
+			return;
+		}
 		MyByteArrayOutputStream bout = new MyByteArrayOutputStream();
 		try {
 			createResourceStorageWritable(bout).writeResource(resource);
@@ -110,7 +168,7 @@ public class ResourceStorageFacade implements IResourceStorageFacade {
 
 	@Override
 	public ResourceStorageWritable createResourceStorageWritable(OutputStream out) {
-		return new ResourceStorageWritable(out, isStoreNodeModel());
+		return new ResourceStorageWritable(out, isStoreNodeModel(), isStoreIndexed());
 	}
 
 	protected ResourceStorageProviderAdapter getResourceStorageProviderAdapter(ResourceSet resourceSet) {
@@ -152,6 +210,41 @@ public class ResourceStorageFacade implements IResourceStorageFacade {
 		this.storeNodeModel = storeNodeModel;
 	}
 
+	/**
+	 * @since 2.25
+	 */
+	public boolean isSkipUnchangedStorage() {
+		return skipUnchangedStorage;
+	}
+
+	/**
+	 * Whether existing storage files are left untouched if their content does not change. This avoids rebuilds of
+	 * clients that watch the time stamps of the storage files.
+	 *
+	 * @since 2.25
+	 */
+	public void setSkipUnchangedStorage(boolean skipUnchangedStorage) {
+		this.skipUnchangedStorage = skipUnchangedStorage;
+	}
+
+	/**
+	 * @since 2.25
+	 */
+	public boolean isStoreIndexed() {
+		return storeIndexed;
+	}
+
+	/**
+	 * Whether resources are stored in the {@link IndexedResourceStorage indexed layout}. Such storages are memory
+	 * mapped if they are local files and their contents are only decoded when they are accessed. Former versions cannot
+	 * read indexed storages.
+	 *
+	 * @since 2.25
+	 */
+	public void setStoreIndexed(boolean storeIndexed) {
+		this.storeIndexed = storeIndexed;
+	}
+
 	private static class MyByteArrayOutputStream extends ByteArrayOutputStream {
 		@Override
 		public synchronized byte[] toByteArray() {
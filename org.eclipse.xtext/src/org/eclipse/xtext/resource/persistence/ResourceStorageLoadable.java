@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.zip.ZipInputStream;
 
@@ -26,6 +27,7 @@ import org.eclipse.xtext.nodemodel.impl.SerializableNodeModel;
 import org.eclipse.xtext.nodemodel.serialization.DeserializationConversionContext;
 import org.eclipse.xtext.parser.ParseResult;
 
+import com.google.common.io.ByteStreams;
 import com.google.common.io.CharStreams;
 
 /**
@@ -34,23 +36,89 @@ import com.google.common.io.CharStreams;
 public class ResourceStorageLoadable {
 	private static final Logger LOG = Logger.getLogger(ResourceStorageLoadable.class);
 
+	static final String CONTENTS_ENTRY = "emf-contents";
+
+	static final String RESOURCE_DESCRIPTION_ENTRY = "resource-description";
+
+	static final String NODE_MODEL_ENTRY = "node-model";
+
 	private final InputStream in;
 
+	private final ByteBuffer storage;
+
 	private final boolean storeNodeModel;
 
+	private IndexedResourceStorage pendingStorage;
+
 	public ResourceStorageLoadable(InputStream in, boolean storeNodeModel) {
 		this.in = in;
+		this.storage = null;
+		this.storeNodeModel = storeNodeModel;
+	}
+
+	/**
+	 * Creates a loadable for a storage in the {@link IndexedResourceStorage indexed layout}, e.g. a memory mapped file.
+	 *
+	 * @since 2.25
+	 */
+	public ResourceStorageLoadable(ByteBuffer storage, boolean storeNodeModel) {
+		this.in = null;
+		this.storage = storage;
 		this.storeNodeModel = storeNodeModel;
 	}
 
 	protected void loadIntoResource(StorageAwareResource resource) throws IOException {
 		if (!resource.isLoadedFromStorage())
 			throw new IllegalStateException("Please use StorageAwareResource#load(ResourceStorageLoadable).");
-		try (ZipInputStream zin = new ZipInputStream(in)) {
+		if (storage != null) {
+			loadEntries(resource, new IndexedResourceStorage(storage));
+			return;
+		}
+		InputStream input = in.markSupported() ? in : new BufferedInputStream(in);
+		input.mark(4);
+		int magicNumber = new DataInputStream(input).readInt();
+		input.reset();
+		if (magicNumber == IndexedResourceStorage.MAGIC_NUMBER) {
+			try (InputStream toClose = input) {
+				loadEntries(resource, new IndexedResourceStorage(ByteBuffer.wrap(ByteStreams.toByteArray(input))));
+			}
+			return;
+		}
+		try (ZipInputStream zin = new ZipInputStream(input)) {
 			loadEntries(resource, zin);
 		}
 	}
 
+	/**
+	 * Load the entries from an indexed storage. Only the resource description is read immediately. The contents and
+	 * the node model are decoded when the contents of the resource are accessed for the first time.
+	 *
+	 * @since 2.25
+	 */
+	protected void loadEntries(StorageAwareResource resource, IndexedResourceStorage indexedStorage)
+			throws IOException {
+		readResourceDescription(resource, indexedStorage.getInputStream(RESOURCE_DESCRIPTION_ENTRY));
+		pendingStorage = indexedStorage;
+		resource.setPendingStorage(this);
+	}
+
+	/**
+	 * Decodes the contents and the node model of a resource that has been loaded from an indexed storage.
+	 *
+	 * @since 2.25
+	 */
+	protected void loadPendingEntries(StorageAwareResource resource) throws IOException {
+		IndexedResourceStorage indexedStorage = pendingStorage;
+		if (indexedStorage == null)
+			return;
+		pendingStorage = null;
+		readContents(resource, indexedStorage.getInputStream(CONTENTS_ENTRY));
+		InputStream nodeModel = indexedStorage.getInputStream(NODE_MODEL_ENTRY);
+		if (storeNodeModel && nodeModel != null) {
+			readNodeModel(resource, nodeModel);
+		}
+	}
+
 	/**
 	 * Load entries from the storage. Overriding methods should first delegate to super before adding their own entries.
 	 */
@@ -87,10 +155,23 @@ public class ResourceStorageLoadable {
 			throws IOException {
 	}
 
+	/**
+	 * Reads the resource description. Descriptions that have been stored with Java serialization by former versions
+	 * are read, too.
+	 */
 	protected void readResourceDescription(StorageAwareResource resource, InputStream inputStream) throws IOException {
 		try {
-			SerializableResourceDescription description = (SerializableResourceDescription) new ObjectInputStream(
-					inputStream).readObject();
+			InputStream markableStream = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+			DataInputStream dataInput = new DataInputStream(markableStream);
+			markableStream.mark(4);
+			int magicNumber = dataInput.readInt();
+			SerializableResourceDescription description;
+			if (magicNumber == ResourceDescriptionCodec.MAGIC_NUMBER) {
+				description = new ResourceDescriptionCodec.Reader(dataInput, magicNumber).read();
+			} else {
+				markableStream.reset();
+				description = (SerializableResourceDescription) new ObjectInputStream(markableStream).readObject();
+			}
 			description.updateResourceURI(resource.getURI());
 			resource.setResourceDescription(description);
 		} catch (ClassNotFoundException e) {
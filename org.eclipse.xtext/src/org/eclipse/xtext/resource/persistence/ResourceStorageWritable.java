@@ -33,33 +33,96 @@ public class ResourceStorageWritable {
 
 	private final boolean storeNodeModel;
 
+	private final boolean indexed;
+
 	public ResourceStorageWritable(OutputStream out, boolean storeNodeModel) {
+		this(out, storeNodeModel, false);
+	}
+
+	/**
+	 * @param indexed
+	 *            whether the resource is written in the {@link IndexedResourceStorage indexed layout}. Subclasses that
+	 *            customize the {@link #writeEntries(StorageAwareResource, ZipOutputStream) zip entries} keep writing
+	 *            zip files.
+	 * @since 2.25
+	 */
+	public ResourceStorageWritable(OutputStream out, boolean storeNodeModel, boolean indexed) {
 		this.out = out;
 		this.storeNodeModel = storeNodeModel;
+		this.indexed = indexed && !overridesZipEntries();
 	}
 
 	public void writeResource(StorageAwareResource resource) throws IOException {
 		if (resource.isLoadedFromStorage())
 			throw new IllegalStateException("cannot write resources loaded from storage. URI was " + resource.getURI());
+		if (indexed) {
+			try (IndexedResourceStorage.Writer storageOut = new IndexedResourceStorage.Writer(out)) {
+				writeEntries(resource, storageOut);
+			}
+			return;
+		}
 		try (ZipOutputStream zipOut = new ZipOutputStream(out)) {
 			writeEntries(resource, zipOut);
 		}
 	}
 
+	/**
+	 * Write the entries into an indexed storage. The entries are the same as in the zip file.
+	 *
+	 * @since 2.25
+	 */
+	protected void writeEntries(StorageAwareResource resource, IndexedResourceStorage.Writer storageOut)
+			throws IOException {
+		BufferedOutputStream bufferedOutput = new BufferedOutputStream(storageOut);
+		storageOut.putNextEntry(ResourceStorageLoadable.CONTENTS_ENTRY);
+		try {
+			writeContents(resource, bufferedOutput);
+		} finally {
+			bufferedOutput.flush();
+		}
+		storageOut.putNextEntry(ResourceStorageLoadable.RESOURCE_DESCRIPTION_ENTRY);
+		try {
+			writeResourceDescription(resource, bufferedOutput);
+		} finally {
+			bufferedOutput.flush();
+		}
+		if (storeNodeModel) {
+			storageOut.putNextEntry(ResourceStorageLoadable.NODE_MODEL_ENTRY);
+			try {
+				writeNodeModel(resource, bufferedOutput);
+			} finally {
+				bufferedOutput.flush();
+			}
+		}
+		storageOut.closeEntry();
+	}
+
+	private boolean overridesZipEntries() {
+		for (Class<?> c = getClass(); c != ResourceStorageWritable.class; c = c.getSuperclass()) {
+			try {
+				c.getDeclaredMethod("writeEntries", StorageAwareResource.class, ZipOutputStream.class);
+				return true;
+			} catch (NoSuchMethodException e) {
+				// continue with the super class
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Write entries into the storage. Overriding methods should first delegate to super before adding their own
 	 * entries.
 	 */
 	protected void writeEntries(StorageAwareResource resource, ZipOutputStream zipOut) throws IOException {
 		BufferedOutputStream bufferedOutput = new BufferedOutputStream(zipOut);
-		zipOut.putNextEntry(new ZipEntry("emf-contents"));
+		zipOut.putNextEntry(new ZipEntry(ResourceStorageLoadable.CONTENTS_ENTRY));
 		try {
 			writeContents(resource, bufferedOutput);
 		} finally {
 			bufferedOutput.flush();
 			zipOut.closeEntry();
 		}
-		zipOut.putNextEntry(new ZipEntry("resource-description"));
+		zipOut.putNextEntry(new ZipEntry(ResourceStorageLoadable.RESOURCE_DESCRIPTION_ENTRY));
 		try {
 			writeResourceDescription(resource, bufferedOutput);
 		} finally {
@@ -67,7 +130,7 @@ public class ResourceStorageWritable {
 			zipOut.closeEntry();
 		}
 		if (storeNodeModel) {
-			zipOut.putNextEntry(new ZipEntry("node-model"));
+			zipOut.putNextEntry(new ZipEntry(ResourceStorageLoadable.NODE_MODEL_ENTRY));
 			try {
 				writeNodeModel(resource, bufferedOutput);
 			} finally {
@@ -119,11 +182,20 @@ public class ResourceStorageWritable {
 		SerializableResourceDescription serializableDescription = SerializableResourceDescription
 				.createCopy(description);
 		convertExternalURIsToPortableURIs(serializableDescription, resource);
-		ObjectOutputStream out = new ObjectOutputStream(outputStream);
-		try {
-			out.writeObject(serializableDescription);
-		} finally {
-			out.flush();
+		if (ResourceDescriptionCodec.toEncodable(serializableDescription) != null) {
+			DataOutputStream out = new DataOutputStream(outputStream);
+			try {
+				new ResourceDescriptionCodec.Writer(out).write(serializableDescription);
+			} finally {
+				out.flush();
+			}
+		} else {
+			ObjectOutputStream out = new ObjectOutputStream(outputStream);
+			try {
+				out.writeObject(serializableDescription);
+			} finally {
+				out.flush();
+			}
 		}
 	}
 
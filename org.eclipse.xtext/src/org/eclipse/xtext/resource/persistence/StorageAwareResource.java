@@ -10,13 +10,17 @@ package org.eclipse.xtext.resource.persistence;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.xtext.linking.lazy.LazyLinkingResource;
+import org.eclipse.xtext.parser.IParseResult;
 import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.util.RuntimeIOException;
 import org.eclipse.xtext.util.internal.Stopwatches;
 
 import com.google.common.base.Preconditions;
@@ -42,6 +46,13 @@ public class StorageAwareResource extends LazyLinkingResource {
 
 	private IResourceDescription resourceDescription = null;
 
+	/**
+	 * The loadable that still has to decode the contents of this resource.
+	 */
+	private volatile ResourceStorageLoadable pendingStorage;
+
+	private boolean isLoadingPendingStorage;
+
 	@Override
 	public void load(Map<?, ?> options) throws IOException {
 		if (!isLoaded && !isLoading && resourceStorageFacade != null
@@ -80,14 +91,76 @@ public class StorageAwareResource extends LazyLinkingResource {
 		}
 	}
 
+	/**
+	 * Defers decoding the contents of this resource until they are accessed for the first time.
+	 */
+	void setPendingStorage(ResourceStorageLoadable pendingStorage) {
+		this.pendingStorage = pendingStorage;
+	}
+
+	@Override
+	public EList<EObject> getContents() {
+		if (pendingStorage != null) {
+			loadPendingStorage();
+		}
+		return super.getContents();
+	}
+
+	@Override
+	public IParseResult getParseResult() {
+		if (pendingStorage != null) {
+			loadPendingStorage();
+		}
+		return super.getParseResult();
+	}
+
+	private synchronized void loadPendingStorage() {
+		ResourceStorageLoadable loadable = pendingStorage;
+		// the contents are accessed while they are decoded
+		if (loadable == null || isLoadingPendingStorage)
+			return;
+		Stopwatches.StoppedTask task = Stopwatches.forTask("Loading from storage");
+		task.start();
+		boolean wasLoading = isLoading;
+		isLoading = true;
+		isLoadingPendingStorage = true;
+		try {
+			loadable.loadPendingEntries(this);
+		} catch (IOException e) {
+			throw new RuntimeIOException(e);
+		} finally {
+			pendingStorage = null;
+			isLoadingPendingStorage = false;
+			isLoading = wasLoading;
+			task.stop();
+		}
+	}
+
+	/**
+	 * Drops the contents that have not been decoded yet.
+	 *
+	 * @since 2.25
+	 */
+	protected void discardPendingStorage() {
+		pendingStorage = null;
+	}
+
+	@Override
+	protected List<EObject> getUnloadingContents() {
+		discardPendingStorage();
+		return super.getUnloadingContents();
+	}
+
 	@Override
 	protected void doUnload() {
+		discardPendingStorage();
 		super.doUnload();
 		isLoadedFromStorage = false;
 	}
 
 	@Override
 	protected void clearInternalState() {
+		discardPendingStorage();
 		isLoadedFromStorage = false;
 		super.clearInternalState();
 	}
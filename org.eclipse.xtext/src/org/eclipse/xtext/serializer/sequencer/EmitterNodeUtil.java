@@ -42,7 +42,7 @@ public class EmitterNodeUtil {
 		INode current = findNext(from, to);
 		List<INode> result = null;
 		while (current != null) {
-			if (current == to)
+			if (current.equals(to))
 				break;
 			EObject grammarElement = current.getGrammarElement();
 			if (isEmitter(current, grammarElement)) {
@@ -67,7 +67,7 @@ public class EmitterNodeUtil {
 		if (node instanceof ICompositeNode) {
 			INode firstChild = ((ICompositeNode) node).getFirstChild();
 			if (firstChild != null) {
-				if (firstChild == to) {
+				if (firstChild.equals(to)) {
 					return null;
 				}
 				return firstChild;
@@ -79,13 +79,13 @@ public class EmitterNodeUtil {
 	private static INode findNextSibling(INode node, INode to) {
 		INode successor = node.getNextSibling();
 		if (successor != null) {
-			if (successor == to) {
+			if (successor.equals(to)) {
 				return null;
 			}
 			return successor;
 		}
 		ICompositeNode parent = node.getParent();
-		if (parent == null || parent == to) {
+		if (parent == null || parent.equals(to)) {
 			return null;
 		}
 		return findNextSibling(parent, to);
@@ -25,8 +25,10 @@ import org.eclipse.xtext.linking.lazy.LazyLinkingResource;
 import org.eclipse.xtext.linking.lazy.LazyURIEncoder;
 import org.eclipse.xtext.naming.IQualifiedNameProvider;
 import org.eclipse.xtext.naming.SimpleNameProvider;
+import org.eclipse.xtext.nodemodel.impl.NodeModelBuilder;
 import org.eclipse.xtext.parser.EclipseProjectPropertiesEncodingProvider;
 import org.eclipse.xtext.parser.IEncodingProvider;
+import org.eclipse.xtext.parser.antlr.AbstractAntlrParser;
 import org.eclipse.xtext.parser.antlr.AntlrTokenToStringConverter;
 import org.eclipse.xtext.parser.antlr.ITokenDefProvider;
 import org.eclipse.xtext.parser.antlr.NullTokenDefProvider;
@@ -62,6 +64,7 @@ import org.eclipse.xtext.serializer.tokens.SerializerScopeProviderBinding;
 import org.eclipse.xtext.validation.CancelableDiagnostician;
 import org.eclipse.xtext.validation.IConcreteSyntaxValidator;
 import org.eclipse.xtext.validation.INamesAreUniqueValidationHelper;
+import org.eclipse.xtext.validation.ResourceValidatorImpl;
 import org.eclipse.xtext.validation.impl.ConcreteSyntaxValidator;
 
 import com.google.common.collect.ImmutableList;
@@ -248,6 +251,52 @@ public abstract class DefaultRuntimeModule extends AbstractGenericModule {
 		binder.bind(Boolean.TYPE).annotatedWith(Names.named(LazyURIEncoder.USE_INDEXED_FRAGMENTS_BINDING)).toInstance(Boolean.TRUE);
 	}
 	
+	/**
+	 * Bind to {@link Boolean#TRUE} to let the partial parser update the offsets of the node model in time
+	 * proportional to the depth of the changed node instead of the size of the document.
+	 * 
+	 * @see NodeModelBuilder#USE_RELATIVE_OFFSETS
+	 * @since 2.25
+	 */
+	public void configureUseRelativeOffsetsForPartialParsing(Binder binder) {
+		binder.bind(Boolean.TYPE).annotatedWith(Names.named(NodeModelBuilder.USE_RELATIVE_OFFSETS)).toInstance(Boolean.FALSE);
+	}
+	
+	/**
+	 * Bind to {@link Boolean#TRUE} to let a reparse of the complete document lex only the tokens that are affected by
+	 * the change.
+	 * 
+	 * @see AbstractAntlrParser#USE_INCREMENTAL_LEXING
+	 * @since 2.25
+	 */
+	public void configureUseIncrementalLexing(Binder binder) {
+		binder.bind(Boolean.TYPE).annotatedWith(Names.named(AbstractAntlrParser.USE_INCREMENTAL_LEXING)).toInstance(Boolean.FALSE);
+	}
+	
+	/**
+	 * Bind to {@link Boolean#TRUE} and bind an executor to look up the names of all cross references of a resource in
+	 * parallel when they are resolved at once. The scopes of the language have to support concurrent lookups.
+	 * 
+	 * @see LazyLinkingResource#PARALLEL_CROSS_REFERENCE_RESOLUTION
+	 * @see LazyLinkingResource#PARALLEL_CROSS_REFERENCE_RESOLUTION_EXECUTOR
+	 * @since 2.25
+	 */
+	public void configureParallelCrossReferenceResolution(Binder binder) {
+		binder.bind(Boolean.TYPE).annotatedWith(Names.named(LazyLinkingResource.PARALLEL_CROSS_REFERENCE_RESOLUTION)).toInstance(Boolean.FALSE);
+	}
+	
+	/**
+	 * Bind to {@link Boolean#TRUE} and bind an executor to validate the subtrees of a resource in parallel. The
+	 * validators of the language have to be thread-safe.
+	 * 
+	 * @see ResourceValidatorImpl#PARALLEL_VALIDATION
+	 * @see ResourceValidatorImpl#PARALLEL_VALIDATION_EXECUTOR
+	 * @since 2.25
+	 */
+	public void configureParallelValidation(Binder binder) {
+		binder.bind(Boolean.TYPE).annotatedWith(Names.named(ResourceValidatorImpl.PARALLEL_VALIDATION)).toInstance(Boolean.FALSE);
+	}
+	
 	/**
 	 * @see IsAffectedExtension
 	 * @since 2.22
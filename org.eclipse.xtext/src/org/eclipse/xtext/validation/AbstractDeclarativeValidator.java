@@ -8,14 +8,20 @@
  *******************************************************************************/
 package org.eclipse.xtext.validation;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.Diagnostic;
@@ -27,9 +33,7 @@ import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.xtext.diagnostics.Severity;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.Exceptions;
-import org.eclipse.xtext.util.SimpleCache;
 
-import com.google.common.base.Function;
 import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
@@ -90,10 +94,20 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 	 * @since 2.6
 	 */
 	protected static class MethodWrapper {
+		private static final MethodType CHECK_METHOD_TYPE = MethodType.methodType(void.class, EObject.class);
+		
 		private final Method method;
 		private final String s;
 		private final AbstractDeclarativeValidator instance;
 		private final CheckType checkType;
+		/**
+		 * The method bound to the instance, or <code>null</code> if it has to be invoked reflectively.
+		 */
+		private final MethodHandle handle;
+		/**
+		 * Whether {@link #invoke(State)} is not overridden, so the validator may invoke the method directly.
+		 */
+		private final boolean directInvocation;
 
 		protected MethodWrapper(AbstractDeclarativeValidator instance, Method m) {
 			this.instance = instance;
@@ -101,6 +115,25 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 			this.s = m.getName() + ":" + m.getParameterTypes()[0].getName();
 			Check annotation = m.getAnnotation(Check.class);
 			checkType = annotation.value();
+			handle = createMethodHandle(instance, m);
+			directInvocation = isInvokeInherited(getClass());
+		}
+
+		private static MethodHandle createMethodHandle(AbstractDeclarativeValidator instance, Method method) {
+			try {
+				method.setAccessible(true);
+				return MethodHandles.lookup().unreflect(method).bindTo(instance).asType(CHECK_METHOD_TYPE);
+			} catch (IllegalAccessException | RuntimeException e) {
+				return null;
+			}
+		}
+
+		private static boolean isInvokeInherited(Class<?> clazz) {
+			try {
+				return clazz.getMethod("invoke", State.class).getDeclaringClass() == MethodWrapper.class;
+			} catch (NoSuchMethodException e) {
+				return false;
+			}
 		}
 
 		@Override
@@ -122,24 +155,43 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 			try {
 				if (!state.checkMode.shouldCheck(checkType))
 					return;
-				try {
-					state.currentMethod = method;
-					state.currentCheckType = checkType;
-					method.setAccessible(true);
-					method.invoke(instance, state.currentObject);
-				} catch (IllegalArgumentException e) {
-					log.error(e.getMessage(), e);
-				} catch (IllegalAccessException e) {
-					log.error(e.getMessage(), e);
-				} catch (InvocationTargetException e) {
-					Throwable targetException = e.getTargetException();
-					handleInvocationTargetException(targetException, state);
-				}
+				invokeMethod(state);
 			} finally {
 				if (wasNull)
 					instance.state.remove();
 			}
 		}
+
+		/**
+		 * Invokes the check method without consulting the check mode. The state has to be assigned to the instance.
+		 */
+		private void invokeMethod(State state) {
+			state.currentMethod = method;
+			state.currentCheckType = checkType;
+			if (handle != null) {
+				try {
+					handle.invokeExact(state.currentObject);
+				} catch (Throwable targetException) {
+					handleInvocationTargetException(targetException, state);
+				}
+				return;
+			}
+			try {
+				method.setAccessible(true);
+				method.invoke(instance, state.currentObject);
+			} catch (IllegalArgumentException e) {
+				log.error(e.getMessage(), e);
+			} catch (IllegalAccessException e) {
+				log.error(e.getMessage(), e);
+			} catch (InvocationTargetException e) {
+				Throwable targetException = e.getTargetException();
+				handleInvocationTargetException(targetException, state);
+			}
+		}
+
+		private boolean shouldCheck(int checkTypes) {
+			return (checkTypes & (1 << checkType.ordinal())) != 0;
+		}
 		
 		protected void handleInvocationTargetException(Throwable targetException, State state) {
 			instance.handleExceptionDuringValidation(targetException);
@@ -164,6 +216,28 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 
 	private volatile Set<MethodWrapper> checkMethods = null;
 
+	/**
+	 * The validators whose check methods are contained in {@link #checkMethods}, i.e. this validator and the
+	 * {@link ComposedChecks composed} ones.
+	 */
+	private AbstractDeclarativeValidator[] checkMethodInstances;
+
+	/**
+	 * The declared check methods per validator class, shared by all instances.
+	 */
+	private static final ClassValue<List<Method>> declaredCheckMethods = new ClassValue<List<Method>>() {
+		@Override
+		protected List<Method> computeValue(Class<?> type) {
+			List<Method> result = new ArrayList<Method>();
+			for (Method method : type.getDeclaredMethods()) {
+				if (method.getAnnotation(Check.class) != null && method.getParameterTypes().length == 1) {
+					result.add(method);
+				}
+			}
+			return Collections.unmodifiableList(result);
+		}
+	};
+
 	private ValidationMessageAcceptor messageAcceptor;
 
 	@Inject
@@ -225,11 +299,8 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 		if (instanceToUse == null) {
 			instanceToUse = newInstance(clazz);
 		}
-		Method[] methods = clazz.getDeclaredMethods();
-		for (Method method : methods) {
-			if (method.getAnnotation(Check.class) != null && method.getParameterTypes().length == 1) {
-				result.add(createMethodWrapper(instanceToUse, method));
-			}
+		for (Method method : declaredCheckMethods.get(clazz)) {
+			result.add(createMethodWrapper(instanceToUse, method));
 		}
 		Class<? extends AbstractDeclarativeValidator> superClass = getSuperClass(clazz);
 		if (superClass != null)
@@ -251,18 +322,38 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 		return instanceToUse;
 	}
 
-	private final SimpleCache<Class<?>, List<MethodWrapper>> methodsForType = new SimpleCache<Class<?>, List<MethodWrapper>>(
-			new Function<Class<?>, List<MethodWrapper>>() {
-				@Override
-				public List<MethodWrapper> apply(Class<?> param) {
-					List<MethodWrapper> result = new ArrayList<MethodWrapper>();
-					for (MethodWrapper mw : checkMethods) {
-						if (mw.isMatching(param))
-							result.add(mw);
-					}
-					return result;
+	/**
+	 * The dispatch table per type of validated object. For each combination of {@link CheckType check types}, i.e. for
+	 * each bit mask of their ordinals, it holds the matching check methods.
+	 */
+	private final ConcurrentMap<Class<?>, MethodWrapper[][]> methodsForType = new ConcurrentHashMap<Class<?>, MethodWrapper[][]>();
+
+	private MethodWrapper[] getMethodsForType(Class<?> type, int checkTypes) {
+		MethodWrapper[][] result = methodsForType.get(type);
+		if (result == null) {
+			result = new MethodWrapper[1 << CheckType.values().length][];
+			List<MethodWrapper> matching = new ArrayList<MethodWrapper>();
+			for (int i = 0; i < result.length; i++) {
+				matching.clear();
+				for (MethodWrapper mw : checkMethods) {
+					if (mw.shouldCheck(i) && mw.isMatching(type))
+						matching.add(mw);
 				}
-			});
+				result[i] = matching.toArray(new MethodWrapper[matching.size()]);
+			}
+			methodsForType.putIfAbsent(type, result);
+		}
+		return result[checkTypes];
+	}
+
+	private static int getCheckTypes(CheckMode checkMode) {
+		int result = 0;
+		for (CheckType checkType : CheckType.values()) {
+			if (checkMode.shouldCheck(checkType))
+				result |= 1 << checkType.ordinal();
+		}
+		return result;
+	}
 
 	public static class State {
 		public DiagnosticChain chain = null;
@@ -321,11 +412,20 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 				if (checkMethods == null) {
 					Set<MethodWrapper> checkMethods = Sets.newLinkedHashSet();
 					checkMethods.addAll(collectMethods(getClass()));
+					Set<AbstractDeclarativeValidator> instances = Sets.newLinkedHashSet();
+					for (MethodWrapper method : checkMethods) {
+						instances.add(method.getInstance());
+					}
+					this.checkMethodInstances = instances.toArray(new AbstractDeclarativeValidator[instances.size()]);
 					this.checkMethods = checkMethods;
 				}
 			}
 		}
 		CheckMode checkMode = CheckMode.getCheckMode(context);
+		MethodWrapper[] methods = getMethodsForType(object.getClass(), getCheckTypes(checkMode));
+		if (methods.length == 0) {
+			return true;
+		}
 
 		State state = new State();
 		state.chain = diagnostics;
@@ -333,8 +433,31 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 		state.checkMode = checkMode;
 		state.context = context;
 
-		for (MethodWrapper method : methodsForType.get(object.getClass())) {
-			method.invoke(state);
+		// assign the state once rather than per check method
+		AbstractDeclarativeValidator[] instances = checkMethodInstances;
+		boolean[] assigned = new boolean[instances.length];
+		boolean allAssigned = true;
+		try {
+			for (int i = 0; i < instances.length; i++) {
+				if (instances[i].state.get() == null) {
+					instances[i].state.set(state);
+					assigned[i] = true;
+				} else {
+					allAssigned = false;
+				}
+			}
+			for (MethodWrapper method : methods) {
+				if (allAssigned && method.directInvocation) {
+					method.invokeMethod(state);
+				} else {
+					method.invoke(state);
+				}
+			}
+		} finally {
+			for (int i = 0; i < instances.length; i++) {
+				if (assigned[i])
+					instances[i].state.remove();
+			}
 		}
 
 		return !state.hasErrors;
@@ -108,6 +108,17 @@ public class DefaultUniqueNameContext implements INamesAreUniqueValidationHelper
 			return false;
 		}
 
+		/**
+		 * The global context providers of this class report candidates that export the same names as a delta.
+		 * 
+		 * @since 2.25
+		 */
+		@Override
+		public boolean isAffectedByNamesAndReferencesOnly() {
+			Class<?> type = getClass();
+			return type == Global.class || type == Container.class || type == VisibleContainers.class;
+		}
+
 		protected boolean isAffected(IResourceDescription.Delta delta, IResourceDescription candidate,
 				boolean caseSensitive) {
 			if (candidate.getURI().equals(delta.getUri())) {
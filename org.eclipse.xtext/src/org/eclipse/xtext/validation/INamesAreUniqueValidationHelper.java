@@ -58,6 +58,22 @@ public interface INamesAreUniqueValidationHelper {
 				IResourceDescriptions context) {
 			return false;
 		}
+
+		/**
+		 * The default implementation of {@link #isAffected(Collection, IResourceDescription, IResourceDescriptions)
+		 * isAffected} never reports a candidate.
+		 * 
+		 * @since 2.25
+		 */
+		@Override
+		default boolean isAffectedByNamesAndReferencesOnly() {
+			try {
+				return getClass().getMethod("isAffected", Collection.class, IResourceDescription.class,
+						IResourceDescriptions.class).isDefault();
+			} catch (NoSuchMethodException e) {
+				return false;
+			}
+		}
 	}
 	
 	/**
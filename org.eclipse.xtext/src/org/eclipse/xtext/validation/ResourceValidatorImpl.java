@@ -9,10 +9,13 @@
  *******************************************************************************/
 package org.eclipse.xtext.validation;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.BasicDiagnostic;
 import org.eclipse.emf.common.util.Diagnostic;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EValidator;
@@ -20,18 +23,22 @@ import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.Diagnostician;
 import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.diagnostics.Severity;
+import org.eclipse.xtext.resource.ISynchronizable;
 import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.service.OperationCanceledError;
 import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.IAcceptor;
+import org.eclipse.xtext.util.concurrent.ParallelBatch;
 import org.eclipse.xtext.util.internal.Stopwatches;
 import org.eclipse.xtext.util.internal.Stopwatches.StoppedTask;
 import org.eclipse.xtext.validation.impl.ConcreteSyntaxEValidator;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 
 /**
  * @author Dennis Hbner - Initial contribution and API
@@ -55,6 +62,54 @@ public class ResourceValidatorImpl implements IResourceValidator {
 		}
 	}
 
+	/**
+	 * A validation task of the {@link ResourceValidatorImpl#validateInParallel parallel validation} that validates an
+	 * element and, if requested, its contents.
+	 */
+	private static class ValidationTask {
+		private final EObject element;
+
+		private final Map<Object, Object> context;
+
+		private final boolean recursive;
+
+		private Diagnostic diagnostic;
+
+		private ValidationTask(EObject element, Map<Object, Object> context, boolean recursive) {
+			this.element = element;
+			this.context = context;
+			this.recursive = recursive;
+		}
+	}
+
+	/**
+	 * Bind to <code>true</code> to validate the subtrees of a resource in parallel on the
+	 * {@link #PARALLEL_VALIDATION_EXECUTOR executor}. The elements above the {@link #PARALLEL_VALIDATION_DEPTH split
+	 * depth} are validated on the calling thread, so checks that run once per resource on its root are not affected.
+	 * The validators of the language have to be thread-safe.
+	 * 
+	 * @see #validateInParallel(Resource, CheckMode, CancelIndicator, IAcceptor)
+	 * @since 2.25
+	 */
+	public static final String PARALLEL_VALIDATION = "org.eclipse.xtext.validation.ResourceValidatorImpl.parallelValidation";
+
+	/**
+	 * Bind an <code>int</code> to determine the depth of the subtrees that are validated in parallel if
+	 * {@link #PARALLEL_VALIDATION} is enabled. The default <code>1</code> validates the children of the root elements
+	 * concurrently. Smaller values are treated as <code>1</code>.
+	 * 
+	 * @since 2.25
+	 */
+	public static final String PARALLEL_VALIDATION_DEPTH = "org.eclipse.xtext.validation.ResourceValidatorImpl.parallelValidationDepth";
+
+	/**
+	 * Bind an {@link ExecutorService} to run the {@link #PARALLEL_VALIDATION parallel validation} on. Without it, the
+	 * subtrees are validated on the calling thread.
+	 * 
+	 * @since 2.25
+	 */
+	public static final String PARALLEL_VALIDATION_EXECUTOR = "org.eclipse.xtext.validation.ResourceValidatorImpl.parallelValidationExecutor";
+
 	private static final Logger log = Logger.getLogger(ResourceValidatorImpl.class);
 
 	@Inject
@@ -66,6 +121,18 @@ public class ResourceValidatorImpl implements IResourceValidator {
 	@Inject
 	private OperationCanceledManager operationCanceledManager;
 	
+	@Named(PARALLEL_VALIDATION)
+	@Inject(optional=true)
+	private boolean parallelValidation = false;
+
+	@Named(PARALLEL_VALIDATION_DEPTH)
+	@Inject(optional=true)
+	private int parallelValidationDepth = 1;
+
+	@Named(PARALLEL_VALIDATION_EXECUTOR)
+	@Inject(optional=true)
+	private ExecutorService parallelValidationExecutor;
+
 	@Override
 	public List<Issue> validate(Resource resource, final CheckMode mode, CancelIndicator mon) throws OperationCanceledError {
 		StoppedTask task = Stopwatches.forTask("ResourceValidatorImpl.validation");
@@ -120,6 +187,10 @@ public class ResourceValidatorImpl implements IResourceValidator {
 	 */
 	protected void validate(Resource resource, final CheckMode mode, final CancelIndicator monitor,
 			IAcceptor<Issue> acceptor) {
+		if (isParallelValidation()) {
+			validateInParallel(resource, mode, monitor, acceptor);
+			return;
+		}
 		for (EObject ele : resource.getContents()) {
 			operationCanceledManager.checkCanceled(monitor);
 			validate(resource, ele, mode, monitor, acceptor);
@@ -132,25 +203,90 @@ public class ResourceValidatorImpl implements IResourceValidator {
 	protected void validate(Resource resource, EObject element, final CheckMode mode, final CancelIndicator monitor,
 			IAcceptor<Issue> acceptor) {
 		try {
-			Map<Object, Object> options = Maps.newHashMap();
-			options.put(CheckMode.KEY, mode);
-			options.put(CancelableDiagnostician.CANCEL_INDICATOR, monitor);
-			// disable concrete syntax validation, since a semantic model that has been parsed 
-			// from the concrete syntax always complies with it - otherwise there are parse errors.
-			options.put(ConcreteSyntaxEValidator.DISABLE_CONCRETE_SYNTAX_EVALIDATOR, Boolean.TRUE);
-			// see EObjectValidator.getRootEValidator(Map<Object, Object>)
-			options.put(EValidator.class, diagnostician);
-			if (resource instanceof XtextResource) {
-				options.put(AbstractInjectableValidator.CURRENT_LANGUAGE_NAME,
-						((XtextResource) resource).getLanguageName());
-			}
+			Map<Object, Object> options = createValidationContext(resource, mode, monitor);
 			Diagnostic diagnostic = diagnostician.validate(element, options);
-			if (!diagnostic.getChildren().isEmpty()) {
-				for (Diagnostic childDiagnostic : diagnostic.getChildren()) {
-					issueFromEValidatorDiagnostic(childDiagnostic, acceptor);
-				}
+			issuesFromEValidatorDiagnostic(diagnostic, acceptor);
+		} catch (RuntimeException e) {
+			operationCanceledManager.propagateAsErrorIfCancelException(e);
+			log.error(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Validates the subtrees at the {@link #PARALLEL_VALIDATION_DEPTH configured depth} concurrently. The elements
+	 * above are validated without their contents on the calling thread. All subtrees of a root element share its
+	 * context map. The diagnostics are converted and passed to the acceptor on the calling thread in the order of the
+	 * elements, so the issues are the same and in the same order as in a sequential validation.
+	 * 
+	 * Validators may resolve proxies and thereby load resources, so the subtrees are only validated concurrently if
+	 * the resource set is {@link ISynchronizable synchronized}.
+	 * 
+	 * @see #PARALLEL_VALIDATION
+	 * @since 2.25
+	 */
+	protected void validateInParallel(Resource resource, final CheckMode mode, final CancelIndicator monitor,
+			IAcceptor<Issue> acceptor) {
+		List<ValidationTask> tasks = Lists.newArrayList();
+		for (EObject ele : resource.getContents()) {
+			operationCanceledManager.checkCanceled(monitor);
+			Map<Object, Object> context = Collections.synchronizedMap(createValidationContext(resource, mode, monitor));
+			collectValidationTasks(ele, context, 0, Math.max(1, parallelValidationDepth), tasks);
+		}
+		List<ValidationTask> recursiveTasks = Lists.newArrayList(Iterables.filter(tasks, task -> task.recursive));
+		ExecutorService executor = getParallelValidationExecutor(resource);
+		int parallelism = executor != null ? ParallelBatch.getParallelism(executor) : 1;
+		ParallelBatch.execute(recursiveTasks, task -> {
+			operationCanceledManager.checkCanceled(monitor);
+			validate(task);
+			return null;
+		}, executor, parallelism);
+		for (ValidationTask task : tasks) {
+			if (task.diagnostic != null) {
+				issuesFromEValidatorDiagnostic(task.diagnostic, acceptor);
+			}
+		}
+	}
+
+	/**
+	 * The executor of the parallel validation of the given resource or <code>null</code> if it has to be validated on
+	 * the calling thread.
+	 * 
+	 * @since 2.25
+	 */
+	protected ExecutorService getParallelValidationExecutor(Resource resource) {
+		if (resource.getResourceSet() instanceof ISynchronizable<?>) {
+			return parallelValidationExecutor;
+		}
+		return null;
+	}
+
+	private void collectValidationTasks(EObject element, Map<Object, Object> context, int depth, int splitDepth,
+			List<ValidationTask> tasks) {
+		if (depth == splitDepth) {
+			tasks.add(new ValidationTask(element, context, true));
+			return;
+		}
+		ValidationTask task = new ValidationTask(element, context, false);
+		tasks.add(task);
+		validate(task);
+		for (EObject child : element.eContents()) {
+			collectValidationTasks(child, context, depth + 1, splitDepth, tasks);
+		}
+	}
+
+	private void validate(ValidationTask task) {
+		try {
+			if (task.recursive) {
+				task.diagnostic = diagnostician.validate(task.element, task.context);
 			} else {
-				issueFromEValidatorDiagnostic(diagnostic, acceptor);
+				BasicDiagnostic diagnostic = diagnostician.createDefaultDiagnostic(task.element);
+				task.context.put(Diagnostician.VALIDATE_RECURSIVELY, Boolean.FALSE);
+				try {
+					diagnostician.validate(task.element.eClass(), task.element, diagnostic, task.context);
+				} finally {
+					task.context.remove(Diagnostician.VALIDATE_RECURSIVELY);
+				}
+				task.diagnostic = diagnostic;
 			}
 		} catch (RuntimeException e) {
 			operationCanceledManager.propagateAsErrorIfCancelException(e);
@@ -158,6 +294,32 @@ public class ResourceValidatorImpl implements IResourceValidator {
 		}
 	}
 
+	private Map<Object, Object> createValidationContext(Resource resource, CheckMode mode, CancelIndicator monitor) {
+		Map<Object, Object> options = Maps.newHashMap();
+		options.put(CheckMode.KEY, mode);
+		options.put(CancelableDiagnostician.CANCEL_INDICATOR, monitor);
+		// disable concrete syntax validation, since a semantic model that has been parsed 
+		// from the concrete syntax always complies with it - otherwise there are parse errors.
+		options.put(ConcreteSyntaxEValidator.DISABLE_CONCRETE_SYNTAX_EVALIDATOR, Boolean.TRUE);
+		// see EObjectValidator.getRootEValidator(Map<Object, Object>)
+		options.put(EValidator.class, diagnostician);
+		if (resource instanceof XtextResource) {
+			options.put(AbstractInjectableValidator.CURRENT_LANGUAGE_NAME,
+					((XtextResource) resource).getLanguageName());
+		}
+		return options;
+	}
+
+	private void issuesFromEValidatorDiagnostic(Diagnostic diagnostic, IAcceptor<Issue> acceptor) {
+		if (!diagnostic.getChildren().isEmpty()) {
+			for (Diagnostic childDiagnostic : diagnostic.getChildren()) {
+				issueFromEValidatorDiagnostic(childDiagnostic, acceptor);
+			}
+		} else {
+			issueFromEValidatorDiagnostic(diagnostic, acceptor);
+		}
+	}
+
 	protected void resolveProxies(final Resource resource, final CancelIndicator monitor) {
 		EcoreUtil2.resolveLazyCrossReferences(resource, monitor);
 	}
@@ -204,4 +366,12 @@ public class ResourceValidatorImpl implements IResourceValidator {
 		return operationCanceledManager;
 	}
 
+	/**
+	 * @see #PARALLEL_VALIDATION
+	 * @since 2.25
+	 */
+	protected boolean isParallelValidation() {
+		return parallelValidation;
+	}
+
 }